@@ -0,0 +1,104 @@
+package com.enviro.assessment.grad001.atisomofokeng.benchmark;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.DisposalGuideline;
+import com.enviro.assessment.grad001.atisomofokeng.model.RecyclingTip;
+import com.enviro.assessment.grad001.atisomofokeng.model.WasteCategory;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.DisposalGuidelineResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.RecyclingTipResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.WasteCategoryResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic catalogs shared by the benchmarks: five recycling tips and five disposal guidelines per category,
+ * with sentences of catalog-like length. The same seed always gives the same catalog, so results are comparable
+ * between runs and releases.
+ */
+final class CatalogFixtures {
+
+  private static final String[] WORDS = {"rinse", "containers", "before", "recycling", "remove", "lids", "and",
+          "labels", "flatten", "cardboard", "boxes", "keep", "glass", "separate", "from", "ceramics", "never",
+          "bag", "recyclables", "drop", "batteries", "at", "a", "collection", "point", "compost", "food", "scraps"};
+
+  static final int CHILDREN_PER_CATEGORY = 5;
+
+  private CatalogFixtures() {
+  }
+
+  /**
+   * @return detached entities with ids, each category holding its tips and guidelines.
+   */
+  static List<WasteCategory> entities(int count) {
+    Random random = new Random(42);
+    List<WasteCategory> categories = new ArrayList<>(count);
+    long childId = 1;
+    for (long id = 1; id <= count; id++) {
+      WasteCategory category = new WasteCategory("Category " + id);
+      category.setId(id);
+      List<RecyclingTip> tips = new ArrayList<>();
+      List<DisposalGuideline> guidelines = new ArrayList<>();
+      for (int i = 0; i < CHILDREN_PER_CATEGORY; i++) {
+        RecyclingTip tip = new RecyclingTip(sentence(random), category);
+        tip.setId(childId);
+        tips.add(tip);
+        DisposalGuideline guideline = new DisposalGuideline(sentence(random), category);
+        // Ids are only ever generated for guidelines, so there is no setter
+        ReflectionTestUtils.setField(guideline, "id", childId++);
+        guidelines.add(guideline);
+      }
+      category.setRecyclingTips(tips);
+      category.setDisposalGuidelines(guidelines);
+      categories.add(category);
+    }
+    return categories;
+  }
+
+  /**
+   * @return the response DTOs of the same catalog as {@link #entities(int)}.
+   */
+  static List<WasteCategoryResponse> responses(int count) {
+    List<WasteCategoryResponse> responses = new ArrayList<>(count);
+    for (WasteCategory category : entities(count)) {
+      responses.add(new WasteCategoryResponse(category.getId(), category.getCategoryName(),
+              category.getRecyclingTips().stream()
+                      .map(tip -> new RecyclingTipResponse(tip.getId(), tip.getRecyclingTip(),
+                              category.getCategoryName()))
+                      .toList(),
+              category.getDisposalGuidelines().stream()
+                      .map(guideline -> new DisposalGuidelineResponse(guideline.getId(),
+                              guideline.getDisposalGuideline(), category.getCategoryName()))
+                      .toList()));
+    }
+    return responses;
+  }
+
+  /**
+   * @return every recycling tip of the categories, in category order.
+   */
+  static List<RecyclingTipResponse> recyclingTips(List<WasteCategoryResponse> categories) {
+    List<RecyclingTipResponse> tips = new ArrayList<>();
+    categories.forEach(category -> tips.addAll(category.getRecyclingTips()));
+    return tips;
+  }
+
+  /**
+   * @return every disposal guideline of the categories, in category order.
+   */
+  static List<DisposalGuidelineResponse> disposalGuidelines(List<WasteCategoryResponse> categories) {
+    List<DisposalGuidelineResponse> guidelines = new ArrayList<>();
+    categories.forEach(category -> guidelines.addAll(category.getDisposalGuidelines()));
+    return guidelines;
+  }
+
+  private static String sentence(Random random) {
+    StringBuilder sentence = new StringBuilder();
+    int length = 6 + random.nextInt(10);
+    for (int i = 0; i < length; i++) {
+      sentence.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+    }
+    return sentence.append('.').toString();
+  }
+}
@@ -0,0 +1,101 @@
+package com.enviro.assessment.grad001.atisomofokeng.benchmark;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.RecyclingTipResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.WasteCategoryResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the encodings the API negotiates: JSON, CBOR and Smile (with shared string values, as served).
+ * Measures encoding and decoding time of the list responses, and prints each payload's size, plain and
+ * gzip-compressed, at the start of every trial.
+ * <p>
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args="EncodingBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncodingBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  private int categories;
+
+  @Param({"json", "cbor", "smile"})
+  private String format;
+
+  // "tips": all recycling tips, as GET /api/recycling-tips; "categories": as GET /api/waste-categories
+  @Param({"tips", "categories"})
+  private String document;
+
+  private ObjectMapper mapper;
+  private Object response;
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() throws IOException {
+    mapper = switch (format) {
+      case "cbor" -> new ObjectMapper(new CBORFactory());
+      case "smile" -> new ObjectMapper(SmileFactory.builder()
+              .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+              .build());
+      default -> new ObjectMapper();
+    };
+    response = "tips".equals(document) ? tips(categories) : wasteCategories(categories);
+    encoded = mapper.writeValueAsBytes(response);
+    System.out.printf("%n%s %s, %d categories: %d bytes, %d gzipped%n",
+            format, document, categories, encoded.length, gzip(encoded).length);
+  }
+
+  @Benchmark
+  public byte[] encode() throws IOException {
+    return mapper.writeValueAsBytes(response);
+  }
+
+  @Benchmark
+  public JsonNode decode() throws IOException {
+    return mapper.readTree(encoded);
+  }
+
+  private static ServiceResponse<List<WasteCategoryResponse>> wasteCategories(int count) {
+    return new ServiceResponse<>(CatalogFixtures.responses(count),
+            URI.create("http://localhost:8080/api/waste-categories"));
+  }
+
+  private static ServiceResponse<List<RecyclingTipResponse>> tips(int categoryCount) {
+    return new ServiceResponse<>(CatalogFixtures.recyclingTips(CatalogFixtures.responses(categoryCount)),
+            URI.create("http://localhost:8080/api/recycling-tips"));
+  }
+
+  private static byte[] gzip(byte[] bytes) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(bytes);
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,90 @@
+package com.enviro.assessment.grad001.atisomofokeng.benchmark;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.RecyclingTipResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the {@link ServiceResponse} envelope the way the services do, with the location taken from
+ * the current request by {@link ServletUriComponentsBuilder#fromCurrentRequest()}, against a fixed location.
+ * The request is bound to the benchmark thread as the DispatcherServlet would bind it; with a query string the
+ * builder also has to parse and re-encode it.
+ * <p>
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args="EnvelopeBenchmark -prof gc"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnvelopeBenchmark {
+
+  private static final URI FIXED_LOCATION = URI.create("http://localhost:8080/api/recycling-tips");
+
+  // "" for a plain list or item, or the query string of a paginated list
+  @Param({"", "afterId=1000&size=100"})
+  private String query;
+
+  private List<RecyclingTipResponse> page;
+  private RecyclingTipResponse item;
+
+  @Setup
+  public void setUp() {
+    page = CatalogFixtures.recyclingTips(CatalogFixtures.responses(20));
+    item = page.get(0);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/recycling-tips");
+    request.setServerName("localhost");
+    request.setServerPort(8080);
+    if (!query.isEmpty()) {
+      request.setQueryString(query);
+    }
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+  }
+
+  @TearDown
+  public void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Benchmark
+  public URI location() {
+    return ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+  }
+
+  // As the item endpoints do, passing the id as a template variable
+  @Benchmark
+  public URI locationWithId() {
+    return ServletUriComponentsBuilder.fromCurrentRequest().build(item.getId());
+  }
+
+  @Benchmark
+  public ServiceResponse<List<RecyclingTipResponse>> serviceResponse() {
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+    return new ServiceResponse<>(page, location);
+  }
+
+  @Benchmark
+  public ServiceResponse<List<RecyclingTipResponse>> serviceResponseWithFixedLocation() {
+    return new ServiceResponse<>(page, FIXED_LOCATION);
+  }
+}
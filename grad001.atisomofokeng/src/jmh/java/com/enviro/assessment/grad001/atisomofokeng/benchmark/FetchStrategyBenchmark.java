@@ -0,0 +1,143 @@
+package com.enviro.assessment.grad001.atisomofokeng.benchmark;
+
+import com.enviro.assessment.grad001.atisomofokeng.WasteSortingApplication;
+import com.enviro.assessment.grad001.atisomofokeng.config.CatalogProperties;
+import com.enviro.assessment.grad001.atisomofokeng.jdbc.StatementStatistics;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.WasteCategoryResponse;
+import com.enviro.assessment.grad001.atisomofokeng.service.WasteCategoryService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares the fetch strategies of GET /api/waste-categories?include=recyclingTips,disposalGuidelines by SQL
+ * statements and latency, at catalogs of 10, 1,000 and 100,000 categories.
+ * <p>
+ * Not a JMH benchmark: each catalog size needs an application of its own, and one measured call walks every page
+ * of the catalog. For every size the application is started in this JVM on a generated catalog, reading from the
+ * database with the response caches and the second-level cache off, so every page reaches the fetch strategy.
+ * The strategy is switched between runs through the catalog properties. Each run walks all pages once to warm up,
+ * then the given number of times; the statements of a walk and of one page are counted by the JDBC inspection
+ * layer, and the median time of a walk is reported with the time per page.
+ * <p>
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.main=com.enviro.assessment.grad001.atisomofokeng.benchmark.FetchStrategyBenchmark
+ * -Djmh.args="--categories=10,1000,100000"}. Further options: {@code --strategies=LAZY,ENTITY_GRAPH,FETCH_JOIN,BATCH},
+ * {@code --children=5} tips and as many guidelines per category, {@code --page-size=100}, {@code --batch-size=500},
+ * {@code --rounds=5}.
+ */
+public final class FetchStrategyBenchmark {
+
+  private static final String INCLUDE = "recyclingTips,disposalGuidelines";
+
+  private FetchStrategyBenchmark() {
+  }
+
+  public static void main(String[] args) {
+    // A devtools restart would load the application, and the statement counts, in a class loader of its own
+    System.setProperty("spring.devtools.restart.enabled", "false");
+    Map<String, String> options = parse(args);
+    int[] sizes = Arrays.stream(options.getOrDefault("categories", "10,1000,100000").split(","))
+            .mapToInt(Integer::parseInt).toArray();
+    List<CatalogProperties.FetchStrategy> strategies = Arrays.stream(
+                    options.getOrDefault("strategies", "LAZY,ENTITY_GRAPH,FETCH_JOIN,BATCH").split(","))
+            .map(CatalogProperties.FetchStrategy::valueOf)
+            .toList();
+    int pageSize = Integer.parseInt(options.getOrDefault("page-size", "100"));
+    int rounds = Integer.parseInt(options.getOrDefault("rounds", "5"));
+
+    System.out.printf("Java %s, %d CPUs, page size %d%n", Runtime.version(), Runtime.getRuntime().availableProcessors(),
+            pageSize);
+    List<String> rows = new ArrayList<>();
+    for (int size : sizes) {
+      try (ConfigurableApplicationContext context = start(size, options)) {
+        WasteCategoryService service = context.getBean(WasteCategoryService.class);
+        CatalogProperties properties = context.getBean(CatalogProperties.class);
+        for (CatalogProperties.FetchStrategy strategy : strategies) {
+          properties.setFetchStrategy(strategy);
+          walk(service, pageSize);
+          long[] nanos = new long[rounds];
+          Walk walk = null;
+          for (int round = 0; round < rounds; round++) {
+            walk = walk(service, pageSize);
+            nanos[round] = walk.nanos();
+          }
+          Arrays.sort(nanos);
+          double median = nanos[rounds / 2] / 1_000_000.0;
+          rows.add(String.format("%10d %-13s %8d %12d %14d %12.1f %12.3f", size, strategy, walk.pages(),
+                  walk.statements(), walk.firstPageStatements(), median, median / walk.pages()));
+          System.out.println(rows.get(rows.size() - 1));
+        }
+      }
+    }
+    System.out.printf("%n%10s %-13s %8s %12s %14s %12s %12s%n", "categories", "strategy", "pages", "statements",
+            "per page", "walk ms", "page ms");
+    rows.forEach(System.out::println);
+  }
+
+  private static ConfigurableApplicationContext start(int categories, Map<String, String> options) {
+    String children = options.getOrDefault("children", "5");
+    // Arguments rather than default properties, which application.properties would override
+    return new SpringApplicationBuilder(WasteSortingApplication.class).run(
+                    "--spring.datasource.url=jdbc:h2:mem:fetch-strategy-" + categories + ";DB_CLOSE_DELAY=-1",
+                    "--server.port=0",
+                    "--logging.level.root=WARN",
+                    "--catalog.generate.categories=" + categories,
+                    "--catalog.generate.tips-per-category=" + children,
+                    "--catalog.generate.guidelines-per-category=" + children,
+                    "--catalog.batch-size=" + options.getOrDefault("batch-size", "500"),
+                    "--catalog.read-source=DATABASE",
+                    "--catalog.cache.enabled=false",
+                    "--catalog.response-cache.enabled=false",
+                    "--catalog.jdbc.inspect-statements=true",
+                    // LAZY is an N+1 select by design
+                    "--catalog.jdbc.n-plus-one-threshold=" + Integer.MAX_VALUE,
+                    "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                    "--spring.jpa.properties.hibernate.cache.use_query_cache=false");
+  }
+
+  // Reads every page of the catalog with its children, as a client following the cursors would
+  private static Walk walk(WasteCategoryService service, int pageSize) {
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(
+            new MockHttpServletRequest("GET", "/api/waste-categories")));
+    try {
+      long firstPageStatements = StatementStatistics.capture(
+              () -> service.getAllWasteCategories(null, pageSize, null, INCLUDE)).getStatements();
+      int[] pages = {1};
+      long started = System.nanoTime();
+      StatementStatistics statistics = StatementStatistics.capture(() -> {
+        String cursor = service.getAllWasteCategories(null, pageSize, null, INCLUDE).getNextCursor();
+        while (cursor != null) {
+          ServiceResponse<List<WasteCategoryResponse>> page = service.getAllWasteCategories(cursor, pageSize, null, INCLUDE);
+          cursor = page.getNextCursor();
+          pages[0]++;
+        }
+      });
+      return new Walk(pages[0], statistics.getStatements(), firstPageStatements, System.nanoTime() - started);
+    } finally {
+      RequestContextHolder.resetRequestAttributes();
+    }
+  }
+
+  private record Walk(int pages, long statements, long firstPageStatements, long nanos) {
+  }
+
+  private static Map<String, String> parse(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --name=value, got " + arg);
+      }
+      options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+    }
+    return options;
+  }
+}
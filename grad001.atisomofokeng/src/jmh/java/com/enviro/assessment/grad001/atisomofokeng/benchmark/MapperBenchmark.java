@@ -0,0 +1,90 @@
+package com.enviro.assessment.grad001.atisomofokeng.benchmark;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.DisposalGuideline;
+import com.enviro.assessment.grad001.atisomofokeng.model.RecyclingTip;
+import com.enviro.assessment.grad001.atisomofokeng.model.WasteCategory;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.mapper.DisposalGuidelineMapper;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.mapper.RecyclingTipMapper;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.mapper.WasteCategoryMapper;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.DisposalGuidelineResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.RecyclingTipResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.WasteCategoryResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the entity-to-DTO mappers over a whole catalog, as the list endpoints map it when reading from the
+ * database: every category with its children, then every tip and every guideline on its own.
+ * <p>
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args="MapperBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+  @Param({"10", "100", "1000"})
+  private int categories;
+
+  private final WasteCategoryMapper wasteCategoryMapper = new WasteCategoryMapper();
+  private final RecyclingTipMapper recyclingTipMapper = new RecyclingTipMapper();
+  private final DisposalGuidelineMapper disposalGuidelineMapper = new DisposalGuidelineMapper();
+
+  private List<WasteCategory> wasteCategories;
+  private List<RecyclingTip> recyclingTips;
+  private List<DisposalGuideline> disposalGuidelines;
+
+  @Setup
+  public void setUp() {
+    wasteCategories = CatalogFixtures.entities(categories);
+    recyclingTips = new ArrayList<>();
+    disposalGuidelines = new ArrayList<>();
+    for (WasteCategory category : wasteCategories) {
+      recyclingTips.addAll(category.getRecyclingTips());
+      disposalGuidelines.addAll(category.getDisposalGuidelines());
+    }
+  }
+
+  @Benchmark
+  public List<WasteCategoryResponse> wasteCategoryToResponse() {
+    List<WasteCategoryResponse> responses = new ArrayList<>(wasteCategories.size());
+    for (WasteCategory category : wasteCategories) {
+      responses.add(wasteCategoryMapper.toResponse(category));
+    }
+    return responses;
+  }
+
+  @Benchmark
+  public List<RecyclingTipResponse> recyclingTipToResponse() {
+    List<RecyclingTipResponse> responses = new ArrayList<>(recyclingTips.size());
+    for (RecyclingTip tip : recyclingTips) {
+      responses.add(recyclingTipMapper.toResponse(tip));
+    }
+    return responses;
+  }
+
+  @Benchmark
+  public List<DisposalGuidelineResponse> disposalGuidelineToResponse() {
+    List<DisposalGuidelineResponse> responses = new ArrayList<>(disposalGuidelines.size());
+    for (DisposalGuideline guideline : disposalGuidelines) {
+      responses.add(disposalGuidelineMapper.toResponse(guideline));
+    }
+    return responses;
+  }
+}
@@ -0,0 +1,88 @@
+package com.enviro.assessment.grad001.atisomofokeng.benchmark;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.WasteCategoryResponse;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures JSON serialization of each response DTO with the object mapper Spring MVC uses, into a reused buffer
+ * as the message converter writes into the response stream. Covers the single-item responses and the lists of
+ * recycling tips, disposal guidelines and waste categories at several catalog sizes.
+ * <p>
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args="SerializationBenchmark -prof gc"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+  private static final URI LOCATION = URI.create("http://localhost:8080/api");
+
+  @Param({"10", "100", "1000"})
+  private int categories;
+
+  // What is serialized: one item, or all items of a kind, each wrapped in a ServiceResponse
+  @Param({"tip", "guideline", "category", "tips", "guidelines", "categories"})
+  private String document;
+
+  private ObjectMapper mapper;
+  private ObjectWriter writer;
+  private Object response;
+  private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 16);
+
+  @Setup
+  public void setUp() {
+    mapper = Jackson2ObjectMapperBuilder.json().build();
+    List<WasteCategoryResponse> catalog = CatalogFixtures.responses(categories);
+    Object data = switch (document) {
+      case "tip" -> catalog.get(0).getRecyclingTips().get(0);
+      case "guideline" -> catalog.get(0).getDisposalGuidelines().get(0);
+      case "category" -> catalog.get(0);
+      case "tips" -> CatalogFixtures.recyclingTips(catalog);
+      case "guidelines" -> CatalogFixtures.disposalGuidelines(catalog);
+      case "categories" -> catalog;
+      default -> throw new IllegalArgumentException(document);
+    };
+    response = new ServiceResponse<>(data, LOCATION);
+    writer = mapper.writerFor(ServiceResponse.class);
+  }
+
+  // As the message converter does: a generator per response over the output stream
+  @Benchmark
+  public int serialize() throws IOException {
+    buffer.reset();
+    try (JsonGenerator generator = mapper.getFactory().createGenerator(buffer, JsonEncoding.UTF8)) {
+      writer.writeValue(generator, response);
+    }
+    return buffer.size();
+  }
+
+  @Benchmark
+  public byte[] serializeToBytes() throws IOException {
+    return mapper.writeValueAsBytes(response);
+  }
+}
@@ -0,0 +1,263 @@
+package com.enviro.assessment.grad001.atisomofokeng.benchmark;
+
+import com.enviro.assessment.grad001.atisomofokeng.WasteSortingApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compares request handling on the Tomcat platform-thread pool with request handling on virtual threads, under
+ * thousands of concurrent clients.
+ * <p>
+ * Not a JMH benchmark: each thread model needs an application of its own, and thousands of open connections.
+ * For every mode the application is started in a separate JVM on the benchmark's classpath, reading from the
+ * database with every cache turned off, so that each request borrows a JDBC connection. Closed-loop clients
+ * then fetch recycling tips by id, each sending its next request as soon as the previous one is answered, and
+ * throughput and latency percentiles are reported per mode and client count. The virtual mode needs Java 21;
+ * the application JVM is the one running the benchmark.
+ * <p>
+ * Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.main=com.enviro.assessment.grad001.atisomofokeng.benchmark.ThreadModelBenchmark
+ * -Djmh.args="--clients=1000,5000,10000 --warmup=10s --duration=30s"}. Further options: {@code --modes=platform,virtual},
+ * {@code --port=18181}, {@code --pool-size=10}, {@code --heap=1g}.
+ */
+public final class ThreadModelBenchmark {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  // Clients per HttpClient, so that no single selector thread serves every connection
+  private static final int CLIENTS_PER_HTTP_CLIENT = 1000;
+
+  private ThreadModelBenchmark() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = parse(args);
+    List<String> modes = List.of(options.getOrDefault("modes", "platform,virtual").split(","));
+    int[] clientCounts = Arrays.stream(options.getOrDefault("clients", "1000,5000,10000").split(","))
+            .mapToInt(Integer::parseInt).toArray();
+    Duration warmup = duration(options.getOrDefault("warmup", "10s"));
+    Duration measurement = duration(options.getOrDefault("duration", "30s"));
+    int port = Integer.parseInt(options.getOrDefault("port", "18181"));
+
+    System.out.printf("Java %s, %d CPUs%n", Runtime.version(), Runtime.getRuntime().availableProcessors());
+    List<String> rows = new ArrayList<>();
+    for (String mode : modes) {
+      Process application = start(mode, port, options);
+      try {
+        URI base = URI.create("http://localhost:" + port);
+        List<Long> ids = awaitTipIds(base, application);
+        for (int clients : clientCounts) {
+          run(base, ids, clients, warmup);
+          Result result = run(base, ids, clients, measurement);
+          rows.add(String.format("%-8s %8d %12.0f %10.2f %10.2f %10.2f %10d", mode, clients,
+                  result.throughput(), result.percentile(0.50), result.percentile(0.99), result.percentile(0.999),
+                  result.errors()));
+          System.out.println(rows.get(rows.size() - 1));
+        }
+      } finally {
+        application.destroy();
+        application.waitFor();
+      }
+    }
+    System.out.printf("%n%-8s %8s %12s %10s %10s %10s %10s%n", "mode", "clients", "req/s", "p50 ms", "p99 ms",
+            "p999 ms", "errors");
+    rows.forEach(System.out::println);
+  }
+
+  // The application on the database with its caches off; Tomcat accepts every client without refusing any
+  private static Process start(String mode, int port, Map<String, String> options) throws IOException {
+    List<String> command = new ArrayList<>(List.of(
+            Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+            "-Xmx" + options.getOrDefault("heap", "1g"),
+            "-cp", System.getProperty("java.class.path"),
+            WasteSortingApplication.class.getName(),
+            "--server.port=" + port,
+            "--server.tomcat.accept-count=" + 10_000,
+            "--spring.datasource.hikari.maximum-pool-size=" + options.getOrDefault("pool-size", "10"),
+            "--catalog.read-source=DATABASE",
+            "--catalog.cache.enabled=false",
+            "--catalog.response-cache.enabled=false",
+            "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+            "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+            "--spring.jpa.properties.hibernate.generate_statistics=false",
+            "--logging.level.root=WARN"));
+    if ("virtual".equals(mode)) {
+      command.add("--spring.profiles.active=virtual-threads");
+    } else if (!"platform".equals(mode)) {
+      throw new IllegalArgumentException("Unknown mode " + mode + "; expected platform or virtual");
+    }
+    return new ProcessBuilder(command)
+            .redirectOutput(ProcessBuilder.Redirect.appendTo(new File("target/thread-model-" + mode + ".log")))
+            .redirectErrorStream(true)
+            .start();
+  }
+
+  private static List<Long> awaitTipIds(URI base, Process application) throws Exception {
+    HttpClient client = HttpClient.newHttpClient();
+    HttpRequest request = HttpRequest.newBuilder(base.resolve("/api/recycling-tips")).build();
+    long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+    while (true) {
+      if (!application.isAlive()) {
+        throw new IllegalStateException("The application exited with " + application.exitValue()
+                + "; see target/thread-model-*.log");
+      }
+      try {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 == 2) {
+          List<Long> ids = new ArrayList<>();
+          for (JsonNode tip : MAPPER.readTree(response.body()).path("response")) {
+            ids.add(tip.path("id").asLong());
+          }
+          return ids;
+        }
+      } catch (IOException e) {
+        // Not listening yet
+      }
+      if (System.nanoTime() > deadline) {
+        throw new IllegalStateException("The application did not start within 2 minutes");
+      }
+      Thread.sleep(500);
+    }
+  }
+
+  private static Result run(URI base, List<Long> ids, int clients, Duration duration) throws InterruptedException {
+    List<HttpClient> httpClients = new ArrayList<>();
+    for (int i = 0; i < clients; i += CLIENTS_PER_HTTP_CLIENT) {
+      httpClients.add(HttpClient.newBuilder()
+              .version(HttpClient.Version.HTTP_1_1)
+              .connectTimeout(Duration.ofSeconds(30))
+              .build());
+    }
+    List<HttpRequest> requests = ids.stream()
+            .map(id -> HttpRequest.newBuilder(base.resolve("/api/recycling-tips/" + id))
+                    .timeout(Duration.ofSeconds(60))
+                    .build())
+            .toList();
+    Histogram histogram = new Histogram();
+    AtomicLong errors = new AtomicLong();
+    AtomicBoolean running = new AtomicBoolean(true);
+    AtomicLong inFlight = new AtomicLong();
+    for (int i = 0; i < clients; i++) {
+      new Client(httpClients.get(i / CLIENTS_PER_HTTP_CLIENT), requests, i, running, inFlight, histogram, errors)
+              .send();
+    }
+    long started = System.nanoTime();
+    Thread.sleep(duration.toMillis());
+    running.set(false);
+    long elapsed = System.nanoTime() - started;
+    // Lets the requests in flight finish before the next run opens its connections
+    long deadline = System.nanoTime() + Duration.ofSeconds(60).toNanos();
+    while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(50);
+    }
+    // An unreachable HttpClient closes its connections (HttpClient.shutdownNow needs Java 21)
+    httpClients.clear();
+    System.gc();
+    Thread.sleep(1_000);
+    return new Result(histogram, errors.get(), elapsed);
+  }
+
+  private static Map<String, String> parse(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --name=value, got " + arg);
+      }
+      options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+    }
+    return options;
+  }
+
+  // 10s, 500ms or 2m
+  private static Duration duration(String text) {
+    if (text.endsWith("ms")) {
+      return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+    }
+    long amount = Long.parseLong(text.substring(0, text.length() - 1));
+    return switch (text.charAt(text.length() - 1)) {
+      case 's' -> Duration.ofSeconds(amount);
+      case 'm' -> Duration.ofMinutes(amount);
+      default -> throw new IllegalArgumentException("Expected a duration such as 30s, got " + text);
+    };
+  }
+
+  // One closed-loop client: a request is sent only once the previous one has been answered
+  private record Client(HttpClient httpClient, List<HttpRequest> requests, int index, AtomicBoolean running,
+                        AtomicLong inFlight, Histogram histogram, AtomicLong errors) {
+
+    void send() {
+      if (!running.get()) {
+        return;
+      }
+      HttpRequest request = requests.get(Math.floorMod(index + (int) System.nanoTime(), requests.size()));
+      long sent = System.nanoTime();
+      inFlight.incrementAndGet();
+      httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+              .whenComplete((response, failure) -> {
+                inFlight.decrementAndGet();
+                if (running.get()) {
+                  if (failure == null && response.statusCode() / 100 == 2) {
+                    histogram.record(System.nanoTime() - sent);
+                  } else {
+                    errors.incrementAndGet();
+                  }
+                }
+                send();
+              });
+    }
+  }
+
+  // Latencies in buckets 1% wide, from 1µs to well over a minute
+  private static final class Histogram {
+    private static final double BASE = Math.log(1.01);
+    private static final long MIN_NANOS = 1_000;
+    private final AtomicLongArray buckets = new AtomicLongArray(2_600);
+    private final AtomicLong count = new AtomicLong();
+
+    void record(long nanos) {
+      int bucket = (int) (Math.log(Math.max(nanos, MIN_NANOS) / (double) MIN_NANOS) / BASE);
+      buckets.incrementAndGet(Math.min(bucket, buckets.length() - 1));
+      count.incrementAndGet();
+    }
+
+    // Upper bound of the bucket holding the quantile, in milliseconds
+    double percentile(double quantile) {
+      long rank = (long) Math.ceil(quantile * count.get());
+      long seen = 0;
+      for (int i = 0; i < buckets.length(); i++) {
+        seen += buckets.get(i);
+        if (seen >= rank && seen > 0) {
+          return MIN_NANOS * Math.exp((i + 1) * BASE) / 1_000_000;
+        }
+      }
+      return Double.NaN;
+    }
+  }
+
+  private record Result(Histogram histogram, long errors, long elapsedNanos) {
+
+    double throughput() {
+      return histogram.count.get() * 1e9 / elapsedNanos;
+    }
+
+    double percentile(double quantile) {
+      return histogram.percentile(quantile);
+    }
+  }
+}
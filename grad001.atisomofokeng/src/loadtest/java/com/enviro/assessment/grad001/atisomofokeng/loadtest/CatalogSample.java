@@ -0,0 +1,146 @@
+package com.enviro.assessment.grad001.atisomofokeng.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * What the load test knows about the catalog it runs against: a sample of existing ids to read and update, words
+ * to search and complete, and the ids of the rows the test itself created, which are the only ones it deletes.
+ * <p>
+ * Every category id is read from the cursor-paginated list, up to the sample size; tips and guidelines are
+ * sampled through the multi-get by category, over categories drawn across the whole catalog, so that reads are
+ * not concentrated on the oldest rows.
+ */
+final class CatalogSample {
+
+  // A tip or guideline, with the category it belongs to
+  record Child(long id, long categoryId) {
+  }
+
+  private static final int PAGE_SIZE = 1000;
+  private static final int CATEGORIES_PER_MULTI_GET = 100;
+
+  final List<Long> categoryIds = new ArrayList<>();
+  final List<String> prefixes = new ArrayList<>();
+  final List<String> words = new ArrayList<>();
+  final List<Child> recyclingTips = new ArrayList<>();
+  final List<Child> disposalGuidelines = new ArrayList<>();
+  long revision;
+  String bundleHash;
+
+  final ConcurrentLinkedQueue<Long> createdCategories = new ConcurrentLinkedQueue<>();
+  final ConcurrentLinkedQueue<Child> createdRecyclingTips = new ConcurrentLinkedQueue<>();
+  final ConcurrentLinkedQueue<Child> createdDisposalGuidelines = new ConcurrentLinkedQueue<>();
+
+  private final ObjectMapper mapper;
+
+  private CatalogSample(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+
+  static CatalogSample discover(HttpClient client, URI base, ObjectMapper mapper, int size, Random random)
+          throws IOException, InterruptedException {
+    CatalogSample sample = new CatalogSample(mapper);
+    Map<String, Long> categoriesByName = new HashMap<>();
+    Set<String> prefixes = new LinkedHashSet<>();
+    String cursor = null;
+    do {
+      JsonNode page = sample.get(client, base, "/api/waste-categories?fields=id,wasteCategory&size=" + PAGE_SIZE
+              + (cursor != null ? "&cursor=" + cursor : ""));
+      for (JsonNode category : page.path("response")) {
+        long id = category.path("id").asLong();
+        String name = category.path("wasteCategory").asText();
+        sample.categoryIds.add(id);
+        categoriesByName.put(name, id);
+        prefixes.add(name.substring(0, Math.min(name.length(), 2 + prefixes.size() % 3)).toLowerCase(Locale.ROOT));
+      }
+      cursor = page.path("nextCursor").isTextual() ? page.path("nextCursor").asText() : null;
+    } while (cursor != null && sample.categoryIds.size() < size);
+    if (sample.categoryIds.isEmpty()) {
+      throw new IllegalStateException("The catalog has no waste categories");
+    }
+    sample.prefixes.addAll(prefixes);
+
+    List<Long> shuffled = new ArrayList<>(sample.categoryIds);
+    Collections.shuffle(shuffled, random);
+    Set<String> words = new LinkedHashSet<>();
+    for (int from = 0; from < shuffled.size() && sample.recyclingTips.size() < size; from += CATEGORIES_PER_MULTI_GET) {
+      String ids = join(shuffled.subList(from, Math.min(shuffled.size(), from + CATEGORIES_PER_MULTI_GET)));
+      sample.children("/api/recycling-tips?categoryIds=" + ids, "recyclingTip", client, base, categoriesByName,
+              sample.recyclingTips, words);
+      sample.children("/api/disposal-guidelines?categoryIds=" + ids, "disposalGuideline", client, base,
+              categoriesByName, sample.disposalGuidelines, words);
+    }
+    sample.words.addAll(words.isEmpty() ? List.of("recycle") : words);
+
+    sample.revision = sample.get(client, base, "/api/sync?since=0&limit=1").path("response").path("revision").asLong();
+    JsonNode bundle = sample.getOrNull(client, base, "/api/bundle");
+    sample.bundleHash = bundle != null ? bundle.path("response").path("hash").asText() : null;
+    return sample;
+  }
+
+  private void children(String path, String textField, HttpClient client, URI base, Map<String, Long> categories,
+                        List<Child> into, Set<String> words) throws IOException, InterruptedException {
+    for (JsonNode item : get(client, base, path).path("response").path("items")) {
+      Long categoryId = categories.get(item.path("wasteCategoryName").asText());
+      if (categoryId != null) {
+        into.add(new Child(item.path("id").asLong(), categoryId));
+      }
+      if (words.size() < 1000) {
+        for (String word : item.path(textField).asText().toLowerCase(Locale.ROOT).split("[^a-z]+")) {
+          if (word.length() >= 4) {
+            words.add(word);
+          }
+        }
+      }
+    }
+  }
+
+  private JsonNode get(HttpClient client, URI base, String path) throws IOException, InterruptedException {
+    JsonNode body = getOrNull(client, base, path);
+    if (body == null) {
+      throw new IllegalStateException("GET " + path + " failed");
+    }
+    return body;
+  }
+
+  private JsonNode getOrNull(HttpClient client, URI base, String path) throws IOException, InterruptedException {
+    HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(base.resolve(path)).build(),
+            HttpResponse.BodyHandlers.ofByteArray());
+    return response.statusCode() < 400 ? mapper.readTree(response.body()) : null;
+  }
+
+  static String join(List<Long> ids) {
+    StringBuilder joined = new StringBuilder();
+    for (Long id : ids) {
+      joined.append(joined.length() == 0 ? "" : ",").append(id);
+    }
+    return joined.toString();
+  }
+
+  static String encode(String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  }
+
+  <T> T any(List<T> values, Random random) {
+    return values.get(random.nextInt(values.size()));
+  }
+}
@@ -0,0 +1,67 @@
+package com.enviro.assessment.grad001.atisomofokeng.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with buckets 1% wide, from 10µs to over ten minutes, so any percentile is read
+ * with at most 1% error whatever the spread of the latencies. Recording is two atomic increments.
+ */
+final class LatencyHistogram {
+
+  private static final double BASE = Math.log(1.01);
+  private static final long MIN_NANOS = 10_000;
+  private static final int BUCKETS = 2_500;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  void record(long nanos) {
+    int bucket = (int) (Math.log(Math.max(nanos, MIN_NANOS) / (double) MIN_NANOS) / BASE);
+    buckets.incrementAndGet(Math.min(bucket, BUCKETS - 1));
+    count.incrementAndGet();
+    max.accumulateAndGet(nanos, Math::max);
+  }
+
+  /**
+   * Adds the counts of another histogram to this one.
+   */
+  void add(LatencyHistogram other) {
+    for (int i = 0; i < BUCKETS; i++) {
+      long value = other.buckets.get(i);
+      if (value != 0) {
+        buckets.addAndGet(i, value);
+      }
+    }
+    count.addAndGet(other.count.get());
+    max.accumulateAndGet(other.max.get(), Math::max);
+  }
+
+  long count() {
+    return count.get();
+  }
+
+  /**
+   * @return the upper bound of the bucket holding the quantile, in milliseconds; 0 when nothing was recorded.
+   */
+  double percentileMillis(double quantile) {
+    long total = count.get();
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(quantile * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += buckets.get(i);
+      if (seen >= rank) {
+        return Math.min(MIN_NANOS * Math.exp((i + 1) * BASE), max.get()) / 1_000_000;
+      }
+    }
+    return max.get() / 1_000_000.0;
+  }
+
+  double maxMillis() {
+    return max.get() / 1_000_000.0;
+  }
+}
@@ -0,0 +1,122 @@
+package com.enviro.assessment.grad001.atisomofokeng.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one load test run, written as JSON so that it can be kept as a baseline and compared with later
+ * runs. Latencies are in milliseconds, throughput in successful requests per second.
+ *
+ * @param startedAt   when the measurement started.
+ * @param url         the instance under test.
+ * @param mode        "closed" (fixed concurrency) or "open" (fixed arrival rate).
+ * @param concurrency the number of clients of a closed-loop run.
+ * @param rate        the target arrival rate of an open-loop run, in requests per second.
+ * @param seconds     the length of the measurement.
+ * @param mix         the weight of every operation that was sent.
+ * @param total       all operations together.
+ * @param operations  each operation, by name.
+ */
+record LoadReport(Instant startedAt, String url, String mode, int concurrency, double rate, double seconds,
+                  Map<String, Integer> mix, Stats total, Map<String, Stats> operations) {
+
+  /**
+   * @param count      successful requests.
+   * @param errors     failed requests: error statuses, timeouts and, in an open-loop run, requests not sent
+   *                   because too many were in flight.
+   * @param throughput successful requests per second.
+   */
+  record Stats(long count, long errors, double throughput, double p50, double p90, double p99, double p999,
+               double max) {
+
+    static Stats of(LatencyHistogram histogram, long errors, double seconds) {
+      return new Stats(histogram.count(), errors, histogram.count() / seconds, histogram.percentileMillis(0.50),
+              histogram.percentileMillis(0.90), histogram.percentileMillis(0.99), histogram.percentileMillis(0.999),
+              histogram.maxMillis());
+    }
+  }
+
+  private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules()
+          .enable(SerializationFeature.INDENT_OUTPUT)
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  void print(PrintStream out) {
+    out.printf("%n%s run against %s for %.0fs%s%n", mode, url, seconds,
+            "open".equals(mode) ? String.format(" at %.0f req/s", rate) : " with " + concurrency + " clients");
+    out.printf("%-26s %9s %8s %10s %9s %9s %9s %9s %9s%n", "operation", "count", "errors", "req/s", "p50 ms",
+            "p90 ms", "p99 ms", "p999 ms", "max ms");
+    operations.forEach((name, stats) -> print(out, name, stats));
+    print(out, "total", total);
+  }
+
+  private static void print(PrintStream out, String name, Stats stats) {
+    out.printf("%-26s %9d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, stats.count(), stats.errors(),
+            stats.throughput(), stats.p50(), stats.p90(), stats.p99(), stats.p999(), stats.max());
+  }
+
+  void write(Path file) throws IOException {
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+    MAPPER.writeValue(file.toFile(), this);
+  }
+
+  static LoadReport read(Path file) throws IOException {
+    return MAPPER.readValue(file.toFile(), LoadReport.class);
+  }
+
+  /**
+   * Prints this run against a baseline, operation by operation. An operation regresses when its p99 latency
+   * grew, its throughput fell (closed-loop runs only; an open-loop run sends at a fixed rate) or its error rate
+   * grew by more than the tolerance.
+   *
+   * @param baseline  the earlier run.
+   * @param tolerance the relative change allowed, e.g. 0.2 for 20%.
+   * @return the regressions found, empty if none.
+   */
+  List<String> compare(LoadReport baseline, double tolerance, PrintStream out) {
+    List<String> regressions = new ArrayList<>();
+    out.printf("%nCompared with the baseline of %s (tolerance %.0f%%)%n", baseline.startedAt(), tolerance * 100);
+    out.printf("%-26s %12s %12s %9s %12s %12s %9s%n", "operation", "base req/s", "req/s", "change", "base p99",
+            "p99", "change");
+    Map<String, Stats> current = new LinkedHashMap<>(operations);
+    current.put("total", total);
+    Map<String, Stats> previous = new LinkedHashMap<>(baseline.operations());
+    previous.put("total", baseline.total());
+    current.forEach((name, stats) -> {
+      Stats before = previous.get(name);
+      if (before == null || before.count() == 0 || stats.count() == 0) {
+        return;
+      }
+      double throughputChange = stats.throughput() / before.throughput() - 1;
+      double p99Change = stats.p99() / before.p99() - 1;
+      List<String> problems = new ArrayList<>();
+      if (p99Change > tolerance) {
+        problems.add(String.format("p99 %.2fms -> %.2fms", before.p99(), stats.p99()));
+      }
+      if ("closed".equals(mode) && "closed".equals(baseline.mode()) && throughputChange < -tolerance) {
+        problems.add(String.format("throughput %.1f -> %.1f req/s", before.throughput(), stats.throughput()));
+      }
+      double errorRate = stats.errors() / (double) (stats.count() + stats.errors());
+      double baselineErrorRate = before.errors() / (double) (before.count() + before.errors());
+      if (errorRate > baselineErrorRate * (1 + tolerance) + 0.001) {
+        problems.add(String.format("error rate %.2f%% -> %.2f%%", baselineErrorRate * 100, errorRate * 100));
+      }
+      out.printf("%-26s %12.1f %12.1f %+8.1f%% %12.2f %12.2f %+8.1f%%%s%n", name, before.throughput(),
+              stats.throughput(), throughputChange * 100, before.p99(), stats.p99(), p99Change * 100,
+              problems.isEmpty() ? "" : "  REGRESSION");
+      problems.forEach(problem -> regressions.add(name + ": " + problem));
+    });
+    return regressions;
+  }
+}
@@ -0,0 +1,368 @@
+package com.enviro.assessment.grad001.atisomofokeng.loadtest;
+
+import com.enviro.assessment.grad001.atisomofokeng.loadtest.Operation.Call;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test of a running instance, usually one started with the loadgen profile on a generated
+ * catalog: {@code mvn -Ploadgen spring-boot:run}, then {@code mvn -Ploadgen test-compile exec:exec}.
+ * <p>
+ * It samples ids from the catalog, then sends a weighted mix of {@link Operation}s for a warmup and a measured
+ * period and prints the count, errors, throughput and latency percentiles of every operation. It runs either
+ * closed-loop, with a fixed number of clients each sending its next request when the last one completed, or
+ * open-loop, at a fixed arrival rate whatever the response times. Open-loop latencies are measured from the time
+ * a request was due to be sent, not from when it was, so a stalled server shows up in the percentiles instead of
+ * silently slowing the test down.
+ * <p>
+ * Options, all {@code --name=value}:
+ * <ul>
+ *   <li>{@code url} the instance, http://localhost:8080 by default.</li>
+ *   <li>{@code mix} default, reads, writes, all, or weights by operation, e.g. {@code category:10,search:2}.</li>
+ *   <li>{@code concurrency} the clients of a closed-loop run, 64 by default.</li>
+ *   <li>{@code rate} requests per second; when set the run is open-loop.</li>
+ *   <li>{@code max-in-flight} in an open-loop run, the requests in flight beyond which the next ones are counted
+ *   as errors instead of sent, 10000 by default.</li>
+ *   <li>{@code warmup} and {@code duration}, e.g. 500ms, 30s or 2m; 10s and 60s by default.</li>
+ *   <li>{@code timeout} of a single request, 30s by default.</li>
+ *   <li>{@code id-sample} the number of category, tip and guideline ids to sample, 20000 by default.</li>
+ *   <li>{@code report} where to write the JSON report, target/loadtest/report-&lt;time&gt;.json by default.</li>
+ *   <li>{@code save-baseline} also write the report there, to compare later runs with.</li>
+ *   <li>{@code baseline} compare with this report; the exit status is 1 when an operation regressed.</li>
+ *   <li>{@code tolerance} the relative change allowed by the comparison, 0.2 by default.</li>
+ * </ul>
+ */
+final class LoadTest {
+
+  // The JDK client opens a connection per concurrent request; each client is kept under this many
+  private static final int CONNECTIONS_PER_CLIENT = 1000;
+
+  private final Map<String, String> options;
+  private final URI base;
+  private final Duration timeout;
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final List<HttpClient> clients = new ArrayList<>();
+  private final Operation[] operations;
+  private final int[] cumulativeWeights;
+  private final Map<Operation, Integer> mix;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicLong completed = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final Map<String, AtomicLong> errorKinds = new ConcurrentHashMap<>();
+  private volatile Recorder recorder = new Recorder();
+  private volatile boolean stopped;
+  private Operation.Context context;
+
+  private LoadTest(Map<String, String> options) {
+    this.options = options;
+    this.base = URI.create(option("url", "http://localhost:8080"));
+    this.timeout = duration(option("timeout", "30s"));
+    this.mix = mix(option("mix", "default"));
+    this.operations = mix.keySet().toArray(Operation[]::new);
+    this.cumulativeWeights = new int[operations.length];
+    int total = 0;
+    for (int i = 0; i < operations.length; i++) {
+      total += mix.get(operations[i]);
+      cumulativeWeights[i] = total;
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --name=value, got " + arg);
+      }
+      options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+    }
+    System.exit(new LoadTest(options).run());
+  }
+
+  private int run() throws Exception {
+    boolean open = options.containsKey("rate");
+    int concurrency = Integer.parseInt(option("concurrency", "64"));
+    double rate = open ? Double.parseDouble(option("rate", "0")) : 0;
+    int maxInFlight = Integer.parseInt(option("max-in-flight", "10000"));
+    int connections = open ? maxInFlight : concurrency;
+    for (int i = 0; i < Math.max(1, (connections + CONNECTIONS_PER_CLIENT - 1) / CONNECTIONS_PER_CLIENT); i++) {
+      clients.add(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(timeout).build());
+    }
+
+    long sampling = System.nanoTime();
+    CatalogSample sample = CatalogSample.discover(clients.get(0), base, mapper,
+            Integer.parseInt(option("id-sample", "20000")), new Random(42));
+    System.out.printf("Sampled %d waste categories, %d recycling tips and %d disposal guidelines in %dms%n",
+            sample.categoryIds.size(), sample.recyclingTips.size(), sample.disposalGuidelines.size(),
+            (System.nanoTime() - sampling) / 1_000_000);
+    String runId = Long.toString(System.currentTimeMillis(), 36);
+    context = new Operation.Context(sample, base, mapper, runId, timeout);
+
+    Duration warmup = duration(option("warmup", "10s"));
+    Duration duration = duration(option("duration", "60s"));
+    System.out.printf("Running %s for %ds after a %ds warmup%n",
+            open ? "open-loop at " + rate + " req/s" : "closed-loop with " + concurrency + " clients",
+            duration.toSeconds(), warmup.toSeconds());
+    ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "loadtest-progress");
+      thread.setDaemon(true);
+      return thread;
+    });
+    AtomicLong lastCompleted = new AtomicLong();
+    progress.scheduleAtFixedRate(() -> System.out.printf("%8d req/s, %d errors, %d in flight%n",
+            (completed.get() - lastCompleted.getAndSet(completed.get())) / 5, failed.get(), inFlight.get()),
+            5, 5, TimeUnit.SECONDS);
+
+    long start = System.nanoTime();
+    long measureFrom = start + warmup.toNanos();
+    long end = measureFrom + duration.toNanos();
+    Recorder measured = new Recorder();
+    Instant startedAt;
+    long lagNanos = 0;
+    if (open) {
+      lagNanos = openLoop(rate, maxInFlight, start, measureFrom, end, measured);
+      startedAt = measured.startedAt;
+    } else {
+      for (int i = 0; i < concurrency; i++) {
+        next(clients.get(i % clients.size()));
+      }
+      LockSupport.parkNanos(measureFrom - System.nanoTime());
+      startedAt = Instant.now();
+      recorder = measured;
+      LockSupport.parkNanos(end - System.nanoTime());
+      recorder = new Recorder();
+    }
+    stopped = true;
+    long drainUntil = System.nanoTime() + timeout.toNanos();
+    while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+      Thread.sleep(10);
+    }
+    progress.shutdownNow();
+    if (lagNanos > 1_000_000_000) {
+      System.out.printf("The load test fell up to %dms behind its schedule; its own host limits the rate%n",
+              lagNanos / 1_000_000);
+    }
+
+    LoadReport report = measured.report(startedAt, base.toString(), open ? "open" : "closed", open ? 0 : concurrency,
+            rate, duration.toNanos() / 1e9, mix);
+    report.print(System.out);
+    if (!errorKinds.isEmpty()) {
+      System.out.println("\nErrors:");
+      errorKinds.entrySet().stream()
+              .sorted((a, b) -> Long.compare(b.getValue().get(), a.getValue().get()))
+              .limit(10)
+              .forEach(error -> System.out.printf("%8d %s%n", error.getValue().get(), error.getKey()));
+    }
+
+    Path reportFile = Path.of(option("report", "target/loadtest/report-" + runId + ".json"));
+    report.write(reportFile);
+    System.out.println("\nReport written to " + reportFile);
+    if (options.containsKey("save-baseline")) {
+      report.write(Path.of(options.get("save-baseline")));
+      System.out.println("Baseline written to " + options.get("save-baseline"));
+    }
+    if (options.containsKey("baseline")) {
+      List<String> regressions = report.compare(LoadReport.read(Path.of(options.get("baseline"))),
+              Double.parseDouble(option("tolerance", "0.2")), System.out);
+      if (!regressions.isEmpty()) {
+        System.out.println("\nRegressions:");
+        regressions.forEach(regression -> System.out.println("  " + regression));
+        return 1;
+      }
+      System.out.println("\nNo regressions");
+    }
+    return 0;
+  }
+
+  /**
+   * Sends requests at a fixed rate, each one timed from when it was due. Requests beyond the limit in flight
+   * are counted as errors of their operation instead of being sent.
+   *
+   * @return how far, at worst, sending fell behind the schedule.
+   */
+  private long openLoop(double rate, int maxInFlight, long start, long measureFrom, long end, Recorder measured) {
+    long interval = Math.max(1, (long) (1_000_000_000 / rate));
+    long lag = 0;
+    int sent = 0;
+    for (long due = start; due < end; due += interval) {
+      long now = System.nanoTime();
+      if (due > now) {
+        LockSupport.parkNanos(due - now);
+      } else {
+        lag = Math.max(lag, now - due);
+      }
+      if (due >= measureFrom && recorder != measured) {
+        measured.startedAt = Instant.now();
+        recorder = measured;
+      }
+      Call call = call();
+      if (call == null) {
+        continue;
+      }
+      if (inFlight.get() >= maxInFlight) {
+        recorder.error(call.operation(), "not sent, " + maxInFlight + " requests in flight");
+        continue;
+      }
+      send(clients.get(sent++ % clients.size()), call, due, recorder);
+    }
+    recorder = new Recorder();
+    return lag;
+  }
+
+  // The closed loop of one client: sends the next request when the last one completed
+  private void next(HttpClient client) {
+    if (stopped) {
+      return;
+    }
+    Call call = call();
+    if (call == null) {
+      // Nothing to send; retry later rather than recursing on this thread
+      CompletableFuture.delayedExecutor(10, TimeUnit.MILLISECONDS).execute(() -> next(client));
+      return;
+    }
+    send(client, call, System.nanoTime(), recorder).whenComplete((ignored, failure) -> next(client));
+  }
+
+  private Call call() {
+    int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    int index = Arrays.binarySearch(cumulativeWeights, pick + 1);
+    Operation operation = operations[index >= 0 ? index : -index - 1];
+    try {
+      return operation.call(context);
+    } catch (RuntimeException e) {
+      recorder.error(operation, "could not build the request: " + e);
+      return null;
+    }
+  }
+
+  private CompletableFuture<HttpResponse<byte[]>> send(HttpClient client, Call call, long from, Recorder into) {
+    inFlight.incrementAndGet();
+    HttpResponse.BodyHandler<byte[]> handler = call.onCreated() != null ? HttpResponse.BodyHandlers.ofByteArray()
+            : HttpResponse.BodyHandlers.replacing(null);
+    return client.sendAsync(call.request(), handler).whenComplete((response, failure) -> {
+      long nanos = System.nanoTime() - from;
+      inFlight.decrementAndGet();
+      if (failure != null) {
+        into.error(call.operation(), failure.getCause() != null ? failure.getCause().toString() : failure.toString());
+      } else if (response.statusCode() >= 400) {
+        into.error(call.operation(), response.request().method() + " " + call.operation().key() + " returned "
+                + response.statusCode());
+      } else {
+        into.latencies.get(call.operation()).record(nanos);
+        completed.incrementAndGet();
+        if (call.onCreated() != null) {
+          try {
+            call.onCreated().accept(mapper.readTree(response.body()).path("response"));
+          } catch (Exception e) {
+            // A created row the test cannot parse is one it will not delete
+          }
+        }
+      }
+    });
+  }
+
+  private Map<Operation, Integer> mix(String spec) {
+    Map<Operation, Integer> weights = new LinkedHashMap<>();
+    for (Operation operation : Operation.values()) {
+      switch (spec) {
+        case "default" -> weights.put(operation, operation.defaultWeight());
+        case "reads" -> weights.put(operation, operation.isWrite() ? 0 : operation.defaultWeight());
+        case "writes" -> weights.put(operation, operation.isWrite() ? Math.max(1, operation.defaultWeight()) : 0);
+        case "all" -> weights.put(operation, Math.max(1, operation.defaultWeight()));
+        default -> {
+        }
+      }
+    }
+    if (weights.isEmpty()) {
+      for (String entry : spec.split(",")) {
+        String[] keyAndWeight = entry.trim().split(":");
+        weights.put(Operation.byKey(keyAndWeight[0]), keyAndWeight.length > 1 ? Integer.parseInt(keyAndWeight[1]) : 1);
+      }
+    }
+    weights.values().removeIf(weight -> weight <= 0);
+    if (weights.isEmpty()) {
+      throw new IllegalArgumentException("The mix " + spec + " has no operations");
+    }
+    return weights;
+  }
+
+  private String option(String name, String defaultValue) {
+    return options.getOrDefault(name, defaultValue);
+  }
+
+  private static Duration duration(String value) {
+    if (value.endsWith("ms")) {
+      return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+    }
+    long amount = Long.parseLong(value.substring(0, value.length() - 1));
+    return switch (value.charAt(value.length() - 1)) {
+      case 's' -> Duration.ofSeconds(amount);
+      case 'm' -> Duration.ofMinutes(amount);
+      case 'h' -> Duration.ofHours(amount);
+      default -> throw new IllegalArgumentException("Expected a duration such as 30s, got " + value);
+    };
+  }
+
+  // The latencies and errors of one phase of the run
+  private final class Recorder {
+    final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+    final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    volatile Instant startedAt;
+
+    Recorder() {
+      for (Operation operation : Operation.values()) {
+        latencies.put(operation, new LatencyHistogram());
+        errors.put(operation, new AtomicLong());
+      }
+    }
+
+    void error(Operation operation, String kind) {
+      errors.get(operation).incrementAndGet();
+      failed.incrementAndGet();
+      errorKinds.computeIfAbsent(kind, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    LoadReport report(Instant startedAt, String url, String mode, int concurrency, double rate, double seconds,
+                      Map<Operation, Integer> mix) {
+      Map<String, LoadReport.Stats> stats = new LinkedHashMap<>();
+      LatencyHistogram total = new LatencyHistogram();
+      long totalErrors = 0;
+      for (Operation operation : Operation.values()) {
+        LatencyHistogram histogram = latencies.get(operation);
+        long operationErrors = errors.get(operation).get();
+        if (histogram.count() + operationErrors > 0) {
+          stats.put(operation.key(), LoadReport.Stats.of(histogram, operationErrors, seconds));
+          total.add(histogram);
+          totalErrors += operationErrors;
+        }
+      }
+      Map<String, Integer> weights = new LinkedHashMap<>();
+      mix.forEach((operation, weight) -> weights.put(operation.key(), weight));
+      return new LoadReport(startedAt, url, mode, concurrency, rate, seconds, weights,
+              LoadReport.Stats.of(total, totalErrors, seconds), stats);
+    }
+  }
+}
@@ -0,0 +1,405 @@
+package com.enviro.assessment.grad001.atisomofokeng.loadtest;
+
+import com.enviro.assessment.grad001.atisomofokeng.loadtest.CatalogSample.Child;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Every request the load test can send, one per controller endpoint and variant, with its weight in the default
+ * mix. Reads go to ids sampled from the catalog; updates go to sampled rows and keep their category, and deletes
+ * only remove rows the test created itself, so a run leaves the generated catalog as it found it apart from the
+ * rows it added. The change stream is left out, since a subscription is a connection held open, not a request.
+ */
+enum Operation {
+
+  CATEGORY_PAGE("category-page", 4) {
+    Call call(Context context) {
+      return context.get(this, "/api/waste-categories?size=100");
+    }
+  },
+  CATEGORY("category", 15) {
+    Call call(Context context) {
+      return context.get(this, "/api/waste-categories/" + context.categoryId());
+    }
+  },
+  CATEGORY_WITH_CHILDREN("category-with-children", 8) {
+    Call call(Context context) {
+      return context.get(this, "/api/waste-categories/" + context.categoryId()
+              + "?include=recyclingTips,disposalGuidelines");
+    }
+  },
+  CATEGORY_MULTI_GET("category-multi-get", 2) {
+    Call call(Context context) {
+      return context.get(this, "/api/waste-categories?ids=" + context.categoryIds(20));
+    }
+  },
+  CATEGORY_SUGGEST("category-suggest", 10) {
+    Call call(Context context) {
+      return context.get(this, "/api/waste-categories/suggest?prefix="
+              + CatalogSample.encode(context.sample.any(context.sample.prefixes, context.random())));
+    }
+  },
+  CATEGORY_CREATE("category-create", 1) {
+    Call call(Context context) {
+      return context.send(this, "POST", "/api/waste-categories", Map.of("categoryName", context.uniqueName()),
+              created -> context.sample.createdCategories.add(created.path("id").asLong()));
+    }
+  },
+  CATEGORY_BATCH_CREATE("category-batch-create", 0) {
+    Call call(Context context) {
+      List<Map<String, Object>> categories = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        categories.add(Map.of("categoryName", context.uniqueName()));
+      }
+      return context.send(this, "POST", "/api/waste-categories/batch", categories,
+              created -> created.path("results").forEach(item -> {
+                if (item.path("item").path("id").isNumber()) {
+                  context.sample.createdCategories.add(item.path("item").path("id").asLong());
+                }
+              }));
+    }
+  },
+  CATEGORY_UPDATE("category-update", 1) {
+    Call call(Context context) {
+      // Taken off the queue while it is updated, so that a concurrent delete cannot remove it
+      Long id = context.sample.createdCategories.poll();
+      if (id == null) {
+        return CATEGORY_CREATE.call(context);
+      }
+      return context.send(this, "PUT", "/api/waste-categories/" + id, Map.of("categoryName", context.uniqueName()),
+              updated -> context.sample.createdCategories.add(id));
+    }
+  },
+  CATEGORY_DELETE("category-delete", 1) {
+    Call call(Context context) {
+      Long id = context.sample.createdCategories.poll();
+      return id == null ? CATEGORY_CREATE.call(context) : context.send(this, "DELETE", "/api/waste-categories/" + id,
+              null, null);
+    }
+  },
+
+  TIP_PAGE("tip-page", 3) {
+    Call call(Context context) {
+      return context.get(this, "/api/recycling-tips?size=100");
+    }
+  },
+  TIP("tip", 12) {
+    Call call(Context context) {
+      return context.get(this, "/api/recycling-tips/" + context.child(context.sample.recyclingTips).id());
+    }
+  },
+  TIP_MULTI_GET("tip-multi-get", 2) {
+    Call call(Context context) {
+      return context.get(this, "/api/recycling-tips?ids=" + context.childIds(context.sample.recyclingTips, 20));
+    }
+  },
+  TIPS_OF_CATEGORY("tips-of-category", 8) {
+    Call call(Context context) {
+      return context.get(this, "/api/recycling-tips/category/" + context.categoryId());
+    }
+  },
+  TIPS_OF_CATEGORIES("tips-of-categories", 2) {
+    Call call(Context context) {
+      return context.get(this, "/api/recycling-tips?categoryIds=" + context.categoryIds(10));
+    }
+  },
+  TIP_EXPORT("tip-export", 0) {
+    Call call(Context context) {
+      return context.get(this, "/api/recycling-tips/export?format=NDJSON");
+    }
+  },
+  TIP_CREATE("tip-create", 2) {
+    Call call(Context context) {
+      long categoryId = context.categoryId();
+      return context.send(this, "POST", "/api/recycling-tips",
+              Map.of("recyclingTip", context.text(), "wasteCategoryId", categoryId),
+              created -> context.sample.createdRecyclingTips.add(new Child(created.path("id").asLong(), categoryId)));
+    }
+  },
+  TIP_BATCH_CREATE("tip-batch-create", 1) {
+    Call call(Context context) {
+      long categoryId = context.categoryId();
+      List<Map<String, Object>> tips = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        tips.add(Map.of("recyclingTip", context.text(), "wasteCategoryId", categoryId));
+      }
+      return context.send(this, "POST", "/api/recycling-tips/batch", tips,
+              created -> created.path("results").forEach(item -> {
+                if (item.path("item").path("id").isNumber()) {
+                  context.sample.createdRecyclingTips.add(new Child(item.path("item").path("id").asLong(), categoryId));
+                }
+              }));
+    }
+  },
+  TIP_UPDATE("tip-update", 2) {
+    Call call(Context context) {
+      Child tip = context.child(context.sample.recyclingTips);
+      return context.send(this, "PUT", "/api/recycling-tips/" + tip.id(),
+              Map.of("recyclingTip", context.text(), "wasteCategoryId", tip.categoryId()), null);
+    }
+  },
+  TIP_DELETE("tip-delete", 2) {
+    Call call(Context context) {
+      Child tip = context.sample.createdRecyclingTips.poll();
+      return tip == null ? TIP_CREATE.call(context) : context.send(this, "DELETE", "/api/recycling-tips/" + tip.id(),
+              null, null);
+    }
+  },
+
+  GUIDELINE_PAGE("guideline-page", 2) {
+    Call call(Context context) {
+      return context.get(this, "/api/disposal-guidelines?size=100");
+    }
+  },
+  GUIDELINE("guideline", 8) {
+    Call call(Context context) {
+      return context.get(this, "/api/disposal-guidelines/" + context.child(context.sample.disposalGuidelines).id());
+    }
+  },
+  GUIDELINE_MULTI_GET("guideline-multi-get", 1) {
+    Call call(Context context) {
+      return context.get(this, "/api/disposal-guidelines?ids="
+              + context.childIds(context.sample.disposalGuidelines, 20));
+    }
+  },
+  GUIDELINES_OF_CATEGORY("guidelines-of-category", 5) {
+    Call call(Context context) {
+      return context.get(this, "/api/disposal-guidelines/category/" + context.categoryId());
+    }
+  },
+  GUIDELINES_OF_CATEGORIES("guidelines-of-categories", 1) {
+    Call call(Context context) {
+      return context.get(this, "/api/disposal-guidelines?categoryIds=" + context.categoryIds(10));
+    }
+  },
+  GUIDELINE_EXPORT("guideline-export", 0) {
+    Call call(Context context) {
+      return context.get(this, "/api/disposal-guidelines/export?format=NDJSON");
+    }
+  },
+  GUIDELINE_CREATE("guideline-create", 1) {
+    Call call(Context context) {
+      long categoryId = context.categoryId();
+      return context.send(this, "POST", "/api/disposal-guidelines",
+              Map.of("disposalGuideline", context.text(), "wasteCategoryId", categoryId),
+              created -> context.sample.createdDisposalGuidelines.add(new Child(created.path("id").asLong(), categoryId)));
+    }
+  },
+  GUIDELINE_BATCH_CREATE("guideline-batch-create", 0) {
+    Call call(Context context) {
+      long categoryId = context.categoryId();
+      List<Map<String, Object>> guidelines = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        guidelines.add(Map.of("disposalGuideline", context.text(), "wasteCategoryId", categoryId));
+      }
+      return context.send(this, "POST", "/api/disposal-guidelines/batch", guidelines,
+              created -> created.path("results").forEach(item -> {
+                if (item.path("item").path("id").isNumber()) {
+                  context.sample.createdDisposalGuidelines.add(
+                          new Child(item.path("item").path("id").asLong(), categoryId));
+                }
+              }));
+    }
+  },
+  GUIDELINE_UPDATE("guideline-update", 1) {
+    Call call(Context context) {
+      Child guideline = context.child(context.sample.disposalGuidelines);
+      return context.send(this, "PUT", "/api/disposal-guidelines/" + guideline.id(),
+              Map.of("disposalGuideline", context.text(), "wasteCategoryId", guideline.categoryId()), null);
+    }
+  },
+  GUIDELINE_DELETE("guideline-delete", 1) {
+    Call call(Context context) {
+      Child guideline = context.sample.createdDisposalGuidelines.poll();
+      return guideline == null ? GUIDELINE_CREATE.call(context)
+              : context.send(this, "DELETE", "/api/disposal-guidelines/" + guideline.id(), null, null);
+    }
+  },
+
+  SEARCH("search", 5) {
+    Call call(Context context) {
+      return context.get(this, "/api/search?q=" + CatalogSample.encode(context.sample.any(context.sample.words,
+              context.random())));
+    }
+  },
+  SYNC("sync", 1) {
+    Call call(Context context) {
+      return context.get(this, "/api/sync?since=" + context.sample.revision);
+    }
+  },
+  BUNDLE("bundle", 1) {
+    Call call(Context context) {
+      return context.get(this, "/api/bundle");
+    }
+  },
+  BUNDLE_DOWNLOAD("bundle-download", 0) {
+    Call call(Context context) {
+      // The hash seen at startup; once writes have replaced that bundle this reads the current one's metadata
+      return context.sample.bundleHash == null ? BUNDLE.call(context)
+              : context.get(this, "/api/bundle/" + context.sample.bundleHash);
+    }
+  },
+  COMPOSITE("composite", 2) {
+    Call call(Context context) {
+      List<Map<String, Object>> requests = List.of(
+              Map.of("id", "category", "method", "GET", "path", "/api/waste-categories/" + context.categoryId()),
+              Map.of("id", "tips", "method", "GET", "path", "/api/recycling-tips/category/" + context.categoryId()),
+              Map.of("id", "guidelines", "method", "GET", "path",
+                      "/api/disposal-guidelines/category/" + context.categoryId()));
+      return context.send(this, "POST", "/api/batch", Map.of("requests", requests), null);
+    }
+  },
+  CACHE_STATS("cache-stats", 0) {
+    Call call(Context context) {
+      return context.get(this, "/api/caches/stats");
+    }
+  },
+  IMPORT("import", 0) {
+    Call call(Context context) {
+      String category = context.uniqueName();
+      StringBuilder csv = new StringBuilder("type,category,text\n").append("CATEGORY,").append(category).append(",\n");
+      for (int i = 0; i < 5; i++) {
+        csv.append("TIP,").append(category).append(',').append(context.text()).append('\n');
+      }
+      String jobId = "loadtest-" + context.runId + "-" + context.sequence.incrementAndGet();
+      return new Call(this, context.request("/api/imports?jobId=" + jobId + "&format=CSV")
+              .header("Content-Type", "text/csv")
+              .POST(HttpRequest.BodyPublishers.ofString(csv.toString()))
+              .build(), null);
+    }
+  };
+
+  /**
+   * A request to send, counted under the operation that was actually performed, with a handler for the item
+   * it created, if any.
+   */
+  record Call(Operation operation, HttpRequest request, Consumer<JsonNode> onCreated) {
+  }
+
+  /**
+   * What an operation needs to build its request.
+   */
+  static final class Context {
+    final CatalogSample sample;
+    final URI base;
+    final ObjectMapper mapper;
+    final String runId;
+    final Duration timeout;
+    final AtomicLong sequence = new AtomicLong();
+
+    Context(CatalogSample sample, URI base, ObjectMapper mapper, String runId, Duration timeout) {
+      this.sample = sample;
+      this.base = base;
+      this.mapper = mapper;
+      this.runId = runId;
+      this.timeout = timeout;
+    }
+
+    ThreadLocalRandom random() {
+      return ThreadLocalRandom.current();
+    }
+
+    long categoryId() {
+      return sample.any(sample.categoryIds, random());
+    }
+
+    String categoryIds(int count) {
+      List<Long> ids = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        ids.add(categoryId());
+      }
+      return CatalogSample.join(ids.stream().distinct().toList());
+    }
+
+    Child child(List<Child> children) {
+      return sample.any(children, random());
+    }
+
+    String childIds(List<Child> children, int count) {
+      List<Long> ids = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        ids.add(child(children).id());
+      }
+      return CatalogSample.join(ids.stream().distinct().toList());
+    }
+
+    String uniqueName() {
+      return "Loadtest " + runId + " " + sequence.incrementAndGet();
+    }
+
+    String text() {
+      List<String> words = sample.words;
+      StringBuilder text = new StringBuilder("Load test");
+      for (int i = 0; i < 8; i++) {
+        text.append(' ').append(words.get(random().nextInt(words.size())));
+      }
+      return text.append('.').toString();
+    }
+
+    HttpRequest.Builder request(String path) {
+      return HttpRequest.newBuilder(base.resolve(path)).timeout(timeout);
+    }
+
+    Call get(Operation operation, String path) {
+      return new Call(operation, request(path).GET().build(), null);
+    }
+
+    Call send(Operation operation, String method, String path, Object body, Consumer<JsonNode> onCreated) {
+      HttpRequest.Builder request = request(path);
+      if (body == null) {
+        request.method(method, HttpRequest.BodyPublishers.noBody());
+      } else {
+        try {
+          request.header("Content-Type", "application/json")
+                  .method(method, HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)));
+        } catch (JsonProcessingException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      return new Call(operation, request.build(), onCreated);
+    }
+  }
+
+  private final String key;
+  private final int defaultWeight;
+
+  Operation(String key, int defaultWeight) {
+    this.key = key;
+    this.defaultWeight = defaultWeight;
+  }
+
+  abstract Call call(Context context);
+
+  String key() {
+    return key;
+  }
+
+  int defaultWeight() {
+    return defaultWeight;
+  }
+
+  boolean isWrite() {
+    return key.endsWith("-create") || key.endsWith("-update") || key.endsWith("-delete") || this == IMPORT;
+  }
+
+  static Operation byKey(String key) {
+    for (Operation operation : values()) {
+      if (operation.key.equals(key)) {
+        return operation;
+      }
+    }
+    throw new IllegalArgumentException("Unknown operation " + key);
+  }
+}
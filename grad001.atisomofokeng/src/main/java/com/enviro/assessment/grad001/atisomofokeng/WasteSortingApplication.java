@@ -6,23 +6,36 @@ import com.enviro.assessment.grad001.atisomofokeng.model.WasteCategory;
 import com.enviro.assessment.grad001.atisomofokeng.repository.DisposalGuidelineRepository;
 import com.enviro.assessment.grad001.atisomofokeng.repository.RecyclingTipRepository;
 import com.enviro.assessment.grad001.atisomofokeng.repository.WasteCategoryRepository;
+import com.enviro.assessment.grad001.atisomofokeng.service.importer.CatalogImportRunner;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 
 import java.util.List;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class WasteSortingApplication
 {
 
 	public static void main(String[] args)
 	{
-		SpringApplication.run(WasteSortingApplication.class, args);
+		ConfigurableApplicationContext context = SpringApplication.run(WasteSortingApplication.class, args);
+		// In command-line import mode, stop once the import has run, with its status
+		if (context.getBeanNamesForType(CatalogImportRunner.class).length > 0)
+		{
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
+	// Before the synthetic catalog, so that the sample categories always get the first ids
 	@Bean
+	@Order(Ordered.HIGHEST_PRECEDENCE)
 	CommandLineRunner initDatabase(WasteCategoryRepository wasteCategoryRepository,
 																 RecyclingTipRepository recyclingTipRepository,
 																 DisposalGuidelineRepository disposalGuidelineRepository)
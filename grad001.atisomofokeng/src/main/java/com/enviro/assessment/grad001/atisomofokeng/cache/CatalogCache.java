@@ -0,0 +1,185 @@
+package com.enviro.assessment.grad001.atisomofokeng.cache;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * A named read-through cache in front of one catalog read. When caching is disabled the loader is
+ * called on every lookup, so callers do not need to distinguish the two modes.
+ * <p>
+ * An invalidation only sees the entries already in the cache, so a load that read the database before a write
+ * committed could store a stale value after the write was invalidated. Every invalidation therefore advances a
+ * generation, and every loaded value is stamped with the generation at which its load started. A value read
+ * back with an older stamp is tested against the invalidations made since; if one of them matches, or they are
+ * too old to be known, the value is dropped and loaded again.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+public class CatalogCache<K, V> {
+
+  // The invalidations kept to check values loaded before them; older values are reloaded once
+  private static final int RECENT_INVALIDATIONS = 128;
+
+  private final String name;
+  private final Function<K, V> loader;
+  private LoadingCache<K, Stamped<V>> cache;
+  private final AtomicLong generation = new AtomicLong();
+  private final ConcurrentSkipListMap<Long, BiPredicate<K, V>> recentInvalidations = new ConcurrentSkipListMap<>();
+
+  CatalogCache(String name, Function<K, V> loader) {
+    this.name = name;
+    this.loader = loader;
+  }
+
+  // Set by the manager before the cache is handed out, once it is built with this cache's stamping loader
+  void setCache(LoadingCache<K, Stamped<V>> cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Loads a value and stamps it with the generation at which the load started.
+   *
+   * @param key the key.
+   * @return the stamped value.
+   */
+  Stamped<V> load(K key) {
+    long started = generation.get();
+    return new Stamped<>(loader.apply(key), started);
+  }
+
+  /**
+   * Returns the cached value for the key, loading it on a miss.
+   * Exceptions thrown by the loader (e.g. ResourceNotFoundException) propagate and nothing is cached.
+   *
+   * @param key the key.
+   * @return the value.
+   */
+  public V get(K key) {
+    if (cache == null) {
+      return loader.apply(key);
+    }
+    Stamped<V> stamped = cache.get(key);
+    if (isCurrent(key, stamped)) {
+      return stamped.value;
+    }
+    cache.asMap().remove(key, stamped);
+    // Loaded afresh; under constant writes the value may already be outdated again, as for any read
+    return cache.get(key).value;
+  }
+
+  // Whether no invalidation made since the value was loaded applies to it; a value that passes is not checked again
+  private boolean isCurrent(K key, Stamped<V> stamped) {
+    long current = generation.get();
+    long checked = stamped.checked;
+    if (checked == current) {
+      return true;
+    }
+    Map.Entry<Long, BiPredicate<K, V>> oldest = recentInvalidations.firstEntry();
+    if (oldest == null || oldest.getKey() > checked + 1) {
+      return false;
+    }
+    for (BiPredicate<K, V> predicate : recentInvalidations.subMap(checked, false, current, true).values()) {
+      if (predicate.test(key, stamped.value)) {
+        return false;
+      }
+    }
+    // The oldest invalidations may have been dropped while they were being tested
+    oldest = recentInvalidations.firstEntry();
+    if (oldest == null || oldest.getKey() > checked + 1) {
+      return false;
+    }
+    stamped.checked = current;
+    return true;
+  }
+
+  /**
+   * Removes the entry for one key, including a value whose load is in progress.
+   *
+   * @param key the key to evict.
+   */
+  public void invalidate(K key) {
+    if (cache != null) {
+      record((candidate, value) -> candidate.equals(key));
+      cache.invalidate(key);
+    }
+  }
+
+  /**
+   * Removes every entry matching the predicate. A value whose load is in progress is tested when it is first
+   * read, and dropped if it matches.
+   *
+   * @param predicate tested against each key and cached value.
+   */
+  public void invalidateIf(BiPredicate<K, V> predicate) {
+    if (cache != null) {
+      record(predicate);
+      cache.asMap().entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue().value));
+    }
+  }
+
+  /**
+   * Removes every entry.
+   */
+  public void invalidateAll() {
+    if (cache != null) {
+      record((key, value) -> true);
+      cache.invalidateAll();
+    }
+  }
+
+  // Advances the generation before the entries are removed, so that a load running concurrently is stamped older.
+  // The predicate is published first: a reader that sees a generation always finds its invalidation.
+  private synchronized void record(BiPredicate<K, V> predicate) {
+    long next = generation.get() + 1;
+    recentInvalidations.put(next, predicate);
+    generation.set(next);
+    while (recentInvalidations.size() > RECENT_INVALIDATIONS) {
+      recentInvalidations.pollFirstEntry();
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the hit/miss/eviction statistics of the cache.
+   *
+   * @return the statistics, empty when caching is disabled.
+   */
+  public CacheStats stats() {
+    return cache == null ? CacheStats.empty() : cache.stats();
+  }
+
+  /**
+   * Returns the approximate number of entries in the cache.
+   *
+   * @return the estimated size.
+   */
+  public long estimatedSize() {
+    return cache == null ? 0 : cache.estimatedSize();
+  }
+
+  /**
+   * A cached value with the last generation of invalidations it is known to be unaffected by.
+   *
+   * @param <V> the value type.
+   */
+  static final class Stamped<V> {
+
+    final V value;
+    volatile long checked;
+
+    Stamped(V value, long checked) {
+      this.value = value;
+      this.checked = checked;
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.enviro.assessment.grad001.atisomofokeng.cache;
+
+import com.enviro.assessment.grad001.atisomofokeng.config.CatalogProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Creates and keeps track of the in-process catalog caches.
+ * Every cache is bounded by weight, expires entries after a TTL and refreshes them ahead of expiry in the
+ * background. Loaders run in a read-only transaction, so they also work for background refreshes that
+ * happen outside of any request.
+ */
+@Component
+public class CatalogCacheManager {
+
+  private final CatalogProperties.Cache properties;
+  private final TransactionTemplate readOnlyTransaction;
+  private final Map<String, CatalogCache<?, ?>> caches = new ConcurrentSkipListMap<>();
+
+  public CatalogCacheManager(CatalogProperties catalogProperties, PlatformTransactionManager transactionManager) {
+    this.properties = catalogProperties.getCache();
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  /**
+   * Creates a named cache.
+   *
+   * @param name    the cache name, used in the statistics.
+   * @param loader  loads the value for a key on a miss or refresh; runs in a read-only transaction.
+   * @param weigher the weight of an entry, counted against the configured maximum weight.
+   * @param <K>     the key type.
+   * @param <V>     the value type.
+   * @return the cache.
+   */
+  public <K, V> CatalogCache<K, V> create(String name, Function<K, V> loader, ToIntBiFunction<K, V> weigher) {
+    Function<K, V> transactionalLoader = key -> readOnlyTransaction.execute(status -> loader.apply(key));
+
+    LoadingCache<K, CatalogCache.Stamped<V>> cache = null;
+    // The cache stamps what the loader returns, so it is created first and handed the Caffeine cache after
+    CatalogCache<K, V> catalogCache = new CatalogCache<>(name, transactionalLoader);
+    if (properties.isEnabled()) {
+      Caffeine<Object, Object> builder = Caffeine.newBuilder()
+              .maximumWeight(properties.getMaximumWeight())
+              .expireAfterWrite(properties.getExpireAfterWrite())
+              .recordStats();
+      if (properties.getRefreshAfterWrite() != null) {
+        builder.refreshAfterWrite(properties.getRefreshAfterWrite());
+      }
+      cache = builder
+              .<K, CatalogCache.Stamped<V>>weigher((key, stamped) -> Math.max(1, weigher.applyAsInt(key, stamped.value)))
+              .build(catalogCache::load);
+      catalogCache.setCache(cache);
+    }
+
+    caches.put(name, catalogCache);
+    return catalogCache;
+  }
+
+  /**
+   * Returns every cache created so far, ordered by name.
+   *
+   * @return the caches.
+   */
+  public Collection<CatalogCache<?, ?>> getCaches() {
+    return Collections.unmodifiableCollection(caches.values());
+  }
+}
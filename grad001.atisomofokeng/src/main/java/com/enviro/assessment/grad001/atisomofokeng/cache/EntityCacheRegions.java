@@ -0,0 +1,33 @@
+package com.enviro.assessment.grad001.atisomofokeng.cache;
+
+import org.hibernate.cache.spi.RegionFactory;
+
+import java.util.List;
+
+/**
+ * Names of the Hibernate second-level cache regions. Every region is created up front with its configured size,
+ * so a mapping that names an unknown region fails at startup.
+ */
+public final class EntityCacheRegions {
+
+  public static final String WASTE_CATEGORIES = "wasteCategories";
+  public static final String WASTE_CATEGORY_RECYCLING_TIPS = "wasteCategoryRecyclingTips";
+  public static final String WASTE_CATEGORY_DISPOSAL_GUIDELINES = "wasteCategoryDisposalGuidelines";
+  public static final String RECYCLING_TIPS = "recyclingTips";
+  public static final String DISPOSAL_GUIDELINES = "disposalGuidelines";
+
+  // Query cache regions: the ids returned by the per-category queries
+  public static final String RECYCLING_TIPS_BY_CATEGORY = "recyclingTipsByCategory";
+  public static final String DISPOSAL_GUIDELINES_BY_CATEGORY = "disposalGuidelinesByCategory";
+
+  // Hibernate's own regions: other cached queries, and the last update time of every table
+  public static final String DEFAULT_QUERY_RESULTS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+  public static final String UPDATE_TIMESTAMPS = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+  public static final List<String> ALL = List.of(WASTE_CATEGORIES, WASTE_CATEGORY_RECYCLING_TIPS,
+          WASTE_CATEGORY_DISPOSAL_GUIDELINES, RECYCLING_TIPS, DISPOSAL_GUIDELINES, RECYCLING_TIPS_BY_CATEGORY,
+          DISPOSAL_GUIDELINES_BY_CATEGORY, DEFAULT_QUERY_RESULTS, UPDATE_TIMESTAMPS);
+
+  private EntityCacheRegions() {
+  }
+}
@@ -0,0 +1,57 @@
+package com.enviro.assessment.grad001.atisomofokeng.cache;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.CacheStatsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reports the hit and miss counts of the Hibernate second-level cache regions, as recorded by Hibernate's
+ * statistics, together with the number of entries each region holds.
+ */
+@Component
+public class EntityCacheStatistics {
+
+  private final EntityManagerFactory entityManagerFactory;
+  private final CacheManager entityCacheManager;
+
+  public EntityCacheStatistics(EntityManagerFactory entityManagerFactory, CacheManager entityCacheManager) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.entityCacheManager = entityCacheManager;
+  }
+
+  /**
+   * @return the statistics of every region, named "entity." followed by the region name.
+   */
+  public List<CacheStatsResponse> stats() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    List<CacheStatsResponse> stats = new ArrayList<>();
+    for (String region : EntityCacheRegions.ALL) {
+      CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+      long hits = regionStatistics == null ? 0 : regionStatistics.getHitCount();
+      long misses = regionStatistics == null ? 0 : regionStatistics.getMissCount();
+      stats.add(new CacheStatsResponse(
+              "entity." + region,
+              sizeOf(region),
+              hits,
+              misses,
+              hits + misses == 0 ? 1.0 : (double) hits / (hits + misses),
+              0,
+              0,
+              0));
+    }
+    return stats;
+  }
+
+  private long sizeOf(String region) {
+    Cache<Object, Object> cache = entityCacheManager.getCache(region);
+    return cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+  }
+}
@@ -0,0 +1,124 @@
+package com.enviro.assessment.grad001.atisomofokeng.cache;
+
+import com.enviro.assessment.grad001.atisomofokeng.config.CatalogProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds complete responses of the hottest list endpoints as bytes, both as serialized and gzip-compressed,
+ * so that they can be written to the socket without running Jackson or a compressor again.
+ * Every entry is stamped with the catalog revision it was produced at; an entry whose revision is no longer
+ * current is regenerated by the next request for it. The cache is bounded by the total size of its bytes.
+ */
+@Component
+public class SerializedResponseCache {
+
+  /**
+   * A response as it was sent once.
+   *
+   * @param status   the status code of the response.
+   * @param etag     the entity tag of the response, i.e. the catalog revision it was produced at.
+   * @param headers  the response headers to replay, other than the content length and encoding.
+   * @param identity the body as serialized.
+   * @param gzip     the body, gzip-compressed.
+   */
+  public record SerializedResponse(int status, String etag, List<Map.Entry<String, String>> headers, byte[] identity,
+                                   byte[] gzip) {
+  }
+
+  private final Cache<String, SerializedResponse> cache;
+  // Counted here, since an out-of-date entry is a miss to callers but a hit to the underlying cache
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  public SerializedResponseCache(CatalogProperties catalogProperties) {
+    CatalogProperties.ResponseCache properties = catalogProperties.getResponseCache();
+    this.cache = properties.isEnabled()
+            ? Caffeine.newBuilder()
+                    .maximumWeight(properties.getMaximumBytes())
+                    .<String, SerializedResponse>weigher((key, response) ->
+                            key.length() + response.identity().length + response.gzip().length)
+                    .recordStats()
+                    .build()
+            : null;
+  }
+
+  /**
+   * @return whether responses are cached at all.
+   */
+  public boolean isEnabled() {
+    return cache != null;
+  }
+
+  /**
+   * Returns the cached response for the key, if it was produced at the given catalog revision.
+   *
+   * @param key  the request key.
+   * @param etag the entity tag of the current catalog revision.
+   * @return the response, or null if there is none or it is out of date.
+   */
+  public SerializedResponse get(String key, String etag) {
+    SerializedResponse response = cache.asMap().get(key);
+    if (response != null && response.etag().equals(etag)) {
+      hits.increment();
+      return response;
+    }
+    misses.increment();
+    return null;
+  }
+
+  /**
+   * Stores a response, compressing its body once.
+   *
+   * @param key     the request key.
+   * @param status  the status code of the response.
+   * @param etag    the entity tag the response was sent with.
+   * @param headers the response headers to replay.
+   * @param body    the serialized body.
+   * @return the stored response.
+   */
+  public SerializedResponse put(String key, int status, String etag, List<Map.Entry<String, String>> headers,
+                                byte[] body) {
+    SerializedResponse response = new SerializedResponse(status, etag, headers, body, gzip(body));
+    cache.put(key, response);
+    return response;
+  }
+
+  public CacheStats stats() {
+    if (cache == null) {
+      return CacheStats.empty();
+    }
+    CacheStats evictions = cache.stats();
+    return CacheStats.of(hits.sum(), misses.sum(), 0, 0, 0, evictions.evictionCount(), evictions.evictionWeight());
+  }
+
+  public long estimatedSize() {
+    return cache == null ? 0 : cache.estimatedSize();
+  }
+
+  // Compressed once per catalog revision, so the best ratio is worth its CPU
+  private static byte[] gzip(byte[] body) {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+    try (GZIPOutputStream out = new GZIPOutputStream(compressed) {
+      {
+        def.setLevel(Deflater.BEST_COMPRESSION);
+      }
+    }) {
+      out.write(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return compressed.toByteArray();
+  }
+}
@@ -0,0 +1,782 @@
+package com.enviro.assessment.grad001.atisomofokeng.config;
+
+import com.enviro.assessment.grad001.atisomofokeng.jdbc.StatementStatistics;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for the waste catalog, bound from the "catalog" prefix.
+ */
+@ConfigurationProperties(prefix = "catalog")
+public class CatalogProperties {
+
+  /**
+   * Strategies for loading waste categories together with their recycling tips and disposal guidelines.
+   */
+  public enum FetchStrategy {
+    /** Load categories, then walk each lazy collection (1 + 2N statements). */
+    LAZY,
+    /** Entity-graph queries, one per collection and chunk of batch-size categories, sharing a persistence context. */
+    ENTITY_GRAPH,
+    /** JPQL fetch-join queries, one per collection and chunk of batch-size categories, sharing a persistence context. */
+    FETCH_JOIN,
+    /** Load categories, then tips and guidelines with chunked IN queries grouped in memory. */
+    BATCH
+  }
+
+  /**
+   * Where the read endpoints get their data from.
+   */
+  public enum ReadSource {
+    /** An immutable in-memory snapshot of the whole catalog, patched on every committed write. */
+    SNAPSHOT,
+    /** The database, through the read-through caches. */
+    DATABASE
+  }
+
+  // Source of the data served by the read endpoints.
+  private ReadSource readSource = ReadSource.SNAPSHOT;
+
+  // Strategy used when reading categories with their child collections.
+  private FetchStrategy fetchStrategy = FetchStrategy.ENTITY_GRAPH;
+
+  // Maximum number of categories bound into a single IN clause by the ENTITY_GRAPH, FETCH_JOIN and BATCH strategies.
+  private int batchSize = 500;
+
+  // Page sizes for the cursor-paginated list endpoints.
+  private final Pagination pagination = new Pagination();
+
+  // Read-through caches in front of the service reads.
+  private final Cache cache = new Cache();
+
+  // Hibernate second-level and query cache regions.
+  private final EntityCache entityCache = new EntityCache();
+
+  // Limits of the bulk create endpoints.
+  private final Bulk bulk = new Bulk();
+
+  // Streaming CSV/TSV import of the catalog.
+  private final Import imports = new Import();
+
+  // Result limits of the full-text search endpoint.
+  private final Search search = new Search();
+
+  // Limits and synonyms of the category autocomplete endpoint.
+  private final Suggest suggest = new Suggest();
+
+  // Serialized and compressed responses of the list endpoints.
+  private final ResponseCache responseCache = new ResponseCache();
+
+  // Offline bundle of the whole catalog.
+  private final Bundle bundle = new Bundle();
+
+  // Delta synchronization from the change log.
+  private final Sync sync = new Sync();
+
+  // Server-Sent Events change feed.
+  private final Stream stream = new Stream();
+
+  // Composite requests to the batch endpoint.
+  private final Composite composite = new Composite();
+
+  // Admission of threads to the JDBC connection pool.
+  private final Jdbc jdbc = new Jdbc();
+
+  // Synthetic catalog written at startup for load testing.
+  private final Generate generate = new Generate();
+
+  public ReadSource getReadSource() {
+    return readSource;
+  }
+
+  public void setReadSource(ReadSource readSource) {
+    this.readSource = readSource;
+  }
+
+  public FetchStrategy getFetchStrategy() {
+    return fetchStrategy;
+  }
+
+  public void setFetchStrategy(FetchStrategy fetchStrategy) {
+    this.fetchStrategy = fetchStrategy;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public Pagination getPagination() {
+    return pagination;
+  }
+
+  public Cache getCache() {
+    return cache;
+  }
+
+  public EntityCache getEntityCache() {
+    return entityCache;
+  }
+
+  public Bulk getBulk() {
+    return bulk;
+  }
+
+  public Import getImport() {
+    return imports;
+  }
+
+  public Search getSearch() {
+    return search;
+  }
+
+  public Suggest getSuggest() {
+    return suggest;
+  }
+
+  public ResponseCache getResponseCache() {
+    return responseCache;
+  }
+
+  public Bundle getBundle() {
+    return bundle;
+  }
+
+  public Sync getSync() {
+    return sync;
+  }
+
+  public Stream getStream() {
+    return stream;
+  }
+
+  public Composite getComposite() {
+    return composite;
+  }
+
+  public Jdbc getJdbc() {
+    return jdbc;
+  }
+
+  public Generate getGenerate() {
+    return generate;
+  }
+
+  /**
+   * Page size limits for the list endpoints.
+   */
+  public static class Pagination {
+
+    // Page size used when the client does not ask for one.
+    private int defaultPageSize = 100;
+
+    // Upper bound on the page size a client may ask for.
+    private int maxPageSize = 1000;
+
+    /**
+     * Resolves the page size to use for a request, clamping it to [1, maxPageSize].
+     *
+     * @param requested the page size asked for by the client, or null.
+     * @return the effective page size.
+     */
+    public int resolve(Integer requested) {
+      int size = requested == null ? defaultPageSize : requested;
+      return Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    public int getDefaultPageSize() {
+      return defaultPageSize;
+    }
+
+    public void setDefaultPageSize(int defaultPageSize) {
+      this.defaultPageSize = defaultPageSize;
+    }
+
+    public int getMaxPageSize() {
+      return maxPageSize;
+    }
+
+    public void setMaxPageSize(int maxPageSize) {
+      this.maxPageSize = maxPageSize;
+    }
+  }
+
+  /**
+   * Sizing and expiry of the in-process read-through caches.
+   */
+  public static class Cache {
+
+    // Whether reads are cached at all; when false every read goes to the database.
+    private boolean enabled = true;
+
+    // Maximum total weight per cache; an entry weighs one per item it holds.
+    private long maximumWeight = 100_000;
+
+    // Entries are dropped this long after they were loaded.
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+    // Entries read this long after they were loaded are reloaded in the background; null disables refresh-ahead.
+    private Duration refreshAfterWrite = Duration.ofMinutes(1);
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public long getMaximumWeight() {
+      return maximumWeight;
+    }
+
+    public void setMaximumWeight(long maximumWeight) {
+      this.maximumWeight = maximumWeight;
+    }
+
+    public Duration getExpireAfterWrite() {
+      return expireAfterWrite;
+    }
+
+    public void setExpireAfterWrite(Duration expireAfterWrite) {
+      this.expireAfterWrite = expireAfterWrite;
+    }
+
+    public Duration getRefreshAfterWrite() {
+      return refreshAfterWrite;
+    }
+
+    public void setRefreshAfterWrite(Duration refreshAfterWrite) {
+      this.refreshAfterWrite = refreshAfterWrite;
+    }
+  }
+
+  /**
+   * Sizes of the Hibernate second-level and query cache regions.
+   */
+  public static class EntityCache {
+
+    // Maximum number of entries of each region, by region name.
+    private Map<String, Long> maximumSize = new HashMap<>();
+
+    // Maximum number of entries of the regions not listed above.
+    private long defaultMaximumSize = 10_000;
+
+    // Time after which entries expire, bounding the staleness of rows changed outside the application.
+    // The update timestamps region never expires, as the query cache relies on it.
+    private Duration expireAfterWrite = Duration.ofHours(1);
+
+    /**
+     * @param region the region name.
+     * @return the maximum number of entries of the region.
+     */
+    public long maximumSizeOf(String region) {
+      return maximumSize.getOrDefault(region, defaultMaximumSize);
+    }
+
+    public Map<String, Long> getMaximumSize() {
+      return maximumSize;
+    }
+
+    public void setMaximumSize(Map<String, Long> maximumSize) {
+      this.maximumSize = maximumSize;
+    }
+
+    public long getDefaultMaximumSize() {
+      return defaultMaximumSize;
+    }
+
+    public void setDefaultMaximumSize(long defaultMaximumSize) {
+      this.defaultMaximumSize = defaultMaximumSize;
+    }
+
+    public Duration getExpireAfterWrite() {
+      return expireAfterWrite;
+    }
+
+    public void setExpireAfterWrite(Duration expireAfterWrite) {
+      this.expireAfterWrite = expireAfterWrite;
+    }
+  }
+
+  /**
+   * Limits of the bulk create endpoints.
+   */
+  public static class Bulk {
+
+    // Maximum number of items accepted in one bulk request.
+    private int maxItems = 10_000;
+
+    public int getMaxItems() {
+      return maxItems;
+    }
+
+    public void setMaxItems(int maxItems) {
+      this.maxItems = maxItems;
+    }
+  }
+
+  /**
+   * Settings of the streaming catalog import, used by the import endpoint and by the command-line mode.
+   */
+  public static class Import {
+
+    // Number of records validated together and committed in one transaction.
+    private int chunkSize = 1000;
+
+    // Directory that receives the rejected-rows report of each import job.
+    private Path reportDirectory = Path.of(System.getProperty("java.io.tmpdir"), "catalog-imports");
+
+    // File to import at startup (command-line mode); the application exits when the import ends.
+    private Path file;
+
+    // Job id of the command-line import; defaults to the file name, so re-running resumes the same job.
+    private String jobId;
+
+    public int getChunkSize() {
+      return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+      this.chunkSize = chunkSize;
+    }
+
+    public Path getReportDirectory() {
+      return reportDirectory;
+    }
+
+    public void setReportDirectory(Path reportDirectory) {
+      this.reportDirectory = reportDirectory;
+    }
+
+    public Path getFile() {
+      return file;
+    }
+
+    public void setFile(Path file) {
+      this.file = file;
+    }
+
+    public String getJobId() {
+      return jobId;
+    }
+
+    public void setJobId(String jobId) {
+      this.jobId = jobId;
+    }
+  }
+
+  /**
+   * Result limits of the full-text search endpoint.
+   */
+  public static class Search {
+
+    // Number of hits returned when the client does not ask for a limit.
+    private int defaultLimit = 20;
+
+    // Upper bound on the number of hits a client may ask for.
+    private int maxLimit = 100;
+
+    /**
+     * Resolves the number of hits to return, clamping it to [1, maxLimit].
+     *
+     * @param requested the limit asked for by the client, or null.
+     * @return the effective limit.
+     */
+    public int resolve(Integer requested) {
+      int limit = requested == null ? defaultLimit : requested;
+      return Math.max(1, Math.min(limit, maxLimit));
+    }
+
+    public int getDefaultLimit() {
+      return defaultLimit;
+    }
+
+    public void setDefaultLimit(int defaultLimit) {
+      this.defaultLimit = defaultLimit;
+    }
+
+    public int getMaxLimit() {
+      return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+      this.maxLimit = maxLimit;
+    }
+  }
+
+  /**
+   * Settings of the serialized-response cache in front of the list endpoints.
+   */
+  public static class ResponseCache {
+
+    // Whether list responses are kept as bytes at all.
+    private boolean enabled = true;
+
+    // Maximum total size of the cached bodies, serialized and compressed, in bytes.
+    private long maximumBytes = 64L * 1024 * 1024;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public long getMaximumBytes() {
+      return maximumBytes;
+    }
+
+    public void setMaximumBytes(long maximumBytes) {
+      this.maximumBytes = maximumBytes;
+    }
+  }
+
+  /**
+   * Settings of the offline catalog bundle.
+   */
+  public static class Bundle {
+
+    // Directory the bundle files are written to; bundles left by earlier runs are deleted at startup.
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "catalog-bundles");
+
+    // Changes committed within this delay of each other are coalesced into one rewrite.
+    private Duration rebuildDelay = Duration.ofSeconds(2);
+
+    // Number of bundles kept on disk, so that downloads of a just-replaced bundle can complete.
+    private int keep = 3;
+
+    public Path getDirectory() {
+      return directory;
+    }
+
+    public void setDirectory(Path directory) {
+      this.directory = directory;
+    }
+
+    public Duration getRebuildDelay() {
+      return rebuildDelay;
+    }
+
+    public void setRebuildDelay(Duration rebuildDelay) {
+      this.rebuildDelay = rebuildDelay;
+    }
+
+    public int getKeep() {
+      return keep;
+    }
+
+    public void setKeep(int keep) {
+      this.keep = keep;
+    }
+  }
+
+  /**
+   * Settings of delta synchronization and of the change log it reads.
+   */
+  public static class Sync {
+
+    // Number of change log records read per sync when the client does not ask for a limit.
+    private int defaultLimit = 1000;
+
+    // Upper bound on the number of change log records a client may ask for.
+    private int maxLimit = 10_000;
+
+    // Time between compactions of the change log.
+    private Duration compactionInterval = Duration.ofHours(1);
+
+    // Tombstones are dropped this long after the deletion; clients that have not synced since must reset.
+    private Duration tombstoneRetention = Duration.ofDays(30);
+
+    /**
+     * Resolves the number of records to read, clamping it to [1, maxLimit].
+     *
+     * @param requested the limit asked for by the client, or null.
+     * @return the effective limit.
+     */
+    public int resolve(Integer requested) {
+      int limit = requested == null ? defaultLimit : requested;
+      return Math.max(1, Math.min(limit, maxLimit));
+    }
+
+    public int getDefaultLimit() {
+      return defaultLimit;
+    }
+
+    public void setDefaultLimit(int defaultLimit) {
+      this.defaultLimit = defaultLimit;
+    }
+
+    public int getMaxLimit() {
+      return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+      this.maxLimit = maxLimit;
+    }
+
+    public Duration getCompactionInterval() {
+      return compactionInterval;
+    }
+
+    public void setCompactionInterval(Duration compactionInterval) {
+      this.compactionInterval = compactionInterval;
+    }
+
+    public Duration getTombstoneRetention() {
+      return tombstoneRetention;
+    }
+
+    public void setTombstoneRetention(Duration tombstoneRetention) {
+      this.tombstoneRetention = tombstoneRetention;
+    }
+  }
+
+  /**
+   * Settings of the Server-Sent Events change feed.
+   */
+  public static class Stream {
+
+    // Events queued per subscriber; a subscriber that falls further behind is disconnected and must resume.
+    // Also the largest backlog replayed on resume before the client is told to reset instead.
+    private int bufferSize = 256;
+
+    // Threads writing queued events to the subscribers' connections.
+    private int dispatchThreads = 2;
+
+    // Time between heartbeat comments sent on idle connections.
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    public int getBufferSize() {
+      return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+      this.bufferSize = bufferSize;
+    }
+
+    public int getDispatchThreads() {
+      return dispatchThreads;
+    }
+
+    public void setDispatchThreads(int dispatchThreads) {
+      this.dispatchThreads = dispatchThreads;
+    }
+
+    public Duration getHeartbeatInterval() {
+      return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+      this.heartbeatInterval = heartbeatInterval;
+    }
+  }
+
+  /**
+   * Limits of the composite batch endpoint.
+   */
+  public static class Composite {
+
+    // Maximum number of sub-requests accepted in one composite request.
+    private int maxRequests = 100;
+
+    // Threads shared by all composite requests to run their independent reads concurrently.
+    private int readThreads = 4;
+
+    public int getMaxRequests() {
+      return maxRequests;
+    }
+
+    public void setMaxRequests(int maxRequests) {
+      this.maxRequests = maxRequests;
+    }
+
+    public int getReadThreads() {
+      return readThreads;
+    }
+
+    public void setReadThreads(int readThreads) {
+      this.readThreads = readThreads;
+    }
+  }
+
+  /**
+   * Admission of threads to the JDBC connection pool.
+   */
+  public static class Jdbc {
+
+    // Queue threads for a connection on a fair semaphore sized to the pool; unset follows virtual threads.
+    private Boolean limitConcurrency;
+
+    // Count the statements, rows and JDBC time of every request, and report suspected N+1 selects.
+    private boolean inspectStatements = true;
+
+    // Also return the counts of every request in X-SQL-* response headers; meant for development and tests.
+    private boolean statementHeaders = false;
+
+    // Executions of the same query within one request from which it is reported as a suspected N+1 select.
+    private int nPlusOneThreshold = StatementStatistics.DEFAULT_N_PLUS_ONE_THRESHOLD;
+
+    /**
+     * Resolves whether connections are handed out through the semaphore.
+     *
+     * @param virtualThreads whether requests are handled on virtual threads.
+     * @return true if the data source is to be wrapped.
+     */
+    public boolean limitsConcurrency(boolean virtualThreads) {
+      return limitConcurrency != null ? limitConcurrency : virtualThreads;
+    }
+
+    public Boolean getLimitConcurrency() {
+      return limitConcurrency;
+    }
+
+    public void setLimitConcurrency(Boolean limitConcurrency) {
+      this.limitConcurrency = limitConcurrency;
+    }
+
+    public boolean isInspectStatements() {
+      return inspectStatements;
+    }
+
+    public void setInspectStatements(boolean inspectStatements) {
+      this.inspectStatements = inspectStatements;
+    }
+
+    public boolean isStatementHeaders() {
+      return statementHeaders;
+    }
+
+    public void setStatementHeaders(boolean statementHeaders) {
+      this.statementHeaders = statementHeaders;
+    }
+
+    public int getNPlusOneThreshold() {
+      return nPlusOneThreshold;
+    }
+
+    public void setNPlusOneThreshold(int nPlusOneThreshold) {
+      this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+  }
+
+  /**
+   * Size and shape of the synthetic catalog written at startup by the loadgen profile.
+   */
+  public static class Generate {
+
+    // Number of waste categories to write; when unset nothing is generated.
+    private Integer categories;
+
+    // Recycling tips written for every category.
+    private int tipsPerCategory = 25;
+
+    // Disposal guidelines written for every category.
+    private int guidelinesPerCategory = 25;
+
+    // Seed of the names and texts; the same seed always writes the same catalog.
+    private long seed = 42;
+
+    // Number of rows inserted and committed in one transaction.
+    private int chunkSize = 5000;
+
+    public Integer getCategories() {
+      return categories;
+    }
+
+    public void setCategories(Integer categories) {
+      this.categories = categories;
+    }
+
+    public int getTipsPerCategory() {
+      return tipsPerCategory;
+    }
+
+    public void setTipsPerCategory(int tipsPerCategory) {
+      this.tipsPerCategory = tipsPerCategory;
+    }
+
+    public int getGuidelinesPerCategory() {
+      return guidelinesPerCategory;
+    }
+
+    public void setGuidelinesPerCategory(int guidelinesPerCategory) {
+      this.guidelinesPerCategory = guidelinesPerCategory;
+    }
+
+    public long getSeed() {
+      return seed;
+    }
+
+    public void setSeed(long seed) {
+      this.seed = seed;
+    }
+
+    public int getChunkSize() {
+      return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+      this.chunkSize = chunkSize;
+    }
+  }
+
+  /**
+   * Limits and synonyms of the category autocomplete endpoint.
+   */
+  public static class Suggest {
+
+    // Number of suggestions returned when the client does not ask for a limit.
+    private int defaultLimit = 10;
+
+    // Upper bound on the number of suggestions a client may ask for; also the number cached per prefix.
+    private int maxLimit = 20;
+
+    // Extra words that suggest a category, keyed by category name (case-insensitive).
+    private Map<String, List<String>> synonyms = new HashMap<>();
+
+    /**
+     * Resolves the number of suggestions to return, clamping it to [1, maxLimit].
+     *
+     * @param requested the limit asked for by the client, or null.
+     * @return the effective limit.
+     */
+    public int resolve(Integer requested) {
+      int limit = requested == null ? defaultLimit : requested;
+      return Math.max(1, Math.min(limit, maxLimit));
+    }
+
+    public int getDefaultLimit() {
+      return defaultLimit;
+    }
+
+    public void setDefaultLimit(int defaultLimit) {
+      this.defaultLimit = defaultLimit;
+    }
+
+    public int getMaxLimit() {
+      return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+      this.maxLimit = maxLimit;
+    }
+
+    public Map<String, List<String>> getSynonyms() {
+      return synonyms;
+    }
+
+    public void setSynonyms(Map<String, List<String>> synonyms) {
+      this.synonyms = synonyms;
+    }
+  }
+}
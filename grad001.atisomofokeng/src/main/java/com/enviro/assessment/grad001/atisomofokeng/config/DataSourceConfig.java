@@ -0,0 +1,73 @@
+package com.enviro.assessment.grad001.atisomofokeng.config;
+
+import com.enviro.assessment.grad001.atisomofokeng.jdbc.ConcurrencyLimitingDataSource;
+import com.enviro.assessment.grad001.atisomofokeng.jdbc.StatementInspectingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Puts the connection pool behind a {@link ConcurrencyLimitingDataSource} when requests run on virtual threads,
+ * or when catalog.jdbc.limit-concurrency says so, and behind a {@link StatementInspectingDataSource} unless
+ * catalog.jdbc.inspect-statements is off.
+ */
+@Configuration
+public class DataSourceConfig {
+
+  private static final Logger log = LoggerFactory.getLogger(DataSourceConfig.class);
+
+  /**
+   * Wraps the pool once it has been configured, so the semaphore gets its final size and timeout. Static and
+   * bound straight from the environment, so that no other bean is created before the post-processors are.
+   */
+  @Bean
+  public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource pool)) {
+          return bean;
+        }
+        CatalogProperties.Jdbc properties = Binder.get(environment)
+                .bind("catalog.jdbc", CatalogProperties.Jdbc.class)
+                .orElseGet(CatalogProperties.Jdbc::new);
+        DataSource dataSource = pool;
+        if (properties.limitsConcurrency(Threading.VIRTUAL.isActive(environment))) {
+          // Applies the pool's defaults, such as its size, which are otherwise only resolved when it starts
+          pool.validate();
+          log.info("Limiting JDBC concurrency to the {} connections of {}", pool.getMaximumPoolSize(), beanName);
+          dataSource = new ConcurrencyLimitingDataSource(pool, pool.getMaximumPoolSize(),
+                  Duration.ofMillis(pool.getConnectionTimeout()));
+        }
+        return properties.isInspectStatements() ? new StatementInspectingDataSource(dataSource) : dataSource;
+      }
+    };
+  }
+
+  /**
+   * Publishes the semaphore's metrics, which sits under the statement inspection when both are on.
+   */
+  @Bean
+  public MeterBinder concurrencyLimitingDataSourceMetrics(DataSource dataSource) {
+    return registry -> {
+      try {
+        if (dataSource.isWrapperFor(ConcurrencyLimitingDataSource.class)) {
+          dataSource.unwrap(ConcurrencyLimitingDataSource.class).bindTo(registry);
+        }
+      } catch (SQLException e) {
+        log.warn("Could not publish the JDBC concurrency metrics", e);
+      }
+    };
+  }
+}
@@ -0,0 +1,58 @@
+package com.enviro.assessment.grad001.atisomofokeng.config;
+
+import com.enviro.assessment.grad001.atisomofokeng.cache.EntityCacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+import java.util.Properties;
+
+/**
+ * Hibernate second-level and query cache, held in process by Caffeine through JCache.
+ * The regions are created here with their configured sizes rather than from a provider configuration file,
+ * and Hibernate is handed this cache manager, so it never creates a region of its own.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+  /**
+   * The JCache cache manager holding every second-level cache region; closed with the application context.
+   */
+  @Bean(destroyMethod = "close")
+  public CacheManager entityCacheManager(CatalogProperties catalogProperties) {
+    CatalogProperties.EntityCache properties = catalogProperties.getEntityCache();
+    CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+    // A manager of its own, so that a restarted context does not find the regions of the previous one
+    CacheManager cacheManager = provider.getCacheManager(
+            provider.getDefaultURI().resolve("entity-cache-" + System.identityHashCode(this)),
+            getClass().getClassLoader(), new Properties());
+    for (String region : EntityCacheRegions.ALL) {
+      CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+      configuration.setMaximumSize(OptionalLong.of(properties.maximumSizeOf(region)));
+      if (!EntityCacheRegions.UPDATE_TIMESTAMPS.equals(region)) {
+        configuration.setExpireAfterWrite(OptionalLong.of(properties.getExpireAfterWrite().toNanos()));
+      }
+      configuration.setStatisticsEnabled(true);
+      cacheManager.createCache(region, configuration);
+    }
+    return cacheManager;
+  }
+
+  /**
+   * Hands the cache manager to Hibernate, which fails instead of creating a region that was not configured.
+   */
+  @Bean
+  public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+    return properties -> {
+      properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+      properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+    };
+  }
+}
@@ -0,0 +1,66 @@
+package com.enviro.assessment.grad001.atisomofokeng.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the threads of the application's own background executors. Like Spring Boot's executors and the
+ * Tomcat connector, they use virtual threads when spring.threads.virtual.enabled is set and the application
+ * runs on Java 21 or later, and daemon platform threads otherwise.
+ */
+@Component
+public class ThreadFactories {
+
+  private final boolean virtual;
+
+  public ThreadFactories(Environment environment) {
+    this.virtual = Threading.VIRTUAL.isActive(environment);
+  }
+
+  /**
+   * @return whether the executors run on virtual threads.
+   */
+  public boolean isVirtual() {
+    return virtual;
+  }
+
+  /**
+   * Creates threads that all have the same name, for single-threaded executors.
+   *
+   * @param name the thread name.
+   * @return the thread factory.
+   */
+  public ThreadFactory named(String name) {
+    if (virtual) {
+      return new VirtualThreadTaskExecutor(name + "-").getVirtualThreadFactory();
+    }
+    return runnable -> {
+      Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Creates threads named with a prefix followed by a sequence number starting at 1.
+   *
+   * @param prefix the thread name prefix, without the separator.
+   * @return the thread factory.
+   */
+  public ThreadFactory numbered(String prefix) {
+    if (virtual) {
+      return new VirtualThreadTaskExecutor(prefix + "-").getVirtualThreadFactory();
+    }
+    AtomicInteger threads = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + "-" + threads.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -0,0 +1,91 @@
+package com.enviro.assessment.grad001.atisomofokeng.config;
+
+import com.enviro.assessment.grad001.atisomofokeng.cache.SerializedResponseCache;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogRevisions;
+import com.enviro.assessment.grad001.atisomofokeng.web.ConditionalGetInterceptor;
+import com.enviro.assessment.grad001.atisomofokeng.web.SerializedResponseFilter;
+import com.enviro.assessment.grad001.atisomofokeng.web.StatementStatisticsFilter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC configuration: conditional GETs on the catalog endpoints, serialized responses for the hottest
+ * lists, binary encodings of every response, and SQL statement counts per request. Import jobs and cache statistics are not catalog data and are
+ * always served in full.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+  private final ConditionalGetInterceptor conditionalGetInterceptor;
+
+  public WebConfig(ConditionalGetInterceptor conditionalGetInterceptor) {
+    this.conditionalGetInterceptor = conditionalGetInterceptor;
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(conditionalGetInterceptor)
+            .addPathPatterns("/api/waste-categories/**", "/api/recycling-tips/**",
+                    "/api/disposal-guidelines/**", "/api/search/**");
+  }
+
+  /**
+   * Renders responses as CBOR for clients that send Accept: application/cbor. JSON stays the default, because
+   * Spring Boot keeps this converter after the JSON one. Configured like the JSON mapper.
+   */
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+  }
+
+  /**
+   * Renders responses as Smile for clients that send Accept: application/x-jackson-smile. Besides field names,
+   * repeated short strings such as category names are written once and then referenced.
+   */
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    SmileFactory factory = SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
+    return new MappingJackson2SmileHttpMessageConverter(builder.factory(factory).build());
+  }
+
+  /**
+   * Serves the unfiltered lists and the per-category lists from serialized bytes.
+   */
+  @Bean
+  public FilterRegistrationBean<SerializedResponseFilter> serializedResponseFilter(
+          SerializedResponseCache responseCache, CatalogRevisions catalogRevisions) {
+    FilterRegistrationBean<SerializedResponseFilter> registration =
+            new FilterRegistrationBean<>(new SerializedResponseFilter(responseCache, catalogRevisions));
+    registration.addUrlPatterns("/api/waste-categories", "/api/recycling-tips", "/api/disposal-guidelines",
+            "/api/recycling-tips/category/*", "/api/disposal-guidelines/category/*");
+    return registration;
+  }
+
+  /**
+   * Counts the SQL statements of every request. Runs inside the request metrics filter, whose endpoint
+   * mapping it reads, and around everything else.
+   */
+  @Bean
+  @ConditionalOnProperty(prefix = "catalog.jdbc", name = "inspect-statements", matchIfMissing = true)
+  public FilterRegistrationBean<StatementStatisticsFilter> statementStatisticsFilter(
+          MeterRegistry meterRegistry, CatalogProperties catalogProperties) {
+    FilterRegistrationBean<StatementStatisticsFilter> registration = new FilterRegistrationBean<>(
+            new StatementStatisticsFilter(meterRegistry, catalogProperties.getJdbc().getNPlusOneThreshold()));
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+    return registration;
+  }
+}
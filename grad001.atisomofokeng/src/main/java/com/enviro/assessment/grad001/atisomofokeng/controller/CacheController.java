@@ -0,0 +1,81 @@
+package com.enviro.assessment.grad001.atisomofokeng.controller;
+
+import com.enviro.assessment.grad001.atisomofokeng.cache.CatalogCache;
+import com.enviro.assessment.grad001.atisomofokeng.cache.CatalogCacheManager;
+import com.enviro.assessment.grad001.atisomofokeng.cache.EntityCacheStatistics;
+import com.enviro.assessment.grad001.atisomofokeng.cache.SerializedResponseCache;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.CacheStatsResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Controller exposing the statistics of the in-process catalog caches.
+ */
+@Tag(name = "Caches", description = "APIs for inspecting the catalog caches")
+@RestController
+@RequestMapping("/api/caches")
+public class CacheController {
+
+  private final CatalogCacheManager catalogCacheManager;
+  private final SerializedResponseCache serializedResponseCache;
+  private final EntityCacheStatistics entityCacheStatistics;
+
+  public CacheController(CatalogCacheManager catalogCacheManager, SerializedResponseCache serializedResponseCache,
+                         EntityCacheStatistics entityCacheStatistics) {
+    this.catalogCacheManager = catalogCacheManager;
+    this.serializedResponseCache = serializedResponseCache;
+    this.entityCacheStatistics = entityCacheStatistics;
+  }
+
+  /**
+   * Reports hit, miss and eviction statistics for every catalog cache and for the serialized-response cache,
+   * and hit and miss counts for every Hibernate second-level cache region.
+   * @return ServiceResponse containing the statistics of each cache.
+   */
+  @Operation(summary = "Get catalog cache statistics")
+  @GetMapping("/stats")
+  public ResponseEntity<ServiceResponse<List<CacheStatsResponse>>> getCacheStats() {
+    List<CacheStatsResponse> stats = new ArrayList<>();
+    for (CatalogCache<?, ?> cache : catalogCacheManager.getCaches()) {
+      CacheStats cacheStats = cache.stats();
+      stats.add(new CacheStatsResponse(
+              cache.getName(),
+              cache.estimatedSize(),
+              cacheStats.hitCount(),
+              cacheStats.missCount(),
+              cacheStats.hitRate(),
+              cacheStats.evictionCount(),
+              cacheStats.loadFailureCount(),
+              cacheStats.averageLoadPenalty() / 1_000_000.0));
+    }
+    CacheStats responseStats = serializedResponseCache.stats();
+    stats.add(new CacheStatsResponse(
+            "serializedResponses",
+            serializedResponseCache.estimatedSize(),
+            responseStats.hitCount(),
+            responseStats.missCount(),
+            responseStats.hitRate(),
+            responseStats.evictionCount(),
+            responseStats.loadFailureCount(),
+            0));
+    stats.addAll(entityCacheStatistics.stats());
+
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+
+    return ResponseEntity
+            .ok()
+            .location(location)
+            .body(new ServiceResponse<>(stats, location));
+  }
+}
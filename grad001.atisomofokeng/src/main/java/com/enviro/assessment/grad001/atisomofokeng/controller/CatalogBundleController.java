@@ -0,0 +1,75 @@
+package com.enviro.assessment.grad001.atisomofokeng.controller;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.CatalogBundleResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.service.CatalogBundleService;
+import com.enviro.assessment.grad001.atisomofokeng.service.bundle.CatalogBundle;
+import com.enviro.assessment.grad001.atisomofokeng.web.ZeroCopyFileWriter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Controller for the offline catalog bundle. Clients fetch the small description first and only download
+ * the bundle when its hash differs from the one they hold.
+ */
+@Tag(name = "Catalog Bundle", description = "APIs for downloading the whole catalog for offline use")
+@RestController
+@RequestMapping("/api/bundle")
+public class CatalogBundleController {
+
+  private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+  private final CatalogBundleService catalogBundleService;
+
+  public CatalogBundleController(CatalogBundleService catalogBundleService) {
+    this.catalogBundleService = catalogBundleService;
+  }
+
+  /**
+   * Describes the newest catalog bundle.
+   * @return ServiceResponse containing the hash, size and download location of the bundle.
+   */
+  @Operation(summary = "Get the hash and download location of the newest catalog bundle")
+  @GetMapping
+  public ResponseEntity<ServiceResponse<CatalogBundleResponse>> getCurrentBundle() {
+    ServiceResponse<CatalogBundleResponse> serviceResponse = catalogBundleService.getCurrentBundle();
+    return ResponseEntity
+            .ok()
+            .cacheControl(CacheControl.noCache())
+            .location(serviceResponse.getLocation())
+            .body(serviceResponse);
+  }
+
+  /**
+   * Downloads a catalog bundle: gzip-compressed JSON, served without copying and cacheable forever.
+   * Supports single byte ranges, so interrupted downloads can be resumed.
+   * @param hash The content hash of the bundle.
+   * @param request The request, for the conditional and range headers.
+   * @param response The response the file is written to.
+   * @throws IOException if the file cannot be sent.
+   */
+  @Operation(summary = "Download a catalog bundle by its content hash")
+  @GetMapping("/{hash}")
+  public void downloadBundle(
+          @Parameter(description = "Content hash of the bundle") @PathVariable String hash,
+          HttpServletRequest request, HttpServletResponse response) throws IOException {
+    CatalogBundle bundle = catalogBundleService.getBundle(hash);
+
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"" + bundle.file().getFileName() + "\"");
+    ZeroCopyFileWriter.write(bundle.file(), bundle.size(), "\"" + bundle.hash() + "\"", GZIP, request, response);
+  }
+}
@@ -0,0 +1,43 @@
+package com.enviro.assessment.grad001.atisomofokeng.controller;
+
+import com.enviro.assessment.grad001.atisomofokeng.service.sync.ChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller for the Server-Sent Events change feed, an alternative to polling the list endpoints.
+ */
+@Tag(name = "Change Stream", description = "APIs for receiving catalog changes as they are committed")
+@RestController
+@RequestMapping("/api/stream")
+public class ChangeStreamController {
+
+  private final ChangeFeed changeFeed;
+
+  public ChangeStreamController(ChangeFeed changeFeed) {
+    this.changeFeed = changeFeed;
+  }
+
+  /**
+   * Streams catalog changes as "change" events whose ids are change log revisions.
+   * @param lastEventId The revision of the last event received, sent by EventSource when it reconnects.
+   * @param since The same, for clients that cannot set headers; the header wins.
+   * @return The event stream.
+   */
+  @Operation(summary = "Stream catalog changes as Server-Sent Events")
+  @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamChanges(
+          @Parameter(description = "Revision of the last event received") @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+          @Parameter(description = "Revision to resume after, if the header cannot be set") @RequestParam(required = false) Long since) {
+
+    return changeFeed.subscribe(lastEventId != null ? lastEventId : since);
+  }
+}
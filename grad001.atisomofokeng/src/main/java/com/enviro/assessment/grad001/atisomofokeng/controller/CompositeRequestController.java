@@ -0,0 +1,53 @@
+package com.enviro.assessment.grad001.atisomofokeng.controller;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.request.CompositeRequest;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.CompositeResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.web.SubRequestDispatcher;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for composite requests, which let clients on slow networks send several API operations in one
+ * round trip.
+ */
+@Tag(name = "Batch", description = "APIs for executing several operations in one request")
+@RestController
+@RequestMapping("/api/batch")
+public class CompositeRequestController {
+
+  private final SubRequestDispatcher subRequestDispatcher;
+
+  public CompositeRequestController(SubRequestDispatcher subRequestDispatcher) {
+    this.subRequestDispatcher = subRequestDispatcher;
+  }
+
+  /**
+   * Executes several API operations, each handled exactly as if it had been sent on its own.
+   * @param request The sub-requests, and whether to run them in one transaction.
+   * @param servletRequest The enclosing request.
+   * @param servletResponse The enclosing response.
+   * @return ServiceResponse containing the status, headers and body of every sub-request, in request order.
+   */
+  @Operation(summary = "Execute several API operations in one request")
+  @PostMapping
+  public ResponseEntity<ServiceResponse<CompositeResponse>> executeBatch(
+          @RequestBody @Valid CompositeRequest request,
+          HttpServletRequest servletRequest, HttpServletResponse servletResponse) {
+
+    ServiceResponse<CompositeResponse> serviceResponse =
+            subRequestDispatcher.execute(request, servletRequest, servletResponse);
+    return ResponseEntity
+            .ok()
+            .location(serviceResponse.getLocation())
+            .body(serviceResponse);
+  }
+}
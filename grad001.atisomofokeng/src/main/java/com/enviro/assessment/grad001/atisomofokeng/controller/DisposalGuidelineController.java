@@ -1,8 +1,11 @@
 package com.enviro.assessment.grad001.atisomofokeng.controller;
 
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.request.DisposalGuidelineRequest;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.BatchResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.DisposalGuidelineResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.MultiGetResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.service.export.ExportFormat;
 import com.enviro.assessment.grad001.atisomofokeng.service.DisposalGuidelineService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,6 +14,7 @@ import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -30,28 +34,90 @@ public class DisposalGuidelineController {
 
   /**
    * Retrieves all disposal guidelines.
-   * @return ServiceResponse containing a list of all disposal guidelines.
+   * @param cursor The cursor returned with the previous page, or null for the first page.
+   * @param size The maximum number of items to return, or null for the configured default.
+   * @return ServiceResponse containing a page of disposal guidelines and the cursor for the next page.
    */
   @Operation(summary = "Get all disposal guidelines")
   @GetMapping
-  public ResponseEntity<ServiceResponse<List<DisposalGuidelineResponse>>> getAllDisposalGuidelines() {
+  public ResponseEntity<ServiceResponse<List<DisposalGuidelineResponse>>> getAllDisposalGuidelines(
+          @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+          @Parameter(description = "Maximum number of items to return") @RequestParam(required = false) Integer size) {
 
-    ServiceResponse<List<DisposalGuidelineResponse>> serviceResponse = disposalGuidelineService.getAllDisposalGuidelines();
+    ServiceResponse<List<DisposalGuidelineResponse>> serviceResponse = disposalGuidelineService.getAllDisposalGuidelines(cursor, size);
     return  ResponseEntity
             .created(serviceResponse.getLocation())
             .body(serviceResponse);  }
 
+  /**
+   * Fetches several disposal guidelines by id in one request.
+   *
+   * @param ids The IDs of the disposal guidelines.
+   * @return ServiceResponse containing the disposal guidelines found, in the order of their ids, and the ids not found.
+   */
+  @Operation(summary = "Get disposal guidelines by a list of IDs")
+  @GetMapping(params = "ids")
+  public ResponseEntity<ServiceResponse<MultiGetResponse<DisposalGuidelineResponse>>> getDisposalGuidelinesByIds(
+          @Parameter(description = "Comma-separated IDs of the disposal guidelines") @RequestParam List<Long> ids) {
+
+    ServiceResponse<MultiGetResponse<DisposalGuidelineResponse>> serviceResponse = disposalGuidelineService.getDisposalGuidelinesByIds(ids);
+    return ResponseEntity
+            .ok()
+            .location(serviceResponse.getLocation())
+            .body(serviceResponse);
+  }
+
+  /**
+   * Fetches the disposal guidelines of several waste categories in one request.
+   *
+   * @param categoryIds The IDs of the waste categories.
+   * @return ServiceResponse containing the disposal guidelines of the categories found and the category ids not found.
+   */
+  @Operation(summary = "Get disposal guidelines by a list of category IDs")
+  @GetMapping(params = {"categoryIds", "!ids"})
+  public ResponseEntity<ServiceResponse<MultiGetResponse<DisposalGuidelineResponse>>> getDisposalGuidelinesByCategories(
+          @Parameter(description = "Comma-separated IDs of the waste categories") @RequestParam List<Long> categoryIds) {
+
+    ServiceResponse<MultiGetResponse<DisposalGuidelineResponse>> serviceResponse = disposalGuidelineService.getDisposalGuidelinesByCategories(categoryIds);
+    return ResponseEntity
+            .ok()
+            .location(serviceResponse.getLocation())
+            .body(serviceResponse);
+  }
+
+  /**
+   * Streams all disposal guidelines as a JSON array or as NDJSON without building the whole list in memory.
+   * @param format The output format: JSON (default) or NDJSON.
+   * @return A streaming body that writes the disposal guidelines as they are read from the database.
+   */
+  @Operation(summary = "Export all disposal guidelines as a stream")
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportDisposalGuidelines(
+          @Parameter(description = "Output format: JSON or NDJSON") @RequestParam(defaultValue = "JSON") ExportFormat format) {
+
+    StreamingResponseBody body = out -> disposalGuidelineService.exportDisposalGuidelines(format, out);
+
+    return ResponseEntity
+            .ok()
+            .contentType(format.getMediaType())
+            .body(body);
+  }
+
   /**
    * Fetches disposal guideline by a given category ID.
    * @param categoryId The ID of the waste category for which disposal guidelines are needed.
-   * @return ServiceResponse containing a list of disposal guidelines for the specified category.
+   * @param cursor The cursor returned with the previous page, or null for the first page.
+   * @param size The maximum number of items to return, or null for the configured default.
+   * @return ServiceResponse containing a page of disposal guidelines for the specified category and the next cursor.
    */
   @Operation(summary = "Get disposal guidelines by category ID")
   @GetMapping("/category/{categoryId}")
   public ResponseEntity<ServiceResponse<List<DisposalGuidelineResponse>>> getRecyclingTipsByCategory(
-          @Parameter(description = "ID of the waste category") @PathVariable Long categoryId) {
+          @Parameter(description = "ID of the waste category") @PathVariable Long categoryId,
+          @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+          @Parameter(description = "Maximum number of items to return") @RequestParam(required = false) Integer size) {
 
-    ServiceResponse<List<DisposalGuidelineResponse>> serviceResponse = disposalGuidelineService.getDisposalGuidelinesByCategory(categoryId);
+    ServiceResponse<List<DisposalGuidelineResponse>> serviceResponse = disposalGuidelineService.getDisposalGuidelinesByCategory(categoryId, cursor, size);
 
     // Return 200 OK with the response body and location header
     return ResponseEntity
@@ -98,6 +164,24 @@ public class DisposalGuidelineController {
             .body(serviceResponse);
   }
 
+  /**
+   * Creates many disposal guidelines in one request.
+   * @param requests The disposal guidelines to create.
+   * @return ServiceResponse with one result per item: 201 if every item was created, 207 if some were rejected.
+   */
+  @Operation(summary = "Create many disposal guidelines in one request")
+  @PostMapping("/batch")
+  public ResponseEntity<ServiceResponse<BatchResponse<DisposalGuidelineResponse>>> createDisposalGuidelines(
+          @RequestBody List<DisposalGuidelineRequest> requests) {
+    ServiceResponse<BatchResponse<DisposalGuidelineResponse>> serviceResponse = disposalGuidelineService.createDisposalGuidelines(requests);
+
+    HttpStatus status = serviceResponse.getResponse().getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+    return ResponseEntity
+            .status(status)
+            .location(serviceResponse.getLocation())
+            .body(serviceResponse);
+  }
+
   /**
    * Updates an existing disposal guideline.
    * @param id The ID of the disposal guideline to be updated.
@@ -0,0 +1,83 @@
+package com.enviro.assessment.grad001.atisomofokeng.controller;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ImportSummaryResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.service.CatalogImportService;
+import com.enviro.assessment.grad001.atisomofokeng.service.importer.ImportFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * Controller for importing the catalog from CSV or TSV files and following the progress of import jobs.
+ */
+@Tag(name = "Imports", description = "APIs for bulk-importing the catalog from delimited files")
+@RestController
+@RequestMapping("/api/imports")
+public class ImportController {
+
+  private final CatalogImportService catalogImportService;
+
+  public ImportController(CatalogImportService catalogImportService) {
+    this.catalogImportService = catalogImportService;
+  }
+
+  /**
+   * Imports a CSV or TSV file sent as the raw request body. Each record has the fields type
+   * (CATEGORY, TIP or GUIDELINE), category and text; a "type,category,text" header is optional.
+   * The file is streamed and committed in chunks, so sending the same file again with the same
+   * job id resumes an interrupted import after its last committed chunk.
+   * @param jobId The id of the import job.
+   * @param format The file format: CSV (default) or TSV.
+   * @param body The file contents.
+   * @return ServiceResponse containing the summary of the job.
+   */
+  @Operation(summary = "Import waste categories, recycling tips and disposal guidelines from a CSV or TSV file")
+  @PostMapping
+  public ResponseEntity<ServiceResponse<ImportSummaryResponse>> importCatalog(
+          @Parameter(description = "Id of the import job; re-use it to resume an interrupted import") @RequestParam String jobId,
+          @Parameter(description = "File format: CSV or TSV") @RequestParam(defaultValue = "CSV") ImportFormat format,
+          InputStream body) {
+
+    ImportSummaryResponse summary = catalogImportService.importCatalog(jobId, format, body);
+    URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+            .path("/api/imports/{jobId}")
+            .buildAndExpand(summary.getJobId())
+            .toUri();
+
+    return ResponseEntity
+            .ok()
+            .location(location)
+            .body(new ServiceResponse<>(summary, location));
+  }
+
+  /**
+   * Reports the progress of an import job as of its last committed chunk.
+   * @param jobId The id of the import job.
+   * @return ServiceResponse containing the summary of the job.
+   */
+  @Operation(summary = "Get the progress of an import job")
+  @GetMapping("/{jobId}")
+  public ResponseEntity<ServiceResponse<ImportSummaryResponse>> getImportProgress(
+          @Parameter(description = "Id of the import job") @PathVariable String jobId) {
+
+    ImportSummaryResponse summary = catalogImportService.getImportProgress(jobId);
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+
+    return ResponseEntity
+            .ok()
+            .location(location)
+            .body(new ServiceResponse<>(summary, location));
+  }
+}
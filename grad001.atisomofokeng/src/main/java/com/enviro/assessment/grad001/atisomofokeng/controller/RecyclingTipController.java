@@ -1,8 +1,11 @@
 package com.enviro.assessment.grad001.atisomofokeng.controller;
 
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.request.RecyclingTipRequest;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.BatchResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.MultiGetResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.RecyclingTipResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.service.export.ExportFormat;
 import com.enviro.assessment.grad001.atisomofokeng.service.RecyclingTipService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,6 +14,7 @@ import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -29,33 +33,95 @@ public class RecyclingTipController {
     this.recyclingTipService = recyclingTipService;
   }
 
+  /**
+   * Streams all recycling tips as a JSON array or as NDJSON without building the whole list in memory.
+   * @param format The output format: JSON (default) or NDJSON.
+   * @return A streaming body that writes the recycling tips as they are read from the database.
+   */
+  @Operation(summary = "Export all recycling tips as a stream")
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportRecyclingTips(
+          @Parameter(description = "Output format: JSON or NDJSON") @RequestParam(defaultValue = "JSON") ExportFormat format) {
+
+    StreamingResponseBody body = out -> recyclingTipService.exportRecyclingTips(format, out);
+
+    return ResponseEntity
+            .ok()
+            .contentType(format.getMediaType())
+            .body(body);
+  }
+
   /**
    * Fetches all recycling tips.
-   * @return ServiceResponse containing a list of all recycling tips.
+   * @param cursor The cursor returned with the previous page, or null for the first page.
+   * @param size The maximum number of items to return, or null for the configured default.
+   * @return ServiceResponse containing a page of recycling tips and the cursor for the next page.
    */
   @Operation(summary = "Get all recycling tips")
   @GetMapping
-  public ResponseEntity<ServiceResponse<List<RecyclingTipResponse>>> getAllRecyclingTips() {
+  public ResponseEntity<ServiceResponse<List<RecyclingTipResponse>>> getAllRecyclingTips(
+          @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+          @Parameter(description = "Maximum number of items to return") @RequestParam(required = false) Integer size) {
 
-    ServiceResponse<List<RecyclingTipResponse>> serviceResponse = recyclingTipService.getAllRecyclingTips();
+    ServiceResponse<List<RecyclingTipResponse>> serviceResponse = recyclingTipService.getAllRecyclingTips(cursor, size);
     return  ResponseEntity
             .created(serviceResponse.getLocation())
             .body(serviceResponse);
   }
 
+  /**
+   * Fetches several recycling tips by id in one request.
+   *
+   * @param ids The IDs of the recycling tips.
+   * @return ServiceResponse containing the recycling tips found, in the order of their ids, and the ids not found.
+   */
+  @Operation(summary = "Get recycling tips by a list of IDs")
+  @GetMapping(params = "ids")
+  public ResponseEntity<ServiceResponse<MultiGetResponse<RecyclingTipResponse>>> getRecyclingTipsByIds(
+          @Parameter(description = "Comma-separated IDs of the recycling tips") @RequestParam List<Long> ids) {
+
+    ServiceResponse<MultiGetResponse<RecyclingTipResponse>> serviceResponse = recyclingTipService.getRecyclingTipsByIds(ids);
+    return ResponseEntity
+            .ok()
+            .location(serviceResponse.getLocation())
+            .body(serviceResponse);
+  }
+
+  /**
+   * Fetches the recycling tips of several waste categories in one request.
+   *
+   * @param categoryIds The IDs of the waste categories.
+   * @return ServiceResponse containing the recycling tips of the categories found and the category ids not found.
+   */
+  @Operation(summary = "Get recycling tips by a list of category IDs")
+  @GetMapping(params = {"categoryIds", "!ids"})
+  public ResponseEntity<ServiceResponse<MultiGetResponse<RecyclingTipResponse>>> getRecyclingTipsByCategories(
+          @Parameter(description = "Comma-separated IDs of the waste categories") @RequestParam List<Long> categoryIds) {
+
+    ServiceResponse<MultiGetResponse<RecyclingTipResponse>> serviceResponse = recyclingTipService.getRecyclingTipsByCategories(categoryIds);
+    return ResponseEntity
+            .ok()
+            .location(serviceResponse.getLocation())
+            .body(serviceResponse);
+  }
+
   /**
    * Fetches recycling tips by a given category ID.
    *
    * @param categoryId The ID of the waste category for which recycling tips are needed.
-   * @return ServiceResponse containing a list of recycling tips for the specified category.
+   * @param cursor The cursor returned with the previous page, or null for the first page.
+   * @param size The maximum number of items to return, or null for the configured default.
+   * @return ServiceResponse containing a page of recycling tips for the specified category and the next cursor.
    */
   @Operation(summary = "Get recycling tips by category ID")
   @GetMapping("/category/{categoryId}")
   @ResponseStatus(HttpStatus.FOUND)
   public ResponseEntity<ServiceResponse<List<RecyclingTipResponse>>> getRecyclingTipsByCategory(
-          @Parameter(description = "ID of the waste category") @PathVariable Long categoryId)
+          @Parameter(description = "ID of the waste category") @PathVariable Long categoryId,
+          @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+          @Parameter(description = "Maximum number of items to return") @RequestParam(required = false) Integer size)
   {
-    ServiceResponse<List<RecyclingTipResponse>> serviceResponse = recyclingTipService.getRecyclingTipsByCategory(categoryId);
+    ServiceResponse<List<RecyclingTipResponse>> serviceResponse = recyclingTipService.getRecyclingTipsByCategory(categoryId, cursor, size);
 
     // Return 200 OK with the response body and location header
     return ResponseEntity
@@ -102,6 +168,24 @@ public class RecyclingTipController {
             .body(serviceResponse);
   }
 
+  /**
+   * Creates many recycling tips in one request.
+   * @param requests The recycling tips to create.
+   * @return ServiceResponse with one result per item: 201 if every item was created, 207 if some were rejected.
+   */
+  @Operation(summary = "Create many recycling tips in one request")
+  @PostMapping("/batch")
+  public ResponseEntity<ServiceResponse<BatchResponse<RecyclingTipResponse>>> createRecyclingTips(
+          @RequestBody List<RecyclingTipRequest> requests) {
+    ServiceResponse<BatchResponse<RecyclingTipResponse>> serviceResponse = recyclingTipService.createRecyclingTips(requests);
+
+    HttpStatus status = serviceResponse.getResponse().getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+    return ResponseEntity
+            .status(status)
+            .location(serviceResponse.getLocation())
+            .body(serviceResponse);
+  }
+
   /**
    * Updates an existing recycling tip.
    *
@@ -0,0 +1,54 @@
+package com.enviro.assessment.grad001.atisomofokeng.controller;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.SearchHitResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.search.SearchType;
+import com.enviro.assessment.grad001.atisomofokeng.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller for full-text search over waste categories, recycling tips and disposal guidelines.
+ */
+@Tag(name = "Search", description = "APIs for searching the waste catalog")
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+  private final SearchService searchService;
+
+  public SearchController(SearchService searchService) {
+    this.searchService = searchService;
+  }
+
+  /**
+   * Searches category names, recycling tips and disposal guidelines.
+   * @param q The search text.
+   * @param categoryId Only return results of this waste category.
+   * @param type Only return results of this type.
+   * @param limit The maximum number of results.
+   * @return ServiceResponse containing the results ranked by relevance.
+   */
+  @Operation(summary = "Search waste categories, recycling tips and disposal guidelines")
+  @GetMapping
+  public ResponseEntity<ServiceResponse<List<SearchHitResponse>>> search(
+          @Parameter(description = "Search text") @RequestParam String q,
+          @Parameter(description = "Only return results of this waste category") @RequestParam(required = false) Long categoryId,
+          @Parameter(description = "Only return results of this type: CATEGORY, TIP or GUIDELINE") @RequestParam(required = false) SearchType type,
+          @Parameter(description = "Maximum number of results") @RequestParam(required = false) Integer limit) {
+
+    ServiceResponse<List<SearchHitResponse>> serviceResponse = searchService.search(q, categoryId, type, limit);
+    return ResponseEntity
+            .ok()
+            .location(serviceResponse.getLocation())
+            .body(serviceResponse);
+  }
+}
@@ -0,0 +1,48 @@
+package com.enviro.assessment.grad001.atisomofokeng.controller;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.SyncResponse;
+import com.enviro.assessment.grad001.atisomofokeng.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for delta synchronization. A client loads the catalog bundle once, then keeps up with the
+ * changes committed after the bundle's revision.
+ */
+@Tag(name = "Sync", description = "APIs for synchronizing a local copy of the catalog")
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+  private final SyncService syncService;
+
+  public SyncController(SyncService syncService) {
+    this.syncService = syncService;
+  }
+
+  /**
+   * Returns the catalog changes committed after a revision.
+   * @param since The revision of the client's bundle, or the revision returned by its last sync.
+   * @param limit The maximum number of log records to read.
+   * @return ServiceResponse containing the changes and the revision to ask from next time.
+   */
+  @Operation(summary = "Get the catalog changes since a revision")
+  @GetMapping
+  public ResponseEntity<ServiceResponse<SyncResponse>> getChangesSince(
+          @Parameter(description = "Revision of the bundle or of the last sync") @RequestParam long since,
+          @Parameter(description = "Maximum number of changes to read") @RequestParam(required = false) Integer limit) {
+
+    ServiceResponse<SyncResponse> serviceResponse = syncService.getChangesSince(since, limit);
+    return ResponseEntity
+            .ok()
+            .location(serviceResponse.getLocation())
+            .body(serviceResponse);
+  }
+}
@@ -1,13 +1,17 @@
 package com.enviro.assessment.grad001.atisomofokeng.controller;
 
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.request.WasteCategoryRequest;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.BatchResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.MultiGetResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.WasteCategoryResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.WasteCategorySuggestionResponse;
 import com.enviro.assessment.grad001.atisomofokeng.service.WasteCategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -31,13 +35,22 @@ public class WasteCategoryController {
   /**
    * Retrieves all waste categories.
    *
-   * @return ServiceResponse containing a list of all waste categories.
+   * @param cursor The cursor returned with the previous page, or null for the first page.
+   * @param size The maximum number of items to return, or null for the configured default.
+   * @param fields The attributes to return, or null for the id and name.
+   * @param include The child collections to embed, or null for none.
+   * @return ServiceResponse containing a page of waste categories and the cursor for the next page.
    */
   @Operation(summary = "Get all waste categories")
   @GetMapping
-  public ResponseEntity<ServiceResponse<List<WasteCategoryResponse>>> getAllWasteCategories() {
+  public ResponseEntity<ServiceResponse<List<WasteCategoryResponse>>> getAllWasteCategories(
+          @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+          @Parameter(description = "Maximum number of items to return") @RequestParam(required = false) Integer size,
+          @Parameter(description = "Attributes to return, e.g. id,wasteCategory") @RequestParam(required = false) String fields,
+          @Parameter(description = "Collections to embed: recyclingTips, disposalGuidelines") @RequestParam(required = false) String include) {
     // Fetch the response from the service
-    ServiceResponse<List<WasteCategoryResponse>> serviceResponse = wasteCategoryService.getAllWasteCategories();
+    ServiceResponse<List<WasteCategoryResponse>> serviceResponse =
+            wasteCategoryService.getAllWasteCategories(cursor, size, fields, include);
 
     // Return 200 OK with the response body and location header
     return ResponseEntity
@@ -46,21 +59,69 @@ public class WasteCategoryController {
             .body(serviceResponse);
   }
 
+  /**
+   * Fetches several waste categories by id in one request.
+   *
+   * @param ids The IDs of the waste categories.
+   * @param fields The attributes to return, or null for the id and name.
+   * @param include The child collections to embed, or null for none.
+   * @return ServiceResponse containing the waste categories found, in the order of their ids, and the ids not found.
+   */
+  @Operation(summary = "Get waste categories by a list of IDs")
+  @GetMapping(params = "ids")
+  public ResponseEntity<ServiceResponse<MultiGetResponse<WasteCategoryResponse>>> getWasteCategoriesByIds(
+          @Parameter(description = "Comma-separated IDs of the waste categories") @RequestParam List<Long> ids,
+          @Parameter(description = "Attributes to return, e.g. id,wasteCategory") @RequestParam(required = false) String fields,
+          @Parameter(description = "Collections to embed: recyclingTips, disposalGuidelines") @RequestParam(required = false) String include) {
+
+    ServiceResponse<MultiGetResponse<WasteCategoryResponse>> serviceResponse =
+            wasteCategoryService.getWasteCategoriesByIds(ids, fields, include);
+    return ResponseEntity
+            .ok()
+            .location(serviceResponse.getLocation())
+            .body(serviceResponse);
+  }
+
+  /**
+   * Suggests waste categories for the text typed so far, without touching the database.
+   *
+   * @param prefix The text typed so far.
+   * @param limit The maximum number of suggestions.
+   * @return ServiceResponse containing the matching categories, most popular first.
+   */
+  @Operation(summary = "Suggest waste categories by name prefix")
+  @GetMapping("/suggest")
+  public ResponseEntity<ServiceResponse<List<WasteCategorySuggestionResponse>>> suggestWasteCategories(
+          @Parameter(description = "Text typed so far") @RequestParam String prefix,
+          @Parameter(description = "Maximum number of suggestions") @RequestParam(required = false) Integer limit) {
+
+    ServiceResponse<List<WasteCategorySuggestionResponse>> serviceResponse =
+            wasteCategoryService.suggestWasteCategories(prefix, limit);
+    return ResponseEntity
+            .ok()
+            .location(serviceResponse.getLocation())
+            .body(serviceResponse);
+  }
+
   /**
    * Fetches a specific waste category by its ID.
    *
    * @param id The ID of the waste category.
+   * @param fields The attributes to return, or null for the id and name.
+   * @param include The child collections to embed, or null for none.
    * @return ServiceResponse containing the waste category details.
    */
   @Operation(summary = "Get waste category by ID")
   @GetMapping("/{id}")
   public ResponseEntity<ServiceResponse<WasteCategoryResponse>> getWasteCategoryById(
-          @Parameter(description = "ID of the waste category") @PathVariable Long id)
+          @Parameter(description = "ID of the waste category") @PathVariable Long id,
+          @Parameter(description = "Attributes to return, e.g. id,wasteCategory") @RequestParam(required = false) String fields,
+          @Parameter(description = "Collections to embed: recyclingTips, disposalGuidelines") @RequestParam(required = false) String include)
   {
 
-    ServiceResponse<WasteCategoryResponse> serviceResponse = wasteCategoryService.getWasteCategoryById(id);
+    ServiceResponse<WasteCategoryResponse> serviceResponse = wasteCategoryService.getWasteCategoryById(id, fields, include);
 
-// Return 200 OK with the response body and location header
+    // Return 200 OK with the response body and location header
     return ResponseEntity
             .ok()
             .location(serviceResponse.getLocation())
@@ -83,6 +144,24 @@ public class WasteCategoryController {
             .body(response);
   }
 
+  /**
+   * Creates many waste categories in one request.
+   * @param requests The waste categories to create.
+   * @return ServiceResponse with one result per item: 201 if every item was created, 207 if some were rejected.
+   */
+  @Operation(summary = "Create many waste categories in one request")
+  @PostMapping("/batch")
+  public ResponseEntity<ServiceResponse<BatchResponse<WasteCategoryResponse>>> createWasteCategories(
+          @RequestBody List<WasteCategoryRequest> requests) {
+
+    ServiceResponse<BatchResponse<WasteCategoryResponse>> response = wasteCategoryService.createWasteCategories(requests);
+    HttpStatus status = response.getResponse().getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+    return ResponseEntity
+            .status(status)
+            .location(response.getLocation())
+            .body(response);
+  }
+
   /**
    * Updates an existing waste category.
    *
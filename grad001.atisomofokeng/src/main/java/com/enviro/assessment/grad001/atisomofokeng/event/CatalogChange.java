@@ -0,0 +1,74 @@
+package com.enviro.assessment.grad001.atisomofokeng.event;
+
+/**
+ * A single change to a catalog entity, as committed by one of the service implementations.
+ * Carries enough state for listeners to patch their read models without going back to the database.
+ */
+public class CatalogChange {
+
+  private final CatalogEntityType entityType;
+  private final CatalogChangeType changeType;
+  private final Long id;
+  private final Long categoryId;
+  private final String text;
+
+  /**
+   * Creates a change.
+   *
+   * @param entityType the type of the changed entity.
+   * @param changeType the kind of change.
+   * @param id         the id of the changed entity.
+   * @param categoryId the id of the category the entity belongs to (its own id for categories).
+   * @param text       the category name, tip or guideline text after the change, or null for deletions.
+   */
+  public CatalogChange(CatalogEntityType entityType, CatalogChangeType changeType, Long id, Long categoryId, String text) {
+    this.entityType = entityType;
+    this.changeType = changeType;
+    this.id = id;
+    this.categoryId = categoryId;
+    this.text = text;
+  }
+
+  /**
+   * Creates a deletion (tombstone) for an entity.
+   *
+   * @param entityType the type of the deleted entity.
+   * @param id         the id of the deleted entity.
+   * @param categoryId the id of the category the entity belonged to.
+   * @return the change.
+   */
+  public static CatalogChange deleted(CatalogEntityType entityType, Long id, Long categoryId) {
+    return new CatalogChange(entityType, CatalogChangeType.DELETED, id, categoryId, null);
+  }
+
+  public CatalogEntityType getEntityType() {
+    return entityType;
+  }
+
+  public CatalogChangeType getChangeType() {
+    return changeType;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public Long getCategoryId() {
+    return categoryId;
+  }
+
+  public String getText() {
+    return text;
+  }
+
+  /**
+   * Checks whether this change concerns the given entity.
+   *
+   * @param type the entity type.
+   * @param id   the entity id.
+   * @return true if this change applies to that entity.
+   */
+  public boolean concerns(CatalogEntityType type, Long id) {
+    return entityType == type && this.id.equals(id);
+  }
+}
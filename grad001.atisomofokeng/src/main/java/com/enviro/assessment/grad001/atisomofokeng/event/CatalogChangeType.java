@@ -0,0 +1,10 @@
+package com.enviro.assessment.grad001.atisomofokeng.event;
+
+/**
+ * The kind of change applied to a catalog entity.
+ */
+public enum CatalogChangeType {
+  CREATED,
+  UPDATED,
+  DELETED
+}
@@ -0,0 +1,22 @@
+package com.enviro.assessment.grad001.atisomofokeng.event;
+
+import java.util.List;
+
+/**
+ * Application event published by the service implementations whenever catalog entities are created,
+ * updated or deleted. One event carries every change made by a single write, including the
+ * cascaded removal of a deleted category's tips and guidelines.
+ * Listeners that maintain read models should use {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public class CatalogChangedEvent {
+
+  private final List<CatalogChange> changes;
+
+  public CatalogChangedEvent(List<CatalogChange> changes) {
+    this.changes = List.copyOf(changes);
+  }
+
+  public List<CatalogChange> getChanges() {
+    return changes;
+  }
+}
@@ -0,0 +1,10 @@
+package com.enviro.assessment.grad001.atisomofokeng.event;
+
+/**
+ * The kinds of catalog entities whose changes are published as {@link CatalogChangedEvent}s.
+ */
+public enum CatalogEntityType {
+  WASTE_CATEGORY,
+  RECYCLING_TIP,
+  DISPOSAL_GUIDELINE
+}
@@ -0,0 +1,154 @@
+package com.enviro.assessment.grad001.atisomofokeng.event;
+
+import com.enviro.assessment.grad001.atisomofokeng.repository.CatalogEntry;
+import com.enviro.assessment.grad001.atisomofokeng.repository.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.RecyclingTipRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.WasteCategoryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Catalog-wide revision counter, and the revision at which each category, tip and guideline last changed.
+ * Revisions are turned into strong entity tags, so that clients can revalidate what they hold without the
+ * server loading or mapping anything.
+ * <p>
+ * The counter only moves once the read models have applied a change: it is updated on completion of a
+ * transaction that committed, i.e. after every after-commit listener, so a tag is never handed out before the
+ * data it stands for can be read. A rolled-back write changes neither the counter nor any tag.
+ * <p>
+ * Only entities known to exist are tagged: the ids of the catalog are loaded once the application is ready and
+ * kept up to date from the committed changes, so a request for an id that does not exist gets no tag, and
+ * therefore neither a 304 nor an entity tag, and reaches the handler that answers 404.
+ */
+@Component
+public class CatalogRevisions {
+
+  // Tells this run's tags from those of earlier runs, whose in-memory database held other data
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+  // Every existing category, tip and guideline, with the revision at which it last changed (0 if not since startup)
+  private final Map<Long, Long> changedAt = new ConcurrentHashMap<>();
+  private final WasteCategoryRepository wasteCategoryRepository;
+  private final RecyclingTipRepository recyclingTipRepository;
+  private final DisposalGuidelineRepository disposalGuidelineRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private volatile boolean loaded;
+  private volatile long revision;
+  // A tip or guideline update may move it away from a category that the change does not name
+  private volatile long lastChildUpdate;
+
+  public CatalogRevisions(WasteCategoryRepository wasteCategoryRepository,
+                          RecyclingTipRepository recyclingTipRepository,
+                          DisposalGuidelineRepository disposalGuidelineRepository,
+                          PlatformTransactionManager transactionManager) {
+    this.wasteCategoryRepository = wasteCategoryRepository;
+    this.recyclingTipRepository = recyclingTipRepository;
+    this.disposalGuidelineRepository = disposalGuidelineRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  /**
+   * Loads the ids of the catalog once the application has started, after the sample data has been seeded.
+   * Changes committed meanwhile wait for the load and are applied on top of it; ids they already recorded keep
+   * their revision.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void onApplicationReady() {
+    readOnlyTransaction.executeWithoutResult(status -> {
+      load(CatalogEntityType.WASTE_CATEGORY, wasteCategoryRepository.streamAllAsEntries());
+      load(CatalogEntityType.RECYCLING_TIP, recyclingTipRepository.streamAllAsEntries());
+      load(CatalogEntityType.DISPOSAL_GUIDELINE, disposalGuidelineRepository.streamAllAsEntries());
+    });
+    loaded = true;
+  }
+
+  /**
+   * Records the revision of catalog changes once their transaction has committed, or at once outside of one.
+   * A transactional listener cannot run after the after-commit listeners and still tell a commit from a
+   * rollback, so the completion is observed through a synchronization of its own.
+   *
+   * @param event The changes of a write.
+   */
+  @EventListener
+  public void onCatalogChanged(CatalogChangedEvent event) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      apply(event);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status == STATUS_COMMITTED) {
+          apply(event);
+        }
+      }
+    });
+  }
+
+  // A changed tip or guideline also changes its category, whose representation lists it
+  private synchronized void apply(CatalogChangedEvent event) {
+    long next = revision + 1;
+    for (CatalogChange change : event.getChanges()) {
+      if (change.getChangeType() == CatalogChangeType.DELETED) {
+        changedAt.remove(key(change.getEntityType(), change.getId()));
+      } else {
+        changedAt.put(key(change.getEntityType(), change.getId()), next);
+      }
+      if (change.getEntityType() != CatalogEntityType.WASTE_CATEGORY) {
+        // The category may have been deleted in the same batch, after its children
+        changedAt.computeIfPresent(key(CatalogEntityType.WASTE_CATEGORY, change.getCategoryId()), (key, changed) -> next);
+        if (change.getChangeType() == CatalogChangeType.UPDATED) {
+          lastChildUpdate = next;
+        }
+      }
+    }
+    revision = next;
+  }
+
+  /**
+   * @return the entity tag of anything that depends on the whole catalog, such as lists and searches.
+   */
+  public String current() {
+    return tag(revision);
+  }
+
+  /**
+   * @param type the entity type.
+   * @param id   the entity id.
+   * @return the entity tag of a single category, tip or guideline, or null if it is not known to exist.
+   */
+  public String of(CatalogEntityType type, long id) {
+    Long known = loaded ? changedAt.get(key(type, id)) : null;
+    if (known == null) {
+      return null;
+    }
+    long changed = known;
+    if (type == CatalogEntityType.WASTE_CATEGORY) {
+      changed = Math.max(changed, lastChildUpdate);
+    }
+    return tag(changed);
+  }
+
+  private void load(CatalogEntityType type, Stream<CatalogEntry> entries) {
+    try (entries) {
+      entries.forEach(entry -> changedAt.putIfAbsent(key(type, entry.id()), 0L));
+    }
+  }
+
+  private String tag(long revision) {
+    return "\"" + epoch + "-" + revision + "\"";
+  }
+
+  private static long key(CatalogEntityType type, long id) {
+    return (id << 2) | type.ordinal();
+  }
+}
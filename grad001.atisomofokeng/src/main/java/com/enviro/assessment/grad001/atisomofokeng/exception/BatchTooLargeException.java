@@ -0,0 +1,12 @@
+package com.enviro.assessment.grad001.atisomofokeng.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Thrown when a bulk request carries more items than the configured maximum
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class BatchTooLargeException extends RuntimeException {
+  public BatchTooLargeException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,22 @@
+package com.enviro.assessment.grad001.atisomofokeng.exception;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.io.IOException;
+
+/**
+ * Answers 409 Conflict when an update or delete lost the race against a concurrent write to the same row, as
+ * detected by the @Version column. The error is sent like those of the @ResponseStatus exceptions, so the body is
+ * rendered by the error page; the client re-reads the entity and retries.
+ */
+@ControllerAdvice
+public class ConcurrentUpdateExceptionHandler {
+
+  @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+  public void handleOptimisticLockingFailure(HttpServletResponse response) throws IOException {
+    response.sendError(HttpServletResponse.SC_CONFLICT, "The resource was modified concurrently; reload it and retry");
+  }
+}
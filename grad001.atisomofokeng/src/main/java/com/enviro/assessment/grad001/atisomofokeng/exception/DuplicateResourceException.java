@@ -0,0 +1,12 @@
+package com.enviro.assessment.grad001.atisomofokeng.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Thrown when a resource is created with a name that is already taken
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicateResourceException extends RuntimeException {
+  public DuplicateResourceException(String message) {
+    super(message);
+  }
+}
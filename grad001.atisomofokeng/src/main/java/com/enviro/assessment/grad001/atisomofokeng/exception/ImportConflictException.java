@@ -0,0 +1,12 @@
+package com.enviro.assessment.grad001.atisomofokeng.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Thrown when an import job is started while it is already running or after it has completed
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ImportConflictException extends RuntimeException {
+  public ImportConflictException(String message) {
+    super(message);
+  }
+}
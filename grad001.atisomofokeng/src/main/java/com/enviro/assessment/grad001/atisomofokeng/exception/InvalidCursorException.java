@@ -0,0 +1,12 @@
+package com.enviro.assessment.grad001.atisomofokeng.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Thrown when a client sends a pagination cursor that was not issued by this API
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+  public InvalidCursorException(String message) {
+    super(message);
+  }
+}
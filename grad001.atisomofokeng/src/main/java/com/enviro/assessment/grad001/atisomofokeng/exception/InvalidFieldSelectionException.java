@@ -0,0 +1,12 @@
+package com.enviro.assessment.grad001.atisomofokeng.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Thrown when a client asks for a field or an embedded collection that the resource does not have
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidFieldSelectionException extends RuntimeException {
+  public InvalidFieldSelectionException(String message) {
+    super(message);
+  }
+}
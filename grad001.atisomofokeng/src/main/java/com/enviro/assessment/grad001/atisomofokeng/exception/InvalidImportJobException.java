@@ -0,0 +1,12 @@
+package com.enviro.assessment.grad001.atisomofokeng.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Thrown when an import job id is missing or cannot be used as a file name for its report
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidImportJobException extends RuntimeException {
+  public InvalidImportJobException(String message) {
+    super(message);
+  }
+}
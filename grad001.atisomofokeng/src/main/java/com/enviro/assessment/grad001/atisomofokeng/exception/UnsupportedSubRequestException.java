@@ -0,0 +1,12 @@
+package com.enviro.assessment.grad001.atisomofokeng.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Thrown when a composite request addresses an endpoint that streams its response or is itself composite
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnsupportedSubRequestException extends RuntimeException {
+  public UnsupportedSubRequestException(String message) {
+    super(message);
+  }
+}
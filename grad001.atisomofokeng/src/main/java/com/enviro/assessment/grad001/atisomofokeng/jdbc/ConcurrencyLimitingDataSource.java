@@ -0,0 +1,165 @@
+package com.enviro.assessment.grad001.atisomofokeng.jdbc;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hands out connections of a pool through a fair semaphore with as many permits as the pool has connections.
+ * <p>
+ * With virtual threads there is no request thread pool left to bound how many requests reach the database at
+ * once, so thousands of them can be waiting on the connection pool together. The semaphore queues them in
+ * arrival order and parks them cheaply; a permit is taken before a connection is borrowed and returned when the
+ * connection is closed, so the pool itself is never contended.
+ * <p>
+ * As a {@link MeterBinder} it publishes the time spent waiting for a permit (catalog.jdbc.admission.wait) and
+ * the permits available and threads waiting at the time of a scrape.
+ */
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource implements MeterBinder {
+
+  private final Semaphore permits;
+  private final int maxConcurrency;
+  private final long timeoutNanos;
+  private volatile Timer waitTimer;
+
+  /**
+   * @param dataSource     the pooled data source.
+   * @param maxConcurrency the number of connections handed out at once, normally the pool size.
+   * @param timeout        how long to wait for a permit before failing, normally the pool's connection timeout.
+   */
+  public ConcurrencyLimitingDataSource(DataSource dataSource, int maxConcurrency, Duration timeout) {
+    super(dataSource);
+    this.permits = new Semaphore(maxConcurrency, true);
+    this.maxConcurrency = maxConcurrency;
+    this.timeoutNanos = timeout.toNanos();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    return release(() -> obtainTargetDataSource().getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    return release(() -> obtainTargetDataSource().getConnection(username, password));
+  }
+
+  /**
+   * @return the number of connections that can be handed out right now.
+   */
+  public int getAvailablePermits() {
+    return permits.availablePermits();
+  }
+
+  /**
+   * @return the number of threads waiting for a connection.
+   */
+  public int getQueueLength() {
+    return permits.getQueueLength();
+  }
+
+  /**
+   * @return the number of connections handed out at once.
+   */
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("catalog.jdbc.admission.available", permits, Semaphore::availablePermits)
+            .description("Connections that can be handed out without waiting")
+            .register(registry);
+    Gauge.builder("catalog.jdbc.admission.waiting", permits, Semaphore::getQueueLength)
+            .description("Threads waiting for a connection")
+            .register(registry);
+    waitTimer = Timer.builder("catalog.jdbc.admission.wait")
+            .description("Time spent waiting for a connection permit, including waits that timed out")
+            .register(registry);
+  }
+
+  private void acquire() throws SQLException {
+    long start = System.nanoTime();
+    try {
+      if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+        throw new SQLTransientConnectionException("No connection available within "
+                + Duration.ofNanos(timeoutNanos).toMillis() + "ms; " + permits.getQueueLength() + " threads waiting");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+    } finally {
+      Timer timer = waitTimer;
+      if (timer != null) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+
+  // Borrows a connection under the permit just taken; the permit goes back when it is closed, or at once on failure
+  private Connection release(ConnectionSupplier supplier) throws SQLException {
+    Connection connection;
+    try {
+      connection = supplier.get();
+    } catch (SQLException | RuntimeException | Error e) {
+      permits.release();
+      throw e;
+    }
+    AtomicBoolean closed = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "close" -> {
+                  try {
+                    connection.close();
+                  } finally {
+                    // Closing twice is allowed and must not return the permit twice
+                    if (closed.compareAndSet(false, true)) {
+                      permits.release();
+                    }
+                  }
+                  return null;
+                }
+                case "isClosed" -> {
+                  return closed.get() || connection.isClosed();
+                }
+                case "equals" -> {
+                  return proxy == args[0];
+                }
+                case "hashCode" -> {
+                  return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                  return "Permitted " + connection;
+                }
+                default -> {
+                  try {
+                    return method.invoke(connection, args);
+                  } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                  }
+                }
+              }
+            });
+  }
+
+  @FunctionalInterface
+  private interface ConnectionSupplier {
+    Connection get() throws SQLException;
+  }
+}
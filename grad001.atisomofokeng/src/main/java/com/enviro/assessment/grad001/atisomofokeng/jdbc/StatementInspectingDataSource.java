@@ -0,0 +1,156 @@
+package com.enviro.assessment.grad001.atisomofokeng.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Records the statements executed through a data source in the {@link StatementStatistics} bound to the
+ * executing thread: their number and shape, the time spent executing them and reading their results, and the
+ * rows read.
+ * <p>
+ * Statements are only inspected when statistics are bound as they are prepared; any other statement is the
+ * driver's own, so work outside a request runs at full speed.
+ */
+public class StatementInspectingDataSource extends DelegatingDataSource {
+
+  private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+  private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])\\d+(?:\\.\\d+)?(?![\\w.])");
+  private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  // Hibernate issues a bounded set of SQL strings, so shapes are computed once; capped against ad hoc SQL
+  private static final int MAX_CACHED_SHAPES = 10_000;
+  private static final Map<String, String> SHAPES = new ConcurrentHashMap<>();
+
+  public StatementInspectingDataSource(DataSource dataSource) {
+    super(dataSource);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return inspect(obtainTargetDataSource().getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return inspect(obtainTargetDataSource().getConnection(username, password));
+  }
+
+  /**
+   * The SQL with its literals replaced by ?, IN lists of parameters collapsed and whitespace normalized, so
+   * that executions of the same query with different values have the same shape.
+   */
+  static String shapeOf(String sql) {
+    String shape = SHAPES.get(sql);
+    if (shape == null) {
+      shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+      shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+      shape = PARAMETER_LIST.matcher(shape).replaceAll("(?...)");
+      shape = WHITESPACE.matcher(shape).replaceAll(" ").trim().toLowerCase();
+      if (SHAPES.size() < MAX_CACHED_SHAPES) {
+        SHAPES.put(sql, shape);
+      }
+    }
+    return shape;
+  }
+
+  private static Connection inspect(Connection connection) {
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "equals" -> {
+                  return proxy == args[0];
+                }
+                case "hashCode" -> {
+                  return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                  return "Inspected " + connection;
+                }
+                default -> {
+                  Object result = invoke(connection, method, args);
+                  StatementStatistics statistics = StatementStatistics.current();
+                  if (statistics == null || !(result instanceof Statement statement)) {
+                    return result;
+                  }
+                  // prepareStatement and prepareCall have their SQL now, createStatement when it is executed
+                  String shape = method.getName().startsWith("prepare") ? shapeOf((String) args[0]) : null;
+                  return inspect(statement, method.getReturnType(), shape, statistics);
+                }
+              }
+            });
+  }
+
+  private static Object inspect(Statement statement, Class<?> type, String preparedShape,
+                                StatementStatistics statistics) {
+    return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+            (proxy, method, args) -> {
+              String name = method.getName();
+              switch (name) {
+                case "equals" -> {
+                  return proxy == args[0];
+                }
+                case "hashCode" -> {
+                  return System.identityHashCode(proxy);
+                }
+                case "getResultSet" -> {
+                  ResultSet resultSet = (ResultSet) invoke(statement, method, args);
+                  return resultSet == null ? null : inspect(resultSet, statistics);
+                }
+                default -> {
+                  if (!name.startsWith("execute")) {
+                    return invoke(statement, method, args);
+                  }
+                  String shape = args != null && args.length > 0 && args[0] instanceof String sql ? shapeOf(sql)
+                          : preparedShape;
+                  long start = System.nanoTime();
+                  Object result = invoke(statement, method, args);
+                  boolean query = "executeQuery".equals(name) || ("execute".equals(name) && Boolean.TRUE.equals(result));
+                  statistics.statementExecuted(shape, query, System.nanoTime() - start);
+                  return result instanceof ResultSet resultSet ? inspect(resultSet, statistics) : result;
+                }
+              }
+            });
+  }
+
+  private static ResultSet inspect(ResultSet resultSet, StatementStatistics statistics) {
+    return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+            (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "next" -> {
+                  long start = System.nanoTime();
+                  boolean next = resultSet.next();
+                  statistics.rowsRead(next ? 1 : 0, System.nanoTime() - start);
+                  return next;
+                }
+                case "equals" -> {
+                  return proxy == args[0];
+                }
+                case "hashCode" -> {
+                  return System.identityHashCode(proxy);
+                }
+                default -> {
+                  return invoke(resultSet, method, args);
+                }
+              }
+            });
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getTargetException();
+    }
+  }
+}
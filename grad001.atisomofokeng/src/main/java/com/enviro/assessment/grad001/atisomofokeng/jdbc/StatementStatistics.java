@@ -0,0 +1,220 @@
+package com.enviro.assessment.grad001.atisomofokeng.jdbc;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements executed, the rows read and the time spent in JDBC by one unit of work, usually an
+ * HTTP request, through a {@link StatementInspectingDataSource}. Statistics are bound to the threads doing the
+ * work, and only statements prepared while they are bound are counted, so background work costs nothing.
+ * <p>
+ * A query executed over and over with the same shape (the same SQL once literals and the lengths of IN lists
+ * are ignored) is a suspected N+1 select: a collection or association walked one row at a time. Once a shape
+ * reaches the threshold, the service method that executed it is taken from the stack.
+ * <p>
+ * Tests can count the statements of any call: {@code StatementStatistics.capture(() -> service.get(1L))}.
+ */
+public final class StatementStatistics {
+
+  /**
+   * Executions of the same query within one unit of work from which it is reported, unless configured.
+   */
+  public static final int DEFAULT_N_PLUS_ONE_THRESHOLD = 10;
+
+  private static final ThreadLocal<StatementStatistics> CURRENT = new ThreadLocal<>();
+  // Beyond this many distinct queries in one unit of work the others are counted but not told apart
+  private static final int MAX_SHAPES = 1000;
+  private static final String ROOT_PACKAGE =
+          StatementStatistics.class.getPackageName().substring(0, StatementStatistics.class.getPackageName().lastIndexOf('.'));
+  private static final String SERVICE_PACKAGE = ROOT_PACKAGE + ".service.";
+  private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+  /**
+   * A query executed at least the threshold number of times.
+   *
+   * @param sql        the shape of the query.
+   * @param origin     the service method that executed it, or the first application method on the stack.
+   * @param executions the number of times it was executed.
+   */
+  public record Suspect(String sql, String origin, long executions) {
+  }
+
+  private final int nPlusOneThreshold;
+  private final LongAdder statements = new LongAdder();
+  private final LongAdder rows = new LongAdder();
+  private final LongAdder nanos = new LongAdder();
+  private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+
+  public StatementStatistics() {
+    this(DEFAULT_N_PLUS_ONE_THRESHOLD);
+  }
+
+  public StatementStatistics(int nPlusOneThreshold) {
+    this.nPlusOneThreshold = Math.max(2, nPlusOneThreshold);
+  }
+
+  /**
+   * @return the statistics bound to the calling thread, or null.
+   */
+  public static StatementStatistics current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Counts the statements of a call made on the calling thread.
+   *
+   * @param work the call.
+   * @return what it executed.
+   */
+  public static StatementStatistics capture(Runnable work) {
+    StatementStatistics statistics = new StatementStatistics();
+    try (Scope ignored = statistics.bind()) {
+      work.run();
+    }
+    return statistics;
+  }
+
+  /**
+   * Binds these statistics to the calling thread until the scope is closed, which restores the previous ones.
+   */
+  public Scope bind() {
+    StatementStatistics previous = CURRENT.get();
+    CURRENT.set(this);
+    return () -> {
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    };
+  }
+
+  /**
+   * Runs part of the same unit of work on another thread, such as the concurrent reads of a composite request.
+   *
+   * @param statistics the statistics of the unit of work, or null for none.
+   */
+  public static <T> T callWith(StatementStatistics statistics, Supplier<T> work) {
+    if (statistics == null) {
+      return work.get();
+    }
+    try (Scope ignored = statistics.bind()) {
+      return work.get();
+    }
+  }
+
+  void statementExecuted(String shape, boolean query, long elapsedNanos) {
+    statements.increment();
+    nanos.add(elapsedNanos);
+    // Only reads of a table can be N+1 selects; the next values of a sequence are fetched repeatedly by design
+    if (!query || shape == null || !shape.contains(" from ")) {
+      return;
+    }
+    Shape counted = shapes.get(shape);
+    if (counted == null) {
+      if (shapes.size() >= MAX_SHAPES) {
+        return;
+      }
+      counted = shapes.computeIfAbsent(shape, key -> new Shape());
+    }
+    if (counted.executions.incrementAndGet() == nPlusOneThreshold) {
+      counted.origin = originOfStatement();
+    }
+  }
+
+  void rowsRead(long count, long elapsedNanos) {
+    rows.add(count);
+    nanos.add(elapsedNanos);
+  }
+
+  public long getStatements() {
+    return statements.sum();
+  }
+
+  public long getRows() {
+    return rows.sum();
+  }
+
+  /**
+   * @return the time spent executing statements and reading their results, in nanoseconds.
+   */
+  public long getTimeNanos() {
+    return nanos.sum();
+  }
+
+  /**
+   * @return the suspected N+1 selects, the most executed first.
+   */
+  public List<Suspect> getSuspects() {
+    List<Suspect> suspects = new ArrayList<>();
+    shapes.forEach((sql, shape) -> {
+      long executions = shape.executions.get();
+      if (executions >= nPlusOneThreshold) {
+        suspects.add(new Suspect(sql, shape.origin != null ? shape.origin : "unknown", executions));
+      }
+    });
+    suspects.sort(Comparator.comparingLong(Suspect::executions).reversed());
+    return suspects;
+  }
+
+  /**
+   * @param sqlFragment part of the SQL, e.g. "from recycling_tip".
+   * @return the number of queries executed whose shape contains it.
+   */
+  public long getExecutions(String sqlFragment) {
+    return shapes.entrySet().stream()
+            .filter(entry -> entry.getKey().contains(sqlFragment))
+            .mapToLong(entry -> entry.getValue().executions.get())
+            .sum();
+  }
+
+  // The first service method on the stack, else the first application method outside this package
+  private static String originOfStatement() {
+    return STACK_WALKER.walk(frames -> {
+      String fallback = null;
+      for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+        String className = frame.getClassName();
+        if (className.startsWith(SERVICE_PACKAGE)) {
+          return nameOf(frame);
+        }
+        if (fallback == null && className.startsWith(ROOT_PACKAGE) && !className.startsWith(ROOT_PACKAGE + ".jdbc.")) {
+          fallback = nameOf(frame);
+        }
+      }
+      return fallback;
+    });
+  }
+
+  // E.g. WasteCategoryServiceImpl.getAllWasteCategories, without the suffix of a generated proxy; a lambda is
+  // named after the method that declares it
+  private static String nameOf(StackWalker.StackFrame frame) {
+    String className = frame.getClassName();
+    int proxy = className.indexOf("$$");
+    String simpleName = className.substring(className.lastIndexOf('.') + 1, proxy > 0 ? proxy : className.length());
+    String methodName = frame.getMethodName();
+    if (methodName.startsWith("lambda$") && methodName.indexOf('$', 7) > 7) {
+      methodName = methodName.substring(7, methodName.indexOf('$', 7));
+    }
+    return simpleName + "." + methodName;
+  }
+
+  private static final class Shape {
+    final AtomicLong executions = new AtomicLong();
+    volatile String origin;
+  }
+
+  /**
+   * A binding of statistics to a thread.
+   */
+  @FunctionalInterface
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+}
@@ -0,0 +1,113 @@
+package com.enviro.assessment.grad001.atisomofokeng.model;
+
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangeType;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogEntityType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Entity class recording one committed change to the catalog.
+ * Maps to the "catalog_change_log" table in the database.
+ * Records are written in the transaction of the change itself, and their ids grow in commit order, so the id
+ * of the last record a client has seen is a revision it can resume synchronizing from.
+ */
+@Entity
+@Table(name = "catalog_change_log", indexes = @Index(name = "idx_change_log_entity", columnList = "entity_type, entity_id"))
+public class CatalogChangeRecord {
+
+  // Primary key and catalog revision, drawn from a sequence.
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "catalog_change_log_id")
+  @SequenceGenerator(name = "catalog_change_log_id", sequenceName = "catalog_change_log_seq", allocationSize = 100)
+  private Long id;
+
+  // Type of the changed entity.
+  @Enumerated(EnumType.STRING)
+  @Column(name = "entity_type", nullable = false, length = 20)
+  private CatalogEntityType entityType;
+
+  // Kind of change; DELETED records are tombstones.
+  @Enumerated(EnumType.STRING)
+  @Column(name = "change_type", nullable = false, length = 10)
+  private CatalogChangeType changeType;
+
+  // Id of the changed category, tip or guideline.
+  @Column(name = "entity_id", nullable = false)
+  private Long entityId;
+
+  // Id of the category the entity belongs to (its own id for categories).
+  @Column(name = "category_id", nullable = false)
+  private Long categoryId;
+
+  // Category name, tip or guideline text after the change; null for tombstones.
+  @Column(name = "text")
+  private String text;
+
+  // Time the change was recorded.
+  @Column(name = "committed_at", nullable = false)
+  private Instant committedAt;
+
+  /**
+   * Default no-argument constructor.
+   * Required by JPA for entity instantiation.
+   */
+  public CatalogChangeRecord() {}
+
+  /**
+   * Creates a record.
+   *
+   * @param entityType  the type of the changed entity.
+   * @param changeType  the kind of change.
+   * @param entityId    the id of the changed entity.
+   * @param categoryId  the id of the category the entity belongs to.
+   * @param text        the text after the change, or null for deletions.
+   * @param committedAt the time of the change.
+   */
+  public CatalogChangeRecord(CatalogEntityType entityType, CatalogChangeType changeType, Long entityId,
+                             Long categoryId, String text, Instant committedAt) {
+    this.entityType = entityType;
+    this.changeType = changeType;
+    this.entityId = entityId;
+    this.categoryId = categoryId;
+    this.text = text;
+    this.committedAt = committedAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public CatalogEntityType getEntityType() {
+    return entityType;
+  }
+
+  public CatalogChangeType getChangeType() {
+    return changeType;
+  }
+
+  public Long getEntityId() {
+    return entityId;
+  }
+
+  public Long getCategoryId() {
+    return categoryId;
+  }
+
+  public String getText() {
+    return text;
+  }
+
+  public Instant getCommittedAt() {
+    return committedAt;
+  }
+}
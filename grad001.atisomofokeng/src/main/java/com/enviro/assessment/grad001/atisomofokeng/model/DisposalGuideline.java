@@ -1,5 +1,6 @@
 package com.enviro.assessment.grad001.atisomofokeng.model;
 
+import com.enviro.assessment.grad001.atisomofokeng.cache.EntityCacheRegions;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -8,7 +9,11 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entity class representing a Disposal Guideline.
@@ -16,13 +21,21 @@ import jakarta.persistence.Table;
  */
 @Entity
 @Table(name = "disposal_guidelines")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.DISPOSAL_GUIDELINES)
 public class DisposalGuideline {
 
-  // Primary key for the DisposalGuideline table, with auto-generated values.
+  // Primary key for the DisposalGuideline table, drawn from a sequence.
+  // Ids are allocated in blocks of 100 (one JDBC batch) by the pooled optimizer, which keeps insert batching enabled.
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "disposal_guidelines_id")
+  @SequenceGenerator(name = "disposal_guidelines_id", sequenceName = "disposal_guidelines_seq", allocationSize = 100)
   private Long id;
 
+  // Optimistic-locking version, incremented by Hibernate on every update of the row.
+  // Two transactions updating the same guideline concurrently make the later one fail instead of overwriting the first.
+  @Version
+  private Long version;
+
   // Column to store the disposal guideline text, cannot be null and has a max length of 255 characters.
   @Column(nullable = false, length = 255)
   private String disposalGuideline;
@@ -80,6 +93,15 @@ public class DisposalGuideline {
     return id;
   }
 
+  /**
+   * Retrieves the optimistic-locking version of the disposal guideline.
+   *
+   * @return The version, or null before the guideline is first saved.
+   */
+  public Long getVersion() {
+    return version;
+  }
+
   /**
    * Retrieves the disposal guideline text.
    *
@@ -0,0 +1,125 @@
+package com.enviro.assessment.grad001.atisomofokeng.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Entity class recording the progress of a catalog import job.
+ * Maps to the "import_checkpoints" table in the database.
+ * The checkpoint is updated in the same transaction as each imported chunk, so an interrupted job
+ * can be resumed after its last committed record without importing anything twice.
+ */
+@Entity
+@Table(name = "import_checkpoints")
+public class ImportCheckpoint {
+
+  /**
+   * Lifecycle of an import job.
+   */
+  public enum Status {
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+
+  // Primary key, chosen by the client so that a re-run of the same file resumes the same job.
+  @Id
+  @Column(name = "job_id", length = 100)
+  private String jobId;
+
+  // Current state of the job.
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private Status status;
+
+  // Number of the last record (1-based, header excluded) covered by a committed chunk.
+  @Column(name = "last_record", nullable = false)
+  private long lastRecord;
+
+  // Number of committed chunks.
+  @Column(nullable = false)
+  private long chunks;
+
+  // Number of rows inserted so far.
+  @Column(nullable = false)
+  private long imported;
+
+  // Number of rows rejected so far.
+  @Column(nullable = false)
+  private long rejected;
+
+  // Time of the last update.
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  /**
+   * Default no-argument constructor.
+   * Required by JPA for entity instantiation.
+   */
+  public ImportCheckpoint() {}
+
+  /**
+   * Creates the checkpoint of a new job.
+   *
+   * @param jobId The id of the job.
+   */
+  public ImportCheckpoint(String jobId) {
+    this.jobId = jobId;
+    this.status = Status.RUNNING;
+    this.updatedAt = Instant.now();
+  }
+
+  /**
+   * Records a committed chunk.
+   *
+   * @param lastRecord The number of the last record of the chunk.
+   * @param imported The number of rows of the chunk that were inserted.
+   * @param rejected The number of rows of the chunk that were rejected.
+   */
+  public void advance(long lastRecord, long imported, long rejected) {
+    this.lastRecord = lastRecord;
+    this.chunks++;
+    this.imported += imported;
+    this.rejected += rejected;
+    this.updatedAt = Instant.now();
+  }
+
+  public String getJobId() {
+    return jobId;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public void setStatus(Status status) {
+    this.status = status;
+    this.updatedAt = Instant.now();
+  }
+
+  public long getLastRecord() {
+    return lastRecord;
+  }
+
+  public long getChunks() {
+    return chunks;
+  }
+
+  public long getImported() {
+    return imported;
+  }
+
+  public long getRejected() {
+    return rejected;
+  }
+
+  public Instant getUpdatedAt() {
+    return updatedAt;
+  }
+}
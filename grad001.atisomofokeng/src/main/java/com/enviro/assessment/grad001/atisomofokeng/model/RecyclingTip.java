@@ -1,5 +1,6 @@
 package com.enviro.assessment.grad001.atisomofokeng.model;
 
+import com.enviro.assessment.grad001.atisomofokeng.cache.EntityCacheRegions;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -7,8 +8,12 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entity class representing a Recycling Tip.
@@ -16,13 +21,21 @@ import jakarta.validation.constraints.NotBlank;
  */
 @Entity
 @Table(name = "recycling_tips")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.RECYCLING_TIPS)
 public class RecyclingTip {
 
-  // Primary key for the RecyclingTip table, with auto-generated values.
+  // Primary key for the RecyclingTip table, drawn from a sequence.
+  // Ids are allocated in blocks of 100 (one JDBC batch) by the pooled optimizer, which keeps insert batching enabled.
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recycling_tips_id")
+  @SequenceGenerator(name = "recycling_tips_id", sequenceName = "recycling_tips_seq", allocationSize = 100)
   private Long id;
 
+  // Optimistic-locking version, incremented by Hibernate on every update of the row.
+  // Two transactions updating the same tip concurrently make the later one fail instead of overwriting the first.
+  @Version
+  private Long version;
+
   // Column to store the recycling tip text.
   // Validation ensures the tip is not blank.
   @NotBlank(message = "Tip must not be blank.")
@@ -62,6 +75,15 @@ public class RecyclingTip {
     return id;
   }
 
+  /**
+   * Retrieves the optimistic-locking version of the recycling tip.
+   *
+   * @return The version, or null before the tip is first saved.
+   */
+  public Long getVersion() {
+    return version;
+  }
+
   /**
    * Sets the ID of the recycling tip.
    *
@@ -0,0 +1,47 @@
+package com.enviro.assessment.grad001.atisomofokeng.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * Entity class holding the compaction state of the catalog change log; a single row.
+ * Maps to the "sync_state" table in the database.
+ */
+@Entity
+@Table(name = "sync_state")
+public class SyncState {
+
+  // The id of the only row.
+  public static final int ID = 1;
+
+  @Id
+  private Integer id = ID;
+
+  // Highest revision whose tombstones have been dropped; clients behind it can no longer catch up.
+  @Column(nullable = false)
+  private long horizon;
+
+  // Time of the last compaction.
+  @Column(name = "compacted_at")
+  private Instant compactedAt;
+
+  public long getHorizon() {
+    return horizon;
+  }
+
+  public void setHorizon(long horizon) {
+    this.horizon = horizon;
+  }
+
+  public Instant getCompactedAt() {
+    return compactedAt;
+  }
+
+  public void setCompactedAt(Instant compactedAt) {
+    this.compactedAt = compactedAt;
+  }
+}
@@ -1,6 +1,10 @@
 package com.enviro.assessment.grad001.atisomofokeng.model;
 
+import com.enviro.assessment.grad001.atisomofokeng.cache.EntityCacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.util.List;
 
 /**
@@ -10,13 +14,21 @@ import java.util.List;
  */
 @Entity
 @Table(name = "waste_category")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.WASTE_CATEGORIES)
 public class WasteCategory {
 
-  // Primary key for the WasteCategory table, with auto-generated values.
+  // Primary key for the WasteCategory table, drawn from a sequence.
+  // Ids are allocated in blocks of 100 (one JDBC batch) by the pooled optimizer, which keeps insert batching enabled.
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waste_category_id")
+  @SequenceGenerator(name = "waste_category_id", sequenceName = "waste_category_seq", allocationSize = 100)
   private Long id;
 
+  // Optimistic-locking version, incremented by Hibernate on every update of the row.
+  // Two transactions updating the same category concurrently make the later one fail instead of overwriting the first.
+  @Version
+  private Long version;
+
   // Column for the category name.
   // This field is mandatory (nullable = false) and must be unique across categories.
   @Column(name = "category_name", nullable = false, unique = true)
@@ -26,13 +38,16 @@ public class WasteCategory {
   // The "wasteCategory" field in RecyclingTip is the mappedBy reference.
   // Cascade operations allow automatic propagation of persistence operations (e.g., save, delete).
   // Orphan removal ensures that any RecyclingTip no longer associated with this category is deleted.
+  // The ids of the collection are kept in the second-level cache, the tips themselves in their own region.
   @OneToMany(mappedBy = "wasteCategory", cascade = CascadeType.ALL, orphanRemoval = true)
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.WASTE_CATEGORY_RECYCLING_TIPS)
   private List<RecyclingTip> recyclingTips;
 
   // One-to-many relationship with the DisposalGuideline entity.
   // The "wasteCategory" field in DisposalGuideline is the mappedBy reference.
   // Cascade and orphan removal are configured similarly to the RecyclingTip relationship.
   @OneToMany(mappedBy = "wasteCategory", cascade = CascadeType.ALL, orphanRemoval = true)
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheRegions.WASTE_CATEGORY_DISPOSAL_GUIDELINES)
   private List<DisposalGuideline> disposalGuidelines;
 
   /**
@@ -61,6 +76,15 @@ public class WasteCategory {
     return id;
   }
 
+  /**
+   * Retrieves the optimistic-locking version of the waste category.
+   *
+   * @return The version, or null before the category is first saved.
+   */
+  public Long getVersion() {
+    return version;
+  }
+
   /**
    * Sets the ID of the waste category.
    *
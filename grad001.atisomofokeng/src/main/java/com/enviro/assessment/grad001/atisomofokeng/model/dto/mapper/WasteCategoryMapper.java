@@ -1,5 +1,7 @@
 package com.enviro.assessment.grad001.atisomofokeng.model.dto.mapper;
 
+import com.enviro.assessment.grad001.atisomofokeng.model.DisposalGuideline;
+import com.enviro.assessment.grad001.atisomofokeng.model.RecyclingTip;
 import com.enviro.assessment.grad001.atisomofokeng.model.WasteCategory;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.request.WasteCategoryRequest;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.DisposalGuidelineResponse;
@@ -24,7 +26,6 @@ public class WasteCategoryMapper {
    *         associated recycling tips, and disposal guidelines.
    */
   public WasteCategoryResponse toResponse(WasteCategory wasteCategory) {
-    // Map associated RecyclingTips to RecyclingTipResponse DTOs.
     if(wasteCategory.getRecyclingTips() == null) {
       // Construct and return the WasteCategoryResponse DTO.
       return new WasteCategoryResponse(
@@ -32,27 +33,46 @@ public class WasteCategoryMapper {
               wasteCategory.getCategoryName()
       );
     }
-    List<RecyclingTipResponse> recyclingTips = wasteCategory.getRecyclingTips().stream()
+    return toResponse(wasteCategory, wasteCategory.getRecyclingTips(), wasteCategory.getDisposalGuidelines());
+  }
+
+  /**
+   * Converts a WasteCategory entity to a WasteCategoryResponse DTO using children that were loaded separately.
+   * The category name is taken from the parent, so the children's category association is never touched.
+   * A null collection is left out of the response.
+   *
+   * @param wasteCategory      The WasteCategory entity to be converted.
+   * @param recyclingTips      The recycling tips belonging to the category, or null.
+   * @param disposalGuidelines The disposal guidelines belonging to the category, or null.
+   * @return The corresponding WasteCategoryResponse DTO.
+   */
+  public WasteCategoryResponse toResponse(WasteCategory wasteCategory,
+                                          List<RecyclingTip> recyclingTips,
+                                          List<DisposalGuideline> disposalGuidelines) {
+    String categoryName = wasteCategory.getCategoryName();
+
+    // Map associated RecyclingTips to RecyclingTipResponse DTOs.
+    List<RecyclingTipResponse> recyclingTipResponses = recyclingTips == null ? null : recyclingTips.stream()
             .map(tip -> new RecyclingTipResponse(
                     tip.getId(),
                     tip.getRecyclingTip(),
-                    tip.getWasteCategory().getCategoryName()))
+                    categoryName))
             .collect(Collectors.toList());
 
     // Map associated DisposalGuidelines to DisposalGuidelineResponse DTOs.
-    List<DisposalGuidelineResponse> disposalGuidelines = wasteCategory.getDisposalGuidelines().stream()
+    List<DisposalGuidelineResponse> disposalGuidelineResponses = disposalGuidelines == null ? null : disposalGuidelines.stream()
             .map(guideline -> new DisposalGuidelineResponse(
                     guideline.getId(),
                     guideline.getDisposalGuideline(),
-                    guideline.getWasteCategory().getCategoryName()))
+                    categoryName))
             .collect(Collectors.toList());
 
     // Construct and return the WasteCategoryResponse DTO.
     return new WasteCategoryResponse(
             wasteCategory.getId(),
-            wasteCategory.getCategoryName(),
-            recyclingTips,
-            disposalGuidelines
+            categoryName,
+            recyclingTipResponses,
+            disposalGuidelineResponses
     );
   }
 
@@ -0,0 +1,29 @@
+package com.enviro.assessment.grad001.atisomofokeng.model.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * DTO for a composite request: several API operations sent in one round trip.
+ * Without a transaction, consecutive reads run concurrently and every write runs in order in its own
+ * transaction. With a transaction, all sub-requests run in order in a single transaction that is rolled back
+ * when any of them fails.
+ */
+public class CompositeRequest {
+
+  private boolean transactional;
+
+  @NotEmpty(message = "A composite request must carry at least one sub-request.")
+  private List<@Valid CompositeRequestItem> requests;
+
+  // Getters
+  public boolean isTransactional() {
+    return transactional;
+  }
+
+  public List<CompositeRequestItem> getRequests() {
+    return requests;
+  }
+}
@@ -0,0 +1,51 @@
+package com.enviro.assessment.grad001.atisomofokeng.model.dto.request;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+import java.util.Map;
+
+/**
+ * DTO for one sub-request of a composite request, addressed like a standalone call to the API.
+ */
+public class CompositeRequestItem {
+
+  // Client-chosen id echoed in the matching response item
+  private String id;
+
+  @NotNull(message = "Method must not be null.")
+  @Pattern(regexp = "GET|HEAD|POST|PUT|PATCH|DELETE", message = "Method must be GET, HEAD, POST, PUT, PATCH or DELETE.")
+  private String method;
+
+  @NotNull(message = "Path must not be null.")
+  @Pattern(regexp = "/api/\\S*", message = "Path must be an API path, such as /api/recycling-tips?ids=1,2.")
+  private String path;
+
+  // Request headers, such as If-None-Match; the representation is always JSON
+  private Map<String, String> headers;
+
+  // JSON request body
+  private JsonNode body;
+
+  // Getters
+  public String getId() {
+    return id;
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  public JsonNode getBody() {
+    return body;
+  }
+}
@@ -0,0 +1,50 @@
+package com.enviro.assessment.grad001.atisomofokeng.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * DTO for the outcome of one item of a bulk create request.
+ * Carries the created item on success, or the HTTP status and message of the error on failure.
+ *
+ * @param <T> the type of the created item.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult<T> {
+
+  private final int index;  // Position of the item in the request
+  private final int status;  // HTTP status the item would have got from the single-item endpoint
+  private final T item;  // The created item, on success
+  private final String error;  // Why the item was rejected, on failure
+
+  private BatchItemResult(int index, int status, T item, String error) {
+    this.index = index;
+    this.status = status;
+    this.item = item;
+    this.error = error;
+  }
+
+  public static <T> BatchItemResult<T> created(int index, T item) {
+    return new BatchItemResult<>(index, 201, item, null);
+  }
+
+  public static <T> BatchItemResult<T> failed(int index, int status, String error) {
+    return new BatchItemResult<>(index, status, null, error);
+  }
+
+  // Getters
+  public int getIndex() {
+    return index;
+  }
+
+  public int getStatus() {
+    return status;
+  }
+
+  public T getItem() {
+    return item;
+  }
+
+  public String getError() {
+    return error;
+  }
+}
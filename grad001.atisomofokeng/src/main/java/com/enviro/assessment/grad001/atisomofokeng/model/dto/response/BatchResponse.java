@@ -0,0 +1,35 @@
+package com.enviro.assessment.grad001.atisomofokeng.model.dto.response;
+
+import java.util.List;
+
+/**
+ * DTO for the outcome of a bulk create request: one result per submitted item, in request order.
+ *
+ * @param <T> the type of the created items.
+ */
+public class BatchResponse<T> {
+
+  private final int succeeded;  // Number of items created
+  private final int failed;  // Number of items rejected
+  private final List<BatchItemResult<T>> results;  // Per-item outcomes, ordered by index
+
+  // Constructor
+  public BatchResponse(List<BatchItemResult<T>> results) {
+    this.results = results;
+    this.failed = (int) results.stream().filter(result -> result.getError() != null).count();
+    this.succeeded = results.size() - failed;
+  }
+
+  // Getters
+  public int getSucceeded() {
+    return succeeded;
+  }
+
+  public int getFailed() {
+    return failed;
+  }
+
+  public List<BatchItemResult<T>> getResults() {
+    return results;
+  }
+}
@@ -0,0 +1,62 @@
+package com.enviro.assessment.grad001.atisomofokeng.model.dto.response;
+
+/**
+ * DTO for reporting the statistics of one in-process cache.
+ */
+public class CacheStatsResponse {
+
+  private final String name;  // The name of the cache
+  private final long estimatedSize;  // Approximate number of entries held
+  private final long hitCount;  // Lookups served from the cache
+  private final long missCount;  // Lookups that had to load the value
+  private final double hitRate;  // hitCount / (hitCount + missCount)
+  private final long evictionCount;  // Entries removed because of size or expiry
+  private final long loadFailureCount;  // Loads that threw, e.g. because the entity does not exist
+  private final double averageLoadPenaltyMillis;  // Average time spent loading a value
+
+  // Constructor
+  public CacheStatsResponse(String name, long estimatedSize, long hitCount, long missCount, double hitRate,
+                            long evictionCount, long loadFailureCount, double averageLoadPenaltyMillis) {
+    this.name = name;
+    this.estimatedSize = estimatedSize;
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.hitRate = hitRate;
+    this.evictionCount = evictionCount;
+    this.loadFailureCount = loadFailureCount;
+    this.averageLoadPenaltyMillis = averageLoadPenaltyMillis;
+  }
+
+  // Getters
+  public String getName() {
+    return name;
+  }
+
+  public long getEstimatedSize() {
+    return estimatedSize;
+  }
+
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  public long getMissCount() {
+    return missCount;
+  }
+
+  public double getHitRate() {
+    return hitRate;
+  }
+
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  public long getLoadFailureCount() {
+    return loadFailureCount;
+  }
+
+  public double getAverageLoadPenaltyMillis() {
+    return averageLoadPenaltyMillis;
+  }
+}
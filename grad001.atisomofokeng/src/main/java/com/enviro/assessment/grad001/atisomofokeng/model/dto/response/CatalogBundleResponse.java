@@ -0,0 +1,46 @@
+package com.enviro.assessment.grad001.atisomofokeng.model.dto.response;
+
+import java.net.URI;
+import java.time.Instant;
+
+/**
+ * DTO describing the offline catalog bundle that is currently available for download.
+ */
+public class CatalogBundleResponse {
+
+  private final String hash;  // SHA-256 of the bundle file; changes whenever the catalog contents change
+  private final long size;  // Size of the bundle file in bytes
+  private final long revision;  // Change log revision the bundle covers at least; pass it to /api/sync as "since"
+  private final Instant createdAt;  // Time the bundle was written
+  private final URI href;  // Where to download the bundle; the response can be cached forever
+
+  // Constructor
+  public CatalogBundleResponse(String hash, long size, long revision, Instant createdAt, URI href) {
+    this.hash = hash;
+    this.size = size;
+    this.revision = revision;
+    this.createdAt = createdAt;
+    this.href = href;
+  }
+
+  // Getters
+  public String getHash() {
+    return hash;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public long getRevision() {
+    return revision;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public URI getHref() {
+    return href;
+  }
+}
@@ -0,0 +1,61 @@
+package com.enviro.assessment.grad001.atisomofokeng.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * DTO representing one change to the catalog, as returned by the sync endpoint.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CatalogChangeResponse {
+
+  private final long revision;  // Revision of the change
+  private final String type;  // WASTE_CATEGORY, RECYCLING_TIP or DISPOSAL_GUIDELINE
+  private final String change;  // CREATED, UPDATED or DELETED
+  private final Long id;  // The id of the changed category, tip or guideline
+  private final Long wasteCategoryId;  // The id of its waste category
+  private final String text;  // The category name, tip or guideline after the change; absent for deletions
+  private final Instant committedAt;  // Time of the change
+
+  // Constructor
+  public CatalogChangeResponse(long revision, String type, String change, Long id, Long wasteCategoryId,
+                               String text, Instant committedAt) {
+    this.revision = revision;
+    this.type = type;
+    this.change = change;
+    this.id = id;
+    this.wasteCategoryId = wasteCategoryId;
+    this.text = text;
+    this.committedAt = committedAt;
+  }
+
+  // Getters
+  public long getRevision() {
+    return revision;
+  }
+
+  public String getType() {
+    return type;
+  }
+
+  public String getChange() {
+    return change;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public Long getWasteCategoryId() {
+    return wasteCategoryId;
+  }
+
+  public String getText() {
+    return text;
+  }
+
+  public Instant getCommittedAt() {
+    return committedAt;
+  }
+}
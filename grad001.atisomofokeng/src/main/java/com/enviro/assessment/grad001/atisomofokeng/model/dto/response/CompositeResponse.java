@@ -0,0 +1,27 @@
+package com.enviro.assessment.grad001.atisomofokeng.model.dto.response;
+
+import java.util.List;
+
+/**
+ * DTO for the outcome of a composite request: one response per sub-request, in request order.
+ */
+public class CompositeResponse {
+
+  private final boolean rolledBack;  // Whether the writes of a transactional request were rolled back
+  private final List<CompositeResponseItem> responses;  // Per-sub-request outcomes, in request order
+
+  // Constructor
+  public CompositeResponse(boolean rolledBack, List<CompositeResponseItem> responses) {
+    this.rolledBack = rolledBack;
+    this.responses = responses;
+  }
+
+  // Getters
+  public boolean isRolledBack() {
+    return rolledBack;
+  }
+
+  public List<CompositeResponseItem> getResponses() {
+    return responses;
+  }
+}
@@ -0,0 +1,44 @@
+package com.enviro.assessment.grad001.atisomofokeng.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * DTO for the response to one sub-request of a composite request: what the same call would have returned
+ * on its own.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompositeResponseItem {
+
+  private final String id;  // The id given to the sub-request, if any
+  private final int status;  // HTTP status of the response
+  private final Map<String, String> headers;  // Response headers, such as Location and ETag
+  private final JsonNode body;  // JSON response body, or a string for other content
+
+  // Constructor
+  public CompositeResponseItem(String id, int status, Map<String, String> headers, JsonNode body) {
+    this.id = id;
+    this.status = status;
+    this.headers = headers;
+    this.body = body;
+  }
+
+  // Getters
+  public String getId() {
+    return id;
+  }
+
+  public int getStatus() {
+    return status;
+  }
+
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  public JsonNode getBody() {
+    return body;
+  }
+}
@@ -0,0 +1,81 @@
+package com.enviro.assessment.grad001.atisomofokeng.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * DTO reporting the progress or outcome of a catalog import job.
+ * Totals cover every run of the job; the record counts of the current run are only set when
+ * the summary is returned by the run itself.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportSummaryResponse {
+
+  private final String jobId;  // The id of the import job
+  private final String status;  // RUNNING, COMPLETED or FAILED
+  private final long lastRecord;  // Last record covered by a committed chunk; a re-run resumes after it
+  private final long chunks;  // Number of committed chunks
+  private final long imported;  // Rows inserted
+  private final long rejected;  // Rows rejected; see the rejected-rows report
+  private final Instant updatedAt;  // Time of the last committed chunk or status change
+  private final String rejectedReport;  // Path of the rejected-rows report
+  private final Long recordsRead;  // Records read by this run, including skipped ones
+  private final Long recordsSkipped;  // Records skipped by this run because an earlier run committed them
+
+  // Constructor
+  public ImportSummaryResponse(String jobId, String status, long lastRecord, long chunks, long imported, long rejected,
+                               Instant updatedAt, String rejectedReport, Long recordsRead, Long recordsSkipped) {
+    this.jobId = jobId;
+    this.status = status;
+    this.lastRecord = lastRecord;
+    this.chunks = chunks;
+    this.imported = imported;
+    this.rejected = rejected;
+    this.updatedAt = updatedAt;
+    this.rejectedReport = rejectedReport;
+    this.recordsRead = recordsRead;
+    this.recordsSkipped = recordsSkipped;
+  }
+
+  // Getters
+  public String getJobId() {
+    return jobId;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public long getLastRecord() {
+    return lastRecord;
+  }
+
+  public long getChunks() {
+    return chunks;
+  }
+
+  public long getImported() {
+    return imported;
+  }
+
+  public long getRejected() {
+    return rejected;
+  }
+
+  public Instant getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public String getRejectedReport() {
+    return rejectedReport;
+  }
+
+  public Long getRecordsRead() {
+    return recordsRead;
+  }
+
+  public Long getRecordsSkipped() {
+    return recordsSkipped;
+  }
+}
@@ -0,0 +1,75 @@
+package com.enviro.assessment.grad001.atisomofokeng.model.dto.response;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the outcome of a multi-get request: the items that were found, in the order their ids were asked for,
+ * and the ids that were not found.
+ *
+ * @param <T> the type of the items.
+ */
+public class MultiGetResponse<T> {
+
+  private final List<T> items;  // Found items, in request order
+  private final List<Long> missing;  // Requested ids that do not exist, in request order
+
+  // Constructor
+  public MultiGetResponse(List<T> items, List<Long> missing) {
+    this.items = items;
+    this.missing = missing;
+  }
+
+  /**
+   * Orders the items found by id as requested.
+   *
+   * @param ids   the requested ids, without duplicates.
+   * @param found the items found, by id.
+   * @return the response.
+   */
+  public static <T> MultiGetResponse<T> of(List<Long> ids, Map<Long, T> found) {
+    List<T> items = new ArrayList<>(found.size());
+    List<Long> missing = new ArrayList<>();
+    for (Long id : ids) {
+      T item = found.get(id);
+      if (item != null) {
+        items.add(item);
+      } else {
+        missing.add(id);
+      }
+    }
+    return new MultiGetResponse<>(items, missing);
+  }
+
+  /**
+   * Flattens the items found per owner id, owners in request order; an owner without items is not missing.
+   *
+   * @param ids   the requested owner ids, without duplicates.
+   * @param found the items of every owner that exists, by owner id.
+   * @return the response.
+   */
+  public static <T> MultiGetResponse<T> ofGroups(List<Long> ids, Map<Long, ? extends Collection<T>> found) {
+    List<T> items = new ArrayList<>();
+    List<Long> missing = new ArrayList<>();
+    for (Long id : ids) {
+      Collection<T> group = found.get(id);
+      if (group != null) {
+        items.addAll(group);
+      } else {
+        missing.add(id);
+      }
+    }
+    return new MultiGetResponse<>(items, missing);
+  }
+
+  // Getters
+  public List<T> getItems() {
+    return items;
+  }
+
+  public List<Long> getMissing() {
+    return missing;
+  }
+}
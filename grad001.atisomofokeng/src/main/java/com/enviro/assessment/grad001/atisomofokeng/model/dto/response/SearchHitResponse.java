@@ -0,0 +1,50 @@
+package com.enviro.assessment.grad001.atisomofokeng.model.dto.response;
+
+/**
+ * DTO representing one ranked full-text search result.
+ */
+public class SearchHitResponse {
+
+  private final String type;  // CATEGORY, TIP or GUIDELINE
+  private final Long id;  // The id of the matching category, tip or guideline
+  private final Long wasteCategoryId;  // The id of its waste category
+  private final String wasteCategoryName;  // The name of its waste category
+  private final String text;  // The matching category name, tip or guideline
+  private final double score;  // BM25 relevance score; higher is better
+
+  // Constructor
+  public SearchHitResponse(String type, Long id, Long wasteCategoryId, String wasteCategoryName, String text,
+                           double score) {
+    this.type = type;
+    this.id = id;
+    this.wasteCategoryId = wasteCategoryId;
+    this.wasteCategoryName = wasteCategoryName;
+    this.text = text;
+    this.score = score;
+  }
+
+  // Getters
+  public String getType() {
+    return type;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public Long getWasteCategoryId() {
+    return wasteCategoryId;
+  }
+
+  public String getWasteCategoryName() {
+    return wasteCategoryName;
+  }
+
+  public String getText() {
+    return text;
+  }
+
+  public double getScore() {
+    return score;
+  }
+}
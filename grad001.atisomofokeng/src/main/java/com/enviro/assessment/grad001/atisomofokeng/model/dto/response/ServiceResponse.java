@@ -1,5 +1,7 @@
 package com.enviro.assessment.grad001.atisomofokeng.model.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.net.URI;
 
 /**
@@ -16,6 +18,10 @@ public class ServiceResponse<T> {
   // The URI location of the resource, if applicable
   private URI location;
 
+  // Opaque cursor for the next page of a paginated list, absent on the last page
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String nextCursor;
+
   /**
    * Constructor to create a ServiceResponse with the provided data and location.
    *
@@ -27,6 +33,19 @@ public class ServiceResponse<T> {
     this.location = location;
   }
 
+  /**
+   * Constructor to create a ServiceResponse for one page of a paginated list.
+   *
+   * @param response   the items on the page.
+   * @param location   the URI of the requested page.
+   * @param nextCursor the cursor for the next page, or null if this is the last page.
+   */
+  public ServiceResponse(T response, URI location, String nextCursor) {
+    this.response = response;
+    this.location = location;
+    this.nextCursor = nextCursor;
+  }
+
   /**
    * Gets the encapsulated response data.
    *
@@ -44,4 +63,13 @@ public class ServiceResponse<T> {
   public URI getLocation() {
     return location;
   }
+
+  /**
+   * Gets the cursor for the next page of a paginated list.
+   *
+   * @return the next cursor, or null if there are no further pages.
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
 }
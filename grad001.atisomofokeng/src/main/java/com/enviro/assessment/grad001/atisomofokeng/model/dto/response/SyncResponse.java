@@ -0,0 +1,47 @@
+package com.enviro.assessment.grad001.atisomofokeng.model.dto.response;
+
+import java.util.List;
+
+/**
+ * DTO representing the catalog changes after a client-held revision.
+ * A client applies the changes in order, then asks again with {@code revision} as its new starting point
+ * (immediately while {@code hasMore} is true).
+ */
+public class SyncResponse {
+
+  private final long since;  // The revision the client asked from
+  private final long revision;  // The revision to ask from next time
+  private final boolean hasMore;  // Whether more changes follow this page
+  private final boolean reset;  // Whether the client is too far behind and must reload the full catalog bundle
+  private final List<CatalogChangeResponse> changes;  // The changes, oldest first, latest change per entity only
+
+  // Constructor
+  public SyncResponse(long since, long revision, boolean hasMore, boolean reset, List<CatalogChangeResponse> changes) {
+    this.since = since;
+    this.revision = revision;
+    this.hasMore = hasMore;
+    this.reset = reset;
+    this.changes = changes;
+  }
+
+  // Getters
+  public long getSince() {
+    return since;
+  }
+
+  public long getRevision() {
+    return revision;
+  }
+
+  public boolean isHasMore() {
+    return hasMore;
+  }
+
+  public boolean isReset() {
+    return reset;
+  }
+
+  public List<CatalogChangeResponse> getChanges() {
+    return changes;
+  }
+}
@@ -1,12 +1,15 @@
 package com.enviro.assessment.grad001.atisomofokeng.model.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 /**
  * DTO (Data Transfer Object) representing a Waste Category response.
  * Encapsulates data about a specific waste category, including its associated
- * recycling tips and disposal guidelines.
+ * recycling tips and disposal guidelines. Fields that were not selected or included are left null and omitted.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class WasteCategoryResponse {
 
   // Unique identifier for the waste category
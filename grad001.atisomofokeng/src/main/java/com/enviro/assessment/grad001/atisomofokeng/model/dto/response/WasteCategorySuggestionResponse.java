@@ -0,0 +1,31 @@
+package com.enviro.assessment.grad001.atisomofokeng.model.dto.response;
+
+/**
+ * DTO representing one waste category suggested for a typed prefix.
+ */
+public class WasteCategorySuggestionResponse {
+
+  private final Long id;  // The id of the waste category
+  private final String wasteCategory;  // The name of the waste category
+  private final long popularity;  // Number of recycling tips and disposal guidelines in the category
+
+  // Constructor
+  public WasteCategorySuggestionResponse(Long id, String wasteCategory, long popularity) {
+    this.id = id;
+    this.wasteCategory = wasteCategory;
+    this.popularity = popularity;
+  }
+
+  // Getters
+  public Long getId() {
+    return id;
+  }
+
+  public String getWasteCategory() {
+    return wasteCategory;
+  }
+
+  public long getPopularity() {
+    return popularity;
+  }
+}
@@ -0,0 +1,41 @@
+package com.enviro.assessment.grad001.atisomofokeng.repository;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.CatalogChangeRecord;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+// The catalog change log, in revision order
+public interface CatalogChangeRecordRepository extends JpaRepository<CatalogChangeRecord, Long> {
+
+  // Changes after a revision, oldest first
+  List<CatalogChangeRecord> findByIdGreaterThanOrderByIdAsc(long since, Limit limit);
+
+  // The latest revision, or null if nothing has changed yet
+  @Query("select max(c.id) from CatalogChangeRecord c")
+  Long findLatestRevision();
+
+  // Compaction: drops every record that a later record of the same entity supersedes
+  @Modifying
+  @Query("delete from CatalogChangeRecord c where exists (select 1 from CatalogChangeRecord n "
+          + "where n.entityType = c.entityType and n.entityId = c.entityId and n.id > c.id)")
+  int deleteSuperseded();
+
+  // The newest tombstone recorded before the cutoff, or null if there is none
+  @Query("select max(c.id) from CatalogChangeRecord c "
+          + "where c.changeType = com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangeType.DELETED "
+          + "and c.committedAt < :cutoff")
+  Long findLastTombstoneBefore(@Param("cutoff") Instant cutoff);
+
+  // Compaction: drops the tombstones up to a revision
+  @Modifying
+  @Query("delete from CatalogChangeRecord c "
+          + "where c.changeType = com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangeType.DELETED "
+          + "and c.id <= :revision")
+  int deleteTombstonesThrough(@Param("revision") long revision);
+}
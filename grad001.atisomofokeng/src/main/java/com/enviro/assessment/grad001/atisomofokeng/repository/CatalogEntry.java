@@ -0,0 +1,11 @@
+package com.enviro.assessment.grad001.atisomofokeng.repository;
+
+/**
+ * Flat projection of a catalog row, used to bulk-load read models without hydrating entities.
+ *
+ * @param id         the id of the category, tip or guideline.
+ * @param categoryId the id of the owning category (the category's own id for categories).
+ * @param text       the category name, tip text or guideline text.
+ */
+public record CatalogEntry(Long id, Long categoryId, String text) {
+}
@@ -0,0 +1,13 @@
+package com.enviro.assessment.grad001.atisomofokeng.repository;
+
+/**
+ * Flat projection of a category outer-joined with one of its tips or guidelines, used to read the children of
+ * several categories in one query while still telling an empty category from a missing one.
+ *
+ * @param categoryId   the id of the category.
+ * @param categoryName the name of the category.
+ * @param id           the id of the tip or guideline, or null for a category without any.
+ * @param text         the tip or guideline text, or null for a category without any.
+ */
+public record CategoryChildEntry(Long categoryId, String categoryName, Long id, String text) {
+}
@@ -0,0 +1,8 @@
+package com.enviro.assessment.grad001.atisomofokeng.repository;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.ImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+// Checkpoints of catalog import jobs, keyed by job id
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {
+}
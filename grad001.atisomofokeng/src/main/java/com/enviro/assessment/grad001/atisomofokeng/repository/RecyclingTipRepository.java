@@ -1,14 +1,68 @@
 package com.enviro.assessment.grad001.atisomofokeng.repository;
 
+import com.enviro.assessment.grad001.atisomofokeng.cache.EntityCacheRegions;
 import com.enviro.assessment.grad001.atisomofokeng.model.RecyclingTip;
 import com.enviro.assessment.grad001.atisomofokeng.model.WasteCategory;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.RecyclingTipResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 // Repository Interfaces
 public interface RecyclingTipRepository extends JpaRepository<RecyclingTip, Long>
 {
   List<RecyclingTip> findAll();
+  // Per-category reads are served from the query cache until the table changes.
+  @QueryHints({
+          @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+          @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EntityCacheRegions.RECYCLING_TIPS_BY_CATEGORY)
+  })
   List<RecyclingTip> findByWasteCategory(WasteCategory wasteCategory);
+  List<RecyclingTip> findByWasteCategoryIn(Collection<WasteCategory> wasteCategories);
+
+  // Seek queries for keyset pagination: the rows after the given id, in id order.
+  @EntityGraph(attributePaths = "wasteCategory")
+  List<RecyclingTip> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+  @QueryHints({
+          @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+          @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EntityCacheRegions.RECYCLING_TIPS_BY_CATEGORY)
+  })
+  List<RecyclingTip> findByWasteCategoryAndIdGreaterThanOrderByIdAsc(WasteCategory wasteCategory, Long id, Limit limit);
+
+  // Multi-get: the rows with the given ids as response DTOs, with the category name joined in the same query.
+  @Query("select new com.enviro.assessment.grad001.atisomofokeng.model.dto.response.RecyclingTipResponse(x.id, x.recyclingTip, c.categoryName) "
+          + "from RecyclingTip x join x.wasteCategory c where x.id in :ids")
+  List<RecyclingTipResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+  // Multi-get by category: the rows of the given categories, one entry without a row for each empty category.
+  @Query("select new com.enviro.assessment.grad001.atisomofokeng.repository.CategoryChildEntry(c.id, c.categoryName, x.id, x.recyclingTip) "
+          + "from WasteCategory c left join c.recyclingTips x where c.id in :categoryIds order by x.id")
+  List<CategoryChildEntry> findEntriesByCategoryIdIn(@Param("categoryIds") Collection<Long> categoryIds);
+
+  // Forward-only read of every row as a response DTO for the streaming export; no entities enter the persistence context.
+  @QueryHints({
+          @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+          @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select new com.enviro.assessment.grad001.atisomofokeng.model.dto.response.RecyclingTipResponse(x.id, x.recyclingTip, c.categoryName) "
+          + "from RecyclingTip x join x.wasteCategory c order by x.id")
+  Stream<RecyclingTipResponse> streamAllAsResponses();
+
+  // Forward-only read of every row as a flat entry, used to build in-memory read models.
+  @QueryHints({
+          @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+          @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select new com.enviro.assessment.grad001.atisomofokeng.repository.CatalogEntry(x.id, c.id, x.recyclingTip) "
+          + "from RecyclingTip x join x.wasteCategory c order by x.id")
+  Stream<CatalogEntry> streamAllAsEntries();
 }
@@ -0,0 +1,8 @@
+package com.enviro.assessment.grad001.atisomofokeng.repository;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.SyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+// The single row of change log compaction state
+public interface SyncStateRepository extends JpaRepository<SyncState, Integer> {
+}
@@ -1,9 +1,18 @@
 package com.enviro.assessment.grad001.atisomofokeng.repository;
 
 import com.enviro.assessment.grad001.atisomofokeng.model.WasteCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 // Repository Interfaces
 public interface WasteCategoryRepository extends JpaRepository<WasteCategory, Long>
@@ -11,4 +20,37 @@ public interface WasteCategoryRepository extends JpaRepository<WasteCategory, Lo
   List<WasteCategory> findAll();
   WasteCategory findById(long id);
   List<WasteCategory> findWasteCategoryByCategoryName(String categoryName);
-}
\ No newline at end of file
+
+  // Whether a category already has the name, used to report a duplicate before the insert.
+  boolean existsByCategoryName(String categoryName);
+
+  // Existing categories among a set of names, used to report duplicates in bulk creates with one query.
+  List<WasteCategory> findByCategoryNameIn(Collection<String> categoryNames);
+
+  // Seek query for keyset pagination: the rows after the given id, in id order.
+  List<WasteCategory> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+  // Both child collections are bags, so each is fetched by its own query into the same persistence context.
+  @EntityGraph(attributePaths = "recyclingTips")
+  @Query("select c from WasteCategory c where c in :categories")
+  List<WasteCategory> findWithRecyclingTips(@Param("categories") Collection<WasteCategory> categories);
+
+  @EntityGraph(attributePaths = "disposalGuidelines")
+  @Query("select c from WasteCategory c where c in :categories")
+  List<WasteCategory> findWithDisposalGuidelines(@Param("categories") Collection<WasteCategory> categories);
+
+  @Query("select distinct c from WasteCategory c left join fetch c.recyclingTips where c in :categories")
+  List<WasteCategory> findJoinFetchRecyclingTips(@Param("categories") Collection<WasteCategory> categories);
+
+  @Query("select distinct c from WasteCategory c left join fetch c.disposalGuidelines where c in :categories")
+  List<WasteCategory> findJoinFetchDisposalGuidelines(@Param("categories") Collection<WasteCategory> categories);
+
+  // Forward-only read of every category as a flat entry, used to build in-memory read models.
+  @QueryHints({
+          @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+          @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("select new com.enviro.assessment.grad001.atisomofokeng.repository.CatalogEntry(c.id, c.id, c.categoryName) "
+          + "from WasteCategory c order by c.id")
+  Stream<CatalogEntry> streamAllAsEntries();
+}
\ No newline at end of file
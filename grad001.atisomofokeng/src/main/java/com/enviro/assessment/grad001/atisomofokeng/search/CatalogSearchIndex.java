@@ -0,0 +1,429 @@
+package com.enviro.assessment.grad001.atisomofokeng.search;
+
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChange;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangeType;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangedEvent;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogEntityType;
+import com.enviro.assessment.grad001.atisomofokeng.repository.CatalogEntry;
+import com.enviro.assessment.grad001.atisomofokeng.repository.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.RecyclingTipRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.WasteCategoryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over waste category names, recycling tips and disposal guidelines, ranked with BM25.
+ * <p>
+ * Documents get dense int ordinals; every term keeps a {@link PostingList} of primitive ordinal and frequency
+ * arrays with per-block score bounds, and per-document data lives in parallel primitive arrays. Each document also remembers its distinct
+ * term ids, so updates and deletes remove exactly its postings and the index never has to be rebuilt.
+ * The index is built once at startup and then kept up to date from committed {@link CatalogChangedEvent}s.
+ * Queries share a read lock; updates take the write lock.
+ */
+@Component
+public class CatalogSearchIndex {
+
+  // BM25 parameters: term frequency saturation and document length normalization
+  static final double K1 = 1.2;
+  static final double B = 0.75;
+
+  private static final CatalogEntityType[] TYPES = CatalogEntityType.values();
+
+  private final WasteCategoryRepository wasteCategoryRepository;
+  private final RecyclingTipRepository recyclingTipRepository;
+  private final DisposalGuidelineRepository disposalGuidelineRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // Term dictionary and postings, by term id
+  private final Map<String, Integer> termIds = new HashMap<>();
+  private final List<PostingList> postings = new ArrayList<>();
+
+  // Per-document data, by ordinal
+  private byte[] types = new byte[16];
+  private long[] ids = new long[16];
+  private long[] categoryIds = new long[16];
+  private int[] lengths = new int[16];
+  private String[] texts = new String[16];
+  private int[][] docTerms = new int[16][];
+  private int ordinalCount;
+
+  // Ordinals of deleted documents, reused by later inserts
+  private int[] freeOrdinals = new int[16];
+  private int freeCount;
+
+  private final LongIntHashMap ordinals = new LongIntHashMap();
+  private final List<PostingList> dirtyLists = new ArrayList<>();
+  private int liveDocs;
+  private long totalLength;
+
+  public CatalogSearchIndex(WasteCategoryRepository wasteCategoryRepository,
+                            RecyclingTipRepository recyclingTipRepository,
+                            DisposalGuidelineRepository disposalGuidelineRepository,
+                            PlatformTransactionManager transactionManager) {
+    this.wasteCategoryRepository = wasteCategoryRepository;
+    this.recyclingTipRepository = recyclingTipRepository;
+    this.disposalGuidelineRepository = disposalGuidelineRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  /**
+   * Indexes the whole catalog once the application has started, after the sample data has been seeded.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    lock.writeLock().lock();
+    try {
+      readOnlyTransaction.executeWithoutResult(status -> {
+        index(CatalogEntityType.WASTE_CATEGORY, wasteCategoryRepository.streamAllAsEntries());
+        index(CatalogEntityType.RECYCLING_TIP, recyclingTipRepository.streamAllAsEntries());
+        index(CatalogEntityType.DISPOSAL_GUIDELINE, disposalGuidelineRepository.streamAllAsEntries());
+      });
+      refreshDirtyLists();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Applies committed catalog changes to the index.
+   *
+   * @param event The committed changes.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onCatalogChanged(CatalogChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      for (CatalogChange change : event.getChanges()) {
+        if (change.getChangeType() == CatalogChangeType.DELETED) {
+          remove(change.getEntityType(), change.getId());
+        } else {
+          upsert(change.getEntityType(), change.getId(), change.getCategoryId(), change.getText());
+        }
+      }
+      refreshDirtyLists();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Finds the documents matching any of the query terms, ranked by BM25.
+   * Posting lists are merged document-at-a-time with block-max WAND: once the top hits are known, any run of
+   * documents whose block bounds cannot beat the weakest of them is skipped without being scored.
+   *
+   * @param query      the query text.
+   * @param categoryId only return documents of this waste category, or null for all.
+   * @param type       only return documents of this type, or null for all.
+   * @param limit      the maximum number of hits.
+   * @return the hits, best first.
+   */
+  public List<SearchHit> search(String query, Long categoryId, CatalogEntityType type, int limit) {
+    // Term frequency in the query is ignored; each distinct term is scored once
+    List<String> terms = TextAnalyzer.analyze(query).stream().distinct().toList();
+
+    lock.readLock().lock();
+    try {
+      List<PostingList> found = new ArrayList<>(terms.size());
+      for (String term : terms) {
+        Integer termId = termIds.get(term);
+        if (termId != null && postings.get(termId).size > 0) {
+          found.add(postings.get(termId));
+        }
+      }
+      if (found.isEmpty() || liveDocs == 0) {
+        return List.of();
+      }
+
+      int n = found.size();
+      PostingList[] lists = found.toArray(new PostingList[0]);
+      double averageLength = (double) totalLength / liveDocs;
+      double[] idf = new double[n];
+      double[] maxScore = new double[n];
+      int[] positions = new int[n];
+      int[] blocks = new int[n];
+      for (int i = 0; i < n; i++) {
+        int df = lists[i].size;
+        idf[i] = Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+        for (int block = 0; block < lists[i].blockCount(); block++) {
+          maxScore[i] = Math.max(maxScore[i], blockScore(lists[i], block, idf[i], averageLength));
+        }
+      }
+      long categoryFilter = categoryId == null ? -1 : categoryId;
+      int typeFilter = type == null ? -1 : type.ordinal();
+
+      PriorityQueue<ScoredDoc> top = new PriorityQueue<>(limit + 1);
+      int[] order = new int[n];
+      for (int i = 0; i < n; i++) {
+        order[i] = i;
+      }
+
+      while (true) {
+        // Lists ordered by their current document; exhausted lists sort last
+        sortByCurrentDoc(order, lists, positions);
+        double threshold = top.size() < limit ? -1 : top.peek().score;
+
+        // Pivot: the first document at which the lists seen so far could together beat the threshold
+        int pivot = -1;
+        double bound = 0;
+        for (int k = 0; k < n; k++) {
+          if (current(lists[order[k]], positions[order[k]]) == Integer.MAX_VALUE) {
+            break;
+          }
+          bound += maxScore[order[k]];
+          if (bound > threshold) {
+            pivot = k;
+            break;
+          }
+        }
+        if (pivot < 0) {
+          break;
+        }
+        int pivotDoc = current(lists[order[pivot]], positions[order[pivot]]);
+        while (pivot + 1 < n && current(lists[order[pivot + 1]], positions[order[pivot + 1]]) == pivotDoc) {
+          pivot++;
+        }
+
+        // Tighter bound from the blocks that would hold the pivot document
+        double blockBound = 0;
+        for (int k = 0; k <= pivot; k++) {
+          int i = order[k];
+          blocks[i] = lists[i].blockAtOrAfter(Math.max(blocks[i], positions[i] / PostingList.BLOCK_SIZE), pivotDoc);
+          if (blocks[i] < lists[i].blockCount()) {
+            blockBound += blockScore(lists[i], blocks[i], idf[i], averageLength);
+          }
+        }
+
+        if (blockBound > threshold) {
+          if (current(lists[order[0]], positions[order[0]]) == pivotDoc) {
+            scoreDocument(pivotDoc, lists, positions, idf, order, pivot, averageLength,
+                    categoryFilter, typeFilter, top, limit);
+          } else {
+            // No document before the pivot can beat the threshold
+            for (int k = 0; k < pivot; k++) {
+              int i = order[k];
+              positions[i] = lists[i].advance(positions[i], pivotDoc);
+            }
+          }
+        } else {
+          // Skip to the end of the shortest of the pivot blocks, or to the next list's document
+          long next = Integer.MAX_VALUE;
+          for (int k = 0; k <= pivot; k++) {
+            int i = order[k];
+            if (blocks[i] < lists[i].blockCount()) {
+              next = Math.min(next, (long) lists[i].lastDocOfBlock(blocks[i]) + 1);
+            }
+          }
+          if (pivot + 1 < n) {
+            next = Math.min(next, current(lists[order[pivot + 1]], positions[order[pivot + 1]]));
+          }
+          int target = (int) Math.max(next, (long) pivotDoc + 1);
+          for (int k = 0; k <= pivot; k++) {
+            int i = order[k];
+            positions[i] = lists[i].advance(positions[i], target);
+          }
+        }
+      }
+
+      SearchHit[] hits = new SearchHit[top.size()];
+      for (int i = hits.length - 1; i >= 0; i--) {
+        ScoredDoc scored = top.poll();
+        int doc = scored.doc;
+        int categoryOrdinal = ordinals.get(key(CatalogEntityType.WASTE_CATEGORY, categoryIds[doc]));
+        hits[i] = new SearchHit(TYPES[types[doc]], ids[doc], categoryIds[doc],
+                categoryOrdinal >= 0 ? texts[categoryOrdinal] : null, texts[doc], scored.score);
+      }
+      return Arrays.asList(hits);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // Scores the document every list from order[0] to order[pivot] is positioned on, and moves those lists past it
+  private void scoreDocument(int doc, PostingList[] lists, int[] positions, double[] idf, int[] order, int pivot,
+                             double averageLength, long categoryFilter, int typeFilter,
+                             PriorityQueue<ScoredDoc> top, int limit) {
+    boolean matches = (categoryFilter < 0 || categoryIds[doc] == categoryFilter)
+            && (typeFilter < 0 || types[doc] == typeFilter);
+    double score = 0;
+    for (int k = 0; k <= pivot; k++) {
+      int i = order[k];
+      if (matches) {
+        score += idf[i] * (K1 + 1) * PostingList.impact(lists[i].freqs[positions[i]], lengths[doc], averageLength);
+      }
+      positions[i]++;
+    }
+    if (matches && (top.size() < limit || score > top.peek().score)) {
+      top.offer(new ScoredDoc(doc, score));
+      if (top.size() > limit) {
+        top.poll();
+      }
+    }
+  }
+
+  // Upper bound of the BM25 contribution of any posting in a block
+  private static double blockScore(PostingList list, int block, double idf, double averageLength) {
+    return idf * (K1 + 1) * list.blockBound(block, averageLength);
+  }
+
+  // Insertion sort: there are only a few query terms and the order changes little between steps
+  private static void sortByCurrentDoc(int[] order, PostingList[] lists, int[] positions) {
+    for (int k = 1; k < order.length; k++) {
+      int i = order[k];
+      int doc = current(lists[i], positions[i]);
+      int j = k - 1;
+      while (j >= 0 && current(lists[order[j]], positions[order[j]]) > doc) {
+        order[j + 1] = order[j];
+        j--;
+      }
+      order[j + 1] = i;
+    }
+  }
+
+  private static int current(PostingList list, int position) {
+    return position < list.size ? list.docs[position] : Integer.MAX_VALUE;
+  }
+
+  /**
+   * @return the number of indexed documents.
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return liveDocs;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void index(CatalogEntityType type, Stream<CatalogEntry> entries) {
+    try (entries) {
+      entries.forEach(entry -> upsert(type, entry.id(), entry.categoryId(), entry.text()));
+    }
+  }
+
+  // Must hold the write lock
+  private void upsert(CatalogEntityType type, long id, long categoryId, String text) {
+    long key = key(type, id);
+    int doc = ordinals.get(key);
+    if (doc >= 0) {
+      unlinkTerms(doc);
+    } else {
+      doc = allocateOrdinal();
+      ordinals.put(key, doc);
+      liveDocs++;
+    }
+
+    // Count the frequency of each distinct term, in first-occurrence order
+    List<String> terms = TextAnalyzer.analyze(text);
+    Map<String, Integer> frequencies = new LinkedHashMap<>();
+    for (String term : terms) {
+      frequencies.merge(term, 1, Integer::sum);
+    }
+    int[] distinct = new int[frequencies.size()];
+    int i = 0;
+    for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+      int termId = termIds.computeIfAbsent(entry.getKey(), t -> {
+        postings.add(new PostingList());
+        return postings.size() - 1;
+      });
+      PostingList list = postings.get(termId);
+      markDirty(list);
+      list.put(doc, entry.getValue());
+      distinct[i++] = termId;
+    }
+
+    types[doc] = (byte) type.ordinal();
+    ids[doc] = id;
+    categoryIds[doc] = categoryId;
+    lengths[doc] = terms.size();
+    texts[doc] = text;
+    docTerms[doc] = distinct;
+    totalLength += terms.size();
+  }
+
+  // Must hold the write lock
+  private void remove(CatalogEntityType type, long id) {
+    long key = key(type, id);
+    int doc = ordinals.get(key);
+    if (doc < 0) {
+      return;
+    }
+    unlinkTerms(doc);
+    ordinals.remove(key);
+    texts[doc] = null;
+    docTerms[doc] = null;
+    liveDocs--;
+    if (freeCount == freeOrdinals.length) {
+      freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+    }
+    freeOrdinals[freeCount++] = doc;
+  }
+
+  private void unlinkTerms(int doc) {
+    for (int termId : docTerms[doc]) {
+      PostingList list = postings.get(termId);
+      markDirty(list);
+      list.remove(doc);
+    }
+    totalLength -= lengths[doc];
+  }
+
+  private void markDirty(PostingList list) {
+    if (!list.isDirty()) {
+      dirtyLists.add(list);
+    }
+  }
+
+  // Must hold the write lock; called once per batch of changes, after all document lengths are set
+  private void refreshDirtyLists() {
+    double averageLength = liveDocs == 0 ? 1 : (double) totalLength / liveDocs;
+    for (PostingList list : dirtyLists) {
+      list.refreshBlocks(lengths, averageLength);
+    }
+    dirtyLists.clear();
+  }
+
+  private int allocateOrdinal() {
+    if (freeCount > 0) {
+      return freeOrdinals[--freeCount];
+    }
+    if (ordinalCount == ids.length) {
+      int capacity = ordinalCount * 2;
+      types = Arrays.copyOf(types, capacity);
+      ids = Arrays.copyOf(ids, capacity);
+      categoryIds = Arrays.copyOf(categoryIds, capacity);
+      lengths = Arrays.copyOf(lengths, capacity);
+      texts = Arrays.copyOf(texts, capacity);
+      docTerms = Arrays.copyOf(docTerms, capacity);
+    }
+    return ordinalCount++;
+  }
+
+  // Ids are positive, so the key is never 0 (the empty slot marker)
+  private static long key(CatalogEntityType type, long id) {
+    return (id << 2) | (type.ordinal() + 1);
+  }
+
+  private record ScoredDoc(int doc, double score) implements Comparable<ScoredDoc> {
+    @Override
+    public int compareTo(ScoredDoc other) {
+      return Double.compare(score, other.score);
+    }
+  }
+}
@@ -0,0 +1,274 @@
+package com.enviro.assessment.grad001.atisomofokeng.search;
+
+import com.enviro.assessment.grad001.atisomofokeng.config.CatalogProperties;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChange;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangeType;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangedEvent;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogEntityType;
+import com.enviro.assessment.grad001.atisomofokeng.repository.CatalogEntry;
+import com.enviro.assessment.grad001.atisomofokeng.repository.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.RecyclingTipRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.WasteCategoryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Prefix autocomplete over waste category names and their configured synonyms, backed by a {@link PrefixTrie}.
+ * <p>
+ * Every category is reachable from its full name, from each later word of its name and from each synonym.
+ * Categories are ranked by popularity, the number of recycling tips and disposal guidelines they hold.
+ * The trie is built once at startup and then patched from committed {@link CatalogChangedEvent}s: only the
+ * keys of the categories a change touches are re-inserted or re-ranked. Lookups share a read lock and never
+ * touch the database.
+ */
+@Component
+public class CategorySuggester {
+
+  /**
+   * A suggested waste category.
+   *
+   * @param id         the id of the waste category.
+   * @param name       the name of the waste category.
+   * @param popularity the number of recycling tips and disposal guidelines it holds.
+   */
+  public record Suggestion(long id, String name, long popularity) {
+  }
+
+  private static final class Category {
+    final long id;
+    final int slot;
+    String name;  // Null until the category itself has been seen
+    List<String> keys = List.of();
+    long popularity;
+
+    Category(long id, int slot) {
+      this.id = id;
+      this.slot = slot;
+    }
+  }
+
+  private final WasteCategoryRepository wasteCategoryRepository;
+  private final RecyclingTipRepository recyclingTipRepository;
+  private final DisposalGuidelineRepository disposalGuidelineRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final Map<String, List<String>> synonyms = new HashMap<>();
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Map<Long, Category> categories = new HashMap<>();
+  // Categories by slot, so that tips and guidelines can point at their category with an int
+  private final List<Category> slots = new ArrayList<>();
+  // Category slot of every tip and guideline, to follow them when they move between categories
+  private final LongIntHashMap children = new LongIntHashMap();
+  private final PrefixTrie trie;
+
+  public CategorySuggester(WasteCategoryRepository wasteCategoryRepository,
+                           RecyclingTipRepository recyclingTipRepository,
+                           DisposalGuidelineRepository disposalGuidelineRepository,
+                           PlatformTransactionManager transactionManager,
+                           CatalogProperties catalogProperties) {
+    this.wasteCategoryRepository = wasteCategoryRepository;
+    this.recyclingTipRepository = recyclingTipRepository;
+    this.disposalGuidelineRepository = disposalGuidelineRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    CatalogProperties.Suggest suggest = catalogProperties.getSuggest();
+    suggest.getSynonyms().forEach((name, words) -> synonyms.put(normalize(name), words));
+    this.trie = new PrefixTrie(suggest.getMaxLimit(), id -> categories.get(id).popularity);
+  }
+
+  /**
+   * Loads every category and counts its tips and guidelines once the application has started, after the
+   * sample data has been seeded.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    lock.writeLock().lock();
+    try {
+      readOnlyTransaction.executeWithoutResult(status -> {
+        try (Stream<CatalogEntry> entries = wasteCategoryRepository.streamAllAsEntries()) {
+          entries.forEach(entry -> category(entry.id()).name = entry.text());
+        }
+        countChildren(CatalogEntityType.RECYCLING_TIP, recyclingTipRepository.streamAllAsEntries());
+        countChildren(CatalogEntityType.DISPOSAL_GUIDELINE, disposalGuidelineRepository.streamAllAsEntries());
+      });
+      for (Category category : categories.values()) {
+        if (category.name != null) {
+          category.keys = keysOf(category.name);
+          category.keys.forEach(key -> trie.insert(key, category.id));
+        }
+      }
+      trie.refreshAll();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Applies committed catalog changes, then re-ranks the keys of every category they touched.
+   *
+   * @param event The committed changes.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onCatalogChanged(CatalogChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      Set<Category> touched = new LinkedHashSet<>();
+      for (CatalogChange change : event.getChanges()) {
+        if (change.getEntityType() == CatalogEntityType.WASTE_CATEGORY) {
+          applyCategoryChange(change, touched);
+        } else {
+          applyChildChange(change, touched);
+        }
+      }
+      for (Category category : touched) {
+        category.keys.forEach(trie::refresh);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Suggests the most popular categories with a name, name word or synonym starting with the prefix.
+   * Matching ignores case and repeated whitespace.
+   *
+   * @param prefix the text typed so far.
+   * @param limit  the maximum number of suggestions; at most the configured maximum.
+   * @return the suggestions, most popular first.
+   */
+  public List<Suggestion> suggest(String prefix, int limit) {
+    String normalized = normalize(prefix);
+    lock.readLock().lock();
+    try {
+      long[] ids = trie.top(normalized, limit);
+      List<Suggestion> suggestions = new ArrayList<>(ids.length);
+      for (long id : ids) {
+        Category category = categories.get(id);
+        suggestions.add(new Suggestion(id, category.name, category.popularity));
+      }
+      return suggestions;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // Must hold the write lock
+  private void applyCategoryChange(CatalogChange change, Set<Category> touched) {
+    Category category = categories.get(change.getId());
+    if (category != null) {
+      // Old keys go first, so that a rename or deletion also re-ranks the paths it leaves
+      for (String key : category.keys) {
+        trie.remove(key, category.id);
+        trie.refresh(key);
+      }
+      category.keys = List.of();
+    }
+    if (change.getChangeType() == CatalogChangeType.DELETED) {
+      if (category != null) {
+        categories.remove(category.id);
+        slots.set(category.slot, null);
+        touched.remove(category);
+      }
+      return;
+    }
+    category = category(change.getId());
+    category.name = change.getText();
+    category.keys = keysOf(category.name);
+    for (String key : category.keys) {
+      trie.insert(key, category.id);
+    }
+    touched.add(category);
+  }
+
+  // Must hold the write lock
+  private void applyChildChange(CatalogChange change, Set<Category> touched) {
+    long key = childKey(change.getEntityType(), change.getId());
+    int previous = children.get(key);
+    Category target = change.getChangeType() == CatalogChangeType.DELETED ? null : category(change.getCategoryId());
+    if (previous >= 0 && (target == null || previous != target.slot)) {
+      Category from = slots.get(previous);
+      if (from != null) {
+        from.popularity--;
+        touched.add(from);
+      }
+      children.remove(key);
+    }
+    if (target != null && previous != target.slot) {
+      target.popularity++;
+      touched.add(target);
+      children.put(key, target.slot);
+    }
+  }
+
+  private void countChildren(CatalogEntityType type, Stream<CatalogEntry> entries) {
+    try (entries) {
+      entries.forEach(entry -> {
+        Category category = category(entry.categoryId());
+        category.popularity++;
+        children.put(childKey(type, entry.id()), category.slot);
+      });
+    }
+  }
+
+  // Must hold the write lock; children can be seen before their category
+  private Category category(long id) {
+    return categories.computeIfAbsent(id, key -> {
+      slots.add(null);
+      Category category = new Category(key, slots.size() - 1);
+      slots.set(category.slot, category);
+      return category;
+    });
+  }
+
+  // The full name, every suffix starting at a later word, and every synonym
+  private List<String> keysOf(String name) {
+    String normalized = normalize(name);
+    Set<String> keys = new LinkedHashSet<>();
+    keys.add(normalized);
+    for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+      keys.add(normalized.substring(i + 1));
+    }
+    for (String synonym : synonyms.getOrDefault(normalized, List.of())) {
+      keys.add(normalize(synonym));
+    }
+    keys.remove("");
+    return List.copyOf(keys);
+  }
+
+  private static long childKey(CatalogEntityType type, long id) {
+    return (id << 1) | (type == CatalogEntityType.RECYCLING_TIP ? 0 : 1);
+  }
+
+  // Lower case, trimmed, with runs of whitespace collapsed to one space
+  private static String normalize(String text) {
+    StringBuilder normalized = new StringBuilder(text.length());
+    boolean space = false;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (Character.isWhitespace(c)) {
+        space = normalized.length() > 0;
+      } else {
+        if (space) {
+          normalized.append(' ');
+          space = false;
+        }
+        normalized.append(c);
+      }
+    }
+    return normalized.toString().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,91 @@
+package com.enviro.assessment.grad001.atisomofokeng.search;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from positive long keys to int values, without boxing.
+ * Uses linear probing with backward-shift deletion; 0 marks an empty slot. Not thread-safe.
+ */
+final class LongIntHashMap {
+
+  private static final int MISSING = -1;
+
+  private long[] keys = new long[16];
+  private int[] values = new int[16];
+  private int size;
+
+  /**
+   * @return the value mapped to the key, or -1 if there is none.
+   */
+  int get(long key) {
+    int mask = keys.length - 1;
+    for (int slot = slot(key, mask); keys[slot] != 0; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        return values[slot];
+      }
+    }
+    return MISSING;
+  }
+
+  void put(long key, int value) {
+    if ((size + 1) * 4L > keys.length * 3L) {
+      resize(keys.length * 2);
+    }
+    int mask = keys.length - 1;
+    int slot = slot(key, mask);
+    while (keys[slot] != 0 && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    if (keys[slot] == 0) {
+      size++;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+  }
+
+  void remove(long key) {
+    int mask = keys.length - 1;
+    int slot = slot(key, mask);
+    while (keys[slot] != key) {
+      if (keys[slot] == 0) {
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    // Shift later entries of the probe run back so that lookups never stop at the hole
+    int hole = slot;
+    for (int next = (hole + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+      int home = slot(keys[next], mask);
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        keys[hole] = keys[next];
+        values[hole] = values[next];
+        hole = next;
+      }
+    }
+    keys[hole] = 0;
+    size--;
+  }
+
+  void clear() {
+    Arrays.fill(keys, 0);
+    size = 0;
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    keys = new long[capacity];
+    values = new int[capacity];
+    size = 0;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != 0) {
+        put(oldKeys[i], oldValues[i]);
+      }
+    }
+  }
+
+  private static int slot(long key, int mask) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+}
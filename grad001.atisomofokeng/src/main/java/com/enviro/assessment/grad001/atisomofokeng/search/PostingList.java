@@ -0,0 +1,147 @@
+package com.enviro.assessment.grad001.atisomofokeng.search;
+
+import java.util.Arrays;
+
+/**
+ * The documents containing one term, as parallel primitive arrays of document ordinals (sorted ascending)
+ * and term frequencies, split into fixed-size blocks.
+ * <p>
+ * For every block the list keeps the highest BM25 term impact, tf / (tf + k1 * (1 - b + b * length / avgdl)),
+ * together with the average document length it was computed with. Impacts only grow with avgdl, so
+ * {@code impact * max(1, avgdl / blockAverageLength)} bounds the score of every posting in the block even after
+ * the average has drifted. Queries use these bounds to skip whole blocks (block-max WAND). The bounds are
+ * refreshed by the index after each batch of updates, from the first position that changed.
+ * Not thread-safe; guarded by the index lock.
+ */
+final class PostingList {
+
+  static final int BLOCK_SIZE = 64;
+
+  int[] docs = new int[4];
+  int[] freqs = new int[4];
+  int size;
+
+  double[] blockMaxImpact = new double[1];
+  double[] blockAverageLength = new double[1];
+
+  // First position whose block bounds are stale, or Integer.MAX_VALUE if none
+  int dirtyFrom = Integer.MAX_VALUE;
+
+  /**
+   * Adds a document or replaces its frequency, keeping the ordinals sorted.
+   * New documents normally get the highest ordinal, so this is an append in the common case.
+   */
+  void put(int doc, int freq) {
+    int index = Arrays.binarySearch(docs, 0, size, doc);
+    if (index >= 0) {
+      freqs[index] = freq;
+      markDirty(index);
+      return;
+    }
+    int at = -index - 1;
+    if (size == docs.length) {
+      docs = Arrays.copyOf(docs, size * 2);
+      freqs = Arrays.copyOf(freqs, size * 2);
+    }
+    System.arraycopy(docs, at, docs, at + 1, size - at);
+    System.arraycopy(freqs, at, freqs, at + 1, size - at);
+    docs[at] = doc;
+    freqs[at] = freq;
+    size++;
+    markDirty(at);
+  }
+
+  void remove(int doc) {
+    int index = Arrays.binarySearch(docs, 0, size, doc);
+    if (index >= 0) {
+      System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+      System.arraycopy(freqs, index + 1, freqs, index, size - index - 1);
+      size--;
+      markDirty(index);
+    }
+  }
+
+  boolean isDirty() {
+    return dirtyFrom != Integer.MAX_VALUE;
+  }
+
+  /**
+   * Recomputes the bounds of every block from the first changed position to the end of the list.
+   *
+   * @param lengths       the document lengths, by ordinal.
+   * @param averageLength the current average document length.
+   */
+  void refreshBlocks(int[] lengths, double averageLength) {
+    int blocks = blockCount();
+    if (blockMaxImpact.length < blocks) {
+      int capacity = Math.max(blocks, blockMaxImpact.length * 2);
+      blockMaxImpact = Arrays.copyOf(blockMaxImpact, capacity);
+      blockAverageLength = Arrays.copyOf(blockAverageLength, capacity);
+    }
+    for (int block = Math.min(dirtyFrom, size) / BLOCK_SIZE; block < blocks; block++) {
+      double maxImpact = 0;
+      for (int i = block * BLOCK_SIZE, end = Math.min(i + BLOCK_SIZE, size); i < end; i++) {
+        maxImpact = Math.max(maxImpact, impact(freqs[i], lengths[docs[i]], averageLength));
+      }
+      blockMaxImpact[block] = maxImpact;
+      blockAverageLength[block] = averageLength;
+    }
+    dirtyFrom = Integer.MAX_VALUE;
+  }
+
+  /**
+   * @return an upper bound of the impact of any posting in the block, for the given average document length.
+   */
+  double blockBound(int block, double averageLength) {
+    return blockMaxImpact[block] * Math.max(1, averageLength / blockAverageLength[block]);
+  }
+
+  /**
+   * The length-normalized, saturated term frequency of BM25; the score of a posting is idf * (k1 + 1) * impact.
+   */
+  static double impact(int tf, int length, double averageLength) {
+    return tf / (tf + CatalogSearchIndex.K1 * (1 - CatalogSearchIndex.B + CatalogSearchIndex.B * length / averageLength));
+  }
+
+  int blockCount() {
+    return (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+  }
+
+  /**
+   * @return the last document ordinal of a block.
+   */
+  int lastDocOfBlock(int block) {
+    return docs[Math.min((block + 1) * BLOCK_SIZE, size) - 1];
+  }
+
+  /**
+   * Finds the first block, at or after the given one, that may contain documents at or after the target.
+   *
+   * @return the block, or blockCount() if the list ends before the target.
+   */
+  int blockAtOrAfter(int fromBlock, int target) {
+    int low = fromBlock;
+    int high = blockCount();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (lastDocOfBlock(mid) < target) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @return the first position, at or after the given one, whose document is at or after the target.
+   */
+  int advance(int fromPosition, int target) {
+    int index = Arrays.binarySearch(docs, fromPosition, size, target);
+    return index >= 0 ? index : -index - 1;
+  }
+
+  private void markDirty(int position) {
+    dirtyFrom = Math.min(dirtyFrom, position);
+  }
+}
@@ -0,0 +1,243 @@
+package com.enviro.assessment.grad001.atisomofokeng.search;
+
+import java.util.Arrays;
+
+/**
+ * Character trie over normalized suggestion keys, where every node caches the ids of the best entries in its
+ * subtree, best first. A prefix lookup is a walk of one node per character followed by a copy of that cache,
+ * so its cost does not depend on how many keys share the prefix.
+ * <p>
+ * Children are kept in small sorted arrays rather than maps. A node's cache is derived from its own entries and
+ * its children's caches, so after a change only the nodes on the changed key's path have to be recomputed,
+ * bottom-up. Not thread-safe.
+ */
+final class PrefixTrie {
+
+  /**
+   * Ranks entries: higher popularity first, then lower id.
+   */
+  interface Popularity {
+    long of(long id);
+  }
+
+  private static final char[] NO_LABELS = new char[0];
+  private static final Node[] NO_CHILDREN = new Node[0];
+  private static final long[] NO_IDS = new long[0];
+
+  private static final class Node {
+    char[] labels = NO_LABELS;  // Sorted edge characters
+    Node[] children = NO_CHILDREN;  // Child for each edge character
+    long[] entries = NO_IDS;  // Ids whose key ends at this node
+    long[] top = NO_IDS;  // Best ids of the whole subtree, best first
+
+    Node child(char label) {
+      int i = Arrays.binarySearch(labels, label);
+      return i >= 0 ? children[i] : null;
+    }
+
+    boolean isEmpty() {
+      return labels.length == 0 && entries.length == 0;
+    }
+  }
+
+  private final Node root = new Node();
+  private final int capacity;
+  private final Popularity popularity;
+
+  /**
+   * @param capacity   the number of ids cached per node, i.e. the largest limit a lookup can serve.
+   * @param popularity the popularity of each id.
+   */
+  PrefixTrie(int capacity, Popularity popularity) {
+    this.capacity = capacity;
+    this.popularity = popularity;
+  }
+
+  /**
+   * @return the best ids among the keys starting with the prefix, best first; at most {@code limit}.
+   */
+  long[] top(String prefix, int limit) {
+    Node node = root;
+    for (int i = 0; i < prefix.length() && node != null; i++) {
+      node = node.child(prefix.charAt(i));
+    }
+    if (node == null) {
+      return NO_IDS;
+    }
+    return node.top.length <= limit ? node.top.clone() : Arrays.copyOf(node.top, limit);
+  }
+
+  /**
+   * Adds an id under a key. The caches on the key's path are stale until {@link #refresh(String)}.
+   */
+  void insert(String key, long id) {
+    Node node = root;
+    for (int i = 0; i < key.length(); i++) {
+      char label = key.charAt(i);
+      int at = Arrays.binarySearch(node.labels, label);
+      if (at < 0) {
+        at = -at - 1;
+        node.labels = insertAt(node.labels, at, label);
+        node.children = insertAt(node.children, at, new Node());
+      }
+      node = node.children[at];
+    }
+    if (indexOf(node.entries, node.entries.length, id) < 0) {
+      node.entries = Arrays.copyOf(node.entries, node.entries.length + 1);
+      node.entries[node.entries.length - 1] = id;
+    }
+  }
+
+  /**
+   * Removes an id from a key, pruning nodes left empty. The caches on the key's path are stale until
+   * {@link #refresh(String)}.
+   */
+  void remove(String key, long id) {
+    Node[] path = path(key);
+    if (path.length <= key.length()) {
+      return;
+    }
+    Node node = path[key.length()];
+    int at = indexOf(node.entries, node.entries.length, id);
+    if (at < 0) {
+      return;
+    }
+    node.entries = removeAt(node.entries, at);
+    for (int depth = key.length(); depth > 0 && path[depth].isEmpty(); depth--) {
+      Node parent = path[depth - 1];
+      int edge = Arrays.binarySearch(parent.labels, key.charAt(depth - 1));
+      parent.labels = removeAt(parent.labels, edge);
+      parent.children = removeAt(parent.children, edge);
+    }
+  }
+
+  /**
+   * Recomputes the caches of the nodes on a key's path, deepest first, after entries were added to or removed
+   * from the key or the popularity of one of its entries changed.
+   */
+  void refresh(String key) {
+    Node[] path = path(key);
+    for (int depth = path.length - 1; depth >= 0; depth--) {
+      recompute(path[depth]);
+    }
+  }
+
+  /**
+   * Recomputes every cache, children first. Used after bulk loading.
+   */
+  void refreshAll() {
+    refreshSubtree(root);
+  }
+
+  private void refreshSubtree(Node node) {
+    for (Node child : node.children) {
+      refreshSubtree(child);
+    }
+    recompute(node);
+  }
+
+  // The existing nodes on the key's path, starting with the root
+  private Node[] path(String key) {
+    Node[] path = new Node[key.length() + 1];
+    Node node = root;
+    int depth = 0;
+    path[0] = root;
+    while (depth < key.length() && (node = node.child(key.charAt(depth))) != null) {
+      path[++depth] = node;
+    }
+    return depth == key.length() ? path : Arrays.copyOf(path, depth + 1);
+  }
+
+  // Merges the node's own entries with its children's caches, keeping the best distinct ids
+  private void recompute(Node node) {
+    long[] best = new long[capacity];
+    int size = 0;
+    size = offerAll(best, size, node.entries, node.entries.length);
+    for (Node child : node.children) {
+      size = offerAll(best, size, child.top, child.top.length);
+    }
+    node.top = size == capacity ? best : Arrays.copyOf(best, size);
+  }
+
+  private int offerAll(long[] best, int size, long[] candidates, int count) {
+    for (int i = 0; i < count; i++) {
+      size = offer(best, size, candidates[i]);
+    }
+    return size;
+  }
+
+  // Insertion into the bounded, ranked array; the same id may come from several keys of one entry
+  private int offer(long[] best, int size, long id) {
+    if (indexOf(best, size, id) >= 0 || (size == capacity && !ranksBefore(id, best[size - 1]))) {
+      return size;
+    }
+    int at = size < capacity ? size++ : size - 1;
+    while (at > 0 && ranksBefore(id, best[at - 1])) {
+      best[at] = best[at - 1];
+      at--;
+    }
+    best[at] = id;
+    return size;
+  }
+
+  private boolean ranksBefore(long a, long b) {
+    long popularityA = popularity.of(a);
+    long popularityB = popularity.of(b);
+    return popularityA != popularityB ? popularityA > popularityB : a < b;
+  }
+
+  private static int indexOf(long[] ids, int size, long id) {
+    for (int i = 0; i < size; i++) {
+      if (ids[i] == id) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static char[] insertAt(char[] array, int at, char value) {
+    char[] result = new char[array.length + 1];
+    System.arraycopy(array, 0, result, 0, at);
+    result[at] = value;
+    System.arraycopy(array, at, result, at + 1, array.length - at);
+    return result;
+  }
+
+  private static Node[] insertAt(Node[] array, int at, Node value) {
+    Node[] result = new Node[array.length + 1];
+    System.arraycopy(array, 0, result, 0, at);
+    result[at] = value;
+    System.arraycopy(array, at, result, at + 1, array.length - at);
+    return result;
+  }
+
+  private static char[] removeAt(char[] array, int at) {
+    if (array.length == 1) {
+      return NO_LABELS;
+    }
+    char[] result = new char[array.length - 1];
+    System.arraycopy(array, 0, result, 0, at);
+    System.arraycopy(array, at + 1, result, at, array.length - at - 1);
+    return result;
+  }
+
+  private static Node[] removeAt(Node[] array, int at) {
+    if (array.length == 1) {
+      return NO_CHILDREN;
+    }
+    Node[] result = new Node[array.length - 1];
+    System.arraycopy(array, 0, result, 0, at);
+    System.arraycopy(array, at + 1, result, at, array.length - at - 1);
+    return result;
+  }
+
+  private static long[] removeAt(long[] array, int at) {
+    if (array.length == 1) {
+      return NO_IDS;
+    }
+    long[] result = new long[array.length - 1];
+    System.arraycopy(array, 0, result, 0, at);
+    System.arraycopy(array, at + 1, result, at, array.length - at - 1);
+    return result;
+  }
+}
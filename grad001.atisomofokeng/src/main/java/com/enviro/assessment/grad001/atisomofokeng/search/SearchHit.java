@@ -0,0 +1,16 @@
+package com.enviro.assessment.grad001.atisomofokeng.search;
+
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogEntityType;
+
+/**
+ * One ranked search result.
+ *
+ * @param type         the type of the matching entity.
+ * @param id           the id of the matching entity.
+ * @param categoryId   the id of its waste category (its own id for categories).
+ * @param categoryName the name of its waste category.
+ * @param text         the indexed text: the tip, the guideline or the category name.
+ * @param score        the BM25 score.
+ */
+public record SearchHit(CatalogEntityType type, long id, long categoryId, String categoryName, String text, double score) {
+}
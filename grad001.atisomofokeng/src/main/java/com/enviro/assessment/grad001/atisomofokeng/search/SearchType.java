@@ -0,0 +1,31 @@
+package com.enviro.assessment.grad001.atisomofokeng.search;
+
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogEntityType;
+
+/**
+ * The kinds of catalog documents a search can be restricted to, as named in the search API.
+ */
+public enum SearchType {
+  CATEGORY(CatalogEntityType.WASTE_CATEGORY),
+  TIP(CatalogEntityType.RECYCLING_TIP),
+  GUIDELINE(CatalogEntityType.DISPOSAL_GUIDELINE);
+
+  private final CatalogEntityType entityType;
+
+  SearchType(CatalogEntityType entityType) {
+    this.entityType = entityType;
+  }
+
+  public CatalogEntityType getEntityType() {
+    return entityType;
+  }
+
+  public static SearchType of(CatalogEntityType entityType) {
+    for (SearchType type : values()) {
+      if (type.entityType == entityType) {
+        return type;
+      }
+    }
+    throw new IllegalArgumentException("Unknown entity type " + entityType);
+  }
+}
@@ -0,0 +1,103 @@
+package com.enviro.assessment.grad001.atisomofokeng.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns catalog text and search queries into index terms: splits on anything that is not a letter or digit,
+ * lower-cases, drops English stop words and reduces each word to a stem with a light suffix-stripping stemmer.
+ * Documents and queries go through the same analysis, so "Recycling bottles" matches "recycled bottle".
+ */
+public final class TextAnalyzer {
+
+  // The classic English stop word list
+  private static final Set<String> STOP_WORDS = Set.of(
+          "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is", "it",
+          "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there", "these",
+          "they", "this", "to", "was", "will", "with");
+
+  private TextAnalyzer() {
+  }
+
+  /**
+   * Analyzes a text into its terms, in order and with repetitions.
+   *
+   * @param text the text, may be null.
+   * @return the terms.
+   */
+  public static List<String> analyze(String text) {
+    List<String> terms = new ArrayList<>();
+    if (text == null) {
+      return terms;
+    }
+    StringBuilder token = new StringBuilder();
+    for (int i = 0; i <= text.length(); i++) {
+      char c = i < text.length() ? text.charAt(i) : ' ';
+      if (Character.isLetterOrDigit(c)) {
+        token.append(c);
+      } else if (!token.isEmpty()) {
+        String word = token.toString().toLowerCase(Locale.ROOT);
+        token.setLength(0);
+        if (!STOP_WORDS.contains(word)) {
+          terms.add(stem(word));
+        }
+      }
+    }
+    return terms;
+  }
+
+  /**
+   * Reduces a lower-case word to its stem by stripping plural, -ing, -ed and -ly endings and a final e.
+   *
+   * @param word the word.
+   * @return the stem.
+   */
+  static String stem(String word) {
+    String w = word;
+    if (w.length() <= 3) {
+      return w;
+    }
+    if (w.endsWith("ies") && w.length() > 4) {
+      w = w.substring(0, w.length() - 3) + "y";
+    } else if (w.endsWith("sses")) {
+      w = w.substring(0, w.length() - 2);
+    } else if (w.endsWith("xes") || w.endsWith("zes") || w.endsWith("ches") || w.endsWith("shes")) {
+      w = w.substring(0, w.length() - 2);
+    } else if (w.endsWith("s") && !w.endsWith("ss") && !w.endsWith("us") && !w.endsWith("is")) {
+      w = w.substring(0, w.length() - 1);
+    }
+
+    if (w.endsWith("ing") && w.length() > 5 && hasVowel(w, w.length() - 3)) {
+      w = undouble(w.substring(0, w.length() - 3));
+    } else if (w.endsWith("ed") && w.length() > 4 && hasVowel(w, w.length() - 2)) {
+      w = undouble(w.substring(0, w.length() - 2));
+    } else if (w.endsWith("ly") && w.length() > 4) {
+      w = w.substring(0, w.length() - 2);
+    }
+
+    if (w.endsWith("e") && w.length() > 4) {
+      w = w.substring(0, w.length() - 1);
+    }
+    return w;
+  }
+
+  private static boolean hasVowel(String w, int end) {
+    for (int i = 0; i < end; i++) {
+      if ("aeiouy".indexOf(w.charAt(i)) >= 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // "stopp" -> "stop", but "fill" and "press" keep their double letter
+  private static String undouble(String w) {
+    int n = w.length();
+    if (n >= 2 && w.charAt(n - 1) == w.charAt(n - 2) && "aeioulsz".indexOf(w.charAt(n - 1)) < 0) {
+      return w.substring(0, n - 1);
+    }
+    return w;
+  }
+}
@@ -0,0 +1,28 @@
+package com.enviro.assessment.grad001.atisomofokeng.service;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.CatalogBundleResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.service.bundle.CatalogBundle;
+
+/**
+ * Service interface for the offline catalog bundle: one compressed file holding every waste category,
+ * recycling tip and disposal guideline, rewritten whenever the catalog changes.
+ */
+public interface CatalogBundleService {
+
+  /**
+   * Describes the newest bundle.
+   *
+   * @return a ServiceResponse containing the hash, size and download location of the newest bundle.
+   */
+  ServiceResponse<CatalogBundleResponse> getCurrentBundle();
+
+  /**
+   * Finds a bundle by its content hash. Recently replaced bundles stay available for a while, so that
+   * downloads in progress can complete.
+   *
+   * @param hash the content hash of the bundle.
+   * @return the bundle.
+   */
+  CatalogBundle getBundle(String hash);
+}
@@ -0,0 +1,34 @@
+package com.enviro.assessment.grad001.atisomofokeng.service;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ImportSummaryResponse;
+import com.enviro.assessment.grad001.atisomofokeng.service.importer.ImportFormat;
+
+import java.io.InputStream;
+
+/**
+ * Service interface for importing waste categories, recycling tips and disposal guidelines
+ * from delimited files.
+ */
+public interface CatalogImportService {
+
+  /**
+   * Streams a CSV or TSV file into the catalog, committing it in chunks.
+   * Each record has three fields: the type (CATEGORY, TIP or GUIDELINE), the waste category name and,
+   * for tips and guidelines, the text. Re-running a job that did not complete resumes after its last
+   * committed chunk.
+   *
+   * @param jobId  the id of the import job.
+   * @param format the file format.
+   * @param in     the file contents; read to the end but not closed.
+   * @return the summary of the job.
+   */
+  ImportSummaryResponse importCatalog(String jobId, ImportFormat format, InputStream in);
+
+  /**
+   * Retrieves the progress of an import job.
+   *
+   * @param jobId the id of the import job.
+   * @return the summary of the job as of its last committed chunk.
+   */
+  ImportSummaryResponse getImportProgress(String jobId);
+}
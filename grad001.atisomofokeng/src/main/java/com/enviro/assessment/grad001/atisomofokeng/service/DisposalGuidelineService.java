@@ -1,9 +1,13 @@
 package com.enviro.assessment.grad001.atisomofokeng.service;
 
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.request.DisposalGuidelineRequest;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.BatchResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.DisposalGuidelineResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.MultiGetResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.service.export.ExportFormat;
 
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -23,21 +27,43 @@ public interface DisposalGuidelineService {
   ServiceResponse<DisposalGuidelineResponse> createDisposalGuideline(DisposalGuidelineRequest disposalGuidelineRequest);
 
   /**
-   * Retrieves a list of all disposal guidelines.
+   * Creates many disposal guidelines in one request.
    *
-   * @return a ServiceResponse containing a list of DisposalGuidelineResponse objects,
-   *         or an appropriate error message if the operation fails.
+   * @param requests the disposal guidelines to create.
+   * @return a ServiceResponse containing one result per item, in request order: the created
+   *         DisposalGuidelineResponse or the reason the item was rejected.
    */
-  ServiceResponse<List<DisposalGuidelineResponse>> getAllDisposalGuidelines();
+  ServiceResponse<BatchResponse<DisposalGuidelineResponse>> createDisposalGuidelines(List<DisposalGuidelineRequest> requests);
 
   /**
-   * Retrieves a list of disposal guidelines associated with a specific waste category.
+   * Retrieves one page of disposal guidelines, ordered by id.
+   *
+   * @param cursor   the cursor returned with the previous page, or null for the first page.
+   * @param pageSize the requested page size, or null for the configured default.
+   * @return a ServiceResponse containing a page of DisposalGuidelineResponse objects and the cursor
+   *         for the next page, if any.
+   */
+  ServiceResponse<List<DisposalGuidelineResponse>> getAllDisposalGuidelines(String cursor, Integer pageSize);
+
+  /**
+   * Retrieves one page of disposal guidelines associated with a specific waste category, ordered by id.
    *
    * @param categoryId the ID of the waste category for which disposal guidelines are to be fetched.
-   * @return a ServiceResponse containing a list of DisposalGuidelineResponse objects,
-   *         or an appropriate error message if no guidelines are found for the given category.
+   * @param cursor     the cursor returned with the previous page, or null for the first page.
+   * @param pageSize   the requested page size, or null for the configured default.
+   * @return a ServiceResponse containing a page of DisposalGuidelineResponse objects and the cursor
+   *         for the next page, or an appropriate error message if the category is not found.
+   */
+  ServiceResponse<List<DisposalGuidelineResponse>> getDisposalGuidelinesByCategory(Long categoryId, String cursor, Integer pageSize);
+
+  /**
+   * Streams every disposal guideline, ordered by id, to the given output stream without materializing them in memory.
+   *
+   * @param format the output format (JSON array or NDJSON).
+   * @param out    the output stream to write to.
+   * @return the number of disposal guidelines written.
    */
-  ServiceResponse<List<DisposalGuidelineResponse>> getDisposalGuidelinesByCategory(Long categoryId);
+  long exportDisposalGuidelines(ExportFormat format, OutputStream out);
 
   /**
    * Retrieves a specific disposal guideline by its unique identifier.
@@ -48,6 +74,24 @@ public interface DisposalGuidelineService {
    */
   ServiceResponse<DisposalGuidelineResponse> getDisposalGuidelineById(Long id);
 
+  /**
+   * Retrieves several disposal guidelines by id in one read.
+   *
+   * @param ids the IDs of the disposal guidelines to retrieve.
+   * @return a ServiceResponse containing the disposal guidelines found, in the order of their ids, and the ids that
+   *         were not found.
+   */
+  ServiceResponse<MultiGetResponse<DisposalGuidelineResponse>> getDisposalGuidelinesByIds(List<Long> ids);
+
+  /**
+   * Retrieves the disposal guidelines of several waste categories in one read.
+   *
+   * @param categoryIds the IDs of the waste categories.
+   * @return a ServiceResponse containing the disposal guidelines of the categories found, grouped in the order of
+   *         the category ids, and the category ids that were not found.
+   */
+  ServiceResponse<MultiGetResponse<DisposalGuidelineResponse>> getDisposalGuidelinesByCategories(List<Long> categoryIds);
+
   /**
    * Updates an existing disposal guideline identified by its ID with new data.
    *
@@ -0,0 +1,235 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.Implementation;
+
+import com.enviro.assessment.grad001.atisomofokeng.config.CatalogProperties;
+import com.enviro.assessment.grad001.atisomofokeng.config.ThreadFactories;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangedEvent;
+import com.enviro.assessment.grad001.atisomofokeng.exception.ResourceNotFoundException;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.CatalogBundleResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.repository.CatalogEntry;
+import com.enviro.assessment.grad001.atisomofokeng.repository.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.RecyclingTipRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.WasteCategoryRepository;
+import com.enviro.assessment.grad001.atisomofokeng.service.CatalogBundleService;
+import com.enviro.assessment.grad001.atisomofokeng.service.SyncService;
+import com.enviro.assessment.grad001.atisomofokeng.service.bundle.CatalogBundle;
+import com.enviro.assessment.grad001.atisomofokeng.service.bundle.CatalogBundleWriter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Service implementation for the offline catalog bundle.
+ * The bundle is written once at startup and rewritten in the background after catalog changes; changes that
+ * arrive within the configured delay are coalesced into one rewrite. Files are named by their content hash,
+ * so a rewrite that produces the same contents keeps the existing file. The last few bundles are kept on disk
+ * and older ones are deleted.
+ */
+@Service
+public class CatalogBundleServiceImpl implements CatalogBundleService {
+
+  private static final Logger log = LoggerFactory.getLogger(CatalogBundleServiceImpl.class);
+
+  private static final String PREFIX = "catalog-";
+  private static final String SUFFIX = ".json.gz";
+
+  private final WasteCategoryRepository wasteCategoryRepository;
+  private final RecyclingTipRepository recyclingTipRepository;
+  private final DisposalGuidelineRepository disposalGuidelineRepository;
+  private final CatalogBundleWriter catalogBundleWriter;
+  private final SyncService syncService;
+  private final CatalogProperties.Bundle properties;
+  private final TransactionTemplate readOnlyTransaction;
+  private final ScheduledExecutorService rebuilds;
+  private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+  // Serializes rewrites; a lock rather than a monitor, so that a virtual thread writing does not pin its carrier
+  private final ReentrantLock rebuildLock = new ReentrantLock();
+
+  // Newest first; guarded by this
+  private final Deque<CatalogBundle> bundles = new ArrayDeque<>();
+
+  public CatalogBundleServiceImpl(WasteCategoryRepository wasteCategoryRepository,
+                                  RecyclingTipRepository recyclingTipRepository,
+                                  DisposalGuidelineRepository disposalGuidelineRepository,
+                                  CatalogBundleWriter catalogBundleWriter,
+                                  SyncService syncService,
+                                  CatalogProperties catalogProperties,
+                                  PlatformTransactionManager transactionManager,
+                                  ThreadFactories threadFactories) {
+    this.wasteCategoryRepository = wasteCategoryRepository;
+    this.recyclingTipRepository = recyclingTipRepository;
+    this.disposalGuidelineRepository = disposalGuidelineRepository;
+    this.catalogBundleWriter = catalogBundleWriter;
+    this.syncService = syncService;
+    this.properties = catalogProperties.getBundle();
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.rebuilds = Executors.newSingleThreadScheduledExecutor(threadFactories.named("catalog-bundle"));
+  }
+
+  /**
+   * Describes the newest bundle.
+   * @return ServiceResponse containing the hash, size and download location of the newest bundle.
+   */
+  @Override
+  public ServiceResponse<CatalogBundleResponse> getCurrentBundle() {
+    CatalogBundle bundle;
+    synchronized (this) {
+      bundle = bundles.peekFirst();
+    }
+    if (bundle == null) {
+      throw new ResourceNotFoundException("Catalog bundle has not been built yet");
+    }
+    URI href = ServletUriComponentsBuilder.fromCurrentRequest().path("/{hash}").build(bundle.hash());
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+    return new ServiceResponse<>(new CatalogBundleResponse(bundle.hash(), bundle.size(), bundle.revision(),
+            bundle.createdAt(), href), location);
+  }
+
+  /**
+   * Finds a bundle by its content hash among the bundles kept on disk.
+   * @param hash The content hash of the bundle.
+   * @return The bundle.
+   */
+  @Override
+  public CatalogBundle getBundle(String hash) {
+    synchronized (this) {
+      for (CatalogBundle bundle : bundles) {
+        if (bundle.hash().equals(hash)) {
+          return bundle;
+        }
+      }
+    }
+    throw new ResourceNotFoundException("Catalog bundle not found");
+  }
+
+  /**
+   * Removes the bundles of earlier runs and writes the first one, after the sample data has been seeded.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    try {
+      Files.createDirectories(properties.getDirectory());
+      try (DirectoryStream<Path> stale = Files.newDirectoryStream(properties.getDirectory(), PREFIX + "*" + SUFFIX)) {
+        for (Path file : stale) {
+          Files.deleteIfExists(file);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    rebuild();
+  }
+
+  /**
+   * Schedules a rewrite of the bundle after committed catalog changes, unless one is already pending.
+   * @param event The committed changes.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onCatalogChanged(CatalogChangedEvent event) {
+    if (rebuildScheduled.compareAndSet(false, true)) {
+      rebuilds.schedule(() -> {
+        // Cleared first, so that changes committed while the bundle is written schedule another rewrite
+        rebuildScheduled.set(false);
+        try {
+          rebuild();
+        } catch (RuntimeException e) {
+          log.warn("Could not rewrite the catalog bundle", e);
+        }
+      }, properties.getRebuildDelay().toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    rebuilds.shutdownNow();
+  }
+
+  // The deque is only locked to swap bundles in and out, never while the database is read or files are written
+  private void rebuild() {
+    rebuildLock.lock();
+    try {
+      Path temporary = Files.createTempFile(properties.getDirectory(), PREFIX, ".tmp");
+      long[] revision = new long[1];
+      String hash;
+      try {
+        hash = readOnlyTransaction.execute(status -> {
+          // Read before the data, so the bundle holds at least this revision
+          revision[0] = syncService.currentRevision();
+          return write(temporary);
+        });
+      } catch (RuntimeException e) {
+        Files.deleteIfExists(temporary);
+        throw e;
+      }
+
+      CatalogBundle newest;
+      synchronized (this) {
+        newest = bundles.peekFirst();
+      }
+      if (newest != null && newest.hash().equals(hash)) {
+        Files.deleteIfExists(temporary);
+        synchronized (this) {
+          bundles.removeFirst();
+          bundles.addFirst(new CatalogBundle(hash, newest.file(), newest.size(), revision[0], newest.createdAt()));
+        }
+        return;
+      }
+      Path file = properties.getDirectory().resolve(PREFIX + hash + SUFFIX);
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      CatalogBundle written = new CatalogBundle(hash, file, Files.size(file), revision[0], Instant.now());
+      List<CatalogBundle> evicted = new ArrayList<>();
+      synchronized (this) {
+        bundles.removeIf(bundle -> bundle.hash().equals(hash));
+        bundles.addFirst(written);
+        while (bundles.size() > Math.max(1, properties.getKeep())) {
+          evicted.add(bundles.removeLast());
+        }
+      }
+      for (CatalogBundle bundle : evicted) {
+        Files.deleteIfExists(bundle.file());
+      }
+      log.info("Wrote catalog bundle {} ({} bytes) at revision {}", hash, written.size(), revision[0]);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      rebuildLock.unlock();
+    }
+  }
+
+  private String write(Path file) {
+    try (Stream<CatalogEntry> wasteCategories = wasteCategoryRepository.streamAllAsEntries();
+         Stream<CatalogEntry> recyclingTips = recyclingTipRepository.streamAllAsEntries();
+         Stream<CatalogEntry> disposalGuidelines = disposalGuidelineRepository.streamAllAsEntries()) {
+      return catalogBundleWriter.write(file, wasteCategories, recyclingTips, disposalGuidelines);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
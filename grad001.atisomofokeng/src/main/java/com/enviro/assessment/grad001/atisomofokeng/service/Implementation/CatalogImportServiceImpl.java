@@ -0,0 +1,448 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.Implementation;
+
+import com.enviro.assessment.grad001.atisomofokeng.config.CatalogProperties;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChange;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangeType;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangedEvent;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogEntityType;
+import com.enviro.assessment.grad001.atisomofokeng.exception.ImportConflictException;
+import com.enviro.assessment.grad001.atisomofokeng.exception.InvalidImportJobException;
+import com.enviro.assessment.grad001.atisomofokeng.exception.ResourceNotFoundException;
+import com.enviro.assessment.grad001.atisomofokeng.model.DisposalGuideline;
+import com.enviro.assessment.grad001.atisomofokeng.model.ImportCheckpoint;
+import com.enviro.assessment.grad001.atisomofokeng.model.RecyclingTip;
+import com.enviro.assessment.grad001.atisomofokeng.model.WasteCategory;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.request.DisposalGuidelineRequest;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.request.RecyclingTipRequest;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.request.WasteCategoryRequest;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ImportSummaryResponse;
+import com.enviro.assessment.grad001.atisomofokeng.repository.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.ImportCheckpointRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.RecyclingTipRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.WasteCategoryRepository;
+import com.enviro.assessment.grad001.atisomofokeng.service.CatalogImportService;
+import com.enviro.assessment.grad001.atisomofokeng.service.importer.CsvRecordReader;
+import com.enviro.assessment.grad001.atisomofokeng.service.importer.ImportFormat;
+import com.enviro.assessment.grad001.atisomofokeng.service.importer.ImportRecord;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for importing the catalog from CSV or TSV files.
+ * The file is read as a stream, one chunk of records at a time. The records of a chunk are parsed and
+ * validated in parallel, waste category names are resolved through an in-memory map, and the chunk is
+ * inserted and checkpointed in a single transaction. Rejected records are appended to a report file before the
+ * chunk commits, so a committed checkpoint never runs ahead of the report; a resumed job first drops the rows
+ * that an uncommitted chunk left in the report.
+ */
+@Service
+public class CatalogImportServiceImpl implements CatalogImportService {
+
+  private static final Logger log = LoggerFactory.getLogger(CatalogImportServiceImpl.class);
+
+  // Job ids name the report file, so they are restricted to characters that are safe in file names
+  private static final Pattern JOB_ID = Pattern.compile("[A-Za-z0-9._-]{1,100}");
+
+  // Matches the column length of the catalog tables
+  private static final int MAX_TEXT_LENGTH = 255;
+
+  private final WasteCategoryRepository wasteCategoryRepository;
+  private final RecyclingTipRepository recyclingTipRepository;
+  private final DisposalGuidelineRepository disposalGuidelineRepository;
+  private final ImportCheckpointRepository importCheckpointRepository;
+  private final CatalogProperties.Import properties;
+  private final Validator validator;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transaction;
+  private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+
+  public CatalogImportServiceImpl(WasteCategoryRepository wasteCategoryRepository,
+                                  RecyclingTipRepository recyclingTipRepository,
+                                  DisposalGuidelineRepository disposalGuidelineRepository,
+                                  ImportCheckpointRepository importCheckpointRepository,
+                                  CatalogProperties catalogProperties,
+                                  Validator validator,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager) {
+    this.wasteCategoryRepository = wasteCategoryRepository;
+    this.recyclingTipRepository = recyclingTipRepository;
+    this.disposalGuidelineRepository = disposalGuidelineRepository;
+    this.importCheckpointRepository = importCheckpointRepository;
+    this.properties = catalogProperties.getImport();
+    this.validator = validator;
+    this.eventPublisher = eventPublisher;
+    this.transaction = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Streams a CSV or TSV file into the catalog, committing it in chunks.
+   * @param jobId The id of the import job.
+   * @param format The file format.
+   * @param in The file contents.
+   * @return The summary of the job.
+   */
+  @Override
+  public ImportSummaryResponse importCatalog(String jobId, ImportFormat format, InputStream in) {
+    if (jobId == null || !JOB_ID.matcher(jobId).matches()) {
+      throw new InvalidImportJobException("Job id must be 1-100 letters, digits, '.', '_' or '-'");
+    }
+    if (!runningJobs.add(jobId)) {
+      throw new ImportConflictException("Import job " + jobId + " is already running");
+    }
+    try {
+      ImportCheckpoint checkpoint = transaction.execute(status -> startJob(jobId));
+      return runJob(checkpoint, format, in);
+    } finally {
+      runningJobs.remove(jobId);
+    }
+  }
+
+  /**
+   * Retrieves the progress of an import job.
+   * @param jobId The id of the import job.
+   * @return The summary of the job as of its last committed chunk.
+   */
+  @Override
+  public ImportSummaryResponse getImportProgress(String jobId) {
+    ImportCheckpoint checkpoint = importCheckpointRepository.findById(jobId)
+            .orElseThrow(() -> new ResourceNotFoundException("Import job not found"));
+    return toSummary(checkpoint, null, null);
+  }
+
+  /**
+   * Creates the checkpoint of a new job, or reopens the checkpoint of a job that did not complete.
+   * @param jobId The id of the import job.
+   * @return The checkpoint to resume from.
+   */
+  private ImportCheckpoint startJob(String jobId) {
+    ImportCheckpoint checkpoint = importCheckpointRepository.findById(jobId)
+            .orElseGet(() -> new ImportCheckpoint(jobId));
+    if (checkpoint.getStatus() == ImportCheckpoint.Status.COMPLETED) {
+      throw new ImportConflictException("Import job " + jobId + " has already completed");
+    }
+    checkpoint.setStatus(ImportCheckpoint.Status.RUNNING);
+    return importCheckpointRepository.save(checkpoint);
+  }
+
+  /**
+   * Reads the file chunk by chunk, skipping the records committed by earlier runs of the job.
+   * @param checkpoint The checkpoint to resume from.
+   * @param format The file format.
+   * @param in The file contents.
+   * @return The summary of the job.
+   */
+  private ImportSummaryResponse runJob(ImportCheckpoint checkpoint, ImportFormat format, InputStream in) {
+    String jobId = checkpoint.getJobId();
+    long resumeAfter = checkpoint.getLastRecord();
+    long read = 0;
+    long skipped = 0;
+    Path report = reportPath(jobId);
+
+    try (CsvRecordReader reader = new CsvRecordReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+         BufferedWriter rejects = openReport(report, resumeAfter)) {
+      Map<String, Long> categoryIds = loadCategoryIds();
+      List<String> chunk = new ArrayList<>(properties.getChunkSize());
+      long firstInChunk = 0;
+      boolean header = true;
+
+      String record;
+      while ((record = reader.nextRecord()) != null) {
+        if (record.isBlank()) {
+          continue;
+        }
+        if (header) {
+          header = false;
+          if (isHeader(record, format)) {
+            continue;
+          }
+        }
+        read++;
+        if (read <= resumeAfter) {
+          skipped++;
+          continue;
+        }
+        if (chunk.isEmpty()) {
+          firstInChunk = read;
+        }
+        chunk.add(record);
+        if (chunk.size() == properties.getChunkSize()) {
+          importChunk(jobId, firstInChunk, chunk, format, categoryIds, rejects);
+          chunk.clear();
+        }
+      }
+      if (!chunk.isEmpty()) {
+        importChunk(jobId, firstInChunk, chunk, format, categoryIds, rejects);
+      }
+    } catch (IOException | RuntimeException e) {
+      transaction.executeWithoutResult(status -> updateStatus(jobId, ImportCheckpoint.Status.FAILED));
+      log.warn("Import {} failed after record {}; re-run the job to resume", jobId, read, e);
+      if (e instanceof IOException io) {
+        throw new UncheckedIOException(io);
+      }
+      throw (RuntimeException) e;
+    }
+
+    ImportCheckpoint completed = transaction.execute(status -> updateStatus(jobId, ImportCheckpoint.Status.COMPLETED));
+    log.info("Import {} completed: {} imported, {} rejected in {} chunks", jobId,
+            completed.getImported(), completed.getRejected(), completed.getChunks());
+    return toSummary(completed, read, skipped);
+  }
+
+  /**
+   * Validates one chunk of records in parallel, then inserts the valid ones and advances the checkpoint
+   * in a single transaction. Categories are inserted first, so tips and guidelines may refer to a category
+   * that is defined anywhere earlier in the file or in the same chunk. The rejected records are written to the
+   * report and flushed before the checkpoint is advanced, within the same transaction.
+   * @param jobId The id of the import job.
+   * @param firstNumber The number of the first record of the chunk.
+   * @param chunk The raw records of the chunk.
+   * @param format The file format.
+   * @param categoryIds The ids of the known waste categories by name; extended once the chunk is committed.
+   * @param rejects The rejected-rows report.
+   */
+  private void importChunk(String jobId, long firstNumber, List<String> chunk, ImportFormat format,
+                           Map<String, Long> categoryIds, BufferedWriter rejects) throws IOException {
+    List<ImportRecord> records = new ArrayList<>(chunk.size());
+    for (int i = 0; i < chunk.size(); i++) {
+      records.add(ImportRecord.unparsed(firstNumber + i, chunk.get(i)));
+    }
+    List<ImportRecord> parsed = records.parallelStream()
+            .map(record -> parse(record, format))
+            .toList();
+
+    Map<String, Long> createdCategoryIds = new HashMap<>();
+    List<ImportRecord> rejected = new ArrayList<>();
+    transaction.executeWithoutResult(status -> {
+      List<CatalogChange> changes = new ArrayList<>();
+
+      List<WasteCategory> wasteCategories = new ArrayList<>();
+      for (ImportRecord record : parsed) {
+        if (!record.isValid()) {
+          rejected.add(record);
+        } else if (record.type() == CatalogEntityType.WASTE_CATEGORY) {
+          if (categoryIds.containsKey(record.category()) || createdCategoryIds.containsKey(record.category())) {
+            rejected.add(record.reject("Waste category already exists"));
+          } else {
+            wasteCategories.add(new WasteCategory(record.category()));
+            createdCategoryIds.put(record.category(), null);
+          }
+        }
+      }
+      wasteCategoryRepository.saveAll(wasteCategories);
+      for (WasteCategory saved : wasteCategories) {
+        createdCategoryIds.put(saved.getCategoryName(), saved.getId());
+        changes.add(new CatalogChange(CatalogEntityType.WASTE_CATEGORY, CatalogChangeType.CREATED,
+                saved.getId(), saved.getId(), saved.getCategoryName()));
+      }
+
+      List<RecyclingTip> recyclingTips = new ArrayList<>();
+      List<DisposalGuideline> disposalGuidelines = new ArrayList<>();
+      for (ImportRecord record : parsed) {
+        if (!record.isValid() || record.type() == CatalogEntityType.WASTE_CATEGORY) {
+          continue;
+        }
+        Long categoryId = createdCategoryIds.getOrDefault(record.category(), categoryIds.get(record.category()));
+        if (categoryId == null) {
+          rejected.add(record.reject("Waste category not found"));
+          continue;
+        }
+        // A reference is enough to set the foreign key; the category is not loaded
+        WasteCategory wasteCategory = wasteCategoryRepository.getReferenceById(categoryId);
+        if (record.type() == CatalogEntityType.RECYCLING_TIP) {
+          recyclingTips.add(new RecyclingTip(record.text(), wasteCategory));
+        } else {
+          disposalGuidelines.add(new DisposalGuideline(record.text(), wasteCategory));
+        }
+      }
+      recyclingTipRepository.saveAll(recyclingTips);
+      disposalGuidelineRepository.saveAll(disposalGuidelines);
+      for (RecyclingTip saved : recyclingTips) {
+        changes.add(new CatalogChange(CatalogEntityType.RECYCLING_TIP, CatalogChangeType.CREATED,
+                saved.getId(), saved.getWasteCategory().getId(), saved.getRecyclingTip()));
+      }
+      for (DisposalGuideline saved : disposalGuidelines) {
+        changes.add(new CatalogChange(CatalogEntityType.DISPOSAL_GUIDELINE, CatalogChangeType.CREATED,
+                saved.getId(), saved.getWasteCategory().getId(), saved.getDisposalGuideline()));
+      }
+
+      rejected.sort(Comparator.comparingLong(ImportRecord::number));
+      writeRejects(rejected, rejects);
+
+      ImportCheckpoint checkpoint = importCheckpointRepository.findById(jobId).orElseThrow();
+      checkpoint.advance(firstNumber + chunk.size() - 1, changes.size(), rejected.size());
+      if (!changes.isEmpty()) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(changes));
+      }
+    });
+
+    // Only committed categories become visible to later chunks
+    categoryIds.putAll(createdCategoryIds);
+
+    log.info("Import {}: records {}-{} committed, {} imported, {} rejected", jobId, firstNumber,
+            firstNumber + chunk.size() - 1, chunk.size() - rejected.size(), rejected.size());
+  }
+
+  private static void writeRejects(List<ImportRecord> rejected, BufferedWriter rejects) {
+    try {
+      for (ImportRecord record : rejected) {
+        rejects.write(record.number() + "," + CsvRecordReader.quote(record.error()) + "," + CsvRecordReader.quote(record.raw()));
+        rejects.newLine();
+      }
+      rejects.flush();
+    } catch (IOException e) {
+      // Rolls the chunk back, so the checkpoint does not cover records missing from the report
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Parses one record and validates it against the constraints of the matching request DTO.
+   * @param record The raw record.
+   * @param format The file format.
+   * @return The parsed record, rejected if it is malformed or invalid.
+   */
+  private ImportRecord parse(ImportRecord record, ImportFormat format) {
+    List<String> fields = CsvRecordReader.parseFields(record.raw(), format.getDelimiter());
+    if (fields.size() != 3) {
+      return record.reject("Expected 3 fields (type, category, text) but found " + fields.size());
+    }
+    String category = fields.get(1);
+    String text = fields.get(2);
+
+    CatalogEntityType type;
+    Set<? extends ConstraintViolation<?>> violations;
+    switch (fields.get(0).toUpperCase(Locale.ROOT)) {
+      case "CATEGORY" -> {
+        type = CatalogEntityType.WASTE_CATEGORY;
+        violations = validator.validateValue(WasteCategoryRequest.class, "categoryName", category);
+      }
+      case "TIP" -> {
+        type = CatalogEntityType.RECYCLING_TIP;
+        violations = validator.validateValue(RecyclingTipRequest.class, "recyclingTip", text);
+      }
+      case "GUIDELINE" -> {
+        type = CatalogEntityType.DISPOSAL_GUIDELINE;
+        violations = validator.validateValue(DisposalGuidelineRequest.class, "disposalGuideline", text);
+      }
+      default -> {
+        return record.reject("Unknown record type '" + fields.get(0) + "'; expected CATEGORY, TIP or GUIDELINE");
+      }
+    }
+
+    if (!violations.isEmpty()) {
+      return record.reject(violations.stream().map(ConstraintViolation::getMessage).sorted()
+              .collect(Collectors.joining("; ")));
+    }
+    if (category.isEmpty()) {
+      return record.reject("Waste category must not be blank.");
+    }
+    if (category.length() > MAX_TEXT_LENGTH || text.length() > MAX_TEXT_LENGTH) {
+      return record.reject("Fields must not be longer than " + MAX_TEXT_LENGTH + " characters.");
+    }
+    return record.parsed(type, category, text);
+  }
+
+  private Map<String, Long> loadCategoryIds() {
+    return transaction.execute(status -> {
+      Map<String, Long> ids = new HashMap<>();
+      wasteCategoryRepository.findAll().forEach(category -> ids.put(category.getCategoryName(), category.getId()));
+      return ids;
+    });
+  }
+
+  private ImportCheckpoint updateStatus(String jobId, ImportCheckpoint.Status status) {
+    ImportCheckpoint checkpoint = importCheckpointRepository.findById(jobId).orElseThrow();
+    checkpoint.setStatus(status);
+    return checkpoint;
+  }
+
+  private static boolean isHeader(String record, ImportFormat format) {
+    return CsvRecordReader.parseFields(record, format.getDelimiter()).stream()
+            .map(field -> field.toLowerCase(Locale.ROOT))
+            .toList()
+            .equals(List.of("type", "category", "text"));
+  }
+
+  private Path reportPath(String jobId) {
+    return properties.getReportDirectory().resolve(jobId + "-rejected.csv");
+  }
+
+  /**
+   * Opens the report for appending. The rows of records after the checkpoint were written by a chunk that did
+   * not commit; they are dropped, as the records will be read and rejected again.
+   * @param report The report file.
+   * @param resumeAfter The last committed record.
+   * @return The report writer.
+   */
+  private static BufferedWriter openReport(Path report, long resumeAfter) throws IOException {
+    Files.createDirectories(report.getParent());
+    boolean exists = Files.exists(report) && Files.size(report) > 0;
+    if (exists) {
+      dropUncommittedRows(report, resumeAfter);
+    }
+    BufferedWriter writer = Files.newBufferedWriter(report, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    if (!exists) {
+      writer.write("record,reason,raw");
+      writer.newLine();
+    }
+    return writer;
+  }
+
+  private static void dropUncommittedRows(Path report, long resumeAfter) throws IOException {
+    Path kept = report.resolveSibling(report.getFileName() + ".tmp");
+    boolean dropped = false;
+    try (CsvRecordReader reader = new CsvRecordReader(Files.newBufferedReader(report, StandardCharsets.UTF_8));
+         BufferedWriter writer = Files.newBufferedWriter(kept, StandardCharsets.UTF_8)) {
+      boolean header = true;
+      String row;
+      while ((row = reader.nextRecord()) != null) {
+        if (!header && Long.parseLong(CsvRecordReader.parseFields(row, ',').get(0)) > resumeAfter) {
+          dropped = true;
+          continue;
+        }
+        header = false;
+        writer.write(row);
+        writer.newLine();
+      }
+    }
+    if (dropped) {
+      Files.move(kept, report, StandardCopyOption.REPLACE_EXISTING);
+    } else {
+      Files.delete(kept);
+    }
+  }
+
+  private ImportSummaryResponse toSummary(ImportCheckpoint checkpoint, Long read, Long skipped) {
+    return new ImportSummaryResponse(checkpoint.getJobId(), checkpoint.getStatus().name(), checkpoint.getLastRecord(),
+            checkpoint.getChunks(), checkpoint.getImported(), checkpoint.getRejected(), checkpoint.getUpdatedAt(),
+            reportPath(checkpoint.getJobId()).toString(), read, skipped);
+  }
+}
@@ -1,24 +1,60 @@
 package com.enviro.assessment.grad001.atisomofokeng.service.Implementation;
 
+import com.enviro.assessment.grad001.atisomofokeng.cache.CatalogCache;
+import com.enviro.assessment.grad001.atisomofokeng.cache.CatalogCacheManager;
+import com.enviro.assessment.grad001.atisomofokeng.config.CatalogProperties;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChange;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangeType;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangedEvent;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogEntityType;
 import com.enviro.assessment.grad001.atisomofokeng.exception.ResourceNotFoundException;
 import com.enviro.assessment.grad001.atisomofokeng.model.DisposalGuideline;
 import com.enviro.assessment.grad001.atisomofokeng.model.WasteCategory;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.mapper.DisposalGuidelineMapper;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.request.DisposalGuidelineRequest;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.BatchItemResult;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.BatchResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.DisposalGuidelineResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.MultiGetResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.repository.CategoryChildEntry;
 import com.enviro.assessment.grad001.atisomofokeng.repository.DisposalGuidelineRepository;
 import com.enviro.assessment.grad001.atisomofokeng.repository.WasteCategoryRepository;
 import com.enviro.assessment.grad001.atisomofokeng.service.DisposalGuidelineService;
+import com.enviro.assessment.grad001.atisomofokeng.service.batch.BatchRequestValidator;
+import com.enviro.assessment.grad001.atisomofokeng.service.export.ExportFormat;
+import com.enviro.assessment.grad001.atisomofokeng.service.export.JsonExportWriter;
+import com.enviro.assessment.grad001.atisomofokeng.service.pagination.KeysetCursor;
+import com.enviro.assessment.grad001.atisomofokeng.service.pagination.KeysetPage;
+import com.enviro.assessment.grad001.atisomofokeng.service.pagination.PageKey;
+import com.enviro.assessment.grad001.atisomofokeng.snapshot.CatalogSnapshotHolder;
+import com.enviro.assessment.grad001.atisomofokeng.snapshot.SortedIdIndex;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.OutputStream;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for managing disposal guidelines. Handles CRUD operations using mappers for conversions.
+ * Reads are served from the in-memory catalog snapshot, or, when the database is the configured read source,
+ * through read-through caches that are invalidated by the committed changes of every write.
  */
 @Service
 public class DisposalGuidelineServiceImpl implements DisposalGuidelineService {
@@ -26,51 +62,108 @@ public class DisposalGuidelineServiceImpl implements DisposalGuidelineService {
   private final DisposalGuidelineRepository disposalGuidelineRepository;
   private final WasteCategoryRepository wasteCategoryRepository;
   private final DisposalGuidelineMapper disposalGuidelineMapper;
+  private final CatalogProperties catalogProperties;
+  private final JsonExportWriter jsonExportWriter;
+  private final BatchRequestValidator batchRequestValidator;
+  private final ApplicationEventPublisher eventPublisher;
+  private final CatalogSnapshotHolder catalogSnapshots;
+  private final TransactionTemplate readOnlyTransaction;
+  private final CatalogCache<Long, DisposalGuidelineResponse> disposalGuidelinesById;
+  private final CatalogCache<PageKey, KeysetPage<DisposalGuidelineResponse>> disposalGuidelinePages;
 
   public DisposalGuidelineServiceImpl(DisposalGuidelineRepository disposalGuidelineRepository,
                                       WasteCategoryRepository wasteCategoryRepository,
-                                      DisposalGuidelineMapper disposalGuidelineMapper) {
+                                      DisposalGuidelineMapper disposalGuidelineMapper,
+                                      CatalogProperties catalogProperties,
+                                      JsonExportWriter jsonExportWriter,
+                                      BatchRequestValidator batchRequestValidator,
+                                      ApplicationEventPublisher eventPublisher,
+                                      CatalogCacheManager catalogCacheManager,
+                                      CatalogSnapshotHolder catalogSnapshots,
+                                      PlatformTransactionManager transactionManager) {
     this.disposalGuidelineRepository = disposalGuidelineRepository;
     this.wasteCategoryRepository = wasteCategoryRepository;
     this.disposalGuidelineMapper = disposalGuidelineMapper;
+    this.catalogProperties = catalogProperties;
+    this.jsonExportWriter = jsonExportWriter;
+    this.batchRequestValidator = batchRequestValidator;
+    this.eventPublisher = eventPublisher;
+    this.catalogSnapshots = catalogSnapshots;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.disposalGuidelinesById = catalogCacheManager.create("disposalGuidelinesById",
+            this::loadDisposalGuideline, (id, guideline) -> 1);
+    this.disposalGuidelinePages = catalogCacheManager.create("disposalGuidelinePages",
+            this::loadPage, (key, page) -> page.getItems().size());
   }
 
   /**
-   * Retrieves all disposal guidelines.
-   * @return ServiceResponse containing a list of all disposal guidelines.
+   * Retrieves one page of disposal guidelines using a seek query on the id.
+   * @param cursor The cursor returned with the previous page, or null for the first page.
+   * @param pageSize The requested page size, or null for the configured default.
+   * @return ServiceResponse containing a page of disposal guidelines and the next cursor.
    */
   @Override
-  public ServiceResponse<List<DisposalGuidelineResponse>> getAllDisposalGuidelines() {
-    List<DisposalGuidelineResponse> disposalGuidelines = disposalGuidelineRepository.findAll().stream()
-            .map(disposalGuidelineMapper::toResponse)
-            .collect(Collectors.toList());
+  public ServiceResponse<List<DisposalGuidelineResponse>> getAllDisposalGuidelines(String cursor, Integer pageSize) {
+    int size = catalogProperties.getPagination().resolve(pageSize);
+    long afterId = KeysetCursor.decode(cursor);
+    KeysetPage<DisposalGuidelineResponse> page = catalogSnapshots.isEnabled()
+            ? catalogSnapshots.current().getDisposalGuidelines().page(afterId, size)
+            : disposalGuidelinePages.get(new PageKey(null, afterId, size));
 
     URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
 
-    return new ServiceResponse<>(disposalGuidelines, location);
+    return new ServiceResponse<>(page.getItems(), location, page.getNextCursor());
   }
 
   /**
-   * Retrieves disposal guidelines for a specific waste category.
-   * @param categoryId The ID of the waste category to fetch tips for.
-   * @return ServiceResponse containing the recycling tips for the given category.
+   * Retrieves one page of disposal guidelines for a specific waste category using a seek query on the id.
+   * @param categoryId The ID of the waste category to fetch guidelines for.
+   * @param cursor The cursor returned with the previous page, or null for the first page.
+   * @param pageSize The requested page size, or null for the configured default.
+   * @return ServiceResponse containing a page of disposal guidelines for the given category and the next cursor.
    */
   @Override
-  public ServiceResponse<List<DisposalGuidelineResponse>> getDisposalGuidelinesByCategory(Long categoryId) {
-    // Fetch the waste category or throw an exception if not found
-    WasteCategory category = wasteCategoryRepository.findById(categoryId)
-            .orElseThrow(() -> new ResourceNotFoundException("Waste category not found"));
-
-    // Fetch and map the recycling tips related to the category
-    List<DisposalGuidelineResponse> disposalGuidelines = disposalGuidelineRepository.findByWasteCategory(category).stream()
-            .map(disposalGuidelineMapper::toResponse)
-            .collect(Collectors.toList());
+  public ServiceResponse<List<DisposalGuidelineResponse>> getDisposalGuidelinesByCategory(Long categoryId, String cursor, Integer pageSize) {
+    int size = catalogProperties.getPagination().resolve(pageSize);
+    long afterId = KeysetCursor.decode(cursor);
+    KeysetPage<DisposalGuidelineResponse> page;
+    if (catalogSnapshots.isEnabled()) {
+      SortedIdIndex<DisposalGuidelineResponse> disposalGuidelines = catalogSnapshots.current().getDisposalGuidelinesOf(categoryId);
+      if (disposalGuidelines == null) {
+        throw new ResourceNotFoundException("Waste category not found");
+      }
+      page = disposalGuidelines.page(afterId, size);
+    } else {
+      page = disposalGuidelinePages.get(new PageKey(categoryId, afterId, size));
+    }
 
     URI location = ServletUriComponentsBuilder
             .fromCurrentRequest()
-            .build(category.getId());
+            .build(categoryId);
+
+    return new ServiceResponse<>(page.getItems(), location, page.getNextCursor());
+  }
 
-    return new ServiceResponse<>(disposalGuidelines, location);
+  /**
+   * Streams all disposal guidelines to the output stream, reading them through a forward-only cursor.
+   * Rows are projected straight into response DTOs, so memory use does not grow with the table size.
+   * When reads are served from the snapshot, its rows are written instead and no connection is used.
+   * @param format The output format.
+   * @param out The output stream to write to.
+   * @return The number of disposal guidelines written.
+   */
+  @Override
+  public long exportDisposalGuidelines(ExportFormat format, OutputStream out) {
+    if (catalogSnapshots.isEnabled()) {
+      return jsonExportWriter.write(catalogSnapshots.current().getDisposalGuidelines().getItems().stream(), format, out);
+    }
+    Long written = readOnlyTransaction.execute(status -> {
+      try (Stream<DisposalGuidelineResponse> rows = disposalGuidelineRepository.streamAllAsResponses()) {
+        return jsonExportWriter.write(rows, format, out);
+      }
+    });
+    return written == null ? 0 : written;
   }
 
   /**
@@ -80,13 +173,75 @@ public class DisposalGuidelineServiceImpl implements DisposalGuidelineService {
    */
   @Override
   public ServiceResponse<DisposalGuidelineResponse> getDisposalGuidelineById(Long id) {
-    DisposalGuideline disposalGuideline = disposalGuidelineRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Disposal guideline not found"));
+    DisposalGuidelineResponse disposalGuideline = catalogSnapshots.isEnabled()
+            ? catalogSnapshots.current().getDisposalGuidelines().get(id)
+            : disposalGuidelinesById.get(id);
+    if (disposalGuideline == null) {
+      throw new ResourceNotFoundException("Disposal guideline not found");
+    }
 
     URI location = ServletUriComponentsBuilder
             .fromCurrentRequest().build(disposalGuideline.getId());
 
-    return new ServiceResponse<>(disposalGuidelineMapper.toResponse(disposalGuideline), location);
+    return new ServiceResponse<>(disposalGuideline, location);
+  }
+
+  /**
+   * Retrieves several disposal guidelines by id. Served from the snapshot, or else with one IN query that joins the
+   * category name; ids that do not exist are reported instead of failing the request.
+   * @param ids The IDs of the disposal guidelines.
+   * @return ServiceResponse containing the disposal guidelines found and the missing ids.
+   */
+  @Override
+  public ServiceResponse<MultiGetResponse<DisposalGuidelineResponse>> getDisposalGuidelinesByIds(List<Long> ids) {
+    List<Long> distinctIds = batchRequestValidator.checkIds(ids);
+    Map<Long, DisposalGuidelineResponse> found = new HashMap<>();
+    if (catalogSnapshots.isEnabled()) {
+      SortedIdIndex<DisposalGuidelineResponse> disposalGuidelines = catalogSnapshots.current().getDisposalGuidelines();
+      for (Long id : distinctIds) {
+        DisposalGuidelineResponse disposalGuideline = disposalGuidelines.get(id);
+        if (disposalGuideline != null) {
+          found.put(id, disposalGuideline);
+        }
+      }
+    } else if (!distinctIds.isEmpty()) {
+      for (DisposalGuidelineResponse disposalGuideline : disposalGuidelineRepository.findResponsesByIdIn(distinctIds)) {
+        found.put(disposalGuideline.getId(), disposalGuideline);
+      }
+    }
+
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+    return new ServiceResponse<>(MultiGetResponse.of(distinctIds, found), location);
+  }
+
+  /**
+   * Retrieves the disposal guidelines of several waste categories. Served from the snapshot, or else with one query
+   * that outer-joins the categories to their disposal guidelines, so that empty categories are told apart from missing ones.
+   * @param categoryIds The IDs of the waste categories.
+   * @return ServiceResponse containing the disposal guidelines found and the missing category ids.
+   */
+  @Override
+  public ServiceResponse<MultiGetResponse<DisposalGuidelineResponse>> getDisposalGuidelinesByCategories(List<Long> categoryIds) {
+    List<Long> distinctIds = batchRequestValidator.checkIds(categoryIds);
+    Map<Long, List<DisposalGuidelineResponse>> found = new HashMap<>();
+    if (catalogSnapshots.isEnabled()) {
+      for (Long categoryId : distinctIds) {
+        SortedIdIndex<DisposalGuidelineResponse> disposalGuidelines = catalogSnapshots.current().getDisposalGuidelinesOf(categoryId);
+        if (disposalGuidelines != null) {
+          found.put(categoryId, disposalGuidelines.getItems());
+        }
+      }
+    } else if (!distinctIds.isEmpty()) {
+      for (CategoryChildEntry entry : disposalGuidelineRepository.findEntriesByCategoryIdIn(distinctIds)) {
+        List<DisposalGuidelineResponse> disposalGuidelines = found.computeIfAbsent(entry.categoryId(), id -> new ArrayList<>());
+        if (entry.id() != null) {
+          disposalGuidelines.add(new DisposalGuidelineResponse(entry.id(), entry.text(), entry.categoryName()));
+        }
+      }
+    }
+
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+    return new ServiceResponse<>(MultiGetResponse.ofGroups(distinctIds, found), location);
   }
 
   /**
@@ -95,12 +250,14 @@ public class DisposalGuidelineServiceImpl implements DisposalGuidelineService {
    * @return ServiceResponse containing the created disposal guideline and its URI.
    */
   @Override
+  @Transactional
   public ServiceResponse<DisposalGuidelineResponse> createDisposalGuideline(DisposalGuidelineRequest request) {
     WasteCategory wasteCategory = wasteCategoryRepository.findById(request.getWasteCategoryId())
             .orElseThrow(() -> new ResourceNotFoundException("Waste category not found"));
 
     DisposalGuideline disposalGuideline = disposalGuidelineMapper.toEntity(request, wasteCategory);
     DisposalGuideline savedDisposalGuideline = disposalGuidelineRepository.save(disposalGuideline);
+    publishChange(CatalogChangeType.CREATED, savedDisposalGuideline);
 
     URI location = ServletUriComponentsBuilder.fromCurrentRequest()
             .path("/{id}")
@@ -110,6 +267,66 @@ public class DisposalGuidelineServiceImpl implements DisposalGuidelineService {
     return new ServiceResponse<>(disposalGuidelineMapper.toResponse(savedDisposalGuideline), location);
   }
 
+  /**
+   * Creates many disposal guidelines in one transaction.
+   * Each distinct waste category is resolved once with a single IN query, and the disposal guidelines are inserted
+   * with batched statements using ids from the pooled sequence. Invalid items and items that name an
+   * unknown waste category are reported individually and do not stop the others.
+   * @param requests The disposal guidelines to create.
+   * @return ServiceResponse containing one result per item, in request order.
+   */
+  @Override
+  @Transactional
+  public ServiceResponse<BatchResponse<DisposalGuidelineResponse>> createDisposalGuidelines(List<DisposalGuidelineRequest> requests) {
+    batchRequestValidator.checkSize(requests);
+
+    // Resolve every distinct waste category once
+    Set<Long> categoryIds = requests.stream()
+            .filter(Objects::nonNull)
+            .map(DisposalGuidelineRequest::getWasteCategoryId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    Map<Long, WasteCategory> wasteCategories = wasteCategoryRepository.findAllById(categoryIds).stream()
+            .collect(Collectors.toMap(WasteCategory::getId, Function.identity()));
+
+    @SuppressWarnings("unchecked")
+    BatchItemResult<DisposalGuidelineResponse>[] results = new BatchItemResult[requests.size()];
+    List<DisposalGuideline> disposalGuidelines = new ArrayList<>();
+    List<Integer> indexes = new ArrayList<>();
+    for (int index = 0; index < requests.size(); index++) {
+      DisposalGuidelineRequest request = requests.get(index);
+      String error = batchRequestValidator.validate(request);
+      if (error != null) {
+        results[index] = BatchItemResult.failed(index, 400, error);
+        continue;
+      }
+      WasteCategory wasteCategory = wasteCategories.get(request.getWasteCategoryId());
+      if (wasteCategory == null) {
+        results[index] = BatchItemResult.failed(index, 404, "Waste category not found");
+        continue;
+      }
+      disposalGuidelines.add(disposalGuidelineMapper.toEntity(request, wasteCategory));
+      indexes.add(index);
+    }
+
+    // Ids come from the sequence, so the inserts are sent in JDBC batches at flush time
+    disposalGuidelineRepository.saveAll(disposalGuidelines);
+
+    List<CatalogChange> changes = new ArrayList<>(disposalGuidelines.size());
+    for (int i = 0; i < disposalGuidelines.size(); i++) {
+      DisposalGuideline saved = disposalGuidelines.get(i);
+      results[indexes.get(i)] = BatchItemResult.created(indexes.get(i), disposalGuidelineMapper.toResponse(saved));
+      changes.add(new CatalogChange(CatalogEntityType.DISPOSAL_GUIDELINE, CatalogChangeType.CREATED,
+              saved.getId(), saved.getWasteCategory().getId(), saved.getDisposalGuideline()));
+    }
+    if (!changes.isEmpty()) {
+      eventPublisher.publishEvent(new CatalogChangedEvent(changes));
+    }
+
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+    return new ServiceResponse<>(new BatchResponse<>(Arrays.asList(results)), location);
+  }
+
   /**
    * Updates an existing disposal guideline.
    * @param id The ID of the disposal guideline to be updated.
@@ -117,6 +334,7 @@ public class DisposalGuidelineServiceImpl implements DisposalGuidelineService {
    * @return ServiceResponse containing the updated disposal guideline.
    */
   @Override
+  @Transactional
   public ServiceResponse<DisposalGuidelineResponse> updateDisposalGuideline(Long id, DisposalGuidelineRequest request) {
     DisposalGuideline disposalGuideline = disposalGuidelineRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Disposal guideline not found"));
@@ -127,6 +345,7 @@ public class DisposalGuidelineServiceImpl implements DisposalGuidelineService {
     disposalGuidelineMapper.updateEntity(disposalGuideline, request, wasteCategory);
 
     DisposalGuideline updatedDisposalGuideline = disposalGuidelineRepository.save(disposalGuideline);
+    publishChange(CatalogChangeType.UPDATED, updatedDisposalGuideline);
 
     URI location = ServletUriComponentsBuilder
             .fromCurrentRequest()
@@ -141,12 +360,77 @@ public class DisposalGuidelineServiceImpl implements DisposalGuidelineService {
    * @return A message indicating successful deletion.
    */
   @Override
+  @Transactional
   public String deleteDisposalGuideline(Long id) {
     DisposalGuideline disposalGuideline = disposalGuidelineRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Disposal guideline not found"));
 
     disposalGuidelineRepository.delete(disposalGuideline);
+    eventPublisher.publishEvent(new CatalogChangedEvent(List.of(
+            CatalogChange.deleted(CatalogEntityType.DISPOSAL_GUIDELINE, id, disposalGuideline.getWasteCategory().getId()))));
 
     return "Disposal guideline deleted successfully";
   }
+
+  /**
+   * Evicts the cached reads affected by committed catalog changes.
+   * A changed guideline evicts its own entry, the unrestricted pages, the pages of its category and any
+   * page that still lists it. A deleted category also evicts its pages, so that they report it as missing.
+   * @param event The committed changes.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onCatalogChanged(CatalogChangedEvent event) {
+    for (CatalogChange change : event.getChanges()) {
+      if (change.getEntityType() == CatalogEntityType.DISPOSAL_GUIDELINE) {
+        disposalGuidelinesById.invalidate(change.getId());
+        disposalGuidelinePages.invalidateIf((key, page) -> key.categoryId() == null
+                || key.categoryId().equals(change.getCategoryId())
+                || page.getItems().stream().anyMatch(guideline -> guideline.getId().equals(change.getId())));
+      } else if (change.getEntityType() == CatalogEntityType.WASTE_CATEGORY
+              && change.getChangeType() == CatalogChangeType.DELETED) {
+        disposalGuidelinePages.invalidateIf((key, page) -> change.getId().equals(key.categoryId()));
+      }
+    }
+  }
+
+  /**
+   * Loads a single disposal guideline for the cache.
+   * @param id The ID of the disposal guideline.
+   * @return The mapped disposal guideline.
+   */
+  private DisposalGuidelineResponse loadDisposalGuideline(Long id) {
+    DisposalGuideline disposalGuideline = disposalGuidelineRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Disposal guideline not found"));
+    return disposalGuidelineMapper.toResponse(disposalGuideline);
+  }
+
+  /**
+   * Loads one page of disposal guidelines for the cache, restricted to a category if the key names one.
+   * @param key The page to load.
+   * @return The mapped page.
+   */
+  private KeysetPage<DisposalGuidelineResponse> loadPage(PageKey key) {
+    Limit limit = Limit.of(key.size() + 1);
+    List<DisposalGuideline> rows;
+    if (key.categoryId() == null) {
+      rows = disposalGuidelineRepository.findByIdGreaterThanOrderByIdAsc(key.afterId(), limit);
+    } else {
+      // Fetch the waste category or throw an exception if not found
+      WasteCategory category = wasteCategoryRepository.findById(key.categoryId())
+              .orElseThrow(() -> new ResourceNotFoundException("Waste category not found"));
+      rows = disposalGuidelineRepository.findByWasteCategoryAndIdGreaterThanOrderByIdAsc(category, key.afterId(), limit);
+    }
+    return KeysetPage.of(rows, key.size(), DisposalGuideline::getId).map(disposalGuidelineMapper::toResponse);
+  }
+
+  /**
+   * Publishes a created or updated disposal guideline to the catalog change listeners.
+   * @param changeType The kind of change.
+   * @param disposalGuideline The saved disposal guideline.
+   */
+  private void publishChange(CatalogChangeType changeType, DisposalGuideline disposalGuideline) {
+    eventPublisher.publishEvent(new CatalogChangedEvent(List.of(new CatalogChange(CatalogEntityType.DISPOSAL_GUIDELINE,
+            changeType, disposalGuideline.getId(), disposalGuideline.getWasteCategory().getId(),
+            disposalGuideline.getDisposalGuideline()))));
+  }
 }
@@ -1,24 +1,60 @@
 package com.enviro.assessment.grad001.atisomofokeng.service.Implementation;
 
+import com.enviro.assessment.grad001.atisomofokeng.cache.CatalogCache;
+import com.enviro.assessment.grad001.atisomofokeng.cache.CatalogCacheManager;
+import com.enviro.assessment.grad001.atisomofokeng.config.CatalogProperties;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChange;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangeType;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangedEvent;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogEntityType;
 import com.enviro.assessment.grad001.atisomofokeng.exception.ResourceNotFoundException;
 import com.enviro.assessment.grad001.atisomofokeng.model.RecyclingTip;
 import com.enviro.assessment.grad001.atisomofokeng.model.WasteCategory;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.mapper.RecyclingTipMapper;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.request.RecyclingTipRequest;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.BatchItemResult;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.BatchResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.RecyclingTipResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.MultiGetResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.repository.CategoryChildEntry;
 import com.enviro.assessment.grad001.atisomofokeng.repository.RecyclingTipRepository;
 import com.enviro.assessment.grad001.atisomofokeng.repository.WasteCategoryRepository;
 import com.enviro.assessment.grad001.atisomofokeng.service.RecyclingTipService;
+import com.enviro.assessment.grad001.atisomofokeng.service.batch.BatchRequestValidator;
+import com.enviro.assessment.grad001.atisomofokeng.service.export.ExportFormat;
+import com.enviro.assessment.grad001.atisomofokeng.service.export.JsonExportWriter;
+import com.enviro.assessment.grad001.atisomofokeng.service.pagination.KeysetCursor;
+import com.enviro.assessment.grad001.atisomofokeng.service.pagination.KeysetPage;
+import com.enviro.assessment.grad001.atisomofokeng.service.pagination.PageKey;
+import com.enviro.assessment.grad001.atisomofokeng.snapshot.CatalogSnapshotHolder;
+import com.enviro.assessment.grad001.atisomofokeng.snapshot.SortedIdIndex;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.OutputStream;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for managing recycling tips. This service handles the CRUD operations for recycling tips.
+ * Reads are served from the in-memory catalog snapshot, or, when the database is the configured read source,
+ * through read-through caches that are invalidated by the committed changes of every write.
  */
 @Service
 public class RecyclingTipServiceImpl implements RecyclingTipService {
@@ -26,50 +62,107 @@ public class RecyclingTipServiceImpl implements RecyclingTipService {
   private final RecyclingTipRepository recyclingTipRepository;
   private final WasteCategoryRepository wasteCategoryRepository;
   private final RecyclingTipMapper recyclingTipMapper;
+  private final CatalogProperties catalogProperties;
+  private final JsonExportWriter jsonExportWriter;
+  private final BatchRequestValidator batchRequestValidator;
+  private final ApplicationEventPublisher eventPublisher;
+  private final CatalogSnapshotHolder catalogSnapshots;
+  private final TransactionTemplate readOnlyTransaction;
+  private final CatalogCache<Long, RecyclingTipResponse> recyclingTipsById;
+  private final CatalogCache<PageKey, KeysetPage<RecyclingTipResponse>> recyclingTipPages;
 
   public RecyclingTipServiceImpl(RecyclingTipRepository recyclingTipRepository,
                                  WasteCategoryRepository wasteCategoryRepository,
-                                 RecyclingTipMapper recyclingTipMapper) {
+                                 RecyclingTipMapper recyclingTipMapper,
+                                 CatalogProperties catalogProperties,
+                                 JsonExportWriter jsonExportWriter,
+                                 BatchRequestValidator batchRequestValidator,
+                                 ApplicationEventPublisher eventPublisher,
+                                 CatalogCacheManager catalogCacheManager,
+                                 CatalogSnapshotHolder catalogSnapshots,
+                                 PlatformTransactionManager transactionManager) {
     this.recyclingTipRepository = recyclingTipRepository;
     this.wasteCategoryRepository = wasteCategoryRepository;
     this.recyclingTipMapper = recyclingTipMapper;
+    this.catalogProperties = catalogProperties;
+    this.jsonExportWriter = jsonExportWriter;
+    this.batchRequestValidator = batchRequestValidator;
+    this.eventPublisher = eventPublisher;
+    this.catalogSnapshots = catalogSnapshots;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.recyclingTipsById = catalogCacheManager.create("recyclingTipsById",
+            this::loadRecyclingTip, (id, tip) -> 1);
+    this.recyclingTipPages = catalogCacheManager.create("recyclingTipPages",
+            this::loadPage, (key, page) -> page.getItems().size());
   }
 
   /**
-   * Retrieves all recycling tips from the repository.
-   * @return ServiceResponse containing all recycling tips.
+   * Retrieves one page of recycling tips using a seek query on the id.
+   * @param cursor The cursor returned with the previous page, or null for the first page.
+   * @param pageSize The requested page size, or null for the configured default.
+   * @return ServiceResponse containing a page of recycling tips and the next cursor.
    */
   @Override
-  public ServiceResponse<List<RecyclingTipResponse>> getAllRecyclingTips() {
-    List<RecyclingTipResponse> recyclingTips = recyclingTipRepository.findAll().stream()
-            .map(recyclingTipMapper::toResponse)
-            .collect(Collectors.toList());
+  public ServiceResponse<List<RecyclingTipResponse>> getAllRecyclingTips(String cursor, Integer pageSize) {
+    int size = catalogProperties.getPagination().resolve(pageSize);
+    long afterId = KeysetCursor.decode(cursor);
+    KeysetPage<RecyclingTipResponse> page = catalogSnapshots.isEnabled()
+            ? catalogSnapshots.current().getRecyclingTips().page(afterId, size)
+            : recyclingTipPages.get(new PageKey(null, afterId, size));
 
     URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
-    return new ServiceResponse<>(recyclingTips, location);
+    return new ServiceResponse<>(page.getItems(), location, page.getNextCursor());
   }
 
   /**
-   * Retrieves recycling tips for a specific waste category.
+   * Retrieves one page of recycling tips for a specific waste category using a seek query on the id.
    * @param categoryId The ID of the waste category to fetch tips for.
-   * @return ServiceResponse containing the recycling tips for the given category.
+   * @param cursor The cursor returned with the previous page, or null for the first page.
+   * @param pageSize The requested page size, or null for the configured default.
+   * @return ServiceResponse containing a page of recycling tips for the given category and the next cursor.
    */
   @Override
-  public ServiceResponse<List<RecyclingTipResponse>> getRecyclingTipsByCategory(Long categoryId) {
-    // Fetch the waste category or throw an exception if not found
-    WasteCategory category = wasteCategoryRepository.findById(categoryId)
-            .orElseThrow(() -> new ResourceNotFoundException("Waste category not found"));
-
-    // Fetch and map the recycling tips related to the category
-    List<RecyclingTipResponse> recyclingTips = recyclingTipRepository.findByWasteCategory(category).stream()
-            .map(recyclingTipMapper::toResponse)
-            .collect(Collectors.toList());
+  public ServiceResponse<List<RecyclingTipResponse>> getRecyclingTipsByCategory(Long categoryId, String cursor, Integer pageSize) {
+    int size = catalogProperties.getPagination().resolve(pageSize);
+    long afterId = KeysetCursor.decode(cursor);
+    KeysetPage<RecyclingTipResponse> page;
+    if (catalogSnapshots.isEnabled()) {
+      SortedIdIndex<RecyclingTipResponse> recyclingTips = catalogSnapshots.current().getRecyclingTipsOf(categoryId);
+      if (recyclingTips == null) {
+        throw new ResourceNotFoundException("Waste category not found");
+      }
+      page = recyclingTips.page(afterId, size);
+    } else {
+      page = recyclingTipPages.get(new PageKey(categoryId, afterId, size));
+    }
 
     URI location = ServletUriComponentsBuilder
             .fromCurrentRequest()
-            .build(category.getId());
+            .build(categoryId);
+
+    return new ServiceResponse<>(page.getItems(), location, page.getNextCursor());
+  }
 
-    return new ServiceResponse<>(recyclingTips, location);
+  /**
+   * Streams all recycling tips to the output stream, reading them through a forward-only cursor.
+   * Rows are projected straight into response DTOs, so memory use does not grow with the table size.
+   * When reads are served from the snapshot, its rows are written instead and no connection is used.
+   * @param format The output format.
+   * @param out The output stream to write to.
+   * @return The number of recycling tips written.
+   */
+  @Override
+  public long exportRecyclingTips(ExportFormat format, OutputStream out) {
+    if (catalogSnapshots.isEnabled()) {
+      return jsonExportWriter.write(catalogSnapshots.current().getRecyclingTips().getItems().stream(), format, out);
+    }
+    Long written = readOnlyTransaction.execute(status -> {
+      try (Stream<RecyclingTipResponse> rows = recyclingTipRepository.streamAllAsResponses()) {
+        return jsonExportWriter.write(rows, format, out);
+      }
+    });
+    return written == null ? 0 : written;
   }
 
   /**
@@ -80,13 +173,75 @@ public class RecyclingTipServiceImpl implements RecyclingTipService {
   @Override
   public ServiceResponse<RecyclingTipResponse> getRecyclingTipById(Long id) {
     // Fetch the recycling tip or throw an exception if not found
-    RecyclingTip recyclingTip = recyclingTipRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Recycling tip not found"));
+    RecyclingTipResponse recyclingTip = catalogSnapshots.isEnabled()
+            ? catalogSnapshots.current().getRecyclingTips().get(id)
+            : recyclingTipsById.get(id);
+    if (recyclingTip == null) {
+      throw new ResourceNotFoundException("Recycling tip not found");
+    }
 
     URI location = ServletUriComponentsBuilder
             .fromCurrentRequest().build(recyclingTip.getId());
 
-    return new ServiceResponse<>(recyclingTipMapper.toResponse(recyclingTip), location);
+    return new ServiceResponse<>(recyclingTip, location);
+  }
+
+  /**
+   * Retrieves several recycling tips by id. Served from the snapshot, or else with one IN query that joins the
+   * category name; ids that do not exist are reported instead of failing the request.
+   * @param ids The IDs of the recycling tips.
+   * @return ServiceResponse containing the recycling tips found and the missing ids.
+   */
+  @Override
+  public ServiceResponse<MultiGetResponse<RecyclingTipResponse>> getRecyclingTipsByIds(List<Long> ids) {
+    List<Long> distinctIds = batchRequestValidator.checkIds(ids);
+    Map<Long, RecyclingTipResponse> found = new HashMap<>();
+    if (catalogSnapshots.isEnabled()) {
+      SortedIdIndex<RecyclingTipResponse> recyclingTips = catalogSnapshots.current().getRecyclingTips();
+      for (Long id : distinctIds) {
+        RecyclingTipResponse recyclingTip = recyclingTips.get(id);
+        if (recyclingTip != null) {
+          found.put(id, recyclingTip);
+        }
+      }
+    } else if (!distinctIds.isEmpty()) {
+      for (RecyclingTipResponse recyclingTip : recyclingTipRepository.findResponsesByIdIn(distinctIds)) {
+        found.put(recyclingTip.getId(), recyclingTip);
+      }
+    }
+
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+    return new ServiceResponse<>(MultiGetResponse.of(distinctIds, found), location);
+  }
+
+  /**
+   * Retrieves the recycling tips of several waste categories. Served from the snapshot, or else with one query
+   * that outer-joins the categories to their recycling tips, so that empty categories are told apart from missing ones.
+   * @param categoryIds The IDs of the waste categories.
+   * @return ServiceResponse containing the recycling tips found and the missing category ids.
+   */
+  @Override
+  public ServiceResponse<MultiGetResponse<RecyclingTipResponse>> getRecyclingTipsByCategories(List<Long> categoryIds) {
+    List<Long> distinctIds = batchRequestValidator.checkIds(categoryIds);
+    Map<Long, List<RecyclingTipResponse>> found = new HashMap<>();
+    if (catalogSnapshots.isEnabled()) {
+      for (Long categoryId : distinctIds) {
+        SortedIdIndex<RecyclingTipResponse> recyclingTips = catalogSnapshots.current().getRecyclingTipsOf(categoryId);
+        if (recyclingTips != null) {
+          found.put(categoryId, recyclingTips.getItems());
+        }
+      }
+    } else if (!distinctIds.isEmpty()) {
+      for (CategoryChildEntry entry : recyclingTipRepository.findEntriesByCategoryIdIn(distinctIds)) {
+        List<RecyclingTipResponse> recyclingTips = found.computeIfAbsent(entry.categoryId(), id -> new ArrayList<>());
+        if (entry.id() != null) {
+          recyclingTips.add(new RecyclingTipResponse(entry.id(), entry.text(), entry.categoryName()));
+        }
+      }
+    }
+
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+    return new ServiceResponse<>(MultiGetResponse.ofGroups(distinctIds, found), location);
   }
 
   /**
@@ -95,6 +250,7 @@ public class RecyclingTipServiceImpl implements RecyclingTipService {
    * @return ServiceResponse containing the created recycling tip and its URI.
    */
   @Override
+  @Transactional
   public ServiceResponse<RecyclingTipResponse> createRecyclingTip(RecyclingTipRequest request) {
     // Fetch the waste category to associate with the new tip or throw an exception if not found
     WasteCategory wasteCategory = wasteCategoryRepository.findById(request.getWasteCategoryId())
@@ -105,6 +261,7 @@ public class RecyclingTipServiceImpl implements RecyclingTipService {
 
     // Save the entity to the repository
     RecyclingTip savedRecyclingTip = recyclingTipRepository.save(recyclingTip);
+    publishChange(CatalogChangeType.CREATED, savedRecyclingTip);
 
     // Generate the URI for the created resource
     URI location = ServletUriComponentsBuilder.fromCurrentRequest()
@@ -115,6 +272,66 @@ public class RecyclingTipServiceImpl implements RecyclingTipService {
     return new ServiceResponse<>(recyclingTipMapper.toResponse(savedRecyclingTip), location);
   }
 
+  /**
+   * Creates many recycling tips in one transaction.
+   * Each distinct waste category is resolved once with a single IN query, and the recycling tips are inserted
+   * with batched statements using ids from the pooled sequence. Invalid items and items that name an
+   * unknown waste category are reported individually and do not stop the others.
+   * @param requests The recycling tips to create.
+   * @return ServiceResponse containing one result per item, in request order.
+   */
+  @Override
+  @Transactional
+  public ServiceResponse<BatchResponse<RecyclingTipResponse>> createRecyclingTips(List<RecyclingTipRequest> requests) {
+    batchRequestValidator.checkSize(requests);
+
+    // Resolve every distinct waste category once
+    Set<Long> categoryIds = requests.stream()
+            .filter(Objects::nonNull)
+            .map(RecyclingTipRequest::getWasteCategoryId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    Map<Long, WasteCategory> wasteCategories = wasteCategoryRepository.findAllById(categoryIds).stream()
+            .collect(Collectors.toMap(WasteCategory::getId, Function.identity()));
+
+    @SuppressWarnings("unchecked")
+    BatchItemResult<RecyclingTipResponse>[] results = new BatchItemResult[requests.size()];
+    List<RecyclingTip> recyclingTips = new ArrayList<>();
+    List<Integer> indexes = new ArrayList<>();
+    for (int index = 0; index < requests.size(); index++) {
+      RecyclingTipRequest request = requests.get(index);
+      String error = batchRequestValidator.validate(request);
+      if (error != null) {
+        results[index] = BatchItemResult.failed(index, 400, error);
+        continue;
+      }
+      WasteCategory wasteCategory = wasteCategories.get(request.getWasteCategoryId());
+      if (wasteCategory == null) {
+        results[index] = BatchItemResult.failed(index, 404, "Waste category not found");
+        continue;
+      }
+      recyclingTips.add(recyclingTipMapper.toEntity(request, wasteCategory));
+      indexes.add(index);
+    }
+
+    // Ids come from the sequence, so the inserts are sent in JDBC batches at flush time
+    recyclingTipRepository.saveAll(recyclingTips);
+
+    List<CatalogChange> changes = new ArrayList<>(recyclingTips.size());
+    for (int i = 0; i < recyclingTips.size(); i++) {
+      RecyclingTip saved = recyclingTips.get(i);
+      results[indexes.get(i)] = BatchItemResult.created(indexes.get(i), recyclingTipMapper.toResponse(saved));
+      changes.add(new CatalogChange(CatalogEntityType.RECYCLING_TIP, CatalogChangeType.CREATED,
+              saved.getId(), saved.getWasteCategory().getId(), saved.getRecyclingTip()));
+    }
+    if (!changes.isEmpty()) {
+      eventPublisher.publishEvent(new CatalogChangedEvent(changes));
+    }
+
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+    return new ServiceResponse<>(new BatchResponse<>(Arrays.asList(results)), location);
+  }
+
   /**
    * Updates an existing recycling tip with new details.
    * @param id The ID of the recycling tip to be updated.
@@ -122,6 +339,7 @@ public class RecyclingTipServiceImpl implements RecyclingTipService {
    * @return ServiceResponse containing the updated recycling tip details.
    */
   @Override
+  @Transactional
   public ServiceResponse<RecyclingTipResponse> updateRecyclingTip(Long id, RecyclingTipRequest request) {
     // Fetch the recycling tip to update or throw an exception if not found
     RecyclingTip recyclingTip = recyclingTipRepository.findById(id)
@@ -136,6 +354,7 @@ public class RecyclingTipServiceImpl implements RecyclingTipService {
 
     // Save the updated entity to the repository
     RecyclingTip updatedRecyclingTip = recyclingTipRepository.save(recyclingTip);
+    publishChange(CatalogChangeType.UPDATED, updatedRecyclingTip);
 
     URI location = ServletUriComponentsBuilder
             .fromCurrentRequest()
@@ -150,6 +369,7 @@ public class RecyclingTipServiceImpl implements RecyclingTipService {
    * @return ServiceResponse indicating successful deletion.
    */
   @Override
+  @Transactional
   public String deleteRecyclingTip(Long id) {
     // Fetch the recycling tip to delete or throw an exception if not found
     RecyclingTip recyclingTip = recyclingTipRepository.findById(id)
@@ -157,7 +377,71 @@ public class RecyclingTipServiceImpl implements RecyclingTipService {
 
     // Delete the entity from the repository
     recyclingTipRepository.delete(recyclingTip);
+    eventPublisher.publishEvent(new CatalogChangedEvent(List.of(
+            CatalogChange.deleted(CatalogEntityType.RECYCLING_TIP, id, recyclingTip.getWasteCategory().getId()))));
 
     return "Recycling tip deleted successfully";
   }
+
+  /**
+   * Evicts the cached reads affected by committed catalog changes.
+   * A changed tip evicts its own entry, the unrestricted pages, the pages of its category and any
+   * page that still lists it (e.g. the pages of the category it moved away from).
+   * A deleted category also evicts its pages, so that they report it as missing.
+   * @param event The committed changes.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onCatalogChanged(CatalogChangedEvent event) {
+    for (CatalogChange change : event.getChanges()) {
+      if (change.getEntityType() == CatalogEntityType.RECYCLING_TIP) {
+        recyclingTipsById.invalidate(change.getId());
+        recyclingTipPages.invalidateIf((key, page) -> key.categoryId() == null
+                || key.categoryId().equals(change.getCategoryId())
+                || page.getItems().stream().anyMatch(tip -> tip.getId().equals(change.getId())));
+      } else if (change.getEntityType() == CatalogEntityType.WASTE_CATEGORY
+              && change.getChangeType() == CatalogChangeType.DELETED) {
+        recyclingTipPages.invalidateIf((key, page) -> change.getId().equals(key.categoryId()));
+      }
+    }
+  }
+
+  /**
+   * Loads a single recycling tip for the cache.
+   * @param id The ID of the recycling tip.
+   * @return The mapped recycling tip.
+   */
+  private RecyclingTipResponse loadRecyclingTip(Long id) {
+    RecyclingTip recyclingTip = recyclingTipRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Recycling tip not found"));
+    return recyclingTipMapper.toResponse(recyclingTip);
+  }
+
+  /**
+   * Loads one page of recycling tips for the cache, restricted to a category if the key names one.
+   * @param key The page to load.
+   * @return The mapped page.
+   */
+  private KeysetPage<RecyclingTipResponse> loadPage(PageKey key) {
+    Limit limit = Limit.of(key.size() + 1);
+    List<RecyclingTip> rows;
+    if (key.categoryId() == null) {
+      rows = recyclingTipRepository.findByIdGreaterThanOrderByIdAsc(key.afterId(), limit);
+    } else {
+      // Fetch the waste category or throw an exception if not found
+      WasteCategory category = wasteCategoryRepository.findById(key.categoryId())
+              .orElseThrow(() -> new ResourceNotFoundException("Waste category not found"));
+      rows = recyclingTipRepository.findByWasteCategoryAndIdGreaterThanOrderByIdAsc(category, key.afterId(), limit);
+    }
+    return KeysetPage.of(rows, key.size(), RecyclingTip::getId).map(recyclingTipMapper::toResponse);
+  }
+
+  /**
+   * Publishes a created or updated recycling tip to the catalog change listeners.
+   * @param changeType The kind of change.
+   * @param recyclingTip The saved recycling tip.
+   */
+  private void publishChange(CatalogChangeType changeType, RecyclingTip recyclingTip) {
+    eventPublisher.publishEvent(new CatalogChangedEvent(List.of(new CatalogChange(CatalogEntityType.RECYCLING_TIP,
+            changeType, recyclingTip.getId(), recyclingTip.getWasteCategory().getId(), recyclingTip.getRecyclingTip()))));
+  }
 }
@@ -0,0 +1,52 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.Implementation;
+
+import com.enviro.assessment.grad001.atisomofokeng.config.CatalogProperties;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.SearchHitResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.search.CatalogSearchIndex;
+import com.enviro.assessment.grad001.atisomofokeng.search.SearchHit;
+import com.enviro.assessment.grad001.atisomofokeng.search.SearchType;
+import com.enviro.assessment.grad001.atisomofokeng.service.SearchService;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Service implementation for full-text search. Queries are answered from the in-process
+ * {@link CatalogSearchIndex} without touching the database.
+ */
+@Service
+public class SearchServiceImpl implements SearchService {
+
+  private final CatalogSearchIndex catalogSearchIndex;
+  private final CatalogProperties catalogProperties;
+
+  public SearchServiceImpl(CatalogSearchIndex catalogSearchIndex, CatalogProperties catalogProperties) {
+    this.catalogSearchIndex = catalogSearchIndex;
+    this.catalogProperties = catalogProperties;
+  }
+
+  /**
+   * Searches the catalog, ranking matches with BM25.
+   * @param query The search text.
+   * @param categoryId Only return results of this waste category, or null for all.
+   * @param type Only return results of this type, or null for all.
+   * @param limit The maximum number of results, or null for the configured default.
+   * @return ServiceResponse containing the results, best first.
+   */
+  @Override
+  public ServiceResponse<List<SearchHitResponse>> search(String query, Long categoryId, SearchType type, Integer limit) {
+    List<SearchHit> hits = catalogSearchIndex.search(query, categoryId,
+            type == null ? null : type.getEntityType(), catalogProperties.getSearch().resolve(limit));
+
+    List<SearchHitResponse> results = hits.stream()
+            .map(hit -> new SearchHitResponse(SearchType.of(hit.type()).name(), hit.id(), hit.categoryId(),
+                    hit.categoryName(), hit.text(), hit.score()))
+            .toList();
+
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+    return new ServiceResponse<>(results, location);
+  }
+}
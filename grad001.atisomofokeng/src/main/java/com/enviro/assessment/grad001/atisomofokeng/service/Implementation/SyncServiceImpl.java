@@ -0,0 +1,163 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.Implementation;
+
+import com.enviro.assessment.grad001.atisomofokeng.config.CatalogProperties;
+import com.enviro.assessment.grad001.atisomofokeng.config.ThreadFactories;
+import com.enviro.assessment.grad001.atisomofokeng.model.CatalogChangeRecord;
+import com.enviro.assessment.grad001.atisomofokeng.model.SyncState;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.CatalogChangeResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.SyncResponse;
+import com.enviro.assessment.grad001.atisomofokeng.repository.CatalogChangeRecordRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.SyncStateRepository;
+import com.enviro.assessment.grad001.atisomofokeng.service.SyncService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service implementation for delta synchronization. Changes are read from the change log by revision, so the
+ * cost of a sync grows with the number of changes since the client's revision, not with the catalog size.
+ * The log is compacted in the background; a client whose revision is older than the compacted horizon is told
+ * to reset, i.e. to reload the catalog bundle and sync from its revision.
+ */
+@Service
+public class SyncServiceImpl implements SyncService {
+
+  private static final Logger log = LoggerFactory.getLogger(SyncServiceImpl.class);
+
+  private final CatalogChangeRecordRepository changeRecordRepository;
+  private final SyncStateRepository syncStateRepository;
+  private final CatalogProperties.Sync properties;
+  private final TransactionTemplate transaction;
+  private final ScheduledExecutorService compactions;
+
+  public SyncServiceImpl(CatalogChangeRecordRepository changeRecordRepository,
+                         SyncStateRepository syncStateRepository,
+                         CatalogProperties catalogProperties,
+                         PlatformTransactionManager transactionManager,
+                         ThreadFactories threadFactories) {
+    this.changeRecordRepository = changeRecordRepository;
+    this.syncStateRepository = syncStateRepository;
+    this.properties = catalogProperties.getSync();
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.compactions = Executors.newSingleThreadScheduledExecutor(threadFactories.named("change-log-compaction"));
+  }
+
+  /**
+   * Reads one page of the change log after a revision, keeping only the latest change of each entity.
+   * @param since The last revision the client has applied.
+   * @param limit The maximum number of log records to read, or null for the configured default.
+   * @return ServiceResponse containing the changes and the next revision, or a reset.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public ServiceResponse<SyncResponse> getChangesSince(long since, Integer limit) {
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+    long horizon = horizon();
+    long latestRevision = currentRevision();
+    // Ahead of the log: the revision comes from another database, e.g. before a restart
+    if (since < horizon || since > latestRevision) {
+      return new ServiceResponse<>(new SyncResponse(since, latestRevision, false, true, List.of()), location);
+    }
+
+    int size = properties.resolve(limit);
+    List<CatalogChangeRecord> records = changeRecordRepository.findByIdGreaterThanOrderByIdAsc(since, Limit.of(size + 1));
+    boolean hasMore = records.size() > size;
+    if (hasMore) {
+      records = records.subList(0, size);
+    }
+
+    // Latest change per entity, in the order of those latest changes
+    Map<String, CatalogChangeRecord> latestChanges = new LinkedHashMap<>();
+    for (CatalogChangeRecord record : records) {
+      String key = record.getEntityType() + ":" + record.getEntityId();
+      latestChanges.remove(key);
+      latestChanges.put(key, record);
+    }
+    List<CatalogChangeResponse> changes = latestChanges.values().stream()
+            .map(record -> new CatalogChangeResponse(record.getId(), record.getEntityType().name(),
+                    record.getChangeType().name(), record.getEntityId(), record.getCategoryId(), record.getText(),
+                    record.getCommittedAt()))
+            .toList();
+
+    long revision = records.isEmpty() ? since : records.get(records.size() - 1).getId();
+    return new ServiceResponse<>(new SyncResponse(since, revision, hasMore, false, changes), location);
+  }
+
+  /**
+   * @return the latest revision, 0 before the first change.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public long currentRevision() {
+    Long latest = changeRecordRepository.findLatestRevision();
+    // Compaction may have dropped the last records
+    return Math.max(latest == null ? 0 : latest, horizon());
+  }
+
+  /**
+   * Compacts the change log and advances the horizon past the dropped tombstones.
+   * @return The number of records dropped.
+   */
+  @Override
+  public int compact() {
+    Instant now = Instant.now();
+    Integer dropped = transaction.execute(status -> {
+      int count = changeRecordRepository.deleteSuperseded();
+      SyncState state = syncStateRepository.findById(SyncState.ID).orElseGet(SyncState::new);
+      Long lastTombstone = changeRecordRepository.findLastTombstoneBefore(now.minus(properties.getTombstoneRetention()));
+      if (lastTombstone != null) {
+        count += changeRecordRepository.deleteTombstonesThrough(lastTombstone);
+        state.setHorizon(Math.max(state.getHorizon(), lastTombstone));
+      }
+      state.setCompactedAt(now);
+      syncStateRepository.save(state);
+      return count;
+    });
+    return dropped == null ? 0 : dropped;
+  }
+
+  private long horizon() {
+    return syncStateRepository.findById(SyncState.ID).map(SyncState::getHorizon).orElse(0L);
+  }
+
+  /**
+   * Starts compacting the change log periodically once the application has started.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    long interval = properties.getCompactionInterval().toMillis();
+    compactions.scheduleWithFixedDelay(() -> {
+      try {
+        int dropped = compact();
+        if (dropped > 0) {
+          log.info("Compacted the catalog change log: dropped {} records", dropped);
+        }
+      } catch (RuntimeException e) {
+        log.warn("Could not compact the catalog change log", e);
+      }
+    }, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    compactions.shutdownNow();
+  }
+}
@@ -1,74 +1,226 @@
 package com.enviro.assessment.grad001.atisomofokeng.service.Implementation;
 
+import com.enviro.assessment.grad001.atisomofokeng.cache.CatalogCache;
+import com.enviro.assessment.grad001.atisomofokeng.cache.CatalogCacheManager;
+import com.enviro.assessment.grad001.atisomofokeng.config.CatalogProperties;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChange;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangeType;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangedEvent;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogEntityType;
+import com.enviro.assessment.grad001.atisomofokeng.exception.DuplicateResourceException;
 import com.enviro.assessment.grad001.atisomofokeng.exception.ResourceNotFoundException;
+import com.enviro.assessment.grad001.atisomofokeng.model.DisposalGuideline;
+import com.enviro.assessment.grad001.atisomofokeng.model.RecyclingTip;
 import com.enviro.assessment.grad001.atisomofokeng.model.WasteCategory;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.mapper.WasteCategoryMapper;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.request.WasteCategoryRequest;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.BatchItemResult;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.BatchResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.MultiGetResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.WasteCategoryResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.WasteCategorySuggestionResponse;
+import com.enviro.assessment.grad001.atisomofokeng.repository.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.RecyclingTipRepository;
 import com.enviro.assessment.grad001.atisomofokeng.repository.WasteCategoryRepository;
+import com.enviro.assessment.grad001.atisomofokeng.search.CategorySuggester;
 import com.enviro.assessment.grad001.atisomofokeng.service.WasteCategoryService;
+import com.enviro.assessment.grad001.atisomofokeng.service.batch.BatchRequestValidator;
+import com.enviro.assessment.grad001.atisomofokeng.service.pagination.KeysetCursor;
+import com.enviro.assessment.grad001.atisomofokeng.service.pagination.KeysetPage;
+import com.enviro.assessment.grad001.atisomofokeng.service.pagination.PageKey;
+import com.enviro.assessment.grad001.atisomofokeng.service.projection.WasteCategoryView;
+import com.enviro.assessment.grad001.atisomofokeng.snapshot.CatalogSnapshotHolder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Service implementation for managing waste categories. This service handles CRUD operations for waste categories.
+ * Reads are served from the in-memory catalog snapshot, or, when the database is the configured read source,
+ * through read-through caches that are invalidated by the committed changes of every write.
+ * Child collections are only read, and cached, when the client includes them.
  */
 @Service
 public class WasteCategoryServiceImpl implements WasteCategoryService {
 
+  // Cache keys: the same category or page is cached once per combination of embedded collections
+  private record CategoryKey(Long id, boolean recyclingTips, boolean disposalGuidelines) {
+  }
+
+  private record CategoryPageKey(PageKey page, boolean recyclingTips, boolean disposalGuidelines) {
+  }
+
   private final WasteCategoryRepository wasteCategoryRepository;
+  private final RecyclingTipRepository recyclingTipRepository;
+  private final DisposalGuidelineRepository disposalGuidelineRepository;
   private final WasteCategoryMapper wasteCategoryMapper;
+  private final CatalogProperties catalogProperties;
+  private final BatchRequestValidator batchRequestValidator;
+  private final ApplicationEventPublisher eventPublisher;
+  private final CatalogSnapshotHolder catalogSnapshots;
+  private final CategorySuggester categorySuggester;
+  private final CatalogCache<CategoryKey, WasteCategoryResponse> wasteCategoriesById;
+  private final CatalogCache<CategoryPageKey, KeysetPage<WasteCategoryResponse>> wasteCategoryPages;
 
-  public WasteCategoryServiceImpl(WasteCategoryRepository wasteCategoryRepository, WasteCategoryMapper wasteCategoryMapper) {
+  public WasteCategoryServiceImpl(WasteCategoryRepository wasteCategoryRepository,
+                                  RecyclingTipRepository recyclingTipRepository,
+                                  DisposalGuidelineRepository disposalGuidelineRepository,
+                                  WasteCategoryMapper wasteCategoryMapper,
+                                  CatalogProperties catalogProperties,
+                                  BatchRequestValidator batchRequestValidator,
+                                  ApplicationEventPublisher eventPublisher,
+                                  CatalogCacheManager catalogCacheManager,
+                                  CatalogSnapshotHolder catalogSnapshots,
+                                  CategorySuggester categorySuggester) {
     this.wasteCategoryRepository = wasteCategoryRepository;
+    this.recyclingTipRepository = recyclingTipRepository;
+    this.disposalGuidelineRepository = disposalGuidelineRepository;
     this.wasteCategoryMapper = wasteCategoryMapper;
+    this.catalogProperties = catalogProperties;
+    this.batchRequestValidator = batchRequestValidator;
+    this.eventPublisher = eventPublisher;
+    this.catalogSnapshots = catalogSnapshots;
+    this.categorySuggester = categorySuggester;
+    this.wasteCategoriesById = catalogCacheManager.create("wasteCategoriesById",
+            this::loadWasteCategory, (id, category) -> weightOf(category));
+    this.wasteCategoryPages = catalogCacheManager.create("wasteCategoryPages",
+            this::loadPage, (key, page) -> page.getItems().stream().mapToInt(WasteCategoryServiceImpl::weightOf).sum());
   }
 
   /**
-   * Retrieves all waste categories.
-   * @return ServiceResponse containing a list of all waste categories.
+   * Retrieves one page of waste categories using a seek query on the id.
+   * The included child collections of the page are loaded according to the configured fetch strategy.
+   * @param cursor The cursor returned with the previous page, or null for the first page.
+   * @param pageSize The requested page size, or null for the configured default.
+   * @param fields The attributes to return, or null for the id and name.
+   * @param include The child collections to embed, or null for none.
+   * @return ServiceResponse containing a page of waste categories and the next cursor.
    */
   @Override
-  public ServiceResponse<List<WasteCategoryResponse>> getAllWasteCategories() {
-    List<WasteCategoryResponse> wasteCategories = wasteCategoryRepository.findAll().stream()
-            .map(wasteCategoryMapper::toResponse)
-            .collect(Collectors.toList());
+  public ServiceResponse<List<WasteCategoryResponse>> getAllWasteCategories(String cursor, Integer pageSize,
+                                                                            String fields, String include) {
+    WasteCategoryView view = WasteCategoryView.parse(fields, include);
+    int size = catalogProperties.getPagination().resolve(pageSize);
+    long afterId = KeysetCursor.decode(cursor);
+    KeysetPage<WasteCategoryResponse> page = catalogSnapshots.isEnabled()
+            ? catalogSnapshots.current().getWasteCategories().page(afterId, size)
+            : wasteCategoryPages.get(new CategoryPageKey(new PageKey(null, afterId, size),
+                    view.recyclingTips(), view.disposalGuidelines()));
+    List<WasteCategoryResponse> wasteCategories = page.getItems().stream().map(view::apply).toList();
 
     URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
 
-    return new ServiceResponse<>(wasteCategories, location);
+    return new ServiceResponse<>(wasteCategories, location, page.getNextCursor());
+  }
+
+  /**
+   * Suggests waste categories for a typed prefix from the in-memory autocomplete trie.
+   * @param prefix The text typed so far.
+   * @param limit The maximum number of suggestions, or null for the configured default.
+   * @return ServiceResponse containing the matching categories, most popular first.
+   */
+  @Override
+  public ServiceResponse<List<WasteCategorySuggestionResponse>> suggestWasteCategories(String prefix, Integer limit) {
+    List<WasteCategorySuggestionResponse> suggestions = categorySuggester
+            .suggest(prefix, catalogProperties.getSuggest().resolve(limit)).stream()
+            .map(suggestion -> new WasteCategorySuggestionResponse(suggestion.id(), suggestion.name(),
+                    suggestion.popularity()))
+            .toList();
+
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+    return new ServiceResponse<>(suggestions, location);
   }
 
   /**
    * Retrieves a specific waste category by its ID.
    * @param id The ID of the waste category.
+   * @param fields The attributes to return, or null for the id and name.
+   * @param include The child collections to embed, or null for none.
    * @return ServiceResponse containing the waste category details.
    */
   @Override
-  public ServiceResponse<WasteCategoryResponse> getWasteCategoryById(Long id) {
-    WasteCategory wasteCategory = wasteCategoryRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Waste category not found"));
+  public ServiceResponse<WasteCategoryResponse> getWasteCategoryById(Long id, String fields, String include) {
+    WasteCategoryView view = WasteCategoryView.parse(fields, include);
+    WasteCategoryResponse wasteCategory = catalogSnapshots.isEnabled()
+            ? catalogSnapshots.current().getWasteCategories().get(id)
+            : wasteCategoriesById.get(new CategoryKey(id, view.recyclingTips(), view.disposalGuidelines()));
+    if (wasteCategory == null) {
+      throw new ResourceNotFoundException("Waste category not found");
+    }
 
-    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build(wasteCategory.getId());
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build(id);
+
+    return new ServiceResponse<>(view.apply(wasteCategory), location);
+  }
+
+  /**
+   * Retrieves several waste categories by id. Served from the snapshot, or else with one IN query for the
+   * categories and one statement per included collection and chunk; ids that do not exist are reported instead of
+   * failing the request.
+   * @param ids The IDs of the waste categories.
+   * @param fields The attributes to return, or null for the id and name.
+   * @param include The child collections to embed, or null for none.
+   * @return ServiceResponse containing the waste categories found and the missing ids.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public ServiceResponse<MultiGetResponse<WasteCategoryResponse>> getWasteCategoriesByIds(List<Long> ids, String fields,
+                                                                                          String include) {
+    WasteCategoryView view = WasteCategoryView.parse(fields, include);
+    List<Long> distinctIds = batchRequestValidator.checkIds(ids);
+    Map<Long, WasteCategoryResponse> found = new HashMap<>();
+    if (catalogSnapshots.isEnabled()) {
+      for (Long id : distinctIds) {
+        WasteCategoryResponse wasteCategory = catalogSnapshots.current().getWasteCategories().get(id);
+        if (wasteCategory != null) {
+          found.put(id, view.apply(wasteCategory));
+        }
+      }
+    } else if (!distinctIds.isEmpty()) {
+      for (WasteCategoryResponse wasteCategory : loadWithChildren(wasteCategoryRepository.findAllById(distinctIds),
+              view.recyclingTips(), view.disposalGuidelines())) {
+        found.put(wasteCategory.getId(), view.apply(wasteCategory));
+      }
+    }
 
-    return new ServiceResponse<>(wasteCategoryMapper.toResponse(wasteCategory), location);
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+    return new ServiceResponse<>(MultiGetResponse.of(distinctIds, found), location);
   }
 
   /**
    * Creates a new waste category and saves it to the repository.
    * @param request The request object containing the new waste category details.
    * @return ServiceResponse containing the created waste category and its URI.
+   * @throws DuplicateResourceException if a waste category with the same name already exists.
    */
   @Override
+  @Transactional
   public ServiceResponse<WasteCategoryResponse> createWasteCategory(WasteCategoryRequest request) {
+    if (wasteCategoryRepository.existsByCategoryName(request.getCategoryName())) {
+      throw new DuplicateResourceException("Waste category already exists");
+    }
     WasteCategory wasteCategory = WasteCategoryMapper.toEntity(request);
 
     WasteCategory savedWasteCategory = wasteCategoryRepository.save(wasteCategory);
+    eventPublisher.publishEvent(new CatalogChangedEvent(List.of(new CatalogChange(CatalogEntityType.WASTE_CATEGORY,
+            CatalogChangeType.CREATED, savedWasteCategory.getId(), savedWasteCategory.getId(),
+            savedWasteCategory.getCategoryName()))));
 
     URI location = ServletUriComponentsBuilder.fromCurrentRequest()
             .path("/{id}")
@@ -78,6 +230,67 @@ public class WasteCategoryServiceImpl implements WasteCategoryService {
     return new ServiceResponse<>(wasteCategoryMapper.toResponse(savedWasteCategory), location);
   }
 
+  /**
+   * Creates many waste categories in one transaction.
+   * Names that already exist are found with a single IN query, and the categories are inserted with batched
+   * statements using ids from the pooled sequence. Invalid items and duplicate names are reported individually
+   * and do not stop the others.
+   * @param requests The waste categories to create.
+   * @return ServiceResponse containing one result per item, in request order.
+   */
+  @Override
+  @Transactional
+  public ServiceResponse<BatchResponse<WasteCategoryResponse>> createWasteCategories(List<WasteCategoryRequest> requests) {
+    batchRequestValidator.checkSize(requests);
+
+    // Find the names that are already taken in one query
+    Set<String> names = requests.stream()
+            .filter(Objects::nonNull)
+            .map(WasteCategoryRequest::getCategoryName)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    Set<String> takenNames = wasteCategoryRepository.findByCategoryNameIn(names).stream()
+            .map(WasteCategory::getCategoryName)
+            .collect(Collectors.toCollection(HashSet::new));
+
+    @SuppressWarnings("unchecked")
+    BatchItemResult<WasteCategoryResponse>[] results = new BatchItemResult[requests.size()];
+    List<WasteCategory> wasteCategories = new ArrayList<>();
+    List<Integer> indexes = new ArrayList<>();
+    for (int index = 0; index < requests.size(); index++) {
+      WasteCategoryRequest request = requests.get(index);
+      String error = batchRequestValidator.validate(request);
+      if (error != null) {
+        results[index] = BatchItemResult.failed(index, 400, error);
+        continue;
+      }
+      // Also rejects a name that appears twice in the same request
+      if (!takenNames.add(request.getCategoryName())) {
+        results[index] = BatchItemResult.failed(index, 409, "Waste category already exists");
+        continue;
+      }
+      wasteCategories.add(WasteCategoryMapper.toEntity(request));
+      indexes.add(index);
+    }
+
+    // Ids come from the sequence, so the inserts are sent in JDBC batches at flush time
+    wasteCategoryRepository.saveAll(wasteCategories);
+
+    List<CatalogChange> changes = new ArrayList<>(wasteCategories.size());
+    for (int i = 0; i < wasteCategories.size(); i++) {
+      WasteCategory saved = wasteCategories.get(i);
+      results[indexes.get(i)] = BatchItemResult.created(indexes.get(i), wasteCategoryMapper.toResponse(saved));
+      changes.add(new CatalogChange(CatalogEntityType.WASTE_CATEGORY, CatalogChangeType.CREATED,
+              saved.getId(), saved.getId(), saved.getCategoryName()));
+    }
+    if (!changes.isEmpty()) {
+      eventPublisher.publishEvent(new CatalogChangedEvent(changes));
+    }
+
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+    return new ServiceResponse<>(new BatchResponse<>(Arrays.asList(results)), location);
+  }
+
   /**
    * Updates an existing waste category with new details.
    * @param id The ID of the waste category to be updated.
@@ -85,6 +298,7 @@ public class WasteCategoryServiceImpl implements WasteCategoryService {
    * @return ServiceResponse containing the updated waste category details.
    */
   @Override
+  @Transactional
   public ServiceResponse<WasteCategoryResponse> updateWasteCategory(Long id, WasteCategoryRequest request) {
     WasteCategory wasteCategory = wasteCategoryRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Waste category not found"));
@@ -93,6 +307,20 @@ public class WasteCategoryServiceImpl implements WasteCategoryService {
 
     WasteCategory updatedWasteCategory = wasteCategoryRepository.save(wasteCategory);
 
+    // The tips and guidelines carry the category name, so they change along with it.
+    List<CatalogChange> changes = new ArrayList<>();
+    changes.add(new CatalogChange(CatalogEntityType.WASTE_CATEGORY, CatalogChangeType.UPDATED,
+            id, id, updatedWasteCategory.getCategoryName()));
+    for (RecyclingTip tip : updatedWasteCategory.getRecyclingTips()) {
+      changes.add(new CatalogChange(CatalogEntityType.RECYCLING_TIP, CatalogChangeType.UPDATED,
+              tip.getId(), id, tip.getRecyclingTip()));
+    }
+    for (DisposalGuideline guideline : updatedWasteCategory.getDisposalGuidelines()) {
+      changes.add(new CatalogChange(CatalogEntityType.DISPOSAL_GUIDELINE, CatalogChangeType.UPDATED,
+              guideline.getId(), id, guideline.getDisposalGuideline()));
+    }
+    eventPublisher.publishEvent(new CatalogChangedEvent(changes));
+
     URI location = ServletUriComponentsBuilder
             .fromCurrentRequest()
             .build(updatedWasteCategory.getId());
@@ -106,11 +334,202 @@ public class WasteCategoryServiceImpl implements WasteCategoryService {
    * @return ServiceResponse indicating successful deletion.
    */
   @Override
+  @Transactional
   public String deleteWasteCategory(Long id) {
     WasteCategory wasteCategory = wasteCategoryRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Waste category not found"));
+
+    // Deleting a category cascades to its tips and guidelines, so each of them is reported as deleted too.
+    List<CatalogChange> changes = new ArrayList<>();
+    for (RecyclingTip tip : wasteCategory.getRecyclingTips()) {
+      changes.add(CatalogChange.deleted(CatalogEntityType.RECYCLING_TIP, tip.getId(), id));
+    }
+    for (DisposalGuideline guideline : wasteCategory.getDisposalGuidelines()) {
+      changes.add(CatalogChange.deleted(CatalogEntityType.DISPOSAL_GUIDELINE, guideline.getId(), id));
+    }
+    changes.add(CatalogChange.deleted(CatalogEntityType.WASTE_CATEGORY, id, id));
+
     wasteCategoryRepository.delete(wasteCategory);
+    eventPublisher.publishEvent(new CatalogChangedEvent(changes));
 
     return "Waste category deleted Successfully";
   }
+
+  /**
+   * Evicts the cached reads affected by committed catalog changes.
+   * Categories are cached together with their included children, so a changed tip or guideline evicts its
+   * category as well as any entry that still lists it (e.g. the category it moved away from).
+   * A created category evicts the page it falls into.
+   * @param event The committed changes.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onCatalogChanged(CatalogChangedEvent event) {
+    for (CatalogChange change : event.getChanges()) {
+      Long categoryId = change.getCategoryId();
+      if (change.getEntityType() == CatalogEntityType.WASTE_CATEGORY) {
+        wasteCategoriesById.invalidateIf((key, category) -> key.id().equals(categoryId));
+        wasteCategoryPages.invalidateIf((key, page) -> coversId(key.page(), page, categoryId));
+      } else {
+        wasteCategoriesById.invalidateIf((key, category) -> key.id().equals(categoryId) || listsChild(category, change));
+        wasteCategoryPages.invalidateIf((key, page) -> page.getItems().stream()
+                .anyMatch(category -> category.getId().equals(categoryId) || listsChild(category, change)));
+      }
+    }
+  }
+
+  /**
+   * Loads a single waste category with its included children for the cache.
+   * @param key The ID of the waste category and the collections to load.
+   * @return The mapped waste category.
+   */
+  private WasteCategoryResponse loadWasteCategory(CategoryKey key) {
+    WasteCategory wasteCategory = wasteCategoryRepository.findById(key.id())
+            .orElseThrow(() -> new ResourceNotFoundException("Waste category not found"));
+    return loadWithChildren(List.of(wasteCategory), key.recyclingTips(), key.disposalGuidelines()).get(0);
+  }
+
+  /**
+   * Loads one page of waste categories with their included children for the cache.
+   * @param key The page to load and the collections to load with it.
+   * @return The mapped page.
+   */
+  private KeysetPage<WasteCategoryResponse> loadPage(CategoryPageKey key) {
+    KeysetPage<WasteCategory> page = KeysetPage.of(
+            wasteCategoryRepository.findByIdGreaterThanOrderByIdAsc(key.page().afterId(), Limit.of(key.page().size() + 1)),
+            key.page().size(), WasteCategory::getId);
+    List<WasteCategoryResponse> wasteCategories =
+            loadWithChildren(page.getItems(), key.recyclingTips(), key.disposalGuidelines());
+    return page.withItems(wasteCategories);
+  }
+
+  /**
+   * Checks whether a cached page holds, or would hold, the category with the given id.
+   * @param key The page key.
+   * @param page The cached page.
+   * @param categoryId The ID of the category.
+   * @return true if the page must be evicted when that category changes.
+   */
+  private static boolean coversId(PageKey key, KeysetPage<WasteCategoryResponse> page, Long categoryId) {
+    List<WasteCategoryResponse> items = page.getItems();
+    if (categoryId <= key.afterId()) {
+      return false;
+    }
+    return page.getNextCursor() == null || items.isEmpty() || items.get(items.size() - 1).getId() >= categoryId;
+  }
+
+  /**
+   * Checks whether a cached category lists the tip or guideline named by a change.
+   * @param category The cached category.
+   * @param change The change to a tip or guideline.
+   * @return true if the category lists that child.
+   */
+  private static boolean listsChild(WasteCategoryResponse category, CatalogChange change) {
+    if (change.getEntityType() == CatalogEntityType.RECYCLING_TIP) {
+      return category.getRecyclingTips() != null
+              && category.getRecyclingTips().stream().anyMatch(tip -> tip.getId().equals(change.getId()));
+    }
+    return category.getDisposalGuidelines() != null
+            && category.getDisposalGuidelines().stream().anyMatch(guideline -> guideline.getId().equals(change.getId()));
+  }
+
+  /**
+   * Computes the cache weight of a category: one for itself plus one per child.
+   * @param category The mapped category.
+   * @return The weight.
+   */
+  private static int weightOf(WasteCategoryResponse category) {
+    int weight = 1;
+    if (category.getRecyclingTips() != null) {
+      weight += category.getRecyclingTips().size();
+    }
+    if (category.getDisposalGuidelines() != null) {
+      weight += category.getDisposalGuidelines().size();
+    }
+    return weight;
+  }
+
+  /**
+   * Loads the included recycling tips and disposal guidelines of the given categories using the configured
+   * fetch strategy. Every strategy except LAZY issues one statement per included collection and chunk of
+   * catalog.batch-size categories, so no IN clause grows with the request; with nothing included, the child
+   * tables are not read at all.
+   * @param categories The categories to load children for, in the order they should be returned.
+   * @param recyclingTips Whether to load the recycling tips.
+   * @param disposalGuidelines Whether to load the disposal guidelines.
+   * @return The mapped categories, including the loaded children.
+   */
+  private List<WasteCategoryResponse> loadWithChildren(List<WasteCategory> categories, boolean recyclingTips,
+                                                       boolean disposalGuidelines) {
+    if (categories.isEmpty()) {
+      return new ArrayList<>();
+    }
+    int batchSize = Math.max(1, catalogProperties.getBatchSize());
+    switch (catalogProperties.getFetchStrategy()) {
+      case ENTITY_GRAPH:
+        for (int from = 0; from < categories.size(); from += batchSize) {
+          List<WasteCategory> chunk = categories.subList(from, Math.min(from + batchSize, categories.size()));
+          if (recyclingTips) {
+            wasteCategoryRepository.findWithRecyclingTips(chunk);
+          }
+          if (disposalGuidelines) {
+            wasteCategoryRepository.findWithDisposalGuidelines(chunk);
+          }
+        }
+        break;
+      case FETCH_JOIN:
+        for (int from = 0; from < categories.size(); from += batchSize) {
+          List<WasteCategory> chunk = categories.subList(from, Math.min(from + batchSize, categories.size()));
+          if (recyclingTips) {
+            wasteCategoryRepository.findJoinFetchRecyclingTips(chunk);
+          }
+          if (disposalGuidelines) {
+            wasteCategoryRepository.findJoinFetchDisposalGuidelines(chunk);
+          }
+        }
+        break;
+      case BATCH:
+        return loadInBatches(categories, recyclingTips, disposalGuidelines);
+      case LAZY:
+      default:
+        break;
+    }
+    // The fetch queries above initialized the collections of the already managed categories.
+    return categories.stream()
+            .map(category -> wasteCategoryMapper.toResponse(category,
+                    recyclingTips ? category.getRecyclingTips() : null,
+                    disposalGuidelines ? category.getDisposalGuidelines() : null))
+            .collect(Collectors.toList());
+  }
+
+  /**
+   * Loads the children of the given categories with chunked IN queries, grouping them by category id in memory.
+   * @param categories The categories to load children for.
+   * @param recyclingTips Whether to load the recycling tips.
+   * @param disposalGuidelines Whether to load the disposal guidelines.
+   * @return The mapped categories, including the loaded children.
+   */
+  private List<WasteCategoryResponse> loadInBatches(List<WasteCategory> categories, boolean recyclingTips,
+                                                    boolean disposalGuidelines) {
+    List<WasteCategoryResponse> wasteCategories = new ArrayList<>(categories.size());
+    int batchSize = Math.max(1, catalogProperties.getBatchSize());
+
+    for (int from = 0; from < categories.size(); from += batchSize) {
+      List<WasteCategory> chunk = categories.subList(from, Math.min(from + batchSize, categories.size()));
+
+      Map<Long, List<RecyclingTip>> tipsByCategory = !recyclingTips ? null
+              : recyclingTipRepository.findByWasteCategoryIn(chunk).stream()
+                      .collect(Collectors.groupingBy(tip -> tip.getWasteCategory().getId()));
+      Map<Long, List<DisposalGuideline>> guidelinesByCategory = !disposalGuidelines ? null
+              : disposalGuidelineRepository.findByWasteCategoryIn(chunk).stream()
+                      .collect(Collectors.groupingBy(guideline -> guideline.getWasteCategory().getId()));
+
+      for (WasteCategory category : chunk) {
+        wasteCategories.add(wasteCategoryMapper.toResponse(category,
+                tipsByCategory == null ? null : tipsByCategory.getOrDefault(category.getId(), Collections.emptyList()),
+                guidelinesByCategory == null ? null
+                        : guidelinesByCategory.getOrDefault(category.getId(), Collections.emptyList())));
+      }
+    }
+    return wasteCategories;
+  }
 }
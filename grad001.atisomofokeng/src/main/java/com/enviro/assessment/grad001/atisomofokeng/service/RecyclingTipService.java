@@ -1,9 +1,13 @@
 package com.enviro.assessment.grad001.atisomofokeng.service;
 
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.request.RecyclingTipRequest;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.BatchResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.RecyclingTipResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.MultiGetResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.service.export.ExportFormat;
 
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -14,21 +18,34 @@ import java.util.List;
 public interface RecyclingTipService {
 
   /**
-   * Retrieves a list of all recycling tips.
+   * Retrieves one page of recycling tips, ordered by id.
    *
-   * @return a ServiceResponse containing a list of RecyclingTipResponse objects,
-   *         or an appropriate error message if the operation fails.
+   * @param cursor   the cursor returned with the previous page, or null for the first page.
+   * @param pageSize the requested page size, or null for the configured default.
+   * @return a ServiceResponse containing a page of RecyclingTipResponse objects and the cursor
+   *         for the next page, if any.
    */
-  ServiceResponse<List<RecyclingTipResponse>> getAllRecyclingTips();
+  ServiceResponse<List<RecyclingTipResponse>> getAllRecyclingTips(String cursor, Integer pageSize);
 
   /**
-   * Retrieves a list of recycling tips associated with a specific waste category.
+   * Retrieves one page of recycling tips associated with a specific waste category, ordered by id.
    *
    * @param categoryId the ID of the waste category to filter tips by.
-   * @return a ServiceResponse containing a list of RecyclingTipResponse objects
-   *         matching the specified category, or an appropriate error message.
+   * @param cursor     the cursor returned with the previous page, or null for the first page.
+   * @param pageSize   the requested page size, or null for the configured default.
+   * @return a ServiceResponse containing a page of RecyclingTipResponse objects
+   *         matching the specified category and the cursor for the next page, if any.
    */
-  ServiceResponse<List<RecyclingTipResponse>> getRecyclingTipsByCategory(Long categoryId);
+  ServiceResponse<List<RecyclingTipResponse>> getRecyclingTipsByCategory(Long categoryId, String cursor, Integer pageSize);
+
+  /**
+   * Streams every recycling tip, ordered by id, to the given output stream without materializing them in memory.
+   *
+   * @param format the output format (JSON array or NDJSON).
+   * @param out    the output stream to write to.
+   * @return the number of recycling tips written.
+   */
+  long exportRecyclingTips(ExportFormat format, OutputStream out);
 
   /**
    * Retrieves a specific recycling tip by its unique identifier.
@@ -39,6 +56,24 @@ public interface RecyclingTipService {
    */
   ServiceResponse<RecyclingTipResponse> getRecyclingTipById(Long id);
 
+  /**
+   * Retrieves several recycling tips by id in one read.
+   *
+   * @param ids the IDs of the recycling tips to retrieve.
+   * @return a ServiceResponse containing the recycling tips found, in the order of their ids, and the ids that
+   *         were not found.
+   */
+  ServiceResponse<MultiGetResponse<RecyclingTipResponse>> getRecyclingTipsByIds(List<Long> ids);
+
+  /**
+   * Retrieves the recycling tips of several waste categories in one read.
+   *
+   * @param categoryIds the IDs of the waste categories.
+   * @return a ServiceResponse containing the recycling tips of the categories found, grouped in the order of
+   *         the category ids, and the category ids that were not found.
+   */
+  ServiceResponse<MultiGetResponse<RecyclingTipResponse>> getRecyclingTipsByCategories(List<Long> categoryIds);
+
   /**
    * Creates a new recycling tip based on the provided request data.
    *
@@ -49,6 +84,15 @@ public interface RecyclingTipService {
    */
   ServiceResponse<RecyclingTipResponse> createRecyclingTip(RecyclingTipRequest request);
 
+  /**
+   * Creates many recycling tips in one request.
+   *
+   * @param requests the recycling tips to create.
+   * @return a ServiceResponse containing one result per item, in request order: the created
+   *         RecyclingTipResponse or the reason the item was rejected.
+   */
+  ServiceResponse<BatchResponse<RecyclingTipResponse>> createRecyclingTips(List<RecyclingTipRequest> requests);
+
   /**
    * Updates an existing recycling tip identified by its ID with the new data provided.
    *
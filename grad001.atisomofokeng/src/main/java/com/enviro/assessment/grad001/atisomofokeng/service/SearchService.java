@@ -0,0 +1,24 @@
+package com.enviro.assessment.grad001.atisomofokeng.service;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.SearchHitResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.search.SearchType;
+
+import java.util.List;
+
+/**
+ * Service interface for full-text search over waste categories, recycling tips and disposal guidelines.
+ */
+public interface SearchService {
+
+  /**
+   * Searches the catalog, ranking matches with BM25.
+   *
+   * @param query      the search text; words are matched on their stems, and any word may match.
+   * @param categoryId only return results of this waste category, or null for all.
+   * @param type       only return results of this type, or null for all.
+   * @param limit      the maximum number of results, or null for the configured default.
+   * @return a ServiceResponse containing the results, best first.
+   */
+  ServiceResponse<List<SearchHitResponse>> search(String query, Long categoryId, SearchType type, Integer limit);
+}
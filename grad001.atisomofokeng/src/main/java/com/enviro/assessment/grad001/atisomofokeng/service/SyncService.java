@@ -0,0 +1,36 @@
+package com.enviro.assessment.grad001.atisomofokeng.service;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.SyncResponse;
+
+/**
+ * Service interface for delta synchronization of the catalog from the change log.
+ */
+public interface SyncService {
+
+  /**
+   * Returns the catalog changes committed after a revision.
+   *
+   * @param since the revision of the client's bundle, or the revision returned by its last sync.
+   * @param limit the maximum number of log records to read, or null for the configured default.
+   * @return a ServiceResponse containing the changes, oldest first, and the revision to ask from next time;
+   *         or a reset if changes after {@code since} have already been compacted away.
+   */
+  ServiceResponse<SyncResponse> getChangesSince(long since, Integer limit);
+
+  /**
+   * Returns the latest revision: the last change log record, or the compacted horizon if that is later.
+   * Joins the caller's transaction, so a snapshot read afterwards holds at least this revision.
+   *
+   * @return the latest revision, 0 before the first change.
+   */
+  long currentRevision();
+
+  /**
+   * Compacts the change log: drops records superseded by a later change of the same entity, and tombstones
+   * older than the configured retention.
+   *
+   * @return the number of records dropped.
+   */
+  int compact();
+}
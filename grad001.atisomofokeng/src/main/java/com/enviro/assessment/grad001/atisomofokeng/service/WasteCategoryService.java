@@ -1,8 +1,11 @@
 package com.enviro.assessment.grad001.atisomofokeng.service;
 
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.request.WasteCategoryRequest;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.BatchResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.MultiGetResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
 import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.WasteCategoryResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.WasteCategorySuggestionResponse;
 import java.util.List;
 
 /**
@@ -12,21 +15,49 @@ import java.util.List;
 public interface WasteCategoryService {
 
   /**
-   * Retrieves a list of all waste categories.
+   * Retrieves one page of waste categories, ordered by id.
    *
-   * @return a ServiceResponse containing a list of WasteCategoryResponse objects,
-   *         or an appropriate error message if the operation fails.
+   * @param cursor   the cursor returned with the previous page, or null for the first page.
+   * @param pageSize the requested page size, or null for the configured default.
+   * @param fields   comma-separated attributes to return, or null for the id and name.
+   * @param include  comma-separated child collections to embed, or null for none.
+   * @return a ServiceResponse containing a page of WasteCategoryResponse objects and the cursor
+   *         for the next page, if any.
    */
-  ServiceResponse<List<WasteCategoryResponse>> getAllWasteCategories();
+  ServiceResponse<List<WasteCategoryResponse>> getAllWasteCategories(String cursor, Integer pageSize,
+                                                                     String fields, String include);
+
+  /**
+   * Suggests waste categories whose name, a later word of the name, or a synonym starts with the prefix.
+   *
+   * @param prefix the text typed so far.
+   * @param limit  the maximum number of suggestions, or null for the configured default.
+   * @return a ServiceResponse containing the matching categories, most popular first.
+   */
+  ServiceResponse<List<WasteCategorySuggestionResponse>> suggestWasteCategories(String prefix, Integer limit);
 
   /**
    * Retrieves a specific waste category by its unique identifier.
    *
-   * @param id the ID of the waste category to retrieve.
+   * @param id      the ID of the waste category to retrieve.
+   * @param fields  comma-separated attributes to return, or null for the id and name.
+   * @param include comma-separated child collections to embed, or null for none.
    * @return a ServiceResponse containing the WasteCategoryResponse object if found,
    *         or an appropriate error message if the category is not found.
    */
-  ServiceResponse<WasteCategoryResponse> getWasteCategoryById(Long id);
+  ServiceResponse<WasteCategoryResponse> getWasteCategoryById(Long id, String fields, String include);
+
+  /**
+   * Retrieves several waste categories by id in one read.
+   *
+   * @param ids     the IDs of the waste categories to retrieve.
+   * @param fields  comma-separated attributes to return, or null for the id and name.
+   * @param include comma-separated child collections to embed, or null for none.
+   * @return a ServiceResponse containing the waste categories found, in the order of their ids, and the ids
+   *         that were not found.
+   */
+  ServiceResponse<MultiGetResponse<WasteCategoryResponse>> getWasteCategoriesByIds(List<Long> ids, String fields,
+                                                                                   String include);
 
   /**
    * Creates a new waste category based on the provided request data.
@@ -38,6 +69,15 @@ public interface WasteCategoryService {
    */
   ServiceResponse<WasteCategoryResponse> createWasteCategory(WasteCategoryRequest wasteCategoryRequest);
 
+  /**
+   * Creates many waste categories in one request.
+   *
+   * @param requests the waste categories to create.
+   * @return a ServiceResponse containing one result per item, in request order: the created
+   *         WasteCategoryResponse or the reason the item was rejected.
+   */
+  ServiceResponse<BatchResponse<WasteCategoryResponse>> createWasteCategories(List<WasteCategoryRequest> requests);
+
   /**
    * Updates an existing waste category identified by its ID with the new data provided.
    *
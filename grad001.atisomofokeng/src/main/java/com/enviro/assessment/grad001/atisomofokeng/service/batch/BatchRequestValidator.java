@@ -0,0 +1,74 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.batch;
+
+import com.enviro.assessment.grad001.atisomofokeng.config.CatalogProperties;
+import com.enviro.assessment.grad001.atisomofokeng.exception.BatchTooLargeException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Validates the items of a bulk request one by one, so that invalid items are reported
+ * individually instead of rejecting the whole request.
+ */
+@Component
+public class BatchRequestValidator {
+
+  private final Validator validator;
+  private final CatalogProperties catalogProperties;
+
+  public BatchRequestValidator(Validator validator, CatalogProperties catalogProperties) {
+    this.validator = validator;
+    this.catalogProperties = catalogProperties;
+  }
+
+  /**
+   * Rejects a bulk request that carries more items than the configured maximum.
+   *
+   * @param requests the submitted items.
+   */
+  public void checkSize(List<?> requests) {
+    int maxItems = catalogProperties.getBulk().getMaxItems();
+    if (requests.size() > maxItems) {
+      throw new BatchTooLargeException("A bulk request may carry at most " + maxItems + " items");
+    }
+  }
+
+  /**
+   * Prepares the ids of a multi-get request: drops null and repeated ids, keeping the first occurrence, and
+   * rejects a request for more ids than the configured maximum number of items.
+   *
+   * @param ids the requested ids.
+   * @return the distinct ids, in request order.
+   */
+  public List<Long> checkIds(List<Long> ids) {
+    LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+    distinct.remove(null);
+    List<Long> result = List.copyOf(distinct);
+    checkSize(result);
+    return result;
+  }
+
+  /**
+   * Validates one item against its bean validation constraints.
+   *
+   * @param request the item.
+   * @return the violation messages joined with "; ", or null if the item is valid.
+   */
+  public String validate(Object request) {
+    if (request == null) {
+      return "Item must not be null.";
+    }
+    var violations = validator.validate(request);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining("; "));
+  }
+}
@@ -0,0 +1,16 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.bundle;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * A written offline bundle of the whole catalog.
+ *
+ * @param hash      the SHA-256 of the file contents, in hex; also part of the file name.
+ * @param file      the bundle file.
+ * @param size      the size of the file in bytes.
+ * @param revision  the change log revision the bundle covers at least; clients sync from it.
+ * @param createdAt the time the file was written.
+ */
+public record CatalogBundle(String hash, Path file, long size, long revision, Instant createdAt) {
+}
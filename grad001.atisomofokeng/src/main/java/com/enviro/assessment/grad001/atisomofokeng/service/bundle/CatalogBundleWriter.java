@@ -0,0 +1,102 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.bundle;
+
+import com.enviro.assessment.grad001.atisomofokeng.repository.CatalogEntry;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the catalog as a gzip-compressed JSON bundle, hashing the compressed bytes as they are written.
+ * <p>
+ * The bundle is compact: every row is a positional array rather than an object, so field names are not
+ * repeated. Its layout is
+ * <pre>
+ * {"format":1,
+ *  "wasteCategories":[[id,"name"],...],
+ *  "recyclingTips":[[id,categoryId,"text"],...],
+ *  "disposalGuidelines":[[id,categoryId,"text"],...]}
+ * </pre>
+ * The catalog revision is not part of the contents, so the same data always produces the same hash.
+ */
+@Component
+public class CatalogBundleWriter {
+
+  // Version of the bundle layout, raised on incompatible changes
+  private static final int FORMAT = 1;
+
+  private final ObjectMapper objectMapper;
+
+  public CatalogBundleWriter(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Writes the bundle to a file.
+   *
+   * @param file               the file to write; replaced if it exists.
+   * @param wasteCategories    the categories, as (id, id, name); consumed but not closed.
+   * @param recyclingTips      the tips; consumed but not closed.
+   * @param disposalGuidelines the guidelines; consumed but not closed.
+   * @return the SHA-256 of the file, in hex.
+   * @throws IOException if the file cannot be written.
+   */
+  public String write(Path file, Stream<CatalogEntry> wasteCategories, Stream<CatalogEntry> recyclingTips,
+                      Stream<CatalogEntry> disposalGuidelines) throws IOException {
+    MessageDigest digest = sha256();
+    try (OutputStream out = new GZIPOutputStream(new DigestOutputStream(
+                 new BufferedOutputStream(Files.newOutputStream(file)), digest), 64 * 1024);
+         JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+      generator.writeStartObject();
+      generator.writeNumberField("format", FORMAT);
+      generator.writeArrayFieldStart("wasteCategories");
+      for (Iterator<CatalogEntry> it = wasteCategories.iterator(); it.hasNext(); ) {
+        CatalogEntry entry = it.next();
+        generator.writeStartArray();
+        generator.writeNumber(entry.id());
+        generator.writeString(entry.text());
+        generator.writeEndArray();
+      }
+      generator.writeEndArray();
+      writeChildren(generator, "recyclingTips", recyclingTips);
+      writeChildren(generator, "disposalGuidelines", disposalGuidelines);
+      generator.writeEndObject();
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private static void writeChildren(JsonGenerator generator, String name, Stream<CatalogEntry> entries)
+          throws IOException {
+    generator.writeArrayFieldStart(name);
+    for (Iterator<CatalogEntry> it = entries.iterator(); it.hasNext(); ) {
+      CatalogEntry entry = it.next();
+      generator.writeStartArray();
+      generator.writeNumber(entry.id());
+      generator.writeNumber(entry.categoryId());
+      generator.writeString(entry.text());
+      generator.writeEndArray();
+    }
+    generator.writeEndArray();
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
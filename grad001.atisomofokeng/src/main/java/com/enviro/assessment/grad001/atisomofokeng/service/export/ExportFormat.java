@@ -0,0 +1,25 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.export;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Output formats supported by the streaming export endpoints.
+ */
+public enum ExportFormat {
+
+  /** A single JSON array, written element by element. */
+  JSON(MediaType.APPLICATION_JSON),
+
+  /** Newline-delimited JSON: one object per line. */
+  NDJSON(MediaType.APPLICATION_NDJSON);
+
+  private final MediaType mediaType;
+
+  ExportFormat(MediaType mediaType) {
+    this.mediaType = mediaType;
+  }
+
+  public MediaType getMediaType() {
+    return mediaType;
+  }
+}
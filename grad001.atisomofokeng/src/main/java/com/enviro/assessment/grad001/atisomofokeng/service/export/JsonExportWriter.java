@@ -0,0 +1,71 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of rows to an output stream as a JSON array or as NDJSON, one row at a time.
+ * Only the row being written is held in memory, and the output is flushed periodically so the
+ * client receives the first bytes as soon as the first row has been read.
+ */
+@Component
+public class JsonExportWriter {
+
+  // Number of rows written between flushes of the underlying output stream.
+  private static final int FLUSH_INTERVAL = 500;
+
+  private final ObjectMapper objectMapper;
+
+  public JsonExportWriter(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Writes every row of the stream to the output stream in the given format.
+   *
+   * @param rows   the rows to write; consumed but not closed.
+   * @param format the output format.
+   * @param out    the output stream to write to; flushed but not closed.
+   * @param <T>    the type of the rows.
+   * @return the number of rows written.
+   */
+  public <T> long write(Stream<T> rows, ExportFormat format, OutputStream out) {
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      long count = 0;
+
+      if (format == ExportFormat.JSON) {
+        generator.writeStartArray();
+      } else {
+        // Lines are separated explicitly, so no separator is needed between root-level values.
+        generator.setRootValueSeparator(null);
+      }
+      for (Iterator<T> iterator = rows.iterator(); iterator.hasNext(); ) {
+        generator.writeObject(iterator.next());
+        if (format == ExportFormat.NDJSON) {
+          generator.writeRaw('\n');
+        }
+        count++;
+        // Flush the first row immediately, then periodically.
+        if (count == 1 || count % FLUSH_INTERVAL == 0) {
+          generator.flush();
+        }
+      }
+      if (format == ExportFormat.JSON) {
+        generator.writeEndArray();
+      }
+      generator.flush();
+      return count;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.generator;
+
+import com.enviro.assessment.grad001.atisomofokeng.config.CatalogProperties;
+import com.enviro.assessment.grad001.atisomofokeng.model.DisposalGuideline;
+import com.enviro.assessment.grad001.atisomofokeng.model.RecyclingTip;
+import com.enviro.assessment.grad001.atisomofokeng.model.WasteCategory;
+import com.enviro.assessment.grad001.atisomofokeng.repository.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.RecyclingTipRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.WasteCategoryRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes a deterministic synthetic catalog at startup, so that the API can be load tested at production scale.
+ * Enabled by {@code catalog.generate.categories}, which the loadgen profile sets.
+ * <p>
+ * Rows go straight through the repositories in chunks of one transaction each, bypassing the services: no
+ * change log records or change events are written, and the second-level cache is not filled. The generator runs
+ * after the sample data is seeded and before the application is ready, so the snapshot, the search index and the bundle are built from the generated
+ * catalog. Category names are unique and made of real words, so search and autocomplete have something to match;
+ * the same seed and sizes always give the same names, texts and ids.
+ * <p>
+ * Example: {@code java -Xmx4g -jar app.jar --spring.profiles.active=loadgen --catalog.generate.categories=10000}
+ */
+@Component
+@ConditionalOnProperty(prefix = "catalog.generate", name = "categories")
+public class SyntheticCatalogGenerator implements ApplicationRunner {
+
+  private static final Logger log = LoggerFactory.getLogger(SyntheticCatalogGenerator.class);
+
+  private static final String[] QUALIFIERS = {"Household", "Commercial", "Clean", "Soiled", "Mixed", "Bulk",
+          "Shredded", "Industrial", "Garden", "Kitchen", "Office", "Medical", "Automotive", "Hazardous", "Small",
+          "Large"};
+  private static final String[] MATERIALS = {"Plastic", "Glass", "Paper", "Cardboard", "Aluminium", "Steel",
+          "Copper", "Textile", "Rubber", "Wood", "Ceramic", "Electronic", "Organic", "Battery", "Oil", "Paint"};
+  private static final String[] ITEMS = {"Bottles", "Containers", "Packaging", "Cans", "Bags", "Boxes", "Film",
+          "Scraps", "Offcuts", "Appliances", "Cables", "Tins", "Jars", "Trays", "Drums", "Pallets"};
+  private static final String[] VERBS = {"Rinse", "Flatten", "Separate", "Sort", "Drain", "Dry", "Remove",
+          "Bundle", "Compress", "Store", "Drop off", "Label", "Wrap", "Cut", "Empty", "Check"};
+  private static final String[] WORDS = {"lids", "labels", "caps", "before", "recycling", "collection", "point",
+          "and", "from", "the", "bin", "depot", "compost", "food", "residue", "kerbside", "sealed", "never",
+          "loose", "dry", "clean", "local", "council", "facility", "with", "other", "items", "separately"};
+
+  private final WasteCategoryRepository wasteCategoryRepository;
+  private final RecyclingTipRepository recyclingTipRepository;
+  private final DisposalGuidelineRepository disposalGuidelineRepository;
+  private final EntityManager entityManager;
+  private final CatalogProperties.Generate properties;
+  private final TransactionTemplate transaction;
+
+  public SyntheticCatalogGenerator(WasteCategoryRepository wasteCategoryRepository,
+                                   RecyclingTipRepository recyclingTipRepository,
+                                   DisposalGuidelineRepository disposalGuidelineRepository,
+                                   EntityManager entityManager,
+                                   CatalogProperties catalogProperties,
+                                   PlatformTransactionManager transactionManager) {
+    this.wasteCategoryRepository = wasteCategoryRepository;
+    this.recyclingTipRepository = recyclingTipRepository;
+    this.disposalGuidelineRepository = disposalGuidelineRepository;
+    this.entityManager = entityManager;
+    this.properties = catalogProperties.getGenerate();
+    this.transaction = new TransactionTemplate(transactionManager);
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    int categoryCount = properties.getCategories();
+    int chunkSize = Math.max(1, properties.getChunkSize());
+    Random random = new Random(properties.getSeed());
+    long started = System.nanoTime();
+
+    long[] categoryIds = new long[categoryCount];
+    for (int from = 0; from < categoryCount; from += chunkSize) {
+      int first = from;
+      int last = Math.min(categoryCount, from + chunkSize);
+      inChunk(() -> {
+        List<WasteCategory> wasteCategories = new ArrayList<>(last - first);
+        for (int i = first; i < last; i++) {
+          wasteCategories.add(new WasteCategory(categoryName(random, i)));
+        }
+        wasteCategoryRepository.saveAll(wasteCategories);
+        for (int i = first; i < last; i++) {
+          categoryIds[i] = wasteCategories.get(i - first).getId();
+        }
+      });
+    }
+    log.info("Generated {} waste categories", categoryCount);
+
+    int childrenPerCategory = properties.getTipsPerCategory() + properties.getGuidelinesPerCategory();
+    int categoriesPerChunk = Math.max(1, chunkSize / Math.max(1, childrenPerCategory));
+    long children = 0;
+    for (int from = 0; from < categoryCount; from += categoriesPerChunk) {
+      int first = from;
+      int last = Math.min(categoryCount, from + categoriesPerChunk);
+      inChunk(() -> {
+        List<RecyclingTip> recyclingTips = new ArrayList<>();
+        List<DisposalGuideline> disposalGuidelines = new ArrayList<>();
+        for (int i = first; i < last; i++) {
+          // A reference is enough to set the foreign key; the category is not loaded
+          WasteCategory wasteCategory = wasteCategoryRepository.getReferenceById(categoryIds[i]);
+          for (int n = 0; n < properties.getTipsPerCategory(); n++) {
+            recyclingTips.add(new RecyclingTip(sentence(random), wasteCategory));
+          }
+          for (int n = 0; n < properties.getGuidelinesPerCategory(); n++) {
+            disposalGuidelines.add(new DisposalGuideline(sentence(random), wasteCategory));
+          }
+        }
+        recyclingTipRepository.saveAll(recyclingTips);
+        disposalGuidelineRepository.saveAll(disposalGuidelines);
+      });
+      children += (long) (last - first) * childrenPerCategory;
+      if (from / categoriesPerChunk % 100 == 99) {
+        log.info("Generated {} recycling tips and disposal guidelines", children);
+      }
+    }
+    log.info("Generated a catalog of {} waste categories and {} recycling tips and disposal guidelines in {}s",
+            categoryCount, children, (System.nanoTime() - started) / 1_000_000_000);
+  }
+
+  // One transaction, whose persistence context is dropped on commit; generated rows stay out of the cache
+  private void inChunk(Runnable chunk) {
+    transaction.executeWithoutResult(status -> {
+      entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+      chunk.run();
+    });
+  }
+
+  // E.g. "Household Plastic Bottles 1042"; the number keeps names unique
+  private static String categoryName(Random random, int index) {
+    return QUALIFIERS[random.nextInt(QUALIFIERS.length)] + " " + MATERIALS[random.nextInt(MATERIALS.length)]
+            + " " + ITEMS[random.nextInt(ITEMS.length)] + " " + (index + 1);
+  }
+
+  // E.g. "Rinse lids before the kerbside bin."; between 6 and 15 words, shorter than the text columns
+  private static String sentence(Random random) {
+    StringBuilder sentence = new StringBuilder(VERBS[random.nextInt(VERBS.length)]);
+    int length = 5 + random.nextInt(10);
+    for (int i = 0; i < length; i++) {
+      sentence.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+    }
+    return sentence.append('.').toString();
+  }
+}
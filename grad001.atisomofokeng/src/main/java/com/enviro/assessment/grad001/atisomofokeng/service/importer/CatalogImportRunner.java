@@ -0,0 +1,70 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.importer;
+
+import com.enviro.assessment.grad001.atisomofokeng.config.CatalogProperties;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ImportSummaryResponse;
+import com.enviro.assessment.grad001.atisomofokeng.service.CatalogImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Command-line mode of the catalog import. When {@code catalog.import.file} is set, the file is imported
+ * once the application has started (after the sample data has been seeded). The runner is the application's
+ * {@link ExitCodeGenerator}: once startup returns, {@code main} closes the context with
+ * {@link SpringApplication#exit} and exits with status 0 if the import completed and 1 otherwise.
+ * Files ending in ".tsv" are read as TSV, others as CSV.
+ * <p>
+ * Example: {@code java -jar app.jar --catalog.import.file=catalog.csv --spring.main.web-application-type=none}
+ */
+@Component
+@ConditionalOnProperty(prefix = "catalog.import", name = "file")
+public class CatalogImportRunner implements ExitCodeGenerator {
+
+  private static final Logger log = LoggerFactory.getLogger(CatalogImportRunner.class);
+
+  private final CatalogImportService catalogImportService;
+  private final CatalogProperties.Import properties;
+  private volatile int exitCode = 1;
+
+  public CatalogImportRunner(CatalogImportService catalogImportService, CatalogProperties catalogProperties) {
+    this.catalogImportService = catalogImportService;
+    this.properties = catalogProperties.getImport();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    Path file = properties.getFile();
+    String jobId = properties.getJobId() != null ? properties.getJobId() : file.getFileName().toString();
+    ImportFormat format = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".tsv")
+            ? ImportFormat.TSV
+            : ImportFormat.CSV;
+
+    try (InputStream in = Files.newInputStream(file)) {
+      ImportSummaryResponse summary = catalogImportService.importCatalog(jobId, format, in);
+      log.info("Imported {}: {} rows imported, {} rejected (see {})", file, summary.getImported(),
+              summary.getRejected(), summary.getRejectedReport());
+      exitCode = 0;
+    } catch (Exception e) {
+      log.error("Import of {} failed", file, e);
+      exitCode = 1;
+    }
+  }
+
+  /**
+   * @return 0 if the import completed, 1 if it failed or has not run.
+   */
+  @Override
+  public int getExitCode() {
+    return exitCode;
+  }
+}
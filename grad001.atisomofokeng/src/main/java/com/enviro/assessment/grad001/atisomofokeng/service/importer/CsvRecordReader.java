@@ -0,0 +1,110 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads delimited records one at a time from a character stream.
+ * Quoted fields follow RFC 4180: they may contain the delimiter and line breaks, and a doubled quote
+ * stands for a literal quote. Reading only splits the stream into records; fields are parsed separately
+ * by {@link #parseFields(String, char)} so that parsing can run in parallel.
+ */
+public class CsvRecordReader implements Closeable {
+
+  private final BufferedReader reader;
+
+  public CsvRecordReader(Reader reader) {
+    this.reader = new BufferedReader(reader, 64 * 1024);
+  }
+
+  /**
+   * Reads the next record, joining physical lines while a quoted field is open. Line breaks inside a quoted
+   * field are returned as '\n', whether the file uses LF or CRLF. Each line is scanned once: the quote state
+   * is carried over from the lines already read, so a long multi-line field is not rescanned per line.
+   *
+   * @return the raw record, or null at the end of the stream.
+   * @throws IOException if the stream cannot be read.
+   */
+  public String nextRecord() throws IOException {
+    String line = reader.readLine();
+    if (line == null) {
+      return null;
+    }
+    boolean open = hasOddQuotes(line);
+    if (!open) {
+      return line;
+    }
+    StringBuilder record = new StringBuilder(line);
+    while (open) {
+      String next = reader.readLine();
+      if (next == null) {
+        break;
+      }
+      record.append('\n').append(next);
+      // A doubled quote counts twice, so it leaves the state unchanged
+      open ^= hasOddQuotes(next);
+    }
+    return record.toString();
+  }
+
+  /**
+   * Splits a raw record into its fields, removing quotes and surrounding whitespace.
+   *
+   * @param record    the raw record.
+   * @param delimiter the field delimiter.
+   * @return the fields.
+   */
+  public static List<String> parseFields(String record, char delimiter) {
+    List<String> fields = new ArrayList<>(3);
+    StringBuilder field = new StringBuilder();
+    boolean inQuotes = false;
+    for (int i = 0; i < record.length(); i++) {
+      char c = record.charAt(i);
+      if (c == '"') {
+        if (inQuotes && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else {
+          inQuotes = !inQuotes;
+        }
+      } else if (c == delimiter && !inQuotes) {
+        fields.add(field.toString().strip());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    fields.add(field.toString().strip());
+    return fields;
+  }
+
+  /**
+   * Quotes a value for a comma-separated report if it contains a comma, quote or line break.
+   *
+   * @param value the value.
+   * @return the value, quoted if needed.
+   */
+  public static String quote(String value) {
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+
+  private static boolean hasOddQuotes(String line) {
+    boolean odd = false;
+    for (int i = line.indexOf('"'); i >= 0; i = line.indexOf('"', i + 1)) {
+      odd = !odd;
+    }
+    return odd;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
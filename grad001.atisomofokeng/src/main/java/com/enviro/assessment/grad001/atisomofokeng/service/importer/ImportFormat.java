@@ -0,0 +1,21 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.importer;
+
+/**
+ * Supported import file formats. Both use the same columns: type, category, text.
+ */
+public enum ImportFormat {
+  /** Comma-separated values. */
+  CSV(','),
+  /** Tab-separated values. */
+  TSV('\t');
+
+  private final char delimiter;
+
+  ImportFormat(char delimiter) {
+    this.delimiter = delimiter;
+  }
+
+  public char getDelimiter() {
+    return delimiter;
+  }
+}
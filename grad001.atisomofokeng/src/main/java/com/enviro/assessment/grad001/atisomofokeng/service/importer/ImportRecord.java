@@ -0,0 +1,32 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.importer;
+
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogEntityType;
+
+/**
+ * One record of an import file, before or after it has been parsed and validated.
+ *
+ * @param number   the 1-based number of the record in the file, header and blank lines excluded.
+ * @param raw      the record as read from the file.
+ * @param type     the type of catalog entity the record describes, or null until it has been parsed.
+ * @param category the waste category name.
+ * @param text     the tip or guideline text (unused for categories).
+ * @param error    why the record is rejected, or null if it is not.
+ */
+public record ImportRecord(long number, String raw, CatalogEntityType type, String category, String text, String error) {
+
+  public static ImportRecord unparsed(long number, String raw) {
+    return new ImportRecord(number, raw, null, null, null, null);
+  }
+
+  public ImportRecord parsed(CatalogEntityType type, String category, String text) {
+    return new ImportRecord(number, raw, type, category, text, null);
+  }
+
+  public ImportRecord reject(String error) {
+    return new ImportRecord(number, raw, type, category, text, error);
+  }
+
+  public boolean isValid() {
+    return error == null;
+  }
+}
@@ -0,0 +1,56 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.pagination;
+
+import com.enviro.assessment.grad001.atisomofokeng.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursors handed out by the list endpoints.
+ * A cursor carries the id of the last row of the previous page; the next page is read with a seek
+ * query ("id > cursor order by id"), so every page costs the same regardless of its position.
+ */
+public final class KeysetCursor {
+
+  private static final String PREFIX = "id:";
+
+  private KeysetCursor() {
+  }
+
+  /**
+   * Encodes the id of the last row returned into an opaque cursor.
+   *
+   * @param lastId the id of the last row on the current page.
+   * @return the cursor to send back to the client.
+   */
+  public static String encode(long lastId) {
+    return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.US_ASCII));
+  }
+
+  /**
+   * Decodes a cursor received from a client into the id to seek after.
+   *
+   * @param cursor the cursor, or null/blank for the first page.
+   * @return the id after which the next page starts (0 for the first page).
+   * @throws InvalidCursorException if the cursor was not produced by {@link #encode(long)}.
+   */
+  public static long decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return 0L;
+    }
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+      if (!decoded.startsWith(PREFIX)) {
+        throw new InvalidCursorException("Invalid cursor");
+      }
+      long lastId = Long.parseLong(decoded.substring(PREFIX.length()));
+      if (lastId < 0) {
+        throw new InvalidCursorException("Invalid cursor");
+      }
+      return lastId;
+    } catch (IllegalArgumentException e) {
+      throw new InvalidCursorException("Invalid cursor");
+    }
+  }
+}
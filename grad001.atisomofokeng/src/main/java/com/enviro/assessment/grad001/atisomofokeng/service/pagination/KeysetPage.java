@@ -0,0 +1,70 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * A page of rows read with a seek query, together with the cursor for the following page.
+ *
+ * @param <T> the type of the rows on the page.
+ */
+public class KeysetPage<T> {
+
+  private final List<T> items;
+  private final String nextCursor;
+
+  private KeysetPage(List<T> items, String nextCursor) {
+    this.items = items;
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * Builds a page from rows that were fetched with a limit of pageSize + 1.
+   * The extra row, if present, only signals that another page exists and is dropped.
+   *
+   * @param rows     the rows read by the seek query, ordered by id.
+   * @param pageSize the number of rows the client asked for.
+   * @param idOf     extracts the id from a row.
+   * @param <T>      the type of the rows.
+   * @return the page, with a next cursor if more rows exist.
+   */
+  public static <T> KeysetPage<T> of(List<T> rows, int pageSize, ToLongFunction<T> idOf) {
+    if (rows.size() <= pageSize) {
+      return new KeysetPage<>(rows, null);
+    }
+    List<T> items = rows.subList(0, pageSize);
+    return new KeysetPage<>(items, KeysetCursor.encode(idOf.applyAsLong(items.get(pageSize - 1))));
+  }
+
+  /**
+   * Maps the rows of the page, keeping its next cursor.
+   *
+   * @param mapper the mapping function.
+   * @param <R>    the type of the mapped rows.
+   * @return the mapped page.
+   */
+  public <R> KeysetPage<R> map(Function<T, R> mapper) {
+    return new KeysetPage<>(items.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+  }
+
+  /**
+   * Replaces the rows of the page with rows that were mapped in bulk, keeping its next cursor.
+   *
+   * @param mapped the mapped rows, in the same order as the rows of this page.
+   * @param <R>    the type of the mapped rows.
+   * @return the mapped page.
+   */
+  public <R> KeysetPage<R> withItems(List<R> mapped) {
+    return new KeysetPage<>(mapped, nextCursor);
+  }
+
+  public List<T> getItems() {
+    return items;
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+}
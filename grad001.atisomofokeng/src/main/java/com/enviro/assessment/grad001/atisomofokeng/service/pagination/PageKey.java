@@ -0,0 +1,11 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.pagination;
+
+/**
+ * Identifies one page of a list read, used as a cache key.
+ *
+ * @param categoryId the category the list is restricted to, or null for the unrestricted list.
+ * @param afterId    the id the page starts after.
+ * @param size       the page size.
+ */
+public record PageKey(Long categoryId, long afterId, int size) {
+}
@@ -0,0 +1,90 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.projection;
+
+import com.enviro.assessment.grad001.atisomofokeng.exception.InvalidFieldSelectionException;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.WasteCategoryResponse;
+
+/**
+ * The parts of a waste category a client asked for with the {@code fields} and {@code include} parameters.
+ * <p>
+ * {@code fields} restricts the category's own attributes, {@code id} and {@code wasteCategory}; both are returned
+ * without it. {@code include} embeds the {@code recyclingTips} and {@code disposalGuidelines} collections, which
+ * are left out otherwise. A collection named in {@code fields} is embedded as well. Reads only load the
+ * collections that are embedded.
+ *
+ * @param id                 whether the id is returned.
+ * @param wasteCategory      whether the name is returned.
+ * @param recyclingTips      whether the recycling tips are embedded.
+ * @param disposalGuidelines whether the disposal guidelines are embedded.
+ */
+public record WasteCategoryView(boolean id, boolean wasteCategory, boolean recyclingTips, boolean disposalGuidelines) {
+
+  /**
+   * The id and name of a category, without its children.
+   */
+  public static final WasteCategoryView SUMMARY = new WasteCategoryView(true, true, false, false);
+
+  /**
+   * Parses the request parameters.
+   *
+   * @param fields  comma-separated field names, or null for the id and name.
+   * @param include comma-separated collection names, or null for none.
+   * @return the view.
+   * @throws InvalidFieldSelectionException if a name is not a field or collection of a waste category.
+   */
+  public static WasteCategoryView parse(String fields, String include) {
+    String[] selected = split(fields);
+    boolean id = selected.length == 0;
+    boolean wasteCategory = selected.length == 0;
+    boolean recyclingTips = false;
+    boolean disposalGuidelines = false;
+    for (String field : selected) {
+      switch (field) {
+        case "id" -> id = true;
+        case "wasteCategory" -> wasteCategory = true;
+        case "recyclingTips" -> recyclingTips = true;
+        case "disposalGuidelines" -> disposalGuidelines = true;
+        default -> throw new InvalidFieldSelectionException("Unknown waste category field: " + field);
+      }
+    }
+    for (String collection : split(include)) {
+      switch (collection) {
+        case "recyclingTips" -> recyclingTips = true;
+        case "disposalGuidelines" -> disposalGuidelines = true;
+        default -> throw new InvalidFieldSelectionException("Cannot include " + collection
+                + "; waste categories can include recyclingTips and disposalGuidelines");
+      }
+    }
+    return new WasteCategoryView(id, wasteCategory, recyclingTips, disposalGuidelines);
+  }
+
+  /**
+   * @return true if any child collection is embedded.
+   */
+  public boolean embedsChildren() {
+    return recyclingTips || disposalGuidelines;
+  }
+
+  /**
+   * Copies the selected parts of a category; the unselected ones are left null and are not serialized.
+   *
+   * @param category a category holding at least the selected parts.
+   * @return the projected category, or the category itself if it holds exactly the selected parts.
+   */
+  public WasteCategoryResponse apply(WasteCategoryResponse category) {
+    if (id && wasteCategory && recyclingTips == (category.getRecyclingTips() != null)
+            && disposalGuidelines == (category.getDisposalGuidelines() != null)) {
+      return category;
+    }
+    return new WasteCategoryResponse(id ? category.getId() : null,
+            wasteCategory ? category.getWasteCategory() : null,
+            recyclingTips ? category.getRecyclingTips() : null,
+            disposalGuidelines ? category.getDisposalGuidelines() : null);
+  }
+
+  private static String[] split(String names) {
+    if (names == null || names.isBlank()) {
+      return new String[0];
+    }
+    return names.trim().split("\\s*,\\s*");
+  }
+}
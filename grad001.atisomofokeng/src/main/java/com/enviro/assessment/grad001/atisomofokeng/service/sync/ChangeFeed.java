@@ -0,0 +1,258 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.sync;
+
+import com.enviro.assessment.grad001.atisomofokeng.config.CatalogProperties;
+import com.enviro.assessment.grad001.atisomofokeng.config.ThreadFactories;
+import com.enviro.assessment.grad001.atisomofokeng.model.CatalogChangeRecord;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.CatalogChangeResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.SyncResponse;
+import com.enviro.assessment.grad001.atisomofokeng.service.SyncService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes committed catalog changes to Server-Sent Events subscribers.
+ * <p>
+ * Each subscriber is an async {@link SseEmitter}, so an idle connection holds no thread. Changes are handed
+ * over by the {@link ChangeLogRecorder} after commit, in revision order, to a single publisher thread that
+ * serializes them once and queues them on every subscriber, so the recorder's commit-order lock is never held
+ * across the fan-out; a small pool of dispatch threads drains the queues, so a writer never waits on a socket. A
+ * subscriber whose queue is full is evicted rather than buffered without bound. Event ids are change log
+ * revisions, so an evicted or disconnected client reconnects with Last-Event-ID and catches up from the log.
+ */
+@Component
+public class ChangeFeed {
+
+  private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+
+  private static final String CHANGE_EVENT = "change";
+  private static final String RESET_EVENT = "reset";
+
+  private final SyncService syncService;
+  private final ObjectMapper objectMapper;
+  private final CatalogProperties.Stream properties;
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final ExecutorService publisher;
+  private final ExecutorService dispatchers;
+  private final ScheduledExecutorService heartbeats;
+  private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("").build();
+
+  public ChangeFeed(SyncService syncService, ObjectMapper objectMapper, CatalogProperties catalogProperties,
+                    ThreadFactories threadFactories) {
+    this.syncService = syncService;
+    this.objectMapper = objectMapper;
+    this.properties = catalogProperties.getStream();
+    // One thread, so that writes reach the subscribers in the order they were handed over
+    this.publisher = Executors.newSingleThreadExecutor(threadFactories.named("change-feed-publisher"));
+    this.dispatchers = Executors.newFixedThreadPool(properties.getDispatchThreads(),
+            threadFactories.numbered("change-feed"));
+    this.heartbeats = Executors.newSingleThreadScheduledExecutor(threadFactories.named("change-feed-heartbeat"));
+  }
+
+  /**
+   * Opens a subscription. With a last event id, the changes committed after it are read from the change log
+   * and sent first; if they are too many or have been compacted away, a single reset event is sent instead and
+   * the client should load the bundle or call the sync endpoint.
+   * Must be called on the request thread.
+   *
+   * @param lastEventId the revision of the last change the client received, or null to only receive new ones.
+   * @return the emitter to return from the handler.
+   */
+  public SseEmitter subscribe(Long lastEventId) {
+    SseEmitter emitter = new SseEmitter();
+    Subscriber subscriber = new Subscriber(emitter);
+    emitter.onCompletion(() -> subscribers.remove(subscriber));
+    emitter.onTimeout(() -> subscribers.remove(subscriber));
+    emitter.onError(error -> subscribers.remove(subscriber));
+    // Registered before the backlog is read, so nothing committed in between is missed
+    subscribers.add(subscriber);
+    if (lastEventId == null) {
+      subscriber.resume(List.of(), 0);
+      return emitter;
+    }
+
+    SyncResponse backlog = syncService.getChangesSince(lastEventId, properties.getBufferSize()).getResponse();
+    if (backlog.isReset() || backlog.isHasMore()) {
+      subscribers.remove(subscriber);
+      subscriber.close(List.of(event(RESET_EVENT, backlog.getRevision(), backlog.getRevision())));
+      return emitter;
+    }
+    subscriber.resume(backlog.getChanges().stream()
+            .map(change -> event(CHANGE_EVENT, change.getRevision(), change))
+            .toList(), lastEventId);
+    return emitter;
+  }
+
+  /**
+   * Hands committed change log records to the publisher thread, which queues them on every subscriber. Called
+   * in revision order; returns without waiting for the fan-out.
+   *
+   * @param records the records of one committed write.
+   */
+  void publish(List<CatalogChangeRecord> records) {
+    // A subscriber that registers after this check reads these records from the change log instead
+    if (subscribers.isEmpty()) {
+      return;
+    }
+    try {
+      publisher.execute(() -> fanOut(records));
+    } catch (RejectedExecutionException e) {
+      // Shutting down; the subscribers are being completed and will catch up from the change log
+    }
+  }
+
+  private void fanOut(List<CatalogChangeRecord> records) {
+    for (CatalogChangeRecord record : records) {
+      Event event = event(CHANGE_EVENT, record.getId(), new CatalogChangeResponse(record.getId(),
+              record.getEntityType().name(), record.getChangeType().name(), record.getEntityId(),
+              record.getCategoryId(), record.getText(), record.getCommittedAt()));
+      subscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+  }
+
+  /**
+   * @return the number of open subscriptions.
+   */
+  public int getSubscriberCount() {
+    return subscribers.size();
+  }
+
+  /**
+   * Starts sending heartbeats, which keep proxies from closing idle connections and reveal dead ones.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    long interval = properties.getHeartbeatInterval().toMillis();
+    heartbeats.scheduleWithFixedDelay(() -> {
+      Event event = new Event(-1, heartbeat);
+      subscribers.forEach(subscriber -> subscriber.offer(event));
+    }, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    heartbeats.shutdownNow();
+    publisher.shutdownNow();
+    dispatchers.shutdownNow();
+    subscribers.forEach(subscriber -> subscriber.emitter.complete());
+  }
+
+  private Event event(String name, long revision, Object data) {
+    try {
+      return new Event(revision, SseEmitter.event()
+              .id(Long.toString(revision))
+              .name(name)
+              .data(objectMapper.writeValueAsString(data))
+              .build());
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // A change or heartbeat, serialized once for all subscribers; heartbeats have no revision
+  private record Event(long revision, Set<DataWithMediaType> data) {
+  }
+
+  private final class Subscriber {
+    final SseEmitter emitter;
+    final ArrayDeque<Event> queue = new ArrayDeque<>();
+    boolean paused = true;  // Until the backlog is queued; live changes are held back meanwhile
+    boolean scheduled;  // A dispatcher is draining the queue
+    boolean closing;  // Complete the emitter once the queue is drained
+    long sentThrough;  // Changes up to this revision have been sent or are known to the client
+
+    Subscriber(SseEmitter emitter) {
+      this.emitter = emitter;
+    }
+
+    // Queues the backlog ahead of the live changes that arrived while it was read; those the backlog already
+    // holds are skipped when dequeued, since the backlog ends with the latest revision it read
+    synchronized void resume(List<Event> backlog, long after) {
+      for (int i = backlog.size() - 1; i >= 0; i--) {
+        queue.addFirst(backlog.get(i));
+      }
+      sentThrough = after;
+      paused = false;
+      schedule();
+    }
+
+    // Sends the final events, then completes
+    synchronized void close(List<Event> events) {
+      queue.clear();
+      queue.addAll(events);
+      closing = true;
+      paused = false;
+      schedule();
+    }
+
+    synchronized void offer(Event event) {
+      if (closing) {
+        return;
+      }
+      if (queue.size() >= properties.getBufferSize()) {
+        // The client reconnects with Last-Event-ID and catches up from the change log
+        log.debug("Evicting a change feed subscriber that fell {} events behind", queue.size());
+        subscribers.remove(this);
+        close(List.of());
+        return;
+      }
+      queue.add(event);
+      if (!paused) {
+        schedule();
+      }
+    }
+
+    private void schedule() {
+      if (!scheduled && (closing || !queue.isEmpty())) {
+        scheduled = true;
+        dispatchers.execute(this::drain);
+      }
+    }
+
+    private synchronized Event next() {
+      Event event;
+      while ((event = queue.poll()) != null) {
+        if (event.revision() < 0 || event.revision() > sentThrough) {
+          sentThrough = Math.max(sentThrough, event.revision());
+          return event;
+        }
+      }
+      scheduled = false;
+      return null;
+    }
+
+    // Sends and completes outside the monitor, so that offers never wait on the socket
+    private void drain() {
+      try {
+        Event event;
+        while ((event = next()) != null) {
+          emitter.send(event.data());
+        }
+        if (closing) {
+          emitter.complete();
+        }
+      } catch (IOException | IllegalStateException e) {
+        subscribers.remove(this);
+      }
+    }
+  }
+}
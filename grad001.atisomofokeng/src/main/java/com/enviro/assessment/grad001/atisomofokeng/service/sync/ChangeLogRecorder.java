@@ -0,0 +1,126 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.sync;
+
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChange;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangeType;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangedEvent;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogEntityType;
+import com.enviro.assessment.grad001.atisomofokeng.model.CatalogChangeRecord;
+import com.enviro.assessment.grad001.atisomofokeng.repository.CatalogChangeRecordRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appends the changes of every catalog write to the change log, in the transaction of the write itself,
+ * so that the log and the catalog never disagree.
+ * <p>
+ * Revisions are only useful to clients if they are handed out in commit order: a client that has seen
+ * revision n must never later find a record below n. Recording transactions therefore take a lock before
+ * drawing their revisions and keep it until they have committed. The write's own statements are flushed
+ * before the lock is taken, so that a transaction holding the lock never waits for a row lock held by
+ * another one waiting for it. As a result, recording writes commit one at a time: their throughput is bounded
+ * by the time of inserting the records and committing, whatever the number of connections. Nothing slower
+ * runs under the lock; the committed records are only handed to the change feed, which fans them out to its
+ * subscribers on a thread of its own.
+ */
+@Component
+public class ChangeLogRecorder {
+
+  private final CatalogChangeRecordRepository changeRecordRepository;
+  private final ChangeFeed changeFeed;
+  private final EntityManager entityManager;
+  private final TransactionTemplate transaction;
+  private final ReentrantLock commitOrder = new ReentrantLock();
+
+  public ChangeLogRecorder(CatalogChangeRecordRepository changeRecordRepository, ChangeFeed changeFeed,
+                           EntityManager entityManager, PlatformTransactionManager transactionManager) {
+    this.changeRecordRepository = changeRecordRepository;
+    this.changeFeed = changeFeed;
+    this.entityManager = entityManager;
+    this.transaction = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Records the changes of a write just before its transaction commits, and hands them to the change feed
+   * once it has committed, while still holding the commit-order lock so that the feed receives them in
+   * revision order. The hand-over only queues them, so the lock is released without waiting for subscribers.
+   *
+   * @param event The changes of the write.
+   */
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onCatalogChanged(CatalogChangedEvent event) {
+    List<CatalogChangeRecord> records = toRecords(event);
+    if (records.isEmpty()) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      commitOrder.lock();
+      try {
+        transaction.executeWithoutResult(status -> changeRecordRepository.saveAll(records));
+        changeFeed.publish(records);
+      } finally {
+        commitOrder.unlock();
+      }
+      return;
+    }
+    @SuppressWarnings("unchecked")
+    List<CatalogChangeRecord> committed = (List<CatalogChangeRecord>) TransactionSynchronizationManager.getResource(this);
+    if (committed == null) {
+      entityManager.flush();
+      commitOrder.lock();
+      List<CatalogChangeRecord> recorded = new ArrayList<>();
+      TransactionSynchronizationManager.bindResource(this, recorded);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          changeFeed.publish(recorded);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResource(ChangeLogRecorder.this);
+          commitOrder.unlock();
+        }
+      });
+      committed = recorded;
+    }
+    changeRecordRepository.saveAll(records);
+    committed.addAll(records);
+  }
+
+  private static List<CatalogChangeRecord> toRecords(CatalogChangedEvent event) {
+    // A renamed category reports its tips and guidelines as updated, because their responses carry its name.
+    // The log holds category ids rather than names, so those children have not changed for sync clients.
+    Set<Long> renamed = new HashSet<>();
+    for (CatalogChange change : event.getChanges()) {
+      if (change.getEntityType() == CatalogEntityType.WASTE_CATEGORY
+              && change.getChangeType() == CatalogChangeType.UPDATED) {
+        renamed.add(change.getId());
+      }
+    }
+    Instant now = Instant.now();
+    List<CatalogChangeRecord> records = new ArrayList<>(event.getChanges().size());
+    for (CatalogChange change : event.getChanges()) {
+      if (change.getEntityType() != CatalogEntityType.WASTE_CATEGORY
+              && change.getChangeType() == CatalogChangeType.UPDATED
+              && renamed.contains(change.getCategoryId())) {
+        continue;
+      }
+      records.add(new CatalogChangeRecord(change.getEntityType(), change.getChangeType(), change.getId(),
+              change.getCategoryId(), change.getText(), now));
+    }
+    return records;
+  }
+}
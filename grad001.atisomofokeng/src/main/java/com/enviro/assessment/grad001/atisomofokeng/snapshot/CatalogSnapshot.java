@@ -0,0 +1,318 @@
+package com.enviro.assessment.grad001.atisomofokeng.snapshot;
+
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChange;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangeType;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangedEvent;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogEntityType;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.DisposalGuidelineResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.RecyclingTipResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.WasteCategoryResponse;
+import com.enviro.assessment.grad001.atisomofokeng.repository.CatalogEntry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable in-memory copy of the whole catalog, holding ready-made response DTOs indexed by id and by category.
+ * A snapshot is never modified after it is built: writes produce a new snapshot with {@link #apply(CatalogChangedEvent)},
+ * which shares everything the write did not touch with this one.
+ */
+public final class CatalogSnapshot {
+
+  // The rows as committed, which tell which category a tip or guideline belonged to before a change
+  private final SortedIdIndex<CatalogEntry> categoryEntries;
+  private final SortedIdIndex<CatalogEntry> tipEntries;
+  private final SortedIdIndex<CatalogEntry> guidelineEntries;
+
+  private final SortedIdIndex<WasteCategoryResponse> wasteCategories;
+  private final SortedIdIndex<RecyclingTipResponse> recyclingTips;
+  private final SortedIdIndex<DisposalGuidelineResponse> disposalGuidelines;
+  private final SortedIdIndex<Children> childrenByCategory;
+
+  /**
+   * The tips and guidelines of one category.
+   */
+  private record Children(long categoryId, SortedIdIndex<RecyclingTipResponse> recyclingTips,
+                          SortedIdIndex<DisposalGuidelineResponse> disposalGuidelines) {
+  }
+
+  private CatalogSnapshot(SortedIdIndex<CatalogEntry> categoryEntries, SortedIdIndex<CatalogEntry> tipEntries,
+                          SortedIdIndex<CatalogEntry> guidelineEntries,
+                          SortedIdIndex<WasteCategoryResponse> wasteCategories,
+                          SortedIdIndex<RecyclingTipResponse> recyclingTips,
+                          SortedIdIndex<DisposalGuidelineResponse> disposalGuidelines,
+                          SortedIdIndex<Children> childrenByCategory) {
+    this.categoryEntries = categoryEntries;
+    this.tipEntries = tipEntries;
+    this.guidelineEntries = guidelineEntries;
+    this.wasteCategories = wasteCategories;
+    this.recyclingTips = recyclingTips;
+    this.disposalGuidelines = disposalGuidelines;
+    this.childrenByCategory = childrenByCategory;
+  }
+
+  /**
+   * Builds a snapshot from flat catalog rows.
+   *
+   * @param categories the categories, ordered by id.
+   * @param tips       the recycling tips, ordered by id.
+   * @param guidelines the disposal guidelines, ordered by id.
+   * @return the snapshot.
+   */
+  public static CatalogSnapshot of(Collection<CatalogEntry> categories, Collection<CatalogEntry> tips,
+                                   Collection<CatalogEntry> guidelines) {
+    Map<Long, String> names = new HashMap<>();
+    for (CatalogEntry category : categories) {
+      names.put(category.id(), category.text());
+    }
+
+    Map<Long, List<RecyclingTipResponse>> tipsByCategory = new HashMap<>();
+    List<RecyclingTipResponse> tipResponses = new ArrayList<>(tips.size());
+    for (CatalogEntry entry : tips) {
+      RecyclingTipResponse tip = new RecyclingTipResponse(entry.id(), entry.text(), names.get(entry.categoryId()));
+      tipResponses.add(tip);
+      tipsByCategory.computeIfAbsent(entry.categoryId(), id -> new ArrayList<>()).add(tip);
+    }
+
+    Map<Long, List<DisposalGuidelineResponse>> guidelinesByCategory = new HashMap<>();
+    List<DisposalGuidelineResponse> guidelineResponses = new ArrayList<>(guidelines.size());
+    for (CatalogEntry entry : guidelines) {
+      DisposalGuidelineResponse guideline =
+              new DisposalGuidelineResponse(entry.id(), entry.text(), names.get(entry.categoryId()));
+      guidelineResponses.add(guideline);
+      guidelinesByCategory.computeIfAbsent(entry.categoryId(), id -> new ArrayList<>()).add(guideline);
+    }
+
+    List<WasteCategoryResponse> categoryResponses = new ArrayList<>(categories.size());
+    List<Children> children = new ArrayList<>(categories.size());
+    for (CatalogEntry entry : categories) {
+      Children categoryChildren = new Children(entry.id(),
+              SortedIdIndex.of(tipsByCategory.getOrDefault(entry.id(), List.of()), RecyclingTipResponse::getId),
+              SortedIdIndex.of(guidelinesByCategory.getOrDefault(entry.id(), List.of()), DisposalGuidelineResponse::getId));
+      children.add(categoryChildren);
+      categoryResponses.add(responseOf(entry, categoryChildren));
+    }
+
+    return new CatalogSnapshot(
+            SortedIdIndex.of(List.copyOf(categories), CatalogEntry::id),
+            SortedIdIndex.of(List.copyOf(tips), CatalogEntry::id),
+            SortedIdIndex.of(List.copyOf(guidelines), CatalogEntry::id),
+            SortedIdIndex.of(categoryResponses, WasteCategoryResponse::getId),
+            SortedIdIndex.of(tipResponses, RecyclingTipResponse::getId),
+            SortedIdIndex.of(guidelineResponses, DisposalGuidelineResponse::getId),
+            SortedIdIndex.of(children, Children::categoryId));
+  }
+
+  /**
+   * Builds a new snapshot with committed changes applied; this snapshot is left untouched.
+   * Changes are applied as upserts and removals by id, so replaying a change that is already reflected is harmless.
+   * Only the changed rows, the categories they belong or belonged to, and the children of renamed categories
+   * are rebuilt; everything else is shared with this snapshot.
+   *
+   * @param event the committed changes.
+   * @return the new snapshot.
+   */
+  public CatalogSnapshot apply(CatalogChangedEvent event) {
+    // The state of every changed row after the event, in order; null for a removed row
+    Map<CatalogEntityType, Map<Long, CatalogEntry>> changed = Map.of(
+            CatalogEntityType.WASTE_CATEGORY, new LinkedHashMap<>(),
+            CatalogEntityType.RECYCLING_TIP, new LinkedHashMap<>(),
+            CatalogEntityType.DISPOSAL_GUIDELINE, new LinkedHashMap<>());
+    for (CatalogChange change : event.getChanges()) {
+      changed.get(change.getEntityType()).put(change.getId(), change.getChangeType() == CatalogChangeType.DELETED
+              ? null : new CatalogEntry(change.getId(), change.getCategoryId(), change.getText()));
+    }
+    Map<Long, CatalogEntry> changedCategories = changed.get(CatalogEntityType.WASTE_CATEGORY);
+    Map<Long, CatalogEntry> changedTips = changed.get(CatalogEntityType.RECYCLING_TIP);
+    Map<Long, CatalogEntry> changedGuidelines = changed.get(CatalogEntityType.DISPOSAL_GUIDELINE);
+
+    SortedIdIndex<CatalogEntry> newCategoryEntries = patch(categoryEntries, changedCategories);
+    SortedIdIndex<CatalogEntry> newTipEntries = patch(tipEntries, changedTips);
+    SortedIdIndex<CatalogEntry> newGuidelineEntries = patch(guidelineEntries, changedGuidelines);
+
+    // The children of a category that was renamed, created or removed carry its name and are rebuilt too
+    Set<Long> renamed = new HashSet<>();
+    changedCategories.forEach((id, entry) -> {
+      CatalogEntry before = categoryEntries.get(id);
+      if (before == null || entry == null || !before.text().equals(entry.text())) {
+        renamed.add(id);
+      }
+    });
+    // The ids of the changed tips and guidelines of every category they belong or belonged to
+    Map<Long, Set<Long>> tipsByCategory = new HashMap<>();
+    Map<Long, Set<Long>> guidelinesByCategory = new HashMap<>();
+    SortedIdIndex<RecyclingTipResponse> newRecyclingTips = patchChildren(recyclingTips, RecyclingTipResponse::getId,
+            tipEntries, newTipEntries, changedTips, renamed, Children::recyclingTips, newCategoryEntries,
+            RecyclingTipResponse::new, tipsByCategory);
+    SortedIdIndex<DisposalGuidelineResponse> newDisposalGuidelines = patchChildren(disposalGuidelines,
+            DisposalGuidelineResponse::getId, guidelineEntries, newGuidelineEntries, changedGuidelines, renamed,
+            Children::disposalGuidelines, newCategoryEntries, DisposalGuidelineResponse::new, guidelinesByCategory);
+    Set<Long> affected = new HashSet<>(changedCategories.keySet());
+    affected.addAll(tipsByCategory.keySet());
+    affected.addAll(guidelinesByCategory.keySet());
+
+    // Every affected category gets its lists rebuilt from its previous lists and the changed rows
+    Map<Long, Children> childrenUpserts = new HashMap<>();
+    Map<Long, WasteCategoryResponse> categoryUpserts = new HashMap<>();
+    List<Long> categoryRemovals = new ArrayList<>();
+    for (Long categoryId : affected) {
+      CatalogEntry category = newCategoryEntries.get(categoryId);
+      if (category == null) {
+        categoryRemovals.add(categoryId);
+        continue;
+      }
+      Children before = childrenByCategory.get(categoryId);
+      Children after = new Children(categoryId,
+              childrenOf(categoryId, before != null ? before.recyclingTips() : null, tipsByCategory.get(categoryId),
+                      renamed.contains(categoryId), newTipEntries, newRecyclingTips, RecyclingTipResponse::getId),
+              childrenOf(categoryId, before != null ? before.disposalGuidelines() : null,
+                      guidelinesByCategory.get(categoryId), renamed.contains(categoryId), newGuidelineEntries,
+                      newDisposalGuidelines, DisposalGuidelineResponse::getId));
+      childrenUpserts.put(categoryId, after);
+      categoryUpserts.put(categoryId, responseOf(category, after));
+    }
+
+    return new CatalogSnapshot(newCategoryEntries, newTipEntries, newGuidelineEntries,
+            wasteCategories.with(categoryUpserts, categoryRemovals),
+            newRecyclingTips, newDisposalGuidelines,
+            childrenByCategory.with(childrenUpserts, categoryRemovals));
+  }
+
+  private static SortedIdIndex<CatalogEntry> patch(SortedIdIndex<CatalogEntry> entries, Map<Long, CatalogEntry> changed) {
+    Map<Long, CatalogEntry> upserts = new HashMap<>();
+    List<Long> removals = new ArrayList<>();
+    changed.forEach((id, entry) -> {
+      if (entry == null) {
+        removals.add(id);
+      } else {
+        upserts.put(id, entry);
+      }
+    });
+    return entries.with(upserts, removals);
+  }
+
+  // Patches the responses of all tips or guidelines: the changed rows, and the rows of renamed categories, which
+  // carry the category name. Collects the ids of the changed rows by the categories they belong and belonged to.
+  private <R> SortedIdIndex<R> patchChildren(SortedIdIndex<R> responses, ToLongFunction<R> idOf,
+                                            SortedIdIndex<CatalogEntry> entriesBefore,
+                                            SortedIdIndex<CatalogEntry> entriesAfter, Map<Long, CatalogEntry> changed,
+                                            Set<Long> renamed, Function<Children, SortedIdIndex<R>> listOf,
+                                            SortedIdIndex<CatalogEntry> categoriesAfter, ResponseFactory<R> factory,
+                                            Map<Long, Set<Long>> changedByCategory) {
+    Map<Long, R> upserts = new HashMap<>();
+    List<Long> removals = new ArrayList<>();
+    changed.forEach((id, entry) -> {
+      CatalogEntry before = entriesBefore.get(id);
+      if (before != null && before.categoryId() != null) {
+        changedByCategory.computeIfAbsent(before.categoryId(), categoryId -> new HashSet<>()).add(id);
+      }
+      if (entry == null) {
+        removals.add(id);
+        return;
+      }
+      if (entry.categoryId() != null) {
+        changedByCategory.computeIfAbsent(entry.categoryId(), categoryId -> new HashSet<>()).add(id);
+      }
+      upserts.put(id, factory.create(id, entry.text(), nameOf(categoriesAfter, entry.categoryId())));
+    });
+    for (Long categoryId : renamed) {
+      Children children = childrenByCategory.get(categoryId);
+      if (children == null) {
+        continue;
+      }
+      for (R child : listOf.apply(children).getItems()) {
+        CatalogEntry entry = entriesAfter.get(idOf.applyAsLong(child));
+        if (entry != null && !changed.containsKey(entry.id())) {
+          upserts.put(entry.id(), factory.create(entry.id(), entry.text(), nameOf(categoriesAfter, entry.categoryId())));
+        }
+      }
+    }
+    return responses.with(upserts, removals);
+  }
+
+  // The tips or guidelines of one category after the event: its previous ones and the changed ones that belong to
+  // it now, each taken from the patched responses. A category none of whose rows changed keeps its list.
+  private static <R> SortedIdIndex<R> childrenOf(long categoryId, SortedIdIndex<R> before, Set<Long> changedIds,
+                                                 boolean renamed, SortedIdIndex<CatalogEntry> entriesAfter,
+                                                 SortedIdIndex<R> responsesAfter, ToLongFunction<R> idOf) {
+    if (before != null && changedIds == null && !renamed) {
+      return before;
+    }
+    TreeSet<Long> ids = new TreeSet<>();
+    if (before != null) {
+      for (R item : before.getItems()) {
+        ids.add(idOf.applyAsLong(item));
+      }
+    }
+    if (changedIds != null) {
+      ids.addAll(changedIds);
+    }
+    List<R> items = new ArrayList<>(ids.size());
+    for (Long id : ids) {
+      CatalogEntry entry = entriesAfter.get(id);
+      if (entry != null && Objects.equals(entry.categoryId(), categoryId)) {
+        items.add(responsesAfter.get(id));
+      }
+    }
+    return SortedIdIndex.of(items, idOf);
+  }
+
+  private static String nameOf(SortedIdIndex<CatalogEntry> categories, Long categoryId) {
+    CatalogEntry category = categoryId != null ? categories.get(categoryId) : null;
+    return category != null ? category.text() : null;
+  }
+
+  private static WasteCategoryResponse responseOf(CatalogEntry category, Children children) {
+    return new WasteCategoryResponse(category.id(), category.text(),
+            children.recyclingTips().getItems(), children.disposalGuidelines().getItems());
+  }
+
+  @FunctionalInterface
+  private interface ResponseFactory<R> {
+    R create(Long id, String text, String categoryName);
+  }
+
+  public SortedIdIndex<WasteCategoryResponse> getWasteCategories() {
+    return wasteCategories;
+  }
+
+  public SortedIdIndex<RecyclingTipResponse> getRecyclingTips() {
+    return recyclingTips;
+  }
+
+  public SortedIdIndex<DisposalGuidelineResponse> getDisposalGuidelines() {
+    return disposalGuidelines;
+  }
+
+  /**
+   * Returns the recycling tips of a category.
+   *
+   * @param categoryId the category id.
+   * @return the tips of the category, or null if the category does not exist.
+   */
+  public SortedIdIndex<RecyclingTipResponse> getRecyclingTipsOf(long categoryId) {
+    Children children = childrenByCategory.get(categoryId);
+    return children != null ? children.recyclingTips() : null;
+  }
+
+  /**
+   * Returns the disposal guidelines of a category.
+   *
+   * @param categoryId the category id.
+   * @return the guidelines of the category, or null if the category does not exist.
+   */
+  public SortedIdIndex<DisposalGuidelineResponse> getDisposalGuidelinesOf(long categoryId) {
+    Children children = childrenByCategory.get(categoryId);
+    return children != null ? children.disposalGuidelines() : null;
+  }
+}
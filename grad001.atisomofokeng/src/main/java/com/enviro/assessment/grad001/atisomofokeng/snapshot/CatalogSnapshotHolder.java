@@ -0,0 +1,132 @@
+package com.enviro.assessment.grad001.atisomofokeng.snapshot;
+
+import com.enviro.assessment.grad001.atisomofokeng.config.CatalogProperties;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangedEvent;
+import com.enviro.assessment.grad001.atisomofokeng.repository.CatalogEntry;
+import com.enviro.assessment.grad001.atisomofokeng.repository.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.RecyclingTipRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.WasteCategoryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Holds the current {@link CatalogSnapshot} when the catalog is configured to be read from memory.
+ * Readers get the current snapshot with a single volatile read and never lock. Writers are serialized:
+ * committed changes are applied copy-on-write and the new snapshot is published with a volatile swap.
+ */
+@Component
+public class CatalogSnapshotHolder {
+
+  private final WasteCategoryRepository wasteCategoryRepository;
+  private final RecyclingTipRepository recyclingTipRepository;
+  private final DisposalGuidelineRepository disposalGuidelineRepository;
+  private final CatalogProperties catalogProperties;
+  private final TransactionTemplate readOnlyTransaction;
+  // A lock rather than a monitor, so that a virtual thread reloading the snapshot does not pin its carrier
+  private final ReentrantLock writeLock = new ReentrantLock();
+
+  private volatile CatalogSnapshot snapshot;
+
+  public CatalogSnapshotHolder(WasteCategoryRepository wasteCategoryRepository,
+                               RecyclingTipRepository recyclingTipRepository,
+                               DisposalGuidelineRepository disposalGuidelineRepository,
+                               CatalogProperties catalogProperties,
+                               PlatformTransactionManager transactionManager) {
+    this.wasteCategoryRepository = wasteCategoryRepository;
+    this.recyclingTipRepository = recyclingTipRepository;
+    this.disposalGuidelineRepository = disposalGuidelineRepository;
+    this.catalogProperties = catalogProperties;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  /**
+   * Checks whether reads should be served from the snapshot.
+   *
+   * @return true if the configured read source is the in-memory snapshot.
+   */
+  public boolean isEnabled() {
+    return catalogProperties.getReadSource() == CatalogProperties.ReadSource.SNAPSHOT;
+  }
+
+  /**
+   * Returns the current snapshot, loading it from the database if it has not been built yet.
+   *
+   * @return the current snapshot.
+   */
+  public CatalogSnapshot current() {
+    CatalogSnapshot current = snapshot;
+    if (current != null) {
+      return current;
+    }
+    writeLock.lock();
+    try {
+      // Readers that queued behind the first load take its snapshot rather than loading the catalog again
+      current = snapshot;
+      return current != null ? current : rebuild();
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Reloads the whole snapshot from the database and publishes it.
+   *
+   * @return the new snapshot.
+   */
+  public CatalogSnapshot rebuild() {
+    writeLock.lock();
+    try {
+      CatalogSnapshot loaded = readOnlyTransaction.execute(status -> CatalogSnapshot.of(
+              collect(wasteCategoryRepository.streamAllAsEntries()),
+              collect(recyclingTipRepository.streamAllAsEntries()),
+              collect(disposalGuidelineRepository.streamAllAsEntries())));
+      snapshot = loaded;
+      return loaded;
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  /**
+   * Builds the snapshot once the application has started, after the sample data has been seeded.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    if (isEnabled()) {
+      rebuild();
+    }
+  }
+
+  /**
+   * Applies committed catalog changes to the snapshot. The writing thread pays for the copy, so readers never do.
+   *
+   * @param event The committed changes.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onCatalogChanged(CatalogChangedEvent event) {
+    writeLock.lock();
+    try {
+      // A snapshot that was never built will be loaded, with these changes, on first read
+      if (snapshot != null) {
+        snapshot = snapshot.apply(event);
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private static List<CatalogEntry> collect(Stream<CatalogEntry> entries) {
+    try (entries) {
+      return entries.toList();
+    }
+  }
+}
@@ -0,0 +1,220 @@
+package com.enviro.assessment.grad001.atisomofokeng.snapshot;
+
+import com.enviro.assessment.grad001.atisomofokeng.service.pagination.KeysetPage;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable list of rows ordered by id, held in chunks of a few hundred rows with a parallel primitive array of
+ * their ids for binary search. Point lookups and keyset pages are O(log n) and copy at most one page of rows.
+ * <p>
+ * {@link #with(Map, Collection)} returns a new index that shares every chunk it does not touch with this one,
+ * so a write that changes k rows costs O(k log n) plus a copy of the chunk table, not a copy of the whole list.
+ *
+ * @param <T> the type of the rows.
+ */
+public final class SortedIdIndex<T> {
+
+  // Chunks are split once they reach twice this size, so every chunk holds up to 2 * CHUNK_SIZE - 1 rows
+  static final int CHUNK_SIZE = 256;
+
+  private final Chunk<T>[] chunks;
+  // The first id and the index of the first row of every chunk
+  private final long[] firstIds;
+  private final int[] offsets;
+  private final int size;
+  private final ToLongFunction<T> idOf;
+  private final List<T> items;
+
+  private SortedIdIndex(Chunk<T>[] chunks, ToLongFunction<T> idOf) {
+    this.chunks = chunks;
+    this.idOf = idOf;
+    this.firstIds = new long[chunks.length];
+    this.offsets = new int[chunks.length];
+    int total = 0;
+    for (int i = 0; i < chunks.length; i++) {
+      firstIds[i] = chunks[i].ids[0];
+      offsets[i] = total;
+      total += chunks[i].ids.length;
+    }
+    this.size = total;
+    // A small index, such as the rows of one category, hands out its only chunk as is
+    this.items = chunks.length == 0 ? List.of() : chunks.length == 1 ? chunks[0].items : new Items();
+  }
+
+  /**
+   * Builds an index over rows that are already ordered by id.
+   *
+   * @param items the rows, ordered by ascending id.
+   * @param idOf  extracts the id from a row.
+   * @param <T>   the type of the rows.
+   * @return the index.
+   */
+  public static <T> SortedIdIndex<T> of(List<T> items, ToLongFunction<T> idOf) {
+    List<Chunk<T>> chunks = new ArrayList<>(items.size() / CHUNK_SIZE + 1);
+    split(items, idOf, chunks);
+    return new SortedIdIndex<>(toArray(chunks), idOf);
+  }
+
+  /**
+   * Returns an index with rows added, replaced and removed, sharing the untouched chunks with this one.
+   *
+   * @param upserts  the rows to add or replace, by id.
+   * @param removals the ids of the rows to remove; ids that are absent are ignored.
+   * @return the new index, or this one if there is nothing to change.
+   */
+  public SortedIdIndex<T> with(Map<Long, T> upserts, Collection<Long> removals) {
+    if (upserts.isEmpty() && removals.isEmpty()) {
+      return this;
+    }
+    // The changes of every touched chunk, by chunk; ids before the first row go to the first chunk
+    TreeMap<Integer, TreeMap<Long, T>> touched = new TreeMap<>();
+    for (Long id : removals) {
+      if (!upserts.containsKey(id)) {
+        touched.computeIfAbsent(chunkOf(id), chunk -> new TreeMap<>()).put(id, null);
+      }
+    }
+    upserts.forEach((id, item) -> touched.computeIfAbsent(chunkOf(id), chunk -> new TreeMap<>()).put(id, item));
+
+    List<Chunk<T>> result = new ArrayList<>(chunks.length + touched.size());
+    int next = 0;
+    for (Map.Entry<Integer, TreeMap<Long, T>> entry : touched.entrySet()) {
+      int index = entry.getKey();
+      result.addAll(Arrays.asList(chunks).subList(next, Math.max(next, index)));
+      next = Math.max(next, index + 1);
+      List<T> merged = index < chunks.length ? merge(chunks[index], entry.getValue()) : merge(null, entry.getValue());
+      split(merged, idOf, result);
+    }
+    result.addAll(Arrays.asList(chunks).subList(next, chunks.length));
+    return new SortedIdIndex<>(toArray(result), idOf);
+  }
+
+  /**
+   * Looks up a row by id.
+   *
+   * @param id the id.
+   * @return the row, or null if there is none.
+   */
+  public T get(long id) {
+    if (chunks.length == 0) {
+      return null;
+    }
+    Chunk<T> chunk = chunks[chunkOf(id)];
+    int index = Arrays.binarySearch(chunk.ids, id);
+    return index >= 0 ? chunk.items.get(index) : null;
+  }
+
+  /**
+   * Returns the rows following the given id, in the same shape as a seek query with a limit of size + 1.
+   *
+   * @param afterId the id of the last row of the previous page, or 0 for the first page.
+   * @param size    the page size.
+   * @return the page, with a next cursor if more rows exist.
+   */
+  public KeysetPage<T> page(long afterId, int size) {
+    if (chunks.length == 0) {
+      return KeysetPage.of(List.of(), size, idOf);
+    }
+    int chunk = chunkOf(afterId);
+    int index = Arrays.binarySearch(chunks[chunk].ids, afterId);
+    int from = offsets[chunk] + (index >= 0 ? index + 1 : -index - 1);
+    int to = (int) Math.min((long) from + size + 1, this.size);
+    return KeysetPage.of(items.subList(from, to), size, idOf);
+  }
+
+  /**
+   * @return the rows, ordered by id, as a read-only view.
+   */
+  public List<T> getItems() {
+    return items;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  // The last chunk whose first id is at most the given id, or the first chunk
+  private int chunkOf(long id) {
+    int index = Arrays.binarySearch(firstIds, id);
+    return index >= 0 ? index : Math.max(0, -index - 2);
+  }
+
+  // The rows of a chunk with changes applied, in id order; a null change removes the row
+  private List<T> merge(Chunk<T> chunk, TreeMap<Long, T> changes) {
+    List<T> merged = new ArrayList<>((chunk != null ? chunk.ids.length : 0) + changes.size());
+    int i = 0;
+    int length = chunk != null ? chunk.ids.length : 0;
+    for (Map.Entry<Long, T> change : changes.entrySet()) {
+      long id = change.getKey();
+      while (i < length && chunk.ids[i] < id) {
+        merged.add(chunk.items.get(i++));
+      }
+      if (i < length && chunk.ids[i] == id) {
+        i++;
+      }
+      if (change.getValue() != null) {
+        merged.add(change.getValue());
+      }
+    }
+    while (i < length) {
+      merged.add(chunk.items.get(i++));
+    }
+    return merged;
+  }
+
+  // Cuts rows into chunks of CHUNK_SIZE, keeping short runs whole; empty runs make no chunk
+  private static <T> void split(List<T> items, ToLongFunction<T> idOf, List<Chunk<T>> into) {
+    int count = items.size() < 2 * CHUNK_SIZE ? Math.min(items.size(), 1) : items.size() / CHUNK_SIZE;
+    for (int i = 0; i < count; i++) {
+      int from = (int) ((long) items.size() * i / count);
+      int to = (int) ((long) items.size() * (i + 1) / count);
+      into.add(Chunk.of(items.subList(from, to), idOf));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Chunk<T>[] toArray(List<Chunk<T>> chunks) {
+    return chunks.toArray(new Chunk[0]);
+  }
+
+  private record Chunk<T>(long[] ids, List<T> items) {
+
+    static <T> Chunk<T> of(List<T> items, ToLongFunction<T> idOf) {
+      List<T> copy = List.copyOf(items);
+      long[] ids = new long[copy.size()];
+      for (int i = 0; i < ids.length; i++) {
+        ids[i] = idOf.applyAsLong(copy.get(i));
+      }
+      return new Chunk<>(ids, copy);
+    }
+  }
+
+  // The rows of every chunk, seen as one list
+  private final class Items extends AbstractList<T> implements RandomAccess {
+
+    @Override
+    public T get(int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException(index);
+      }
+      int chunk = Arrays.binarySearch(offsets, index);
+      if (chunk < 0) {
+        chunk = -chunk - 2;
+      }
+      return chunks[chunk].items.get(index - offsets[chunk]);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+}
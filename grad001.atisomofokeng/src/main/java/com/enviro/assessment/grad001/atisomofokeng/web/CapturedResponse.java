@@ -0,0 +1,275 @@
+package com.enviro.assessment.grad001.atisomofokeng.web;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The response to a {@link SubRequest}, kept in memory: status, headers and body never reach the enclosing
+ * response. An error sent with {@link #sendError} only records the status and message; the caller renders the
+ * error body, as the container's error page would.
+ */
+class CapturedResponse extends HttpServletResponseWrapper {
+
+  private final HttpHeaders headers = new HttpHeaders();
+  private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+  private int status = SC_OK;
+  private String errorMessage;
+  private boolean errorSent;
+  private String characterEncoding;
+  private ServletOutputStream outputStream;
+  private PrintWriter writer;
+
+  CapturedResponse(HttpServletResponse enclosing) {
+    super(enclosing);
+  }
+
+  /**
+   * @return whether the status was set with {@link #sendError}, leaving the body to the caller.
+   */
+  boolean isErrorSent() {
+    return errorSent;
+  }
+
+  String getErrorMessage() {
+    return errorMessage;
+  }
+
+  HttpHeaders getCapturedHeaders() {
+    return headers;
+  }
+
+  byte[] getBody() {
+    if (writer != null) {
+      writer.flush();
+    }
+    return body.toByteArray();
+  }
+
+  @Override
+  public void setStatus(int status) {
+    this.status = status;
+  }
+
+  @Override
+  public int getStatus() {
+    return status;
+  }
+
+  @Override
+  public void sendError(int status, String message) {
+    this.status = status;
+    this.errorMessage = message;
+    this.errorSent = true;
+    resetBuffer();
+  }
+
+  @Override
+  public void sendError(int status) {
+    sendError(status, null);
+  }
+
+  @Override
+  public void sendRedirect(String location) {
+    setStatus(SC_FOUND);
+    setHeader(HttpHeaders.LOCATION, location);
+  }
+
+  @Override
+  public void setHeader(String name, String value) {
+    if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+      setContentType(value);
+    } else if (value == null) {
+      headers.remove(name);
+    } else {
+      headers.set(name, value);
+    }
+  }
+
+  @Override
+  public void addHeader(String name, String value) {
+    if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+      setContentType(value);
+    } else if (value != null) {
+      headers.add(name, value);
+    }
+  }
+
+  @Override
+  public void setIntHeader(String name, int value) {
+    setHeader(name, Integer.toString(value));
+  }
+
+  @Override
+  public void addIntHeader(String name, int value) {
+    addHeader(name, Integer.toString(value));
+  }
+
+  @Override
+  public void setDateHeader(String name, long date) {
+    setHeader(name, formatDate(date));
+  }
+
+  @Override
+  public void addDateHeader(String name, long date) {
+    addHeader(name, formatDate(date));
+  }
+
+  private static String formatDate(long date) {
+    return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(date).atZone(ZoneOffset.UTC));
+  }
+
+  @Override
+  public boolean containsHeader(String name) {
+    return headers.containsKey(name);
+  }
+
+  @Override
+  public String getHeader(String name) {
+    return headers.getFirst(name);
+  }
+
+  @Override
+  public Collection<String> getHeaders(String name) {
+    return List.copyOf(headers.getOrEmpty(name));
+  }
+
+  @Override
+  public Collection<String> getHeaderNames() {
+    return List.copyOf(headers.keySet());
+  }
+
+  @Override
+  public void setContentType(String type) {
+    if (type == null) {
+      headers.remove(HttpHeaders.CONTENT_TYPE);
+      return;
+    }
+    MediaType mediaType = MediaType.parseMediaType(type);
+    if (mediaType.getCharset() != null) {
+      characterEncoding = mediaType.getCharset().name();
+    }
+    headers.set(HttpHeaders.CONTENT_TYPE, type);
+  }
+
+  @Override
+  public String getContentType() {
+    return headers.getFirst(HttpHeaders.CONTENT_TYPE);
+  }
+
+  @Override
+  public void setCharacterEncoding(String characterEncoding) {
+    this.characterEncoding = characterEncoding;
+  }
+
+  @Override
+  public String getCharacterEncoding() {
+    return characterEncoding != null ? characterEncoding : StandardCharsets.ISO_8859_1.name();
+  }
+
+  @Override
+  public void setContentLength(int length) {
+    setContentLengthLong(length);
+  }
+
+  @Override
+  public void setContentLengthLong(long length) {
+    headers.setContentLength(length);
+  }
+
+  @Override
+  public void setLocale(Locale locale) {
+    headers.setContentLanguage(locale);
+  }
+
+  @Override
+  public void addCookie(Cookie cookie) {
+    // Sub-requests carry no session state
+  }
+
+  @Override
+  public ServletOutputStream getOutputStream() {
+    if (outputStream == null) {
+      outputStream = new ServletOutputStream() {
+        @Override
+        public void write(int b) {
+          body.write(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+          body.write(bytes, offset, length);
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+          throw new UnsupportedOperationException();
+        }
+      };
+    }
+    return outputStream;
+  }
+
+  @Override
+  public PrintWriter getWriter() {
+    if (writer == null) {
+      writer = new PrintWriter(new OutputStreamWriter(body, Charset.forName(getCharacterEncoding())));
+    }
+    return writer;
+  }
+
+  @Override
+  public void flushBuffer() {
+    if (writer != null) {
+      writer.flush();
+    }
+  }
+
+  @Override
+  public boolean isCommitted() {
+    return false;
+  }
+
+  @Override
+  public void resetBuffer() {
+    flushBuffer();
+    body.reset();
+  }
+
+  @Override
+  public void reset() {
+    resetBuffer();
+    headers.clear();
+    status = SC_OK;
+  }
+
+  @Override
+  public void setBufferSize(int size) {
+  }
+
+  @Override
+  public int getBufferSize() {
+    return Integer.MAX_VALUE;
+  }
+}
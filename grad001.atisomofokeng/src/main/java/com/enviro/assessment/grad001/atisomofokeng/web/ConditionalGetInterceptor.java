@@ -0,0 +1,95 @@
+package com.enviro.assessment.grad001.atisomofokeng.web;
+
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogEntityType;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogRevisions;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Answers conditional GETs of catalog data before the handler runs.
+ * Single categories, tips and guidelines are tagged with the revision at which they last changed; everything
+ * else (lists, exports, searches) with the catalog-wide revision. A request whose If-None-Match still matches
+ * gets 304 Not Modified without any entity being loaded or mapped; any other request gets the tag with its
+ * response. Tags are specific to the negotiated encoding; see {@link Representations}.
+ * <p>
+ * A request naming a category, tip or guideline that is not known to exist is neither tagged nor answered here,
+ * so the handler answers 404. An entity may still be deleted between this check and the handler, so the tag of
+ * a request with path variables is not set up front: {@link EntityTagAdvice} attaches it to a successful body.
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+  private static final Map<String, CatalogEntityType> ITEM_PATTERNS = Map.of(
+          "/api/waste-categories/{id}", CatalogEntityType.WASTE_CATEGORY,
+          "/api/recycling-tips/{id}", CatalogEntityType.RECYCLING_TIP,
+          "/api/disposal-guidelines/{id}", CatalogEntityType.DISPOSAL_GUIDELINE);
+
+  /**
+   * The request attribute holding the entity tag that a successful response is sent with.
+   */
+  public static final String ETAG_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".etag";
+
+  private final CatalogRevisions catalogRevisions;
+
+  public ConditionalGetInterceptor(CatalogRevisions catalogRevisions) {
+    this.catalogRevisions = catalogRevisions;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    // Only mapped handlers; anything else under these paths is answered 404 by the resource handler
+    if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())
+            || !(handler instanceof HandlerMethod)) {
+      return true;
+    }
+    @SuppressWarnings("unchecked")
+    Map<String, String> variables =
+            (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+    String etag = etagOf(request, variables == null ? Map.of() : variables);
+    if (etag == null) {
+      return true;
+    }
+    etag = Representations.etag(request, etag);
+    // Clients may keep the response, but must revalidate it before every use
+    response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+    response.setHeader(HttpHeaders.VARY, Representations.VARY);
+    // Checked without the response, which would be given the tag whatever the handler answers
+    if (new ServletWebRequest(request).checkNotModified(etag)) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      response.setHeader(HttpHeaders.ETAG, etag);
+      return false;
+    }
+    if (variables == null || variables.isEmpty()) {
+      response.setHeader(HttpHeaders.ETAG, etag);
+    } else {
+      request.setAttribute(ETAG_ATTRIBUTE, etag);
+    }
+    return true;
+  }
+
+  private String etagOf(HttpServletRequest request, Map<String, String> variables) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    CatalogEntityType type = ITEM_PATTERNS.get(String.valueOf(pattern));
+    try {
+      if (type != null) {
+        return catalogRevisions.of(type, Long.parseLong(variables.get("id")));
+      }
+      String categoryId = variables.get("categoryId");
+      if (categoryId != null && catalogRevisions.of(CatalogEntityType.WASTE_CATEGORY, Long.parseLong(categoryId)) == null) {
+        return null;
+      }
+    } catch (NumberFormatException e) {
+      // Not an id: the handler rejects the request
+      return null;
+    }
+    return catalogRevisions.current();
+  }
+}
@@ -0,0 +1,40 @@
+package com.enviro.assessment.grad001.atisomofokeng.web;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Sends the entity tag that {@link ConditionalGetInterceptor} left for a request with a successful body. Error
+ * bodies, including the error page of a 404 raised by the handler, are written without it.
+ */
+@ControllerAdvice
+public class EntityTagAdvice implements ResponseBodyAdvice<Object> {
+
+  @Override
+  public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                ServerHttpRequest request, ServerHttpResponse response) {
+    if (request instanceof ServletServerHttpRequest servletRequest
+            && response instanceof ServletServerHttpResponse servletResponse
+            && servletRequest.getServletRequest().getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE) instanceof String etag) {
+      int status = servletResponse.getServletResponse().getStatus();
+      if (status >= 200 && status < 300) {
+        response.getHeaders().setETag(etag);
+      }
+    }
+    return body;
+  }
+}
@@ -0,0 +1,40 @@
+package com.enviro.assessment.grad001.atisomofokeng.web;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Adds the controller method that handled a request to the http.server.requests metrics, next to the HTTP
+ * method, URI pattern, status and outcome. Several handler methods share a URI pattern and differ only by their
+ * parameters, such as the list and the multi-gets by id, so the pattern alone does not tell them apart.
+ * <p>
+ * The tag is {@code handler}: the controller's simple name and the method, e.g. {@code
+ * RecyclingTipController.getRecyclingTipById}; {@code serialized-response} for a list served from the
+ * {@link SerializedResponseFilter} without reaching a controller, and {@code none} when no handler was found.
+ */
+@Component
+public class HandlerObservationConvention extends DefaultServerRequestObservationConvention {
+
+  /**
+   * Request attribute set when the response was written from serialized bytes.
+   */
+  static final String SERIALIZED_RESPONSE_ATTRIBUTE = HandlerObservationConvention.class.getName() + ".SERIALIZED";
+
+  @Override
+  public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+    return super.getLowCardinalityKeyValues(context).and(KeyValue.of("handler", handlerOf(context.getCarrier())));
+  }
+
+  private static String handlerOf(HttpServletRequest request) {
+    if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod) {
+      return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+    return request.getAttribute(SERIALIZED_RESPONSE_ATTRIBUTE) != null ? "serialized-response" : "none";
+  }
+}
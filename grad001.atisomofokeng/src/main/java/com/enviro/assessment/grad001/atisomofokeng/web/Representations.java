@@ -0,0 +1,59 @@
+package com.enviro.assessment.grad001.atisomofokeng.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The encodings a catalog response can be negotiated into with Accept: JSON by default, or CBOR or Smile, which
+ * are binary encodings of the same documents.
+ * <p>
+ * Entity tags must differ between representations, so the binary ones carry a suffix: a revalidation then
+ * never answers 304 for bytes of a different encoding.
+ */
+public final class Representations {
+
+  public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+  // Sent on every negotiated catalog response, so that shared caches keep one copy per encoding
+  public static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+  private Representations() {
+  }
+
+  /**
+   * Tags an entity tag with the encoding the request negotiates.
+   *
+   * @param request the request.
+   * @param etag    the quoted entity tag of the JSON representation.
+   * @return the entity tag of the negotiated representation.
+   */
+  public static String etag(HttpServletRequest request, String etag) {
+    String suffix = suffixOf(request.getHeader(HttpHeaders.ACCEPT));
+    return suffix.isEmpty() ? etag : etag.substring(0, etag.length() - 1) + suffix + "\"";
+  }
+
+  // The most preferred concrete media type decides, as it does for the message converters
+  private static String suffixOf(String accept) {
+    if (accept == null || accept.indexOf('/') < 0) {
+      return "";
+    }
+    List<MediaType> mediaTypes;
+    try {
+      mediaTypes = MediaType.parseMediaTypes(accept);
+    } catch (InvalidMediaTypeException e) {
+      return "";
+    }
+    return mediaTypes.stream()
+            .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+            .filter(mediaType -> !mediaType.isWildcardType() && !mediaType.isWildcardSubtype())
+            .findFirst()
+            .map(mediaType -> MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(mediaType) ? "-cbor"
+                    : SMILE.equalsTypeAndSubtype(mediaType) ? "-smile" : "")
+            .orElse("");
+  }
+}
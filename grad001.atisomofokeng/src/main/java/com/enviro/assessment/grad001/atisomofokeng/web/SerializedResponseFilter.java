@@ -0,0 +1,196 @@
+package com.enviro.assessment.grad001.atisomofokeng.web;
+
+import com.enviro.assessment.grad001.atisomofokeng.cache.SerializedResponseCache;
+import com.enviro.assessment.grad001.atisomofokeng.cache.SerializedResponseCache.SerializedResponse;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogRevisions;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serves list responses from the {@link SerializedResponseCache}.
+ * <p>
+ * A request is keyed by its path, the list parameters it sets, in a fixed order whatever the order of the query
+ * string, and its Accept header; parameters no list endpoint binds are left out, as they do not change the
+ * response. The body embeds the URL of the request that stored it as its location, which names the same list.
+ * On a hit the stored bytes are written straight to the socket, gzip-compressed if the client accepts it, after
+ * answering If-None-Match; no handler, service or serializer runs. On a miss, or once the catalog revision has
+ * moved on, the request runs normally and a successful response is captured and stored for the next ones.
+ */
+public class SerializedResponseFilter extends OncePerRequestFilter {
+
+  // Set from the stored bytes and the client's Accept-Encoding instead; the X-SQL-* headers belong to one request
+  private static final Set<String> NOT_REPLAYED = Set.of(
+          HttpHeaders.CONTENT_LENGTH.toLowerCase(), HttpHeaders.CONTENT_ENCODING.toLowerCase(),
+          HttpHeaders.TRANSFER_ENCODING.toLowerCase(), HttpHeaders.VARY.toLowerCase());
+
+  // Every parameter the filtered list endpoints bind, in the order they appear in a key
+  private static final List<String> LIST_PARAMETERS = List.of("categoryIds", "cursor", "fields", "ids", "include", "size");
+
+  private final SerializedResponseCache responseCache;
+  private final CatalogRevisions catalogRevisions;
+
+  public SerializedResponseFilter(SerializedResponseCache responseCache, CatalogRevisions catalogRevisions) {
+    this.responseCache = responseCache;
+    this.catalogRevisions = catalogRevisions;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !responseCache.isEnabled() || !"GET".equals(request.getMethod());
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+          throws ServletException, IOException {
+    String key = keyOf(request);
+    SerializedResponse cached = responseCache.get(key, Representations.etag(request, catalogRevisions.current()));
+    if (cached != null) {
+      // No handler runs, so the request metrics get the endpoint from here rather than from the handler mapping
+      request.setAttribute(HandlerObservationConvention.SERIALIZED_RESPONSE_ATTRIBUTE, Boolean.TRUE);
+      ServerHttpObservationFilter.findObservationContext(request)
+              .ifPresent(context -> context.setPathPattern(pathPatternOf(request)));
+      response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+      if (!new ServletWebRequest(request, response).checkNotModified(cached.etag())) {
+        write(cached, request, response);
+      }
+      return;
+    }
+
+    ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+    chain.doFilter(request, wrapper);
+    String etag = wrapper.getHeader(HttpHeaders.ETAG);
+    int status = wrapper.getStatus();
+    if (status < 200 || status >= 300 || etag == null || request.isAsyncStarted()
+            || wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+      wrapper.copyBodyToResponse();
+      return;
+    }
+    List<Map.Entry<String, String>> headers = new ArrayList<>();
+    for (String name : wrapper.getHeaderNames()) {
+      if (!NOT_REPLAYED.contains(name.toLowerCase())
+              && !name.regionMatches(true, 0, StatementStatisticsHeaders.PREFIX, 0, StatementStatisticsHeaders.PREFIX.length())) {
+        wrapper.getHeaders(name).forEach(value -> headers.add(Map.entry(name, value)));
+      }
+    }
+    if (wrapper.getContentType() != null) {
+      headers.add(Map.entry(HttpHeaders.CONTENT_TYPE, wrapper.getContentType()));
+    }
+    SerializedResponse stored = responseCache.put(key, status, etag, List.copyOf(headers), wrapper.getContentAsByteArray());
+    wrapper.resetBuffer();
+    write(stored, request, response);
+  }
+
+  private static void write(SerializedResponse cached, HttpServletRequest request, HttpServletResponse response)
+          throws IOException {
+    for (Map.Entry<String, String> header : cached.headers()) {
+      response.setHeader(header.getKey(), header.getValue());
+    }
+    response.setStatus(cached.status());
+    response.setHeader(HttpHeaders.VARY, Representations.VARY);
+    byte[] body = cached.identity();
+    if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+      body = cached.gzip();
+    }
+    response.setContentLength(body.length);
+    response.getOutputStream().write(body);
+    response.flushBuffer();
+  }
+
+  /**
+   * Whether gzip is the encoding to send for an Accept-Encoding header. The header is a list of codings, compared
+   * without regard to case, each with an optional q-value: gzip qualifies when its own q-value, or else that of
+   * {@code *}, is above zero and not below the one the client gave identity. x-gzip is not taken for gzip.
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    double gzip = -1;
+    double identity = -1;
+    double any = -1;
+    for (String element : acceptEncoding.split(",")) {
+      String[] parts = element.split(";");
+      String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+      double quality = qualityOf(parts);
+      if (quality < 0) {
+        continue;
+      }
+      switch (coding) {
+        case "gzip" -> gzip = quality;
+        case "identity" -> identity = quality;
+        case "*" -> any = quality;
+        default -> {
+        }
+      }
+    }
+    if (gzip < 0) {
+      gzip = any;
+    }
+    if (identity < 0) {
+      identity = any;
+    }
+    return gzip > 0 && gzip >= identity;
+  }
+
+  // The q-value of a coding, 1 without one, or -1 when it is malformed
+  private static double qualityOf(String[] parts) {
+    double quality = 1;
+    for (int i = 1; i < parts.length; i++) {
+      String parameter = parts[i].trim();
+      int equals = parameter.indexOf('=');
+      if (equals < 0 || !"q".equalsIgnoreCase(parameter.substring(0, equals).trim())) {
+        continue;
+      }
+      try {
+        quality = Double.parseDouble(parameter.substring(equals + 1).trim());
+      } catch (NumberFormatException e) {
+        return -1;
+      }
+    }
+    return quality >= 0 && quality <= 1 ? quality : -1;
+  }
+
+  // The mapping of the filtered URLs: the lists, or the lists of a category
+  private static String pathPatternOf(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    int category = path.indexOf("/category/");
+    return category < 0 ? path : path.substring(0, category) + "/category/{categoryId}";
+  }
+
+  /**
+   * The cache key of a request: its URL without the query, the list parameters it sets, in a fixed order and with
+   * their values in the order given, and its Accept header.
+   */
+  static String keyOf(HttpServletRequest request) {
+    StringBuilder key = new StringBuilder(request.getRequestURL());
+    char separator = '?';
+    for (String name : LIST_PARAMETERS) {
+      String[] values = request.getParameterValues(name);
+      if (values == null) {
+        continue;
+      }
+      for (String value : values) {
+        key.append(separator).append(name).append('=').append(UriUtils.encode(value, StandardCharsets.UTF_8));
+        separator = '&';
+      }
+    }
+    return key.append(' ').append(request.getHeader(HttpHeaders.ACCEPT)).toString();
+  }
+}
@@ -0,0 +1,111 @@
+package com.enviro.assessment.grad001.atisomofokeng.web;
+
+import com.enviro.assessment.grad001.atisomofokeng.jdbc.StatementStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements of every request with {@link StatementStatistics} and, when it completes, records
+ * them per endpoint as catalog.jdbc.request.statements, catalog.jdbc.request.rows and catalog.jdbc.request.time.
+ * <p>
+ * Suspected N+1 selects are counted as catalog.jdbc.request.suspected.n.plus.one, tagged with the service
+ * method that executed them, and logged: at WARN the first time a query is seen from an endpoint, at DEBUG
+ * after that, so that a regression is visible without flooding the log under load.
+ */
+public class StatementStatisticsFilter extends OncePerRequestFilter {
+
+  /**
+   * Request attribute holding the {@link StatementStatistics} of the request, e.g. for tests.
+   */
+  public static final String STATISTICS_ATTRIBUTE = StatementStatisticsFilter.class.getName() + ".STATISTICS";
+
+  private static final Logger log = LoggerFactory.getLogger(StatementStatisticsFilter.class);
+  private static final int MAX_WARNINGS = 1000;
+
+  private final MeterRegistry meterRegistry;
+  private final int nPlusOneThreshold;
+  private final Set<String> warned = ConcurrentHashMap.newKeySet();
+
+  public StatementStatisticsFilter(MeterRegistry meterRegistry, int nPlusOneThreshold) {
+    this.meterRegistry = meterRegistry;
+    this.nPlusOneThreshold = nPlusOneThreshold;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+          throws ServletException, IOException {
+    StatementStatistics statistics = new StatementStatistics(nPlusOneThreshold);
+    request.setAttribute(STATISTICS_ATTRIBUTE, statistics);
+    try (StatementStatistics.Scope ignored = statistics.bind()) {
+      chain.doFilter(request, response);
+    } finally {
+      record(request, statistics);
+    }
+  }
+
+  private void record(HttpServletRequest request, StatementStatistics statistics) {
+    String uri = uriOf(request);
+    Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+    DistributionSummary.builder("catalog.jdbc.request.statements")
+            .description("SQL statements executed per request")
+            .baseUnit("statements")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(statistics.getStatements());
+    DistributionSummary.builder("catalog.jdbc.request.rows")
+            .description("Rows read from result sets per request")
+            .baseUnit("rows")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(statistics.getRows());
+    Timer.builder("catalog.jdbc.request.time")
+            .description("Time spent executing statements and reading their results per request")
+            .tags(tags)
+            .register(meterRegistry)
+            .record(statistics.getTimeNanos(), TimeUnit.NANOSECONDS);
+
+    for (StatementStatistics.Suspect suspect : statistics.getSuspects()) {
+      meterRegistry.counter("catalog.jdbc.request.suspected.n.plus.one", tags.and("origin", suspect.origin()))
+              .increment();
+      String key = request.getMethod() + " " + uri + " " + suspect.sql();
+      boolean first = warned.size() < MAX_WARNINGS && warned.add(key);
+      if (first || log.isDebugEnabled()) {
+        String message = "Suspected N+1 select in {} {}: {} executions of [{}] from {}";
+        Object[] arguments = {request.getMethod(), uri, suspect.executions(), suspect.sql(), suspect.origin()};
+        if (first) {
+          log.warn(message, arguments);
+        } else {
+          log.debug(message, arguments);
+        }
+      }
+    }
+  }
+
+  // The endpoint's mapping, also known for responses served before the handler mapping runs
+  private static String uriOf(HttpServletRequest request) {
+    String pattern = ServerHttpObservationFilter.findObservationContext(request)
+            .map(ServerRequestObservationContext::getPathPattern)
+            .orElse(null);
+    if (pattern == null && request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String best) {
+      pattern = best;
+    }
+    return pattern != null ? pattern : "UNKNOWN";
+  }
+}
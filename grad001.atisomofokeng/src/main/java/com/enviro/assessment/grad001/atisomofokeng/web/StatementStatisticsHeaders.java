@@ -0,0 +1,59 @@
+package com.enviro.assessment.grad001.atisomofokeng.web;
+
+import com.enviro.assessment.grad001.atisomofokeng.jdbc.StatementStatistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+/**
+ * Reports the SQL statements of a request in response headers, when catalog.jdbc.statement-headers is on:
+ * X-SQL-Statements, X-SQL-Rows, X-SQL-Time in milliseconds, and an X-SQL-Suspected-N-Plus-One per suspected
+ * N+1 select. Written just before the body, so every statement of the handler is counted; streamed responses
+ * and composite sub-requests carry none.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "catalog.jdbc", name = "statement-headers", havingValue = "true")
+public class StatementStatisticsHeaders implements ResponseBodyAdvice<Object> {
+
+  /**
+   * The common prefix of the headers, which are never replayed from a stored response.
+   */
+  public static final String PREFIX = "X-SQL-";
+
+  private static final int MAX_SQL_LENGTH = 200;
+
+  @Override
+  public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return true;
+  }
+
+  @Override
+  public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                ServerHttpRequest request, ServerHttpResponse response) {
+    StatementStatistics statistics = StatementStatistics.current();
+    if (statistics == null
+            || request instanceof ServletServerHttpRequest servletRequest && servletRequest.getServletRequest() instanceof SubRequest) {
+      return body;
+    }
+    HttpHeaders headers = response.getHeaders();
+    headers.set(PREFIX + "Statements", Long.toString(statistics.getStatements()));
+    headers.set(PREFIX + "Rows", Long.toString(statistics.getRows()));
+    headers.set(PREFIX + "Time", String.format(Locale.ROOT, "%.3f", statistics.getTimeNanos() / 1_000_000.0));
+    for (StatementStatistics.Suspect suspect : statistics.getSuspects()) {
+      String sql = suspect.sql().length() > MAX_SQL_LENGTH ? suspect.sql().substring(0, MAX_SQL_LENGTH) + "..."
+              : suspect.sql();
+      headers.add(PREFIX + "Suspected-N-Plus-One", suspect.executions() + " x " + suspect.origin() + ": " + sql);
+    }
+    return body;
+  }
+}
@@ -0,0 +1,263 @@
+package com.enviro.assessment.grad001.atisomofokeng.web;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One operation of a composite request, presented to Spring MVC as a request of its own.
+ * <p>
+ * Method, path, query parameters, headers, body and attributes belong to the sub-request; only the server and
+ * context details come from the enclosing request, so that Location headers point at the same host. Attributes
+ * are private, so sub-requests can be handled concurrently. Asynchronous processing is not supported.
+ */
+class SubRequest extends HttpServletRequestWrapper {
+
+  private final String method;
+  private final String requestUri;
+  private final String queryString;
+  private final HttpHeaders headers;
+  private final byte[] body;
+  private final Map<String, String[]> parameters;
+  private final Map<String, Object> attributes = new HashMap<>();
+
+  /**
+   * @param enclosing the composite request.
+   * @param method    the HTTP method.
+   * @param path      the path below the context path, with an optional encoded query string.
+   * @param headers   the request headers.
+   * @param body      the JSON request body, or null.
+   */
+  SubRequest(HttpServletRequest enclosing, String method, String path, HttpHeaders headers, byte[] body) {
+    super(enclosing);
+    int query = path.indexOf('?');
+    this.method = method;
+    this.requestUri = enclosing.getContextPath() + (query < 0 ? path : path.substring(0, query));
+    this.queryString = query < 0 || query == path.length() - 1 ? null : path.substring(query + 1);
+    this.headers = headers;
+    this.body = body;
+    this.parameters = parse(queryString);
+    if (body != null) {
+      headers.setContentType(MediaType.APPLICATION_JSON);
+      headers.setContentLength(body.length);
+    }
+  }
+
+  private static Map<String, String[]> parse(String queryString) {
+    if (queryString == null) {
+      return Collections.emptyMap();
+    }
+    MultiValueMap<String, String> raw = UriComponentsBuilder.newInstance().query(queryString).build().getQueryParams();
+    Map<String, String[]> parameters = new LinkedHashMap<>();
+    raw.forEach((name, values) -> parameters.put(decode(name), values.stream()
+            .map(value -> value == null ? "" : decode(value))
+            .toArray(String[]::new)));
+    return Collections.unmodifiableMap(parameters);
+  }
+
+  // Decodes like the servlet container does, with '+' standing for a space
+  private static String decode(String encoded) {
+    return UriUtils.decode(encoded.replace('+', ' '), StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public String getMethod() {
+    return method;
+  }
+
+  @Override
+  public String getRequestURI() {
+    return requestUri;
+  }
+
+  @Override
+  public StringBuffer getRequestURL() {
+    StringBuffer url = new StringBuffer(getScheme()).append("://").append(getServerName());
+    int port = getServerPort();
+    if (!("http".equals(getScheme()) && port == 80) && !("https".equals(getScheme()) && port == 443)) {
+      url.append(':').append(port);
+    }
+    return url.append(requestUri);
+  }
+
+  @Override
+  public String getServletPath() {
+    return requestUri.substring(getContextPath().length());
+  }
+
+  @Override
+  public String getPathInfo() {
+    return null;
+  }
+
+  @Override
+  public String getQueryString() {
+    return queryString;
+  }
+
+  @Override
+  public String getParameter(String name) {
+    String[] values = parameters.get(name);
+    return values == null ? null : values[0];
+  }
+
+  @Override
+  public Map<String, String[]> getParameterMap() {
+    return parameters;
+  }
+
+  @Override
+  public Enumeration<String> getParameterNames() {
+    return Collections.enumeration(parameters.keySet());
+  }
+
+  @Override
+  public String[] getParameterValues(String name) {
+    return parameters.get(name);
+  }
+
+  @Override
+  public String getHeader(String name) {
+    return headers.getFirst(name);
+  }
+
+  @Override
+  public Enumeration<String> getHeaders(String name) {
+    return Collections.enumeration(headers.getOrEmpty(name));
+  }
+
+  @Override
+  public Enumeration<String> getHeaderNames() {
+    return Collections.enumeration(headers.keySet());
+  }
+
+  @Override
+  public long getDateHeader(String name) {
+    return headers.getFirstDate(name);
+  }
+
+  @Override
+  public int getIntHeader(String name) {
+    String value = headers.getFirst(name);
+    return value == null ? -1 : Integer.parseInt(value);
+  }
+
+  @Override
+  public Cookie[] getCookies() {
+    return null;
+  }
+
+  @Override
+  public String getContentType() {
+    return headers.getFirst(HttpHeaders.CONTENT_TYPE);
+  }
+
+  @Override
+  public int getContentLength() {
+    return body == null ? -1 : body.length;
+  }
+
+  @Override
+  public long getContentLengthLong() {
+    return getContentLength();
+  }
+
+  @Override
+  public String getCharacterEncoding() {
+    return body == null ? null : StandardCharsets.UTF_8.name();
+  }
+
+  @Override
+  public ServletInputStream getInputStream() {
+    ByteArrayInputStream input = new ByteArrayInputStream(body == null ? new byte[0] : body);
+    return new ServletInputStream() {
+      @Override
+      public int read() {
+        return input.read();
+      }
+
+      @Override
+      public int read(byte[] buffer, int offset, int length) {
+        return input.read(buffer, offset, length);
+      }
+
+      @Override
+      public boolean isFinished() {
+        return input.available() == 0;
+      }
+
+      @Override
+      public boolean isReady() {
+        return true;
+      }
+
+      @Override
+      public void setReadListener(ReadListener readListener) {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  @Override
+  public BufferedReader getReader() {
+    return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public Object getAttribute(String name) {
+    return attributes.get(name);
+  }
+
+  @Override
+  public Enumeration<String> getAttributeNames() {
+    return Collections.enumeration(List.copyOf(attributes.keySet()));
+  }
+
+  @Override
+  public void setAttribute(String name, Object value) {
+    if (value == null) {
+      attributes.remove(name);
+    } else {
+      attributes.put(name, value);
+    }
+  }
+
+  @Override
+  public void removeAttribute(String name) {
+    attributes.remove(name);
+  }
+
+  @Override
+  public DispatcherType getDispatcherType() {
+    return DispatcherType.REQUEST;
+  }
+
+  @Override
+  public boolean isAsyncSupported() {
+    return false;
+  }
+
+  @Override
+  public boolean isAsyncStarted() {
+    return false;
+  }
+}
@@ -0,0 +1,464 @@
+package com.enviro.assessment.grad001.atisomofokeng.web;
+
+import com.enviro.assessment.grad001.atisomofokeng.config.CatalogProperties;
+import com.enviro.assessment.grad001.atisomofokeng.config.ThreadFactories;
+import com.enviro.assessment.grad001.atisomofokeng.exception.BatchTooLargeException;
+import com.enviro.assessment.grad001.atisomofokeng.exception.UnsupportedSubRequestException;
+import com.enviro.assessment.grad001.atisomofokeng.jdbc.StatementStatistics;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.request.CompositeRequest;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.request.CompositeRequestItem;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.CompositeResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.CompositeResponseItem;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.ServiceResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ErrorProperties;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.error.ErrorAttributeOptions;
+import org.springframework.boot.web.servlet.error.ErrorAttributes;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerAdapter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Executes the sub-requests of a composite request through the same handler mappings, interceptors, handler
+ * adapters and exception resolvers as the {@code DispatcherServlet}, so every operation gets the routing,
+ * argument binding, validation, conditional GET handling and error responses it would get on its own. Only the
+ * servlet filters, which wrap the enclosing request, are not applied again.
+ * <p>
+ * Without a transaction, each run of consecutive GET and HEAD sub-requests is executed concurrently, and every
+ * other sub-request in order on the request thread, after the reads before it. With a transaction, all
+ * sub-requests run in order on the request thread inside one transaction; the first one that fails rolls it
+ * back and the rest are not executed. Reads served from the catalog snapshot do not see the uncommitted writes
+ * of the same transaction.
+ * <p>
+ * A sub-request that fails in a way no exception resolver handles is answered with a 500 of its own; the
+ * others keep their responses.
+ */
+@Component
+public class SubRequestDispatcher {
+
+  private static final Logger log = LoggerFactory.getLogger(SubRequestDispatcher.class);
+
+  // Handlers that stream, or write to the raw response, cannot be captured as one JSON document
+  private static final List<Class<?>> STREAMING_TYPES = List.of(void.class, StreamingResponseBody.class,
+          ResponseBodyEmitter.class, Callable.class, DeferredResult.class, CompletionStage.class);
+
+  private final ObjectProvider<HandlerMapping> handlerMappingProvider;
+  private final ObjectProvider<HandlerAdapter> handlerAdapterProvider;
+  private final ObjectProvider<HandlerExceptionResolver> exceptionResolverProvider;
+  private final ErrorAttributes errorAttributes;
+  private final ErrorProperties errorProperties;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate transaction;
+  private final CatalogProperties.Composite properties;
+  private final ExecutorService readers;
+
+  // Resolved on first use, once the web application context is complete
+  private volatile List<HandlerMapping> handlerMappings;
+  private volatile List<HandlerAdapter> handlerAdapters;
+  private volatile List<HandlerExceptionResolver> exceptionResolvers;
+
+  public SubRequestDispatcher(ObjectProvider<HandlerMapping> handlerMappingProvider,
+                              ObjectProvider<HandlerAdapter> handlerAdapterProvider,
+                              ObjectProvider<HandlerExceptionResolver> exceptionResolverProvider,
+                              ErrorAttributes errorAttributes,
+                              ServerProperties serverProperties,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              CatalogProperties catalogProperties,
+                              ThreadFactories threadFactories) {
+    this.handlerMappingProvider = handlerMappingProvider;
+    this.handlerAdapterProvider = handlerAdapterProvider;
+    this.exceptionResolverProvider = exceptionResolverProvider;
+    this.errorAttributes = errorAttributes;
+    this.errorProperties = serverProperties.getError();
+    this.objectMapper = objectMapper;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.properties = catalogProperties.getComposite();
+    this.readers = Executors.newFixedThreadPool(properties.getReadThreads(), threadFactories.numbered("composite-read"));
+  }
+
+  /**
+   * Executes a composite request. Must be called on the request thread of the composite endpoint.
+   *
+   * @param composite the sub-requests.
+   * @param request   the enclosing request.
+   * @param response  the enclosing response, which the sub-requests never write to.
+   * @return a ServiceResponse containing one response per sub-request, in request order.
+   */
+  public ServiceResponse<CompositeResponse> execute(CompositeRequest composite, HttpServletRequest request,
+                                                    HttpServletResponse response) {
+    List<CompositeRequestItem> items = composite.getRequests();
+    if (items.size() > properties.getMaxRequests()) {
+      throw new BatchTooLargeException("A composite request may carry at most " + properties.getMaxRequests()
+              + " sub-requests");
+    }
+    Object self = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+    CompositeResponseItem[] responses = new CompositeResponseItem[items.size()];
+    boolean rolledBack = composite.isTransactional()
+            ? executeInTransaction(items, responses, request, response, self)
+            : executeConcurrently(items, responses, request, response, self);
+
+    URI location = ServletUriComponentsBuilder.fromCurrentRequest().build().toUri();
+    return new ServiceResponse<>(new CompositeResponse(rolledBack, Arrays.asList(responses)), location);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    readers.shutdownNow();
+  }
+
+  private boolean executeConcurrently(List<CompositeRequestItem> items, CompositeResponseItem[] responses,
+                                      HttpServletRequest request, HttpServletResponse response, Object self) {
+    List<Integer> reads = new ArrayList<>();
+    for (int i = 0; i < items.size(); i++) {
+      CompositeRequestItem item = items.get(i);
+      if ("GET".equals(item.getMethod()) || "HEAD".equals(item.getMethod())) {
+        reads.add(i);
+      } else {
+        // A write must see the reads before it complete, and the reads after it must see the write
+        executeReads(reads, items, responses, request, response, self);
+        reads.clear();
+        responses[i] = dispatchSafely(item, request, response, self);
+      }
+    }
+    executeReads(reads, items, responses, request, response, self);
+    return false;
+  }
+
+  // Runs the last read on the calling thread and the others on the read pool
+  private void executeReads(List<Integer> reads, List<CompositeRequestItem> items, CompositeResponseItem[] responses,
+                            HttpServletRequest request, HttpServletResponse response, Object self) {
+    if (reads.isEmpty()) {
+      return;
+    }
+    Map<Integer, Future<CompositeResponseItem>> pending = new LinkedHashMap<>();
+    // The statements of every read count towards the composite request
+    StatementStatistics statistics = StatementStatistics.current();
+    for (Integer index : reads.subList(0, reads.size() - 1)) {
+      pending.put(index, readers.submit(() -> StatementStatistics.callWith(statistics,
+              () -> dispatchSafely(items.get(index), request, response, self))));
+    }
+    int last = reads.get(reads.size() - 1);
+    responses[last] = dispatchSafely(items.get(last), request, response, self);
+    for (Map.Entry<Integer, Future<CompositeResponseItem>> entry : pending.entrySet()) {
+      CompositeRequestItem item = items.get(entry.getKey());
+      try {
+        responses[entry.getKey()] = entry.getValue().get();
+      } catch (InterruptedException e) {
+        pending.values().forEach(future -> future.cancel(true));
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for the reads of a composite request", e);
+      } catch (ExecutionException e) {
+        // Only an Error gets here; every other failure already became the read's own 500
+        responses[entry.getKey()] = failed(item, e.getCause());
+      }
+    }
+  }
+
+  private boolean executeInTransaction(List<CompositeRequestItem> items, CompositeResponseItem[] responses,
+                                       HttpServletRequest request, HttpServletResponse response, Object self) {
+    boolean[] failed = {false};
+    try {
+      transaction.executeWithoutResult(status -> {
+        for (int i = 0; i < items.size(); i++) {
+          CompositeRequestItem item = items.get(i);
+          if (failed[0]) {
+            responses[i] = new CompositeResponseItem(item.getId(), HttpStatus.FAILED_DEPENDENCY.value(), null, null);
+            continue;
+          }
+          responses[i] = dispatchSafely(item, request, response, self);
+          if (responses[i].getStatus() >= 400) {
+            failed[0] = true;
+            status.setRollbackOnly();
+          }
+        }
+      });
+    } catch (RuntimeException e) {
+      // The transaction could not be started or committed; a sub-request that did not run gets a 500
+      log.warn("Composite request rolled back", e);
+      for (int i = 0; i < items.size(); i++) {
+        if (responses[i] == null) {
+          responses[i] = failed(items.get(i), e);
+        }
+      }
+      return true;
+    }
+    return failed[0];
+  }
+
+  // Dispatches a sub-request, answering it with a 500 if it fails beyond what the exception resolvers handle
+  private CompositeResponseItem dispatchSafely(CompositeRequestItem item, HttpServletRequest request,
+                                               HttpServletResponse response, Object self) {
+    try {
+      return dispatch(item, request, response, self);
+    } catch (RuntimeException e) {
+      return failed(item, e);
+    }
+  }
+
+  // The response of a sub-request that failed outside the handler, shaped like the error page's
+  private CompositeResponseItem failed(CompositeRequestItem item, Throwable failure) {
+    log.error("Sub-request {} {} failed", item.getMethod(), item.getPath(), failure);
+    Map<String, Object> body = new LinkedHashMap<>();
+    body.put("timestamp", new Date());
+    body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
+    body.put("error", HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase());
+    body.put("path", item.getPath());
+    return new CompositeResponseItem(item.getId(), HttpStatus.INTERNAL_SERVER_ERROR.value(), null,
+            objectMapper.valueToTree(body));
+  }
+
+  private CompositeResponseItem dispatch(CompositeRequestItem item, HttpServletRequest enclosingRequest,
+                                         HttpServletResponse enclosingResponse, Object self) {
+    HttpHeaders headers = new HttpHeaders();
+    if (item.getHeaders() != null) {
+      item.getHeaders().forEach(headers::set);
+    }
+    // Responses are embedded in the composite response as JSON, whatever its own encoding
+    headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+    SubRequest request = new SubRequest(enclosingRequest, item.getMethod(), item.getPath(), headers, bodyOf(item));
+    CapturedResponse response = new CapturedResponse(enclosingResponse);
+
+    RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+    ServletRequestAttributes attributes = new ServletRequestAttributes(request, response);
+    RequestContextHolder.setRequestAttributes(attributes);
+    try {
+      handle(request, response, self);
+    } finally {
+      attributes.requestCompleted();
+      RequestContextHolder.setRequestAttributes(previous);
+    }
+    return new CompositeResponseItem(item.getId(), response.getStatus(), headersOf(response), responseBodyOf(request, response));
+  }
+
+  private byte[] bodyOf(CompositeRequestItem item) {
+    if (item.getBody() == null || item.getBody().isNull()) {
+      return null;
+    }
+    try {
+      return objectMapper.writeValueAsBytes(item.getBody());
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("A parsed JSON body could not be written back", e);
+    }
+  }
+
+  // The DispatcherServlet's doDispatch, minus views, async processing and multipart handling
+  private void handle(SubRequest request, CapturedResponse response, Object self) {
+    Object handler = null;
+    List<HandlerInterceptor> interceptors = List.of();
+    int applied = 0;
+    Exception failure = null;
+    try {
+      ServletRequestPathUtils.parseAndCache(request);
+      HandlerExecutionChain chain = handlerFor(request);
+      if (chain == null) {
+        response.sendError(HttpServletResponse.SC_NOT_FOUND);
+        return;
+      }
+      handler = chain.getHandler();
+      checkSupported(handler, self);
+      HandlerAdapter adapter = adapterFor(handler);
+      interceptors = chain.getInterceptorList();
+      for (HandlerInterceptor interceptor : interceptors) {
+        if (!interceptor.preHandle(request, response, handler)) {
+          return;
+        }
+        applied++;
+      }
+      adapter.handle(request, response, handler);
+      for (int i = interceptors.size() - 1; i >= 0; i--) {
+        interceptors.get(i).postHandle(request, response, handler, null);
+      }
+    } catch (Throwable e) {
+      // As the DispatcherServlet does, errors thrown by the handler are resolved like exceptions
+      failure = e instanceof Exception exception ? exception : new ServletException("Handler dispatch failed: " + e, e);
+      resolve(request, response, handler, failure);
+    } finally {
+      for (int i = applied - 1; i >= 0; i--) {
+        try {
+          interceptors.get(i).afterCompletion(request, response, handler, failure);
+        } catch (Exception e) {
+          log.error("HandlerInterceptor.afterCompletion threw exception", e);
+        }
+      }
+    }
+  }
+
+  private HandlerExecutionChain handlerFor(SubRequest request) throws Exception {
+    if (handlerMappings == null) {
+      handlerMappings = handlerMappingProvider.orderedStream().toList();
+    }
+    for (HandlerMapping mapping : handlerMappings) {
+      HandlerExecutionChain chain = mapping.getHandler(request);
+      if (chain != null) {
+        return chain;
+      }
+    }
+    return null;
+  }
+
+  private HandlerAdapter adapterFor(Object handler) {
+    if (handlerAdapters == null) {
+      handlerAdapters = handlerAdapterProvider.orderedStream().toList();
+    }
+    for (HandlerAdapter adapter : handlerAdapters) {
+      if (adapter.supports(handler)) {
+        return adapter;
+      }
+    }
+    throw new IllegalStateException("No adapter for handler " + handler);
+  }
+
+  private static void checkSupported(Object handler, Object self) {
+    if (!(handler instanceof HandlerMethod method)) {
+      return;
+    }
+    if (self instanceof HandlerMethod composite && composite.getMethod().equals(method.getMethod())) {
+      throw new UnsupportedSubRequestException("A composite request cannot contain another composite request");
+    }
+    ResolvableType returnType = ResolvableType.forMethodParameter(method.getReturnType());
+    Class<?> body = HttpEntity.class.isAssignableFrom(returnType.toClass())
+            ? returnType.as(HttpEntity.class).getGeneric(0).toClass()
+            : returnType.toClass();
+    for (Class<?> streaming : STREAMING_TYPES) {
+      if (streaming.isAssignableFrom(body)) {
+        throw new UnsupportedSubRequestException(
+                "Streaming endpoints cannot be part of a composite request: " + describe(method));
+      }
+    }
+  }
+
+  private static String describe(HandlerMethod method) {
+    return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+  }
+
+  // Like the DispatcherServlet, falling back to a 500 when no resolver handles the exception
+  private void resolve(SubRequest request, CapturedResponse response, Object handler, Exception failure) {
+    if (exceptionResolvers == null) {
+      exceptionResolvers = exceptionResolverProvider.orderedStream().toList();
+    }
+    response.resetBuffer();
+    for (HandlerExceptionResolver resolver : exceptionResolvers) {
+      if (resolver.resolveException(request, response, handler, failure) != null) {
+        return;
+      }
+    }
+    log.error("Sub-request {} {} failed", request.getMethod(), request.getRequestURI(), failure);
+    request.setAttribute(RequestDispatcher.ERROR_EXCEPTION, failure);
+    response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+  }
+
+  private static Map<String, String> headersOf(CapturedResponse response) {
+    Map<String, String> headers = new LinkedHashMap<>();
+    response.getCapturedHeaders().forEach((name, values) -> {
+      if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+        headers.put(name, String.join(", ", values));
+      }
+    });
+    return headers.isEmpty() ? null : headers;
+  }
+
+  private JsonNode responseBodyOf(SubRequest request, CapturedResponse response) {
+    if (response.isErrorSent()) {
+      // What the error page of the container would have rendered
+      request.setAttribute(RequestDispatcher.ERROR_STATUS_CODE, response.getStatus());
+      request.setAttribute(RequestDispatcher.ERROR_REQUEST_URI, request.getRequestURI());
+      request.setAttribute(RequestDispatcher.ERROR_MESSAGE, response.getErrorMessage());
+      return objectMapper.valueToTree(errorAttributes.getErrorAttributes(new ServletWebRequest(request),
+              errorAttributeOptions(request)));
+    }
+    byte[] body = response.getBody();
+    if (body.length == 0) {
+      return null;
+    }
+    String contentType = response.getContentType();
+    MediaType mediaType = contentType == null ? MediaType.APPLICATION_OCTET_STREAM : MediaType.parseMediaType(contentType);
+    if (MediaType.APPLICATION_JSON.isCompatibleWith(mediaType) || mediaType.getSubtype().endsWith("+json")) {
+      try {
+        return objectMapper.readTree(body);
+      } catch (IOException e) {
+        log.debug("Sub-request {} returned malformed JSON", request.getRequestURI(), e);
+      }
+    }
+    Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+    return TextNode.valueOf(new String(body, charset));
+  }
+
+  // The options Spring Boot's error controller would use for the same request
+  private ErrorAttributeOptions errorAttributeOptions(HttpServletRequest request) {
+    ErrorAttributeOptions options = ErrorAttributeOptions.defaults();
+    if (errorProperties.isIncludeException()) {
+      options = options.including(ErrorAttributeOptions.Include.EXCEPTION);
+    }
+    if (includes(errorProperties.getIncludeStacktrace(), request, "trace")) {
+      options = options.including(ErrorAttributeOptions.Include.STACK_TRACE);
+    }
+    if (includes(errorProperties.getIncludeMessage(), request, "message")) {
+      options = options.including(ErrorAttributeOptions.Include.MESSAGE);
+    }
+    if (includes(errorProperties.getIncludeBindingErrors(), request, "errors")) {
+      options = options.including(ErrorAttributeOptions.Include.BINDING_ERRORS);
+    }
+    if (!includes(errorProperties.getIncludePath(), request, "path")) {
+      options = options.excluding(ErrorAttributeOptions.Include.PATH);
+    }
+    return options;
+  }
+
+  private static boolean includes(ErrorProperties.IncludeAttribute include, HttpServletRequest request, String parameter) {
+    return switch (include) {
+      case ALWAYS -> true;
+      case ON_PARAM -> request.getParameter(parameter) != null && !"false".equalsIgnoreCase(request.getParameter(parameter));
+      default -> false;
+    };
+  }
+}
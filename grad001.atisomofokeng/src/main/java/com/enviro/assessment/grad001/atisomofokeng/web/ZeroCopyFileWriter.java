@@ -0,0 +1,107 @@
+package com.enviro.assessment.grad001.atisomofokeng.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sends an immutable file, or a single byte range of it, without copying it through the JVM heap.
+ * <p>
+ * When the servlet container supports sendfile (Tomcat's NIO connectors do), the file region is handed to the
+ * container, which writes it to the socket with {@link FileChannel#transferTo} once the handler returns.
+ * Otherwise the region is transferred directly from a file channel to the response. Conditional requests are
+ * answered with 304, and unsatisfiable ranges with 416.
+ */
+public final class ZeroCopyFileWriter {
+
+  // Request attributes of Tomcat's sendfile support
+  private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+  // Content-addressed files never change, so they may be cached for a year without revalidation
+  private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+  private ZeroCopyFileWriter() {
+  }
+
+  /**
+   * Writes the file, or the requested range of it, to the response.
+   *
+   * @param file        the file; must not change while it can be requested.
+   * @param length      the size of the file in bytes.
+   * @param etag        the strong entity tag of the file, quoted.
+   * @param contentType the media type of the file.
+   * @param request     the request.
+   * @param response    the response.
+   * @throws IOException if the file cannot be read or the response written.
+   */
+  public static void write(Path file, long length, String etag, MediaType contentType, HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+    response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+      return;
+    }
+
+    long start = 0;
+    long end = length;  // Exclusive
+    String range = request.getHeader(HttpHeaders.RANGE);
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (range != null && (ifRange == null || ifRange.equals(etag))) {
+      List<HttpRange> ranges;
+      try {
+        ranges = HttpRange.parseRanges(range);
+      } catch (IllegalArgumentException e) {
+        ranges = List.of();
+      }
+      // Multiple ranges would need a multipart body; the whole file is cheaper for everyone
+      if (ranges.size() == 1) {
+        HttpRange requested = ranges.get(0);
+        try {
+          start = requested.getRangeStart(length);
+          end = requested.getRangeEnd(length) + 1;
+        } catch (IllegalArgumentException e) {
+          start = length;
+        }
+        if (start >= length || start >= end) {
+          response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+          response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+          return;
+        }
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+      }
+    }
+
+    response.setContentType(contentType.toString());
+    response.setContentLengthLong(end - start);
+    if ("HEAD".equals(request.getMethod())) {
+      return;
+    }
+    if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+      request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+      request.setAttribute(SENDFILE_START, start);
+      request.setAttribute(SENDFILE_END, end);
+      return;
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+      for (long position = start; position < end; ) {
+        position += channel.transferTo(position, end - position, out);
+      }
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package com.enviro.assessment.grad001.atisomofokeng.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that an invalidation also reaches a value whose load was in progress when it ran.
+ */
+class CatalogCacheTests {
+
+	private final Map<String, String> database = new ConcurrentHashMap<>(Map.of("glass", "v1", "paper", "v1"));
+	private final AtomicInteger loads = new AtomicInteger();
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+	private volatile CountDownLatch loadStarted;
+	private volatile CountDownLatch resumeLoad;
+
+	@AfterEach
+	void shutDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void valueLoadedBeforeAMatchingInvalidationIsLoadedAgain() throws Exception {
+		CatalogCache<String, String> cache = cache();
+		String read = loadDuringWrite(cache, "glass", () -> cache.invalidateIf((key, value) -> key.equals("glass")));
+
+		assertEquals("v2", read, "The read racing the write drops the value it loaded");
+		assertEquals("v2", cache.get("glass"));
+		assertEquals("v2", cache.get("glass"));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void valueLoadedBeforeAMatchingKeyInvalidationIsLoadedAgain() throws Exception {
+		CatalogCache<String, String> cache = cache();
+		loadDuringWrite(cache, "glass", () -> cache.invalidate("glass"));
+
+		assertEquals("v2", cache.get("glass"));
+	}
+
+	@Test
+	void valueLoadedBeforeAnInvalidationOfOtherKeysIsKept() throws Exception {
+		CatalogCache<String, String> cache = cache();
+		loadDuringWrite(cache, "glass", () -> cache.invalidateIf((key, value) -> key.equals("paper")));
+
+		assertEquals("v1", cache.get("glass"), "Not touched by the write, so still the cached value");
+		assertEquals("v1", cache.get("glass"));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void valueOlderThanTheKnownInvalidationsIsLoadedAgain() {
+		CatalogCache<String, String> cache = cache();
+		cache.get("glass");
+		for (int i = 0; i < 200; i++) {
+			cache.invalidateIf((key, value) -> false);
+		}
+
+		cache.get("glass");
+		cache.get("glass");
+
+		assertEquals(2, loads.get(), "Reloaded once, then checked against the invalidations it missed");
+	}
+
+	// Reads the key while the write commits and is invalidated between the load's read and its return
+	private String loadDuringWrite(CatalogCache<String, String> cache, String key, Runnable invalidation)
+			throws Exception {
+		loadStarted = new CountDownLatch(1);
+		resumeLoad = new CountDownLatch(1);
+		Future<String> read = executor.submit(() -> cache.get(key));
+		assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+		loadStarted = null;
+
+		database.put(key, "v2");
+		// An invalidation by key waits for the load to complete, so it runs alongside it
+		Future<?> write = executor.submit(invalidation);
+		try {
+			write.get(100, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			// Still waiting for the load
+		}
+		resumeLoad.countDown();
+		write.get(5, TimeUnit.SECONDS);
+		return read.get(5, TimeUnit.SECONDS);
+	}
+
+	private CatalogCache<String, String> cache() {
+		CatalogCache<String, String> cache = new CatalogCache<>("test", this::load);
+		cache.setCache(Caffeine.newBuilder().maximumSize(100).build(cache::load));
+		return cache;
+	}
+
+	private String load(String key) {
+		loads.incrementAndGet();
+		String value = database.get(key);
+		CountDownLatch started = loadStarted;
+		if (started != null) {
+			started.countDown();
+			try {
+				resumeLoad.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		return value;
+	}
+}
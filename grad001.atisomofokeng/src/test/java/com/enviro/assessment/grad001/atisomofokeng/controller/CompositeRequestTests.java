@@ -0,0 +1,184 @@
+package com.enviro.assessment.grad001.atisomofokeng.controller;
+
+import com.enviro.assessment.grad001.atisomofokeng.jdbc.StatementStatistics;
+import com.enviro.assessment.grad001.atisomofokeng.web.StatementStatisticsFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the sub-requests of POST /api/batch are answered as they would be on their own: concurrent reads
+ * in request order and counted with the composite request, writes in order, transactional requests rolled back
+ * as a whole, and failures confined to the sub-request that failed.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:composite-requests;DB_CLOSE_DELAY=-1",
+		"catalog.read-source=DATABASE",
+		"catalog.cache.enabled=false",
+		"catalog.response-cache.enabled=false",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+@AutoConfigureMockMvc
+@Import(CompositeRequestTests.FailingController.class)
+class CompositeRequestTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void readsAreAnsweredInRequestOrderAndCounted() throws Exception {
+		long first = createWasteCategory("Composite read one");
+		long second = createWasteCategory("Composite read two");
+		long third = createWasteCategory("Composite read three");
+		long alone = 0;
+		for (long id : List.of(first, second, third)) {
+			MvcResult result = mockMvc.perform(get("/api/waste-categories/" + id)).andExpect(status().isOk()).andReturn();
+			alone += statementsOf(result);
+		}
+
+		MvcResult result = batch(false, item("GET", "/api/waste-categories/" + first),
+				item("GET", "/api/waste-categories/999999"),
+				item("GET", "/api/waste-categories/" + second),
+				item("GET", "/api/waste-categories/" + third));
+		JsonNode responses = responsesOf(result);
+
+		assertEquals(List.of(200, 404, 200, 200), statusesOf(responses));
+		assertEquals(first, responses.get(0).at("/body/response/id").asLong());
+		assertEquals(second, responses.get(2).at("/body/response/id").asLong());
+		assertEquals(third, responses.get(3).at("/body/response/id").asLong());
+		assertTrue(statementsOf(result) >= alone,
+				"The statements of every read count towards the composite request");
+	}
+
+	@Test
+	void writesRunInOrderBetweenTheReads() throws Exception {
+		long id = createWasteCategory("Composite write");
+
+		JsonNode responses = responsesOf(batch(false, item("GET", "/api/waste-categories/" + id),
+				item("DELETE", "/api/waste-categories/" + id),
+				item("GET", "/api/waste-categories/" + id)));
+
+		assertEquals(200, responses.get(0).get("status").asInt());
+		assertTrue(responses.get(1).get("status").asInt() < 300);
+		assertEquals(404, responses.get(2).get("status").asInt());
+	}
+
+	@Test
+	void aFailedSubRequestRollsBackATransactionalRequest() throws Exception {
+		MvcResult result = batch(true, item("POST", "/api/waste-categories", Map.of("categoryName", "Rolled back")),
+				item("PUT", "/api/waste-categories/999999", Map.of("categoryName", "Missing")),
+				item("GET", "/api/waste-categories/1"));
+		JsonNode composite = objectMapper.readTree(result.getResponse().getContentAsByteArray()).get("response");
+		JsonNode responses = composite.get("responses");
+
+		assertTrue(composite.get("rolledBack").asBoolean());
+		assertEquals(List.of(201, 404, 424), statusesOf(responses));
+		long created = responses.get(0).at("/body/response/id").asLong();
+		mockMvc.perform(get("/api/waste-categories/" + created)).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void nestedAndStreamingSubRequestsAreRejected() throws Exception {
+		JsonNode responses = responsesOf(batch(false,
+				item("POST", "/api/batch", Map.of("requests", List.of())),
+				item("GET", "/api/recycling-tips/export"),
+				item("GET", "/api/waste-categories/1")));
+
+		assertEquals(List.of(400, 400, 200), statusesOf(responses));
+	}
+
+	@Test
+	void aThrowingHandlerOnlyFailsItsOwnSubRequest() throws Exception {
+		JsonNode responses = responsesOf(batch(false, item("GET", "/api/composite-tests/exception"),
+				item("GET", "/api/waste-categories/1"),
+				item("GET", "/api/composite-tests/error"),
+				item("GET", "/api/waste-categories/2")));
+
+		assertEquals(List.of(500, 200, 500, 200), statusesOf(responses));
+		assertEquals(500, responses.get(0).at("/body/status").asInt());
+
+		JsonNode transactional = objectMapper.readTree(batch(true, item("GET", "/api/composite-tests/error"),
+				item("GET", "/api/waste-categories/1")).getResponse().getContentAsByteArray()).get("response");
+		assertTrue(transactional.get("rolledBack").asBoolean());
+		assertEquals(List.of(500, 424), statusesOf(transactional.get("responses")));
+		assertFalse(transactional.get("responses").get(1).hasNonNull("body"));
+	}
+
+	private MvcResult batch(boolean transactional, Map<?, ?>... items) throws Exception {
+		return mockMvc.perform(post("/api/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(Map.of("transactional", transactional,
+								"requests", List.of(items)))))
+				.andExpect(status().isOk())
+				.andReturn();
+	}
+
+	private static Map<String, Object> item(String method, String path) {
+		return Map.of("id", method + " " + path, "method", method, "path", path);
+	}
+
+	private static Map<String, Object> item(String method, String path, Object body) {
+		return Map.of("id", method + " " + path, "method", method, "path", path, "body", body);
+	}
+
+	private JsonNode responsesOf(MvcResult result) throws Exception {
+		return objectMapper.readTree(result.getResponse().getContentAsByteArray()).at("/response/responses");
+	}
+
+	private static List<Integer> statusesOf(JsonNode responses) {
+		List<Integer> statuses = new ArrayList<>();
+		responses.forEach(response -> statuses.add(response.get("status").asInt()));
+		return statuses;
+	}
+
+	private static long statementsOf(MvcResult result) {
+		return ((StatementStatistics) result.getRequest().getAttribute(StatementStatisticsFilter.STATISTICS_ATTRIBUTE))
+				.getStatements();
+	}
+
+	private long createWasteCategory(String name) throws Exception {
+		MvcResult result = mockMvc.perform(post("/api/waste-categories")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(Map.of("categoryName", name))))
+				.andExpect(status().isCreated())
+				.andReturn();
+		return objectMapper.readTree(result.getResponse().getContentAsByteArray()).at("/response/id").asLong();
+	}
+
+	@RestController
+	static class FailingController {
+
+		@GetMapping("/api/composite-tests/exception")
+		String exception() {
+			throw new IllegalStateException("Thrown by the handler");
+		}
+
+		@GetMapping("/api/composite-tests/error")
+		String error() {
+			throw new AssertionError("Thrown by the handler");
+		}
+	}
+}
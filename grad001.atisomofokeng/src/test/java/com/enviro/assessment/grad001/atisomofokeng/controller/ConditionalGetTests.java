@@ -0,0 +1,134 @@
+package com.enviro.assessment.grad001.atisomofokeng.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that conditional GETs are only answered, and entity tags only sent, for entities that exist.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:conditional-get;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class ConditionalGetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void existingEntitiesAreTaggedAndRevalidated() throws Exception {
+		String etag = mockMvc.perform(get("/api/waste-categories/1"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotNull(etag);
+
+		mockMvc.perform(get("/api/waste-categories/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag));
+	}
+
+	@Test
+	void missingEntitiesAreNeitherTaggedNorRevalidated() throws Exception {
+		String etag = mockMvc.perform(get("/api/recycling-tips/1"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		// The tag an entity that never changed would have
+		String unchanged = etag.substring(0, etag.lastIndexOf('-') + 1) + "0\"";
+
+		mockMvc.perform(get("/api/recycling-tips/999999").header(HttpHeaders.IF_NONE_MATCH, unchanged))
+				.andExpect(status().isNotFound())
+				.andExpect(header().doesNotExist(HttpHeaders.ETAG));
+		mockMvc.perform(get("/api/waste-categories/999999").header(HttpHeaders.IF_NONE_MATCH, "*"))
+				.andExpect(status().isNotFound())
+				.andExpect(header().doesNotExist(HttpHeaders.ETAG));
+	}
+
+	@Test
+	void listsOfMissingCategoriesAreNeitherTaggedNorRevalidated() throws Exception {
+		String etag = mockMvc.perform(get("/api/recycling-tips"))
+				.andExpect(status().is2xxSuccessful())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/recycling-tips/category/999999").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotFound())
+				.andExpect(header().doesNotExist(HttpHeaders.ETAG));
+		mockMvc.perform(get("/api/recycling-tips/category/1"))
+				.andExpect(status().is2xxSuccessful())
+				.andExpect(header().exists(HttpHeaders.ETAG));
+	}
+
+	@Test
+	void deletedEntitiesAreNoLongerRevalidated() throws Exception {
+		String location = mockMvc.perform(post("/api/waste-categories")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"categoryName\": \"Conditional\"}"))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+		String path = location.substring(location.indexOf("/api/"));
+		String etag = mockMvc.perform(get(path))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotNull(etag);
+
+		mockMvc.perform(delete(path)).andExpect(status().is2xxSuccessful());
+
+		mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotFound())
+				.andExpect(header().doesNotExist(HttpHeaders.ETAG));
+	}
+
+	@Test
+	void rolledBackWritesLeaveTheTagsUnchanged() throws Exception {
+		String location = mockMvc.perform(post("/api/waste-categories")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"categoryName\": \"Kept\"}"))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+		String path = location.substring(location.indexOf("/api/"));
+		String etag = mockMvc.perform(get(path))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		String listEtag = mockMvc.perform(get("/api/waste-categories"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		// Each batch fails on its last sub-request, which rolls back the write before it
+		rolledBack("{\"method\": \"PUT\", \"path\": \"" + path + "\", \"body\": {\"categoryName\": \"Renamed\"}}");
+		rolledBack("{\"method\": \"DELETE\", \"path\": \"" + path + "\"}");
+		String created = rolledBack("{\"method\": \"POST\", \"path\": \"/api/waste-categories\", "
+				+ "\"body\": {\"categoryName\": \"Never created\"}}");
+		long createdId = objectMapper.readTree(created).at("/response/responses/0/body/response/id").asLong();
+
+		mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag));
+		mockMvc.perform(get("/api/waste-categories").header(HttpHeaders.IF_NONE_MATCH, listEtag))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/api/waste-categories/" + createdId).header(HttpHeaders.IF_NONE_MATCH, "*"))
+				.andExpect(status().isNotFound())
+				.andExpect(header().doesNotExist(HttpHeaders.ETAG));
+	}
+
+	private String rolledBack(String write) throws Exception {
+		String body = mockMvc.perform(post("/api/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"transactional\": true, \"requests\": [" + write
+								+ ", {\"method\": \"GET\", \"path\": \"/api/waste-categories/999999\"}]}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertTrue(objectMapper.readTree(body).at("/response/rolledBack").asBoolean(), body);
+		return body;
+	}
+}
@@ -0,0 +1,23 @@
+package com.enviro.assessment.grad001.atisomofokeng.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * The endpoint budgets with every read going to the database, past the snapshot, the caches and the stored
+ * responses, which is what each request costs on a cold or invalidated cache.
+ */
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:budget-database;DB_CLOSE_DELAY=-1",
+		"catalog.read-source=DATABASE",
+		"catalog.cache.enabled=false",
+		"catalog.response-cache.enabled=false",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+class DatabaseEndpointBudgetTests extends EndpointBudgetTests {
+
+	@Override
+	String mode() {
+		return "database";
+	}
+
+}
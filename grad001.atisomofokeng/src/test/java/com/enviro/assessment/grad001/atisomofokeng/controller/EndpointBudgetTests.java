@@ -0,0 +1,495 @@
+package com.enviro.assessment.grad001.atisomofokeng.controller;
+
+import com.enviro.assessment.grad001.atisomofokeng.jdbc.StatementStatistics;
+import com.enviro.assessment.grad001.atisomofokeng.model.DisposalGuideline;
+import com.enviro.assessment.grad001.atisomofokeng.model.RecyclingTip;
+import com.enviro.assessment.grad001.atisomofokeng.model.WasteCategory;
+import com.enviro.assessment.grad001.atisomofokeng.repository.DisposalGuidelineRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.RecyclingTipRepository;
+import com.enviro.assessment.grad001.atisomofokeng.repository.WasteCategoryRepository;
+import com.enviro.assessment.grad001.atisomofokeng.web.StatementStatisticsFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Holds every route of the waste category, recycling tip and disposal guideline controllers to hard budgets per
+ * request, kept in src/test/resources/endpoint-budgets.properties: SQL statements executed, bytes allocated by the
+ * request thread and response bytes. A change that adds a query or a field to a response, or multiplies what a
+ * request allocates, fails the build until its budget is raised in the same commit.
+ * <p>
+ * Statement counts and response sizes are exact properties of the code. Allocations also depend on the JDK, the
+ * garbage collector and what the JIT has compiled, so their budgets are recorded with four times the measured
+ * bytes, which is enough for a different JVM.
+ * <p>
+ * Subclasses run the routes against a catalog of 200 generated categories with 25 recycling tips and 25 disposal
+ * guidelines each, in one read mode. Each request is sent a few times first, so that caches are warm and classes
+ * loaded, and then measured a few times; the lowest figures are compared with the budget, which leaves out the
+ * sequence fetches amortized over many inserts and the odd allocation of a background collector. Streamed
+ * exports run on the request thread here, so they are measured like any other response.
+ * <p>
+ * After an intended change, record new budgets with {@code mvn test -Dtest='*EndpointBudgetTests'
+ * -Dbudgets.record=true}, review target/endpoint-budgets.properties and copy it over the versioned file.
+ */
+@SpringBootTest(properties = {
+		"catalog.generate.categories=200",
+		"catalog.generate.tips-per-category=25",
+		"catalog.generate.guidelines-per-category=25"})
+@AutoConfigureMockMvc
+@Import(EndpointBudgetTests.InlineAsyncRequests.class)
+abstract class EndpointBudgetTests {
+
+	private static final String BUDGETS = "/endpoint-budgets.properties";
+	private static final boolean RECORD = Boolean.getBoolean("budgets.record");
+	private static final Path RECORDED_BUDGETS = Path.of("target", "endpoint-budgets.properties");
+	// Recorded budgets leave this much room for allocations, which vary with the JDK, collector and JIT
+	private static final double ALLOCATION_HEADROOM = 4.0;
+	private static final double RESPONSE_HEADROOM = 1.1;
+	private static final int WARMUP_REQUESTS = 3;
+	private static final int MEASURED_REQUESTS = 5;
+
+	private static final Properties budgets = loadBudgets();
+	private static final Map<String, String> recorded = new ConcurrentSkipListMap<>();
+	private static final com.sun.management.ThreadMXBean threads =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+	private static final AtomicInteger sequence = new AtomicInteger();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private WasteCategoryRepository wasteCategoryRepository;
+
+	@Autowired
+	private RecyclingTipRepository recyclingTipRepository;
+
+	@Autowired
+	private DisposalGuidelineRepository disposalGuidelineRepository;
+
+	private long categoryId;
+	private String categoryIds;
+	private long recyclingTipId;
+	private String recyclingTipIds;
+	private long disposalGuidelineId;
+	private String disposalGuidelineIds;
+	// Writes go to a category of their own, after the first page of every list, so they do not change the reads
+	private long writeCategoryId;
+	private long updatedCategoryId;
+
+	/**
+	 * @return the prefix of this read mode's budgets.
+	 */
+	abstract String mode();
+
+	@BeforeEach
+	void sampleCatalog() throws Exception {
+		List<Long> categories = wasteCategoryRepository.findAll(PageRequest.of(0, 12, Sort.by("id"))).stream()
+				.map(WasteCategory::getId)
+				.toList();
+		// The first two are the sample categories of the application, with one tip and guideline each
+		categoryId = categories.get(2);
+		categoryIds = join(categories.subList(2, 12));
+		List<Long> recyclingTips = recyclingTipRepository.findAll(PageRequest.of(0, 22, Sort.by("id"))).stream()
+				.map(RecyclingTip::getId)
+				.toList();
+		recyclingTipId = recyclingTips.get(2);
+		recyclingTipIds = join(recyclingTips.subList(2, 22));
+		List<Long> disposalGuidelines = disposalGuidelineRepository.findAll(PageRequest.of(0, 22, Sort.by("id"))).stream()
+				.map(DisposalGuideline::getId)
+				.toList();
+		disposalGuidelineId = disposalGuidelines.get(2);
+		disposalGuidelineIds = join(disposalGuidelines.subList(2, 22));
+		if (writeCategoryId == 0) {
+			writeCategoryId = createWasteCategory();
+			updatedCategoryId = createWasteCategory();
+		}
+	}
+
+	@AfterAll
+	static void writeRecordedBudgets() throws IOException {
+		if (!RECORD || recorded.isEmpty()) {
+			return;
+		}
+		Files.createDirectories(RECORDED_BUDGETS.getParent());
+		Properties merged = new Properties();
+		merged.putAll(budgets);
+		merged.putAll(recorded);
+		List<String> lines = new ArrayList<>();
+		lines.add("# Per-request budgets of the endpoint budget tests; see EndpointBudgetTests.");
+		lines.add("# Recorded with mvn test -Dtest='*EndpointBudgetTests' -Dbudgets.record=true, from "
+				+ RECORDED_BUDGETS + ".");
+		lines.add("# <read mode>.<route>.statements: SQL statements executed, exactly as measured");
+		lines.add("# <read mode>.<route>.allocated-bytes: bytes allocated by the request thread, with "
+				+ Math.round((ALLOCATION_HEADROOM - 1) * 100) + "% headroom");
+		lines.add("# <read mode>.<route>.response-bytes: response body size, with "
+				+ Math.round((RESPONSE_HEADROOM - 1) * 100) + "% headroom");
+		merged.stringPropertyNames().stream().sorted().forEach(key -> lines.add(key + "=" + merged.getProperty(key)));
+		Files.write(RECORDED_BUDGETS, lines);
+	}
+
+	// Waste categories
+
+	@Test
+	void categoryPage() throws Exception {
+		assertWithinBudget("category-page", () -> get("/api/waste-categories"));
+	}
+
+	@Test
+	void categoryPageWithChildren() throws Exception {
+		assertWithinBudget("category-page-with-children",
+				() -> get("/api/waste-categories?size=20&include=recyclingTips,disposalGuidelines"));
+	}
+
+	@Test
+	void categoryMultiGet() throws Exception {
+		assertWithinBudget("category-multi-get", () -> get("/api/waste-categories?ids=" + categoryIds));
+	}
+
+	@Test
+	void categorySuggestions() throws Exception {
+		assertWithinBudget("category-suggest", () -> get("/api/waste-categories/suggest?prefix=hou"));
+	}
+
+	@Test
+	void category() throws Exception {
+		assertWithinBudget("category", () -> get("/api/waste-categories/" + categoryId));
+	}
+
+	@Test
+	void categoryWithChildren() throws Exception {
+		assertWithinBudget("category-with-children",
+				() -> get("/api/waste-categories/" + categoryId + "?include=recyclingTips,disposalGuidelines"));
+	}
+
+	@Test
+	void createCategory() throws Exception {
+		assertWithinBudget("category-create",
+				() -> json(post("/api/waste-categories"), Map.of("categoryName", uniqueName())));
+	}
+
+	@Test
+	void createCategories() throws Exception {
+		assertWithinBudget("category-batch-create", () -> json(post("/api/waste-categories/batch"),
+				batch(() -> Map.of("categoryName", uniqueName()))));
+	}
+
+	@Test
+	void updateCategory() throws Exception {
+		assertWithinBudget("category-update",
+				() -> json(put("/api/waste-categories/" + updatedCategoryId), Map.of("categoryName", uniqueName())));
+	}
+
+	@Test
+	void deleteCategory() throws Exception {
+		assertWithinBudget("category-delete", () -> delete("/api/waste-categories/" + createWasteCategory()));
+	}
+
+	// Recycling tips
+
+	@Test
+	void recyclingTipExport() throws Exception {
+		assertWithinBudget("tip-export", () -> get("/api/recycling-tips/export?format=NDJSON"));
+	}
+
+	@Test
+	void recyclingTipPage() throws Exception {
+		assertWithinBudget("tip-page", () -> get("/api/recycling-tips"));
+	}
+
+	@Test
+	void recyclingTipMultiGet() throws Exception {
+		assertWithinBudget("tip-multi-get", () -> get("/api/recycling-tips?ids=" + recyclingTipIds));
+	}
+
+	@Test
+	void recyclingTipsOfCategories() throws Exception {
+		assertWithinBudget("tips-of-categories", () -> get("/api/recycling-tips?categoryIds=" + categoryIds));
+	}
+
+	@Test
+	void recyclingTipsOfCategory() throws Exception {
+		assertWithinBudget("tips-of-category", () -> get("/api/recycling-tips/category/" + categoryId));
+	}
+
+	@Test
+	void recyclingTip() throws Exception {
+		assertWithinBudget("tip", () -> get("/api/recycling-tips/" + recyclingTipId));
+	}
+
+	@Test
+	void createRecyclingTip() throws Exception {
+		assertWithinBudget("tip-create", () -> json(post("/api/recycling-tips"), recyclingTipRequest()));
+	}
+
+	@Test
+	void createRecyclingTips() throws Exception {
+		assertWithinBudget("tip-batch-create", () -> json(post("/api/recycling-tips/batch"), batch(this::recyclingTipRequest)));
+	}
+
+	@Test
+	void updateRecyclingTip() throws Exception {
+		long id = create("/api/recycling-tips", recyclingTipRequest());
+		assertWithinBudget("tip-update", () -> json(put("/api/recycling-tips/" + id), recyclingTipRequest()));
+	}
+
+	@Test
+	void deleteRecyclingTip() throws Exception {
+		assertWithinBudget("tip-delete", () -> delete("/api/recycling-tips/" + create("/api/recycling-tips", recyclingTipRequest())));
+	}
+
+	// Disposal guidelines
+
+	@Test
+	void disposalGuidelinePage() throws Exception {
+		assertWithinBudget("guideline-page", () -> get("/api/disposal-guidelines"));
+	}
+
+	@Test
+	void disposalGuidelineMultiGet() throws Exception {
+		assertWithinBudget("guideline-multi-get", () -> get("/api/disposal-guidelines?ids=" + disposalGuidelineIds));
+	}
+
+	@Test
+	void disposalGuidelinesOfCategories() throws Exception {
+		assertWithinBudget("guidelines-of-categories", () -> get("/api/disposal-guidelines?categoryIds=" + categoryIds));
+	}
+
+	@Test
+	void disposalGuidelineExport() throws Exception {
+		assertWithinBudget("guideline-export", () -> get("/api/disposal-guidelines/export?format=NDJSON"));
+	}
+
+	@Test
+	void disposalGuidelinesOfCategory() throws Exception {
+		assertWithinBudget("guidelines-of-category", () -> get("/api/disposal-guidelines/category/" + categoryId));
+	}
+
+	@Test
+	void disposalGuideline() throws Exception {
+		assertWithinBudget("guideline", () -> get("/api/disposal-guidelines/" + disposalGuidelineId));
+	}
+
+	@Test
+	void createDisposalGuideline() throws Exception {
+		assertWithinBudget("guideline-create", () -> json(post("/api/disposal-guidelines"), disposalGuidelineRequest()));
+	}
+
+	@Test
+	void createDisposalGuidelines() throws Exception {
+		assertWithinBudget("guideline-batch-create",
+				() -> json(post("/api/disposal-guidelines/batch"), batch(this::disposalGuidelineRequest)));
+	}
+
+	@Test
+	void updateDisposalGuideline() throws Exception {
+		long id = create("/api/disposal-guidelines", disposalGuidelineRequest());
+		assertWithinBudget("guideline-update", () -> json(put("/api/disposal-guidelines/" + id), disposalGuidelineRequest()));
+	}
+
+	@Test
+	void deleteDisposalGuideline() throws Exception {
+		assertWithinBudget("guideline-delete",
+				() -> delete("/api/disposal-guidelines/" + create("/api/disposal-guidelines", disposalGuidelineRequest())));
+	}
+
+	/**
+	 * Sends the request until warm, then measures it and compares the lowest figures with the route's budget.
+	 * The request is built anew for every send, before measuring, so building it may create the row it needs.
+	 */
+	private void assertWithinBudget(String route, RequestSupplier request) throws Exception {
+		for (int i = 0; i < WARMUP_REQUESTS; i++) {
+			perform(request.get());
+		}
+		long statements = Long.MAX_VALUE;
+		long allocatedBytes = Long.MAX_VALUE;
+		long responseBytes = Long.MAX_VALUE;
+		for (int i = 0; i < MEASURED_REQUESTS; i++) {
+			RequestBuilder builder = request.get();
+			long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+			MvcResult result = perform(builder);
+			allocatedBytes = Math.min(allocatedBytes, threads.getCurrentThreadAllocatedBytes() - allocatedBefore);
+			StatementStatistics statistics =
+					(StatementStatistics) result.getRequest().getAttribute(StatementStatisticsFilter.STATISTICS_ATTRIBUTE);
+			assertNotNull(statistics, "The statement statistics of " + route);
+			statements = Math.min(statements, statistics.getStatements());
+			responseBytes = Math.min(responseBytes, result.getResponse().getContentAsByteArray().length);
+		}
+
+		String key = mode() + "." + route;
+		if (RECORD) {
+			recorded.put(key + ".statements", Long.toString(statements));
+			recorded.put(key + ".allocated-bytes", Long.toString(roundUp((long) (allocatedBytes * ALLOCATION_HEADROOM))));
+			recorded.put(key + ".response-bytes", Long.toString((long) Math.ceil(responseBytes * RESPONSE_HEADROOM)));
+			return;
+		}
+		List<String> exceeded = new ArrayList<>();
+		check(key + ".statements", statements, exceeded);
+		check(key + ".allocated-bytes", allocatedBytes, exceeded);
+		check(key + ".response-bytes", responseBytes, exceeded);
+		if (!exceeded.isEmpty()) {
+			fail(route + " is over budget: " + String.join(", ", exceeded)
+					+ ". If this is intended, record new budgets with -Dbudgets.record=true; see EndpointBudgetTests.");
+		}
+	}
+
+	private static void check(String key, long measured, List<String> exceeded) {
+		String budget = budgets.getProperty(key);
+		if (budget == null) {
+			fail("No budget for " + key + " in " + BUDGETS + "; record one with -Dbudgets.record=true");
+		}
+		if (measured > Long.parseLong(budget)) {
+			exceeded.add(key.substring(key.lastIndexOf('.') + 1) + " " + measured + " > " + budget);
+		}
+	}
+
+	// Performs a request and, for a streamed response, its async dispatch; the route must succeed
+	private MvcResult perform(RequestBuilder request) throws Exception {
+		MvcResult started = mockMvc.perform(request).andReturn();
+		MvcResult result = started.getRequest().isAsyncStarted()
+				? mockMvc.perform(asyncDispatch(started)).andReturn()
+				: started;
+		int status = result.getResponse().getStatus();
+		assertTrue(status >= 200 && status < 300, () -> "Status " + status + " for "
+				+ result.getRequest().getMethod() + " " + result.getRequest().getRequestURI() + ": "
+				+ contentOf(result));
+		return result;
+	}
+
+	private long createWasteCategory() throws Exception {
+		return create("/api/waste-categories", Map.of("categoryName", uniqueName()));
+	}
+
+	private long create(String path, Object body) throws Exception {
+		MvcResult result = perform(json(post(path), body));
+		JsonNode created = objectMapper.readTree(result.getResponse().getContentAsByteArray());
+		return created.path("response").path("id").asLong();
+	}
+
+	private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, Object body) throws Exception {
+		return request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsBytes(body));
+	}
+
+	private Map<String, Object> recyclingTipRequest() {
+		return Map.of("recyclingTip", text(), "wasteCategoryId", writeCategoryId);
+	}
+
+	private Map<String, Object> disposalGuidelineRequest() {
+		return Map.of("disposalGuideline", text(), "wasteCategoryId", writeCategoryId);
+	}
+
+	private static List<Map<String, Object>> batch(Supplier<Map<String, Object>> item) {
+		List<Map<String, Object>> items = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			items.add(item.get());
+		}
+		return items;
+	}
+
+	// Names and texts of one length, so that the size of a response does not depend on the order of the tests
+	private static String uniqueName() {
+		return String.format("Budget category %06d", sequence.incrementAndGet());
+	}
+
+	private static String text() {
+		return String.format("Rinse and sort before recycling, budget test %06d.", sequence.incrementAndGet());
+	}
+
+	private static String join(List<Long> ids) {
+		return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+	}
+
+	private static long roundUp(long bytes) {
+		return (bytes + 1023) / 1024 * 1024;
+	}
+
+	private static String contentOf(MvcResult result) {
+		try {
+			return result.getResponse().getContentAsString();
+		} catch (IOException e) {
+			return "";
+		}
+	}
+
+	private static Properties loadBudgets() {
+		Properties properties = new Properties();
+		try (InputStream in = EndpointBudgetTests.class.getResourceAsStream(BUDGETS)) {
+			if (in != null) {
+				properties.load(in);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not read " + BUDGETS, e);
+		}
+		return properties;
+	}
+
+	@FunctionalInterface
+	private interface RequestSupplier {
+		RequestBuilder get() throws Exception;
+	}
+
+	/**
+	 * Runs streamed responses on the request thread, where their statements and allocations are counted.
+	 * Ordered last, so that it replaces the application's task executor.
+	 */
+	@TestConfiguration
+	static class InlineAsyncRequests {
+
+		@Bean
+		@Order(Ordered.LOWEST_PRECEDENCE)
+		WebMvcConfigurer inlineAsyncRequests() {
+			return new WebMvcConfigurer() {
+				@Override
+				public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+					configurer.setTaskExecutor(new TaskExecutorAdapter(Runnable::run));
+				}
+			};
+		}
+	}
+}
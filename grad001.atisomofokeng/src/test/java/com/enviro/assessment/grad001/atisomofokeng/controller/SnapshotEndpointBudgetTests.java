@@ -0,0 +1,16 @@
+package com.enviro.assessment.grad001.atisomofokeng.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * The endpoint budgets with the application's defaults: reads served from the catalog snapshot and the caches.
+ */
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:budget-snapshot;DB_CLOSE_DELAY=-1")
+class SnapshotEndpointBudgetTests extends EndpointBudgetTests {
+
+	@Override
+	String mode() {
+		return "snapshot";
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.enviro.assessment.grad001.atisomofokeng.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that a waste category name that is already taken is refused with 409 Conflict, whether the category is
+ * created on its own or in a batch.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:waste-category-controller;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class WasteCategoryControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void duplicateNamesAreConflictsOnBothCreatePaths() throws Exception {
+		Map<String, String> category = Map.of("categoryName", "Duplicate name");
+		mockMvc.perform(post("/api/waste-categories")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(category)))
+				.andExpect(status().isCreated());
+
+		mockMvc.perform(post("/api/waste-categories")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(category)))
+				.andExpect(status().isConflict());
+
+		byte[] batch = mockMvc.perform(post("/api/waste-categories/batch")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(objectMapper.writeValueAsString(List.of(category))))
+				.andReturn().getResponse().getContentAsByteArray();
+		JsonNode result = objectMapper.readTree(batch).at("/response/results/0");
+		assertEquals(409, result.get("status").asInt());
+	}
+}
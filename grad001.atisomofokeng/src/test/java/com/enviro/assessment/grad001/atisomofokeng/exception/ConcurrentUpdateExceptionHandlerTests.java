@@ -0,0 +1,37 @@
+package com.enviro.assessment.grad001.atisomofokeng.exception;
+
+import com.enviro.assessment.grad001.atisomofokeng.model.WasteCategory;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that a write that lost a race on the version column is answered with 409 Conflict.
+ */
+class ConcurrentUpdateExceptionHandlerTests {
+
+	private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ConflictingController())
+			.setControllerAdvice(new ConcurrentUpdateExceptionHandler())
+			.build();
+
+	@Test
+	void optimisticLockingFailureIsAConflict() throws Exception {
+		mockMvc.perform(put("/conflict"))
+				.andExpect(status().isConflict());
+	}
+
+	@RestController
+	static class ConflictingController {
+
+		@PutMapping("/conflict")
+		void update() {
+			throw new ObjectOptimisticLockingFailureException(WasteCategory.class, 1L);
+		}
+	}
+}
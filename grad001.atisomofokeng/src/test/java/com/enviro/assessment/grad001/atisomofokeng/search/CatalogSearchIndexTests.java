@@ -0,0 +1,221 @@
+package com.enviro.assessment.grad001.atisomofokeng.search;
+
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChange;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangeType;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangedEvent;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogEntityType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the ranking of the search index against BM25 computed over every document, while documents are
+ * inserted, updated and deleted and their ordinals are reused.
+ */
+class CatalogSearchIndexTests {
+
+	private static final double TOLERANCE = 1e-9;
+	private static final int VOCABULARY = 120;
+
+	private final Random random = new Random(11);
+	private final CatalogSearchIndex index = new CatalogSearchIndex(null, null, null, null);
+	// The indexed documents, by type and id
+	private final Map<String, Document> documents = new LinkedHashMap<>();
+	private long nextId = 1;
+
+	private record Document(CatalogEntityType type, long id, long categoryId, String text) {
+	}
+
+	@Test
+	void rankingMatchesExhaustiveScoring() {
+		List<CatalogChange> initial = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			initial.add(insert(CatalogEntityType.WASTE_CATEGORY, 0));
+		}
+		for (int i = 0; i < 3000; i++) {
+			initial.add(insert(random.nextBoolean() ? CatalogEntityType.RECYCLING_TIP : CatalogEntityType.DISPOSAL_GUIDELINE,
+					randomCategory()));
+		}
+		index.onCatalogChanged(new CatalogChangedEvent(initial));
+		assertRankings();
+
+		for (int round = 0; round < 20; round++) {
+			List<CatalogChange> changes = new ArrayList<>();
+			for (int i = 0; i < 150; i++) {
+				changes.add(randomChange());
+			}
+			index.onCatalogChanged(new CatalogChangedEvent(changes));
+			assertEquals(documents.size(), index.size());
+			assertRankings();
+		}
+	}
+
+	@Test
+	void deletedDocumentsAreNotFound() {
+		index.onCatalogChanged(new CatalogChangedEvent(List.of(
+				insert(CatalogEntityType.WASTE_CATEGORY, 0),
+				insert(CatalogEntityType.RECYCLING_TIP, 1))));
+		Document tip = documents.get(key(CatalogEntityType.RECYCLING_TIP, 2));
+
+		index.onCatalogChanged(new CatalogChangedEvent(List.of(
+				CatalogChange.deleted(CatalogEntityType.RECYCLING_TIP, tip.id(), tip.categoryId()))));
+
+		for (String word : tip.text().split(" ")) {
+			assertTrue(index.search(word, null, CatalogEntityType.RECYCLING_TIP, 10).isEmpty(), word);
+		}
+	}
+
+	@Test
+	void updatedDocumentsAreFoundByTheirNewText() {
+		index.onCatalogChanged(new CatalogChangedEvent(List.of(
+				new CatalogChange(CatalogEntityType.WASTE_CATEGORY, CatalogChangeType.CREATED, 1L, 1L, "Glass"),
+				new CatalogChange(CatalogEntityType.RECYCLING_TIP, CatalogChangeType.CREATED, 2L, 1L, "Rinse the jars"))));
+
+		index.onCatalogChanged(new CatalogChangedEvent(List.of(
+				new CatalogChange(CatalogEntityType.RECYCLING_TIP, CatalogChangeType.UPDATED, 2L, 1L, "Remove the lids"))));
+
+		assertTrue(index.search("jars", null, null, 10).isEmpty());
+		List<SearchHit> hits = index.search("lid", null, null, 10);
+		assertEquals(1, hits.size());
+		assertEquals(2L, hits.get(0).id());
+		assertEquals("Glass", hits.get(0).categoryName());
+	}
+
+	private void assertRankings() {
+		for (int query = 0; query < 200; query++) {
+			String text = randomWords(1 + random.nextInt(4));
+			Long categoryId = random.nextInt(5) == 0 ? randomCategory() : null;
+			CatalogEntityType type = random.nextInt(5) == 0 ? CatalogEntityType.RECYCLING_TIP : null;
+			int limit = random.nextBoolean() ? 10 : 1 + random.nextInt(50);
+			assertRanking(text, categoryId, type, limit);
+		}
+	}
+
+	// The hits have the scores of the best documents by exhaustive scoring, and every document that scores
+	// higher than the weakest hit is among them
+	private void assertRanking(String query, Long categoryId, CatalogEntityType type, int limit) {
+		Map<String, Double> expected = score(query, categoryId, type);
+		List<Double> best = expected.values().stream()
+				.sorted(Comparator.reverseOrder())
+				.limit(limit)
+				.toList();
+		List<SearchHit> hits = index.search(query, categoryId, type, limit);
+		String description = "query '" + query + "' in category " + categoryId + " of type " + type + ", limit " + limit;
+
+		assertEquals(best.size(), hits.size(), description);
+		for (int i = 0; i < hits.size(); i++) {
+			SearchHit hit = hits.get(i);
+			Double score = expected.get(key(hit.type(), hit.id()));
+			assertEquals(score, hit.score(), TOLERANCE, description);
+			assertEquals(best.get(i), hit.score(), TOLERANCE, description);
+		}
+		if (!hits.isEmpty()) {
+			double weakest = hits.get(hits.size() - 1).score();
+			expected.forEach((document, score) -> {
+				if (score > weakest + TOLERANCE) {
+					assertTrue(hits.stream().anyMatch(hit -> key(hit.type(), hit.id()).equals(document)),
+							document + " missing for " + description);
+				}
+			});
+		}
+	}
+
+	// BM25 of every matching document, as the index defines it
+	private Map<String, Double> score(String query, Long categoryId, CatalogEntityType type) {
+		List<String> terms = TextAnalyzer.analyze(query).stream().distinct().toList();
+		Map<String, List<String>> analyzed = new HashMap<>();
+		Map<String, Integer> documentFrequencies = new HashMap<>();
+		long totalLength = 0;
+		for (Map.Entry<String, Document> entry : documents.entrySet()) {
+			List<String> documentTerms = TextAnalyzer.analyze(entry.getValue().text());
+			analyzed.put(entry.getKey(), documentTerms);
+			totalLength += documentTerms.size();
+			documentTerms.stream().distinct().forEach(term -> documentFrequencies.merge(term, 1, Integer::sum));
+		}
+		int count = documents.size();
+		double averageLength = (double) totalLength / count;
+
+		Map<String, Double> scores = new HashMap<>();
+		documents.forEach((key, document) -> {
+			if (categoryId != null && document.categoryId() != categoryId || type != null && document.type() != type) {
+				return;
+			}
+			List<String> documentTerms = analyzed.get(key);
+			double score = 0;
+			boolean matches = false;
+			for (String term : terms) {
+				int tf = (int) documentTerms.stream().filter(term::equals).count();
+				if (tf > 0) {
+					int df = documentFrequencies.get(term);
+					double idf = Math.log(1 + (count - df + 0.5) / (df + 0.5));
+					score += idf * (CatalogSearchIndex.K1 + 1) * tf / (tf + CatalogSearchIndex.K1
+							* (1 - CatalogSearchIndex.B + CatalogSearchIndex.B * documentTerms.size() / averageLength));
+					matches = true;
+				}
+			}
+			if (matches) {
+				scores.put(key, score);
+			}
+		});
+		return scores;
+	}
+
+	// An insert, an update (sometimes to another category) or a delete; categories are only added
+	private CatalogChange randomChange() {
+		List<Document> children = documents.values().stream()
+				.filter(document -> document.type() != CatalogEntityType.WASTE_CATEGORY)
+				.toList();
+		int kind = random.nextInt(3);
+		if (kind == 0 || children.isEmpty()) {
+			return insert(random.nextBoolean() ? CatalogEntityType.RECYCLING_TIP : CatalogEntityType.DISPOSAL_GUIDELINE,
+					randomCategory());
+		}
+		Document document = children.get(random.nextInt(children.size()));
+		if (kind == 1) {
+			long categoryId = random.nextInt(4) == 0 ? randomCategory() : document.categoryId();
+			Document updated = new Document(document.type(), document.id(), categoryId, randomWords(1 + random.nextInt(30)));
+			documents.put(key(document.type(), document.id()), updated);
+			return new CatalogChange(document.type(), CatalogChangeType.UPDATED, document.id(), categoryId, updated.text());
+		}
+		documents.remove(key(document.type(), document.id()));
+		return CatalogChange.deleted(document.type(), document.id(), document.categoryId());
+	}
+
+	private CatalogChange insert(CatalogEntityType type, long categoryId) {
+		long id = nextId++;
+		Document document = new Document(type, id, type == CatalogEntityType.WASTE_CATEGORY ? id : categoryId,
+				randomWords(type == CatalogEntityType.WASTE_CATEGORY ? 1 + random.nextInt(3) : 1 + random.nextInt(30)));
+		documents.put(key(type, id), document);
+		return new CatalogChange(type, CatalogChangeType.CREATED, id, document.categoryId(), document.text());
+	}
+
+	private long randomCategory() {
+		List<Document> categories = documents.values().stream()
+				.filter(document -> document.type() == CatalogEntityType.WASTE_CATEGORY)
+				.toList();
+		return categories.get(random.nextInt(categories.size())).id();
+	}
+
+	// Words of a skewed vocabulary, so that a few terms have long posting lists of many blocks
+	private String randomWords(int count) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			int word = (int) Math.floor(Math.pow(random.nextDouble(), 3) * VOCABULARY);
+			text.append(i > 0 ? " " : "").append("k").append(word);
+		}
+		return text.toString();
+	}
+
+	private static String key(CatalogEntityType type, long id) {
+		return type + ":" + id;
+	}
+}
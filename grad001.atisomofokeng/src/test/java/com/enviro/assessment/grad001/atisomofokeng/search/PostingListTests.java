@@ -0,0 +1,107 @@
+package com.enviro.assessment.grad001.atisomofokeng.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the block bounds of a posting list stay upper bounds of its impacts as postings change and the
+ * average document length drifts.
+ */
+class PostingListTests {
+
+	private static final double TOLERANCE = 1e-12;
+
+	private final Random random = new Random(3);
+	private final int[] lengths = new int[5000];
+
+	@Test
+	void blockBoundsHoldAfterEachBatchOfChanges() {
+		PostingList list = new PostingList();
+		TreeMap<Integer, Integer> expected = new TreeMap<>();
+		double averageLength = 10;
+
+		for (int batch = 0; batch < 200; batch++) {
+			for (int i = 0; i < 1 + random.nextInt(40); i++) {
+				int doc = random.nextInt(lengths.length);
+				if (random.nextInt(4) == 0) {
+					list.remove(doc);
+					expected.remove(doc);
+				} else {
+					int freq = 1 + random.nextInt(5);
+					lengths[doc] = freq + random.nextInt(40);
+					list.put(doc, freq);
+					expected.put(doc, freq);
+				}
+			}
+			averageLength = Math.max(1, averageLength + random.nextGaussian() * 2);
+			list.refreshBlocks(lengths, averageLength);
+			assertFalse(list.isDirty());
+
+			assertPostings(expected, list);
+			// The bounds must hold whichever way the average drifts before the list is refreshed again
+			for (double average : new double[] {averageLength, averageLength / 3, averageLength * 3, 1}) {
+				assertBounds(list, average);
+			}
+		}
+	}
+
+	@Test
+	void refreshRecomputesBlocksFromTheFirstChange() {
+		PostingList list = new PostingList();
+		for (int doc = 0; doc < 4 * PostingList.BLOCK_SIZE; doc++) {
+			lengths[doc * 2] = 10;
+			list.put(doc * 2, 1);
+		}
+		list.refreshBlocks(lengths, 10);
+		double before = list.blockBound(3, 10);
+
+		// Inserting into the first block shifts a posting into every later block, and opens a new one
+		lengths[1] = 1;
+		list.put(1, 5);
+		list.refreshBlocks(lengths, 10);
+
+		assertEquals(5, list.blockCount());
+		assertTrue(list.blockBound(0, 10) > before);
+		assertEquals(before, list.blockBound(1, 10), TOLERANCE);
+		assertBounds(list, 10);
+	}
+
+	@Test
+	void blockAtOrAfterFindsTheBlockHoldingTheTarget() {
+		PostingList list = new PostingList();
+		for (int doc = 0; doc < 3 * PostingList.BLOCK_SIZE; doc++) {
+			list.put(doc * 2, 1);
+		}
+
+		assertEquals(0, list.blockAtOrAfter(0, 0));
+		assertEquals(1, list.blockAtOrAfter(0, 2 * PostingList.BLOCK_SIZE));
+		assertEquals(2, list.blockAtOrAfter(1, 2 * (2 * PostingList.BLOCK_SIZE) - 1));
+		assertEquals(3, list.blockAtOrAfter(0, 6 * PostingList.BLOCK_SIZE));
+		assertEquals(4, list.advance(0, 7));
+	}
+
+	private static void assertPostings(TreeMap<Integer, Integer> expected, PostingList list) {
+		assertEquals(expected.size(), list.size);
+		int i = 0;
+		for (var posting : expected.entrySet()) {
+			assertEquals(posting.getKey(), list.docs[i]);
+			assertEquals(posting.getValue(), list.freqs[i]);
+			i++;
+		}
+	}
+
+	private void assertBounds(PostingList list, double averageLength) {
+		for (int i = 0; i < list.size; i++) {
+			int block = i / PostingList.BLOCK_SIZE;
+			double impact = PostingList.impact(list.freqs[i], lengths[list.docs[i]], averageLength);
+			assertTrue(impact <= list.blockBound(block, averageLength) + TOLERANCE,
+					"posting " + i + " exceeds the bound of block " + block + " at average length " + averageLength);
+		}
+	}
+}
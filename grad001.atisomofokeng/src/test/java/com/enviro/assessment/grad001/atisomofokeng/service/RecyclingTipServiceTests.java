@@ -0,0 +1,54 @@
+package com.enviro.assessment.grad001.atisomofokeng.service;
+
+import com.enviro.assessment.grad001.atisomofokeng.jdbc.StatementStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Holds the database path of the recycling tips of a category to its SQL statements: one to find the category and
+ * one for a page of its tips, however many tips the page holds. The caches are off, so every call reaches the
+ * database.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:recycling-tip-service;DB_CLOSE_DELAY=-1",
+		"catalog.generate.categories=3",
+		"catalog.generate.tips-per-category=25",
+		"catalog.read-source=DATABASE",
+		"catalog.cache.enabled=false",
+		"spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+		"spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+class RecyclingTipServiceTests {
+
+	@Autowired
+	private RecyclingTipService recyclingTipService;
+
+	@BeforeEach
+	void bindRequest() {
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(
+				new MockHttpServletRequest("GET", "/api/recycling-tips/category/3")));
+	}
+
+	@AfterEach
+	void resetRequest() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void recyclingTipsByCategoryTakeTwoStatements() {
+		int[] tips = new int[1];
+		StatementStatistics statistics = StatementStatistics.capture(
+				() -> tips[0] = recyclingTipService.getRecyclingTipsByCategory(3L, null, null).getResponse().size());
+
+		assertTrue(tips[0] > 1, "Recycling tips read");
+		assertEquals(2, statistics.getStatements(), "SQL statements executed");
+	}
+}
@@ -0,0 +1,90 @@
+package com.enviro.assessment.grad001.atisomofokeng.service.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that records are split and parsed as RFC 4180 describes, whatever the line endings.
+ */
+class CsvRecordReaderTests {
+
+	@Test
+	void quotedDelimitersDoNotSplitFields() {
+		assertEquals(List.of("TIP", "Glass", "Rinse, dry and sort"),
+				CsvRecordReader.parseFields("TIP,Glass,\"Rinse, dry and sort\"", ','));
+		assertEquals(List.of("TIP", "Glass", "Rinse\tdry"),
+				CsvRecordReader.parseFields("TIP\tGlass\t\"Rinse\tdry\"", '\t'));
+	}
+
+	@Test
+	void doubledQuotesAreLiteralQuotes() {
+		assertEquals(List.of("TIP", "Glass", "Look for the \"recyclable\" mark"),
+				CsvRecordReader.parseFields("TIP,Glass,\"Look for the \"\"recyclable\"\" mark\"", ','));
+		assertEquals(List.of("TIP", "Glass", "\""), CsvRecordReader.parseFields("TIP,Glass,\"\"\"\"", ','));
+		assertEquals(List.of("TIP", "", ""), CsvRecordReader.parseFields("TIP,\"\",", ','));
+	}
+
+	@Test
+	void fieldsAreStripped() {
+		assertEquals(List.of("TIP", "Glass", "Rinse jars"), CsvRecordReader.parseFields(" TIP , Glass ,  Rinse jars ", ','));
+	}
+
+	@Test
+	void quotedLineBreaksJoinLines() throws IOException {
+		List<String> records = read("TIP,Glass,\"Rinse\nthe, jars\"\nTIP,Paper,Flatten\n");
+
+		assertEquals(List.of("TIP,Glass,\"Rinse\nthe, jars\"", "TIP,Paper,Flatten"), records);
+		assertEquals(List.of("TIP", "Glass", "Rinse\nthe, jars"), CsvRecordReader.parseFields(records.get(0), ','));
+	}
+
+	@Test
+	void crlfLineEndingsAreTheSameAsLf() throws IOException {
+		String lf = "type,category,text\nTIP,Glass,\"First\n\"\"second\"\"\n\nthird\"\nGUIDELINE,Glass,Last";
+
+		List<String> records = read(lf.replace("\n", "\r\n"));
+
+		assertEquals(read(lf), records);
+		assertEquals(3, records.size());
+		assertEquals(List.of("TIP", "Glass", "First\n\"second\"\n\nthird"), CsvRecordReader.parseFields(records.get(1), ','));
+		assertEquals(List.of("GUIDELINE", "Glass", "Last"), CsvRecordReader.parseFields(records.get(2), ','));
+	}
+
+	@Test
+	void doubledQuotesSpanningLinesKeepTheFieldOpen() throws IOException {
+		List<String> records = read("TIP,Glass,\"a \"\"\nquoted\"\" word\nover lines\"\nTIP,Glass,next");
+
+		assertEquals(2, records.size());
+		assertEquals("a \"\nquoted\" word\nover lines", CsvRecordReader.parseFields(records.get(0), ',').get(2));
+	}
+
+	@Test
+	void unterminatedQuoteRunsToTheEndOfTheStream() throws IOException {
+		assertEquals(List.of("TIP,Glass,\"never closed\nTIP,Paper,lost"), read("TIP,Glass,\"never closed\nTIP,Paper,lost\n"));
+	}
+
+	@Test
+	void quoteOnlyQuotesWhenNeeded() {
+		assertEquals("plain", CsvRecordReader.quote("plain"));
+		assertEquals("\"a, \"\"b\"\"\"", CsvRecordReader.quote("a, \"b\""));
+		assertEquals("\"two\nlines\"", CsvRecordReader.quote("two\nlines"));
+		assertEquals(List.of("a, \"b\"", "two\nlines"),
+				CsvRecordReader.parseFields(CsvRecordReader.quote("a, \"b\"") + "," + CsvRecordReader.quote("two\nlines"), ','));
+	}
+
+	private static List<String> read(String text) throws IOException {
+		List<String> records = new ArrayList<>();
+		try (CsvRecordReader reader = new CsvRecordReader(new StringReader(text))) {
+			String record;
+			while ((record = reader.nextRecord()) != null) {
+				records.add(record);
+			}
+		}
+		return records;
+	}
+}
@@ -0,0 +1,228 @@
+package com.enviro.assessment.grad001.atisomofokeng.snapshot;
+
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChange;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangeType;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogChangedEvent;
+import com.enviro.assessment.grad001.atisomofokeng.event.CatalogEntityType;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.DisposalGuidelineResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.RecyclingTipResponse;
+import com.enviro.assessment.grad001.atisomofokeng.model.dto.response.WasteCategoryResponse;
+import com.enviro.assessment.grad001.atisomofokeng.repository.CatalogEntry;
+import com.enviro.assessment.grad001.atisomofokeng.service.pagination.KeysetPage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks that patching a snapshot with committed changes gives the same catalog as loading it afresh.
+ */
+class CatalogSnapshotTests {
+
+	private final Random random = new Random(7);
+	private final TreeMap<Long, CatalogEntry> categories = new TreeMap<>();
+	private final TreeMap<Long, CatalogEntry> tips = new TreeMap<>();
+	private final TreeMap<Long, CatalogEntry> guidelines = new TreeMap<>();
+	private long nextId = 1;
+
+	@Test
+	void appliedChangesMatchAFreshSnapshot() {
+		for (int i = 0; i < 300; i++) {
+			long category = nextId++;
+			categories.put(category, new CatalogEntry(category, category, "Category " + category));
+			for (int j = 0; j < 1 + random.nextInt(4); j++) {
+				long tip = nextId++;
+				tips.put(tip, new CatalogEntry(tip, category, "Tip " + tip));
+				long guideline = nextId++;
+				guidelines.put(guideline, new CatalogEntry(guideline, category, "Guideline " + guideline));
+			}
+		}
+		CatalogSnapshot snapshot = load();
+
+		for (int write = 0; write < 500; write++) {
+			List<CatalogChange> changes = new ArrayList<>();
+			for (int i = 0; i < 1 + random.nextInt(5); i++) {
+				changes.addAll(randomChange());
+			}
+			snapshot = snapshot.apply(new CatalogChangedEvent(changes));
+			assertSameCatalog(load(), snapshot);
+		}
+	}
+
+	@Test
+	void replayingAnAppliedChangeIsHarmless() {
+		categories.put(1L, new CatalogEntry(1L, 1L, "Glass"));
+		tips.put(2L, new CatalogEntry(2L, 1L, "Rinse jars"));
+		CatalogChangedEvent event = new CatalogChangedEvent(List.of(
+				new CatalogChange(CatalogEntityType.RECYCLING_TIP, CatalogChangeType.UPDATED, 2L, 1L, "Rinse jars")));
+
+		CatalogSnapshot snapshot = load().apply(event).apply(event);
+
+		assertSameCatalog(load(), snapshot);
+	}
+
+	@Test
+	void unchangedCategoriesKeepTheirLists() {
+		categories.put(1L, new CatalogEntry(1L, 1L, "Glass"));
+		categories.put(2L, new CatalogEntry(2L, 2L, "Paper"));
+		tips.put(3L, new CatalogEntry(3L, 1L, "Rinse jars"));
+		CatalogSnapshot snapshot = load();
+
+		CatalogSnapshot patched = snapshot.apply(new CatalogChangedEvent(List.of(
+				new CatalogChange(CatalogEntityType.RECYCLING_TIP, CatalogChangeType.CREATED, 4L, 2L, "Flatten boxes"))));
+
+		assertSame(snapshot.getRecyclingTipsOf(1L), patched.getRecyclingTipsOf(1L));
+		assertSame(snapshot.getWasteCategories().get(1L), patched.getWasteCategories().get(1L));
+		assertEquals(List.of(4L), ids(patched.getRecyclingTipsOf(2L).getItems()));
+	}
+
+	@Test
+	void renamingACategoryRenamesItsChildren() {
+		categories.put(1L, new CatalogEntry(1L, 1L, "Glass"));
+		tips.put(2L, new CatalogEntry(2L, 1L, "Rinse jars"));
+		guidelines.put(3L, new CatalogEntry(3L, 1L, "Remove lids"));
+
+		CatalogSnapshot snapshot = load().apply(new CatalogChangedEvent(List.of(
+				new CatalogChange(CatalogEntityType.WASTE_CATEGORY, CatalogChangeType.UPDATED, 1L, 1L, "Clear glass"))));
+
+		assertEquals("Clear glass", snapshot.getRecyclingTips().get(2L).getWasteCategoryName());
+		assertEquals("Clear glass", snapshot.getDisposalGuidelinesOf(1L).get(3L).getWasteCategoryName());
+	}
+
+	@Test
+	void deletingACategoryRemovesItsLists() {
+		categories.put(1L, new CatalogEntry(1L, 1L, "Glass"));
+		tips.put(2L, new CatalogEntry(2L, 1L, "Rinse jars"));
+
+		CatalogSnapshot snapshot = load().apply(new CatalogChangedEvent(List.of(
+				CatalogChange.deleted(CatalogEntityType.RECYCLING_TIP, 2L, 1L),
+				CatalogChange.deleted(CatalogEntityType.WASTE_CATEGORY, 1L, 1L))));
+
+		assertNull(snapshot.getWasteCategories().get(1L));
+		assertNull(snapshot.getRecyclingTipsOf(1L));
+		assertEquals(0, snapshot.getRecyclingTips().size());
+	}
+
+	// A create, update, move or delete of a random row, applied to the expected rows as well
+	private List<CatalogChange> randomChange() {
+		int kind = random.nextInt(10);
+		if (kind == 0 || categories.isEmpty()) {
+			long id = nextId++;
+			categories.put(id, new CatalogEntry(id, id, "Category " + id));
+			return List.of(new CatalogChange(CatalogEntityType.WASTE_CATEGORY, CatalogChangeType.CREATED, id, id,
+					"Category " + id));
+		}
+		if (kind == 1) {
+			long id = randomKey(categories);
+			categories.put(id, new CatalogEntry(id, id, "Renamed " + nextId++));
+			return List.of(new CatalogChange(CatalogEntityType.WASTE_CATEGORY, CatalogChangeType.UPDATED, id, id,
+					categories.get(id).text()));
+		}
+		if (kind == 2) {
+			// A category is deleted with its tips and guidelines, as the services do
+			long id = randomKey(categories);
+			List<CatalogChange> changes = new ArrayList<>();
+			deleteChildren(tips, id, CatalogEntityType.RECYCLING_TIP, changes);
+			deleteChildren(guidelines, id, CatalogEntityType.DISPOSAL_GUIDELINE, changes);
+			categories.remove(id);
+			changes.add(CatalogChange.deleted(CatalogEntityType.WASTE_CATEGORY, id, id));
+			return changes;
+		}
+		boolean tip = random.nextBoolean();
+		TreeMap<Long, CatalogEntry> rows = tip ? tips : guidelines;
+		CatalogEntityType type = tip ? CatalogEntityType.RECYCLING_TIP : CatalogEntityType.DISPOSAL_GUIDELINE;
+		if (kind < 6 || rows.isEmpty()) {
+			long id = nextId++;
+			long category = randomKey(categories);
+			rows.put(id, new CatalogEntry(id, category, "Text " + id));
+			return List.of(new CatalogChange(type, CatalogChangeType.CREATED, id, category, "Text " + id));
+		}
+		long id = randomKey(rows);
+		if (kind < 9) {
+			// An update, which may move the row to another category
+			long category = kind == 8 ? randomKey(categories) : rows.get(id).categoryId();
+			rows.put(id, new CatalogEntry(id, category, "Edited " + nextId++));
+			return List.of(new CatalogChange(type, CatalogChangeType.UPDATED, id, category, rows.get(id).text()));
+		}
+		CatalogEntry removed = rows.remove(id);
+		return List.of(CatalogChange.deleted(type, id, removed.categoryId()));
+	}
+
+	private static void deleteChildren(TreeMap<Long, CatalogEntry> rows, long categoryId, CatalogEntityType type,
+									   List<CatalogChange> changes) {
+		rows.values().removeIf(row -> {
+			if (row.categoryId() == categoryId) {
+				changes.add(CatalogChange.deleted(type, row.id(), categoryId));
+				return true;
+			}
+			return false;
+		});
+	}
+
+	private long randomKey(TreeMap<Long, CatalogEntry> rows) {
+		Long key = rows.ceilingKey(rows.firstKey() + (long) (random.nextDouble() * (rows.lastKey() - rows.firstKey() + 1)));
+		return key != null ? key : rows.lastKey();
+	}
+
+	private CatalogSnapshot load() {
+		return CatalogSnapshot.of(categories.values(), tips.values(), guidelines.values());
+	}
+
+	private static void assertSameCatalog(CatalogSnapshot expected, CatalogSnapshot actual) {
+		assertEquals(describeCategories(expected.getWasteCategories().getItems()),
+				describeCategories(actual.getWasteCategories().getItems()));
+		assertEquals(describeTips(expected.getRecyclingTips().getItems()), describeTips(actual.getRecyclingTips().getItems()));
+		assertEquals(describeGuidelines(expected.getDisposalGuidelines().getItems()),
+				describeGuidelines(actual.getDisposalGuidelines().getItems()));
+		for (WasteCategoryResponse category : expected.getWasteCategories().getItems()) {
+			assertEquals(describeTips(expected.getRecyclingTipsOf(category.getId()).getItems()),
+					describeTips(actual.getRecyclingTipsOf(category.getId()).getItems()));
+			assertEquals(describeGuidelines(expected.getDisposalGuidelinesOf(category.getId()).getItems()),
+					describeGuidelines(actual.getDisposalGuidelinesOf(category.getId()).getItems()));
+		}
+		// Pages walk the chunks of the index in the same order as the list
+		List<Long> paged = new ArrayList<>();
+		long afterId = 0;
+		KeysetPage<RecyclingTipResponse> page;
+		do {
+			page = actual.getRecyclingTips().page(afterId, 37);
+			paged.addAll(ids(page.getItems()));
+			afterId = paged.isEmpty() ? 0 : paged.get(paged.size() - 1);
+		} while (page.getNextCursor() != null);
+		assertEquals(ids(expected.getRecyclingTips().getItems()), paged);
+	}
+
+	private static List<String> describeCategories(List<WasteCategoryResponse> categories) {
+		return categories.stream()
+				.map(category -> category.getId() + " " + category.getWasteCategory() + " "
+						+ ids(category.getRecyclingTips()) + " " + idsOfGuidelines(category.getDisposalGuidelines()))
+				.toList();
+	}
+
+	private static List<String> describeTips(List<RecyclingTipResponse> tips) {
+		return tips.stream()
+				.map(tip -> tip.getId() + " " + tip.getRecyclingTip() + " " + tip.getWasteCategoryName())
+				.toList();
+	}
+
+	private static List<String> describeGuidelines(List<DisposalGuidelineResponse> guidelines) {
+		return guidelines.stream()
+				.map(guideline -> guideline.getId() + " " + guideline.getDisposalGuideline() + " "
+						+ guideline.getWasteCategoryName())
+				.toList();
+	}
+
+	private static List<Long> ids(List<RecyclingTipResponse> tips) {
+		return tips.stream().map(RecyclingTipResponse::getId).toList();
+	}
+
+	private static List<Long> idsOfGuidelines(List<DisposalGuidelineResponse> guidelines) {
+		return guidelines.stream().map(DisposalGuidelineResponse::getId).toList();
+	}
+}
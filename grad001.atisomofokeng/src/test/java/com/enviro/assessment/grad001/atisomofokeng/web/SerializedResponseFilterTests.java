@@ -0,0 +1,81 @@
+package com.enviro.assessment.grad001.atisomofokeng.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the Accept-Encoding negotiation and the cache keys of the serialized list responses.
+ */
+class SerializedResponseFilterTests {
+
+	@Test
+	void gzipIsSentWhenAcceptable() {
+		assertTrue(SerializedResponseFilter.acceptsGzip("gzip"));
+		assertTrue(SerializedResponseFilter.acceptsGzip("gzip, deflate, br"));
+		assertTrue(SerializedResponseFilter.acceptsGzip("GZip;Q=0.5"));
+		assertTrue(SerializedResponseFilter.acceptsGzip("br;q=1.0, gzip ; q=0.8, *;q=0.1"));
+		assertTrue(SerializedResponseFilter.acceptsGzip("*"));
+		assertTrue(SerializedResponseFilter.acceptsGzip("identity;q=0.5, gzip"));
+	}
+
+	@Test
+	void gzipIsNotSentWhenRefusedOrNotNamed() {
+		assertFalse(SerializedResponseFilter.acceptsGzip(null));
+		assertFalse(SerializedResponseFilter.acceptsGzip(""));
+		assertFalse(SerializedResponseFilter.acceptsGzip("identity"));
+		assertFalse(SerializedResponseFilter.acceptsGzip("x-gzip"));
+		assertFalse(SerializedResponseFilter.acceptsGzip("gzip;q=0"));
+		assertFalse(SerializedResponseFilter.acceptsGzip("gzip; q=0.000, deflate"));
+		assertFalse(SerializedResponseFilter.acceptsGzip("gzip;q=0, *"));
+		assertFalse(SerializedResponseFilter.acceptsGzip("*;q=0"));
+		assertFalse(SerializedResponseFilter.acceptsGzip("deflate, *;q=0"));
+		assertFalse(SerializedResponseFilter.acceptsGzip("identity, gzip;q=0.5"));
+		assertFalse(SerializedResponseFilter.acceptsGzip("gzip;q=high"));
+	}
+
+	@Test
+	void keysDoNotDependOnTheOrderOfTheQuery() {
+		assertEquals(keyOf("size=10&cursor=abc&include=recyclingTips"),
+				keyOf("include=recyclingTips&cursor=abc&size=10"));
+		assertEquals(keyOf("size=10"), keyOf("size=10&utm_source=mail"));
+		assertNotEquals(keyOf("size=10"), keyOf("size=20"));
+		assertNotEquals(keyOf("ids=1&ids=2"), keyOf("ids=2&ids=1"));
+		assertNotEquals(keyOf("fields=a%26b"), keyOf("fields=a&ids=b"));
+		assertNotEquals(keyOf(null), keyOf("cursor="));
+	}
+
+	@Test
+	void keysKeepThePathAndAccept() {
+		MockHttpServletRequest json = request("/api/recycling-tips", "size=10");
+		MockHttpServletRequest cbor = request("/api/recycling-tips", "size=10");
+		cbor.addHeader(HttpHeaders.ACCEPT, "application/cbor");
+		assertNotEquals(SerializedResponseFilter.keyOf(json), SerializedResponseFilter.keyOf(cbor));
+		assertNotEquals(SerializedResponseFilter.keyOf(json),
+				SerializedResponseFilter.keyOf(request("/api/disposal-guidelines", "size=10")));
+	}
+
+	private static String keyOf(String query) {
+		return SerializedResponseFilter.keyOf(request("/api/waste-categories", query));
+	}
+
+	private static MockHttpServletRequest request(String path, String query) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		request.setQueryString(query);
+		if (query != null) {
+			for (String parameter : query.split("&")) {
+				String[] pair = parameter.split("=", 2);
+				request.addParameter(pair[0], URLDecoder.decode(pair[1], StandardCharsets.UTF_8));
+			}
+		}
+		return request;
+	}
+}